@@ -0,0 +1,174 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.PriorityQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Ruta de menor costo entre dos ubicaciones con A* y cotas de landmarks (ALT)
+ *
+ * Complementa a DijkstraAlgorithm cuando hay un solo destino: la cota inferior de
+ * LandmarkIndex dirige la búsqueda hacia él y evita asentar vértices que quedan "detrás"
+ * del origen, con cualquier costo por arista (kilómetros, horas, riesgo). Por consulta se
+ * usan solo los ACTIVE_LANDMARKS landmarks con mejor cota entre origen y destino. Los
+ * vértices con cota infinita no pueden llegar al destino y no se exploran.
+ *
+ * Si un vértice mejora después de asentado se vuelve a abrir, así el resultado es óptimo
+ * aunque el redondeo de las cotas las haga apenas inconsistentes.
+ */
+public class AStarAlgorithm {
+    public static final int ACTIVE_LANDMARKS = 4;
+
+    /**
+     * Ruta con su costo y el número de vértices asentados para encontrarla
+     */
+    public static class PathResult {
+        private final CustomList<String> locationIds;
+        private final double cost;
+        private final int settledCount;
+
+        PathResult(CustomList<String> locationIds, double cost, int settledCount) {
+            this.locationIds = locationIds;
+            this.cost = cost;
+            this.settledCount = settledCount;
+        }
+
+        public CustomList<String> getLocationIds() {
+            return locationIds;
+        }
+
+        /**
+         * Costo total según la métrica del índice
+         */
+        public double getCost() {
+            return cost;
+        }
+
+        /**
+         * Vértices asentados durante la búsqueda (mide cuánto podó la cota)
+         */
+        public int getSettledCount() {
+            return settledCount;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (costo %.2f)", locationIds, cost);
+        }
+    }
+
+    /**
+     * Nodo para la cola de prioridad
+     */
+    private static class Node {
+        final int vertex;
+        final double cost;
+        final double priority;
+
+        Node(int vertex, double cost, double priority) {
+            this.vertex = vertex;
+            this.cost = cost;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Ruta de menor costo con las cotas de un índice de landmarks
+     * Complejidad: O((V + E) log V) en el peor caso; con buenas cotas asienta muchos menos vértices
+     *
+     * @param landmarks Índice construido sobre el grafo y la métrica a usar
+     * @return Ruta, o null si no existe
+     */
+    public static PathResult findShortestPath(LandmarkIndex landmarks, String fromId, String toId) {
+        return search(landmarks.getIndexedGraph(), landmarks.edgeCosts(), landmarks, fromId, toId);
+    }
+
+    /**
+     * Ruta de menor costo sin cotas (equivale a Dijkstra con parada en el destino)
+     * Complejidad: O((V + E) log V)
+     *
+     * @param edgeCost Costo no negativo por índice de arista (null para los pesos del grafo)
+     * @return Ruta, o null si no existe
+     */
+    public static PathResult findShortestPath(IndexedGraph graph, double[] edgeCost, String fromId, String toId) {
+        if (edgeCost != null && edgeCost.length != graph.getEdgeCount()) {
+            throw new IllegalArgumentException("Edge costs must have one value per edge");
+        }
+        double[] cost = new double[graph.getEdgeCount()];
+        for (int e = 0; e < cost.length; e++) {
+            cost[e] = edgeCost != null ? edgeCost[e] : graph.getWeight(e);
+        }
+        return search(graph, cost, null, fromId, toId);
+    }
+
+    private static PathResult search(IndexedGraph graph, double[] edgeCost, LandmarkIndex landmarks,
+                                     String fromId, String toId) {
+        int source = graph.indexOf(fromId);
+        int target = graph.indexOf(toId);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+        int[] active = landmarks != null ? landmarks.selectActive(source, target, ACTIVE_LANDMARKS) : null;
+
+        int n = graph.getVertexCount();
+        double[] best = new double[n];
+        int[] previous = new int[n];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        Arrays.fill(previous, -1);
+
+        double sourceBound = bound(landmarks, source, target, active);
+        if (Double.isInfinite(sourceBound)) {
+            return null;
+        }
+        PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingDouble((Node node) -> node.priority));
+        best[source] = 0.0;
+        open.offer(new Node(source, 0.0, sourceBound));
+        int settled = 0;
+
+        while (!open.isEmpty()) {
+            Node current = open.poll();
+            int u = current.vertex;
+            if (current.cost > best[u]) {
+                continue;
+            }
+            settled++;
+            if (u == target) {
+                break;
+            }
+
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.getTarget(e);
+                double candidate = current.cost + edgeCost[e];
+                if (candidate < best[v]) {
+                    double h = bound(landmarks, v, target, active);
+                    if (Double.isInfinite(h)) {
+                        continue; // v no llega al destino
+                    }
+                    best[v] = candidate;
+                    previous[v] = u;
+                    open.offer(new Node(v, candidate, candidate + h));
+                }
+            }
+        }
+
+        if (Double.isInfinite(best[target])) {
+            return null;
+        }
+        CustomList<String> path = new CustomList<>();
+        for (int v = target; v >= 0; v = previous[v]) {
+            path.add(graph.getId(v));
+        }
+        CustomList<String> ordered = new CustomList<>();
+        for (int i = path.size() - 1; i >= 0; i--) {
+            ordered.add(path.get(i));
+        }
+        return new PathResult(ordered, best[target], settled);
+    }
+
+    private static double bound(LandmarkIndex landmarks, int vertex, int target, int[] active) {
+        return landmarks != null ? landmarks.lowerBound(vertex, target, active) : 0.0;
+    }
+}
@@ -0,0 +1,239 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.WorkerPool;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * Algoritmo de Brandes para intermediación (betweenness) sobre la forma indexada del grafo
+ *
+ * Desde cada origen se ejecuta un Dijkstra que cuenta los caminos más cortos (sigma) y
+ * luego se recorren los vértices en orden inverso de asentamiento acumulando la
+ * dependencia de cada arista ajustada (dist[v] + peso == dist[w]) y de cada vértice.
+ * En el mismo recorrido se suman, para cada vértice alcanzado, su distancia desde el
+ * origen (base de la cercanía). Cada hilo tiene su propio Worker con arreglos de
+ * trabajo y acumuladores; al final se suman.
+ *
+ * Con aristas de peso cero solo cuentan las aristas hacia vértices asentados después,
+ * así los conteos nunca dependen de un ciclo de longitud cero.
+ */
+final class Brandes {
+    static final int PARALLEL_THRESHOLD = 64;
+
+    private Brandes() {
+    }
+
+    /**
+     * Arreglos de trabajo de un hilo
+     */
+    static final class Worker {
+        private final IndexedGraph graph;
+        private final double[] dist;
+        private final double[] sigma;
+        private final double[] delta;
+        private final boolean[] settled;
+        private final int[] order;
+        private int settledCount;
+
+        // Montículo binario de primitivos con inserciones perezosas (a lo sumo E + 1)
+        private final int[] heapVertex;
+        private final double[] heapKey;
+        private int heapSize;
+
+        final double[] edgeScore;
+        final double[] vertexScore;
+        final double[] farness;       // Suma de distancias desde los orígenes que lo alcanzan
+        final int[] reachedBy;        // Número de orígenes (distintos de él) que lo alcanzan
+
+        Worker(IndexedGraph graph) {
+            this.graph = graph;
+            int n = graph.getVertexCount();
+            this.dist = new double[n];
+            this.sigma = new double[n];
+            this.delta = new double[n];
+            this.settled = new boolean[n];
+            this.order = new int[n];
+            this.heapVertex = new int[graph.getEdgeCount() + 1];
+            this.heapKey = new double[graph.getEdgeCount() + 1];
+            this.edgeScore = new double[graph.getEdgeCount()];
+            this.vertexScore = new double[n];
+            this.farness = new double[n];
+            this.reachedBy = new int[n];
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+        }
+
+        /**
+         * Acumular las dependencias de un origen
+         * Complejidad: O((V + E) log V)
+         */
+        void accumulate(int source) {
+            shortestPathCounts(source);
+
+            for (int i = settledCount - 1; i >= 0; i--) {
+                int v = order[i];
+                for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                    int w = graph.getTarget(e);
+                    // settled[w] ya en false: w se asentó después que v y su delta está completo
+                    if (!settled[w] && dist[v] + graph.getWeight(e) == dist[w]) {
+                        double share = sigma[v] / sigma[w] * (1 + delta[w]);
+                        edgeScore[e] += share;
+                        delta[v] += share;
+                    }
+                }
+                settled[v] = false;
+            }
+
+            for (int i = 1; i < settledCount; i++) {
+                int v = order[i];
+                vertexScore[v] += delta[v];
+                farness[v] += dist[v];
+                reachedBy[v]++;
+            }
+            for (int i = 0; i < settledCount; i++) {
+                int v = order[i];
+                dist[v] = Double.POSITIVE_INFINITY;
+                sigma[v] = 0;
+                delta[v] = 0;
+            }
+        }
+
+        /**
+         * Dijkstra con conteo de caminos más cortos; deja en order los vértices asentados
+         */
+        private void shortestPathCounts(int source) {
+            settledCount = 0;
+            heapSize = 0;
+            dist[source] = 0;
+            sigma[source] = 1;
+            push(source, 0);
+
+            while (heapSize > 0) {
+                double d = heapKey[0];
+                int u = pop();
+                if (settled[u] || d > dist[u]) {
+                    continue;
+                }
+                settled[u] = true;
+                order[settledCount++] = u;
+
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    int v = graph.getTarget(e);
+                    if (settled[v]) {
+                        continue;
+                    }
+                    double candidate = d + graph.getWeight(e);
+                    if (candidate < dist[v]) {
+                        dist[v] = candidate;
+                        sigma[v] = sigma[u];
+                        push(v, candidate);
+                    } else if (candidate == dist[v]) {
+                        sigma[v] += sigma[u];
+                    }
+                }
+            }
+        }
+
+        private void push(int vertex, double key) {
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heapKey[parent] <= key) {
+                    break;
+                }
+                heapVertex[i] = heapVertex[parent];
+                heapKey[i] = heapKey[parent];
+                i = parent;
+            }
+            heapVertex[i] = vertex;
+            heapKey[i] = key;
+        }
+
+        private int pop() {
+            int top = heapVertex[0];
+            int lastVertex = heapVertex[--heapSize];
+            double lastKey = heapKey[heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && heapKey[child + 1] < heapKey[child]) {
+                    child++;
+                }
+                if (heapKey[child] >= lastKey) {
+                    break;
+                }
+                heapVertex[i] = heapVertex[child];
+                heapKey[i] = heapKey[child];
+                i = child;
+            }
+            heapVertex[i] = lastVertex;
+            heapKey[i] = lastKey;
+            return top;
+        }
+    }
+
+    /**
+     * Ejecutar Brandes desde los orígenes indicados y sumar los acumuladores
+     * Los orígenes se reparten de forma intercalada entre los hilos para equilibrar la carga
+     * Complejidad: O(S · (V + E) log V) / hilos
+     *
+     * @param sources Índices de los vértices origen
+     * @param parallel true para repartir los orígenes entre varios hilos
+     * @return Worker con los acumuladores sumados
+     */
+    static Worker run(IndexedGraph graph, int[] sources, boolean parallel) {
+        int threads = Math.min(WorkerPool.parallelism(),
+                Math.max(1, sources.length / PARALLEL_THRESHOLD));
+        if (!parallel || threads == 1) {
+            Worker worker = new Worker(graph);
+            for (int i = 0; i < sources.length; i++) {
+                worker.accumulate(sources[i]);
+            }
+            return worker;
+        }
+
+        CustomList<Callable<Worker>> tasks = new CustomList<>();
+        for (int t = 0; t < threads; t++) {
+            int first = t;
+            int stride = threads;
+            tasks.add(() -> {
+                Worker worker = new Worker(graph);
+                for (int i = first; i < sources.length; i += stride) {
+                    worker.accumulate(sources[i]);
+                }
+                return worker;
+            });
+        }
+
+        CustomList<Worker> partials = WorkerPool.invokeAll(tasks, "Betweenness computation");
+        Worker total = partials.get(0);
+        for (int t = 1; t < partials.size(); t++) {
+            Worker partial = partials.get(t);
+            for (int e = 0; e < total.edgeScore.length; e++) {
+                total.edgeScore[e] += partial.edgeScore[e];
+            }
+            for (int v = 0; v < total.vertexScore.length; v++) {
+                total.vertexScore[v] += partial.vertexScore[v];
+                total.farness[v] += partial.farness[v];
+                total.reachedBy[v] += partial.reachedBy[v];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Todos los vértices como orígenes
+     */
+    static int[] allVertices(IndexedGraph graph) {
+        int[] sources = new int[graph.getVertexCount()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = i;
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,243 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.models.Location;
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.PriorityQueue;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Centralidad de las ubicaciones para decidir dónde ubicar centros de ayuda y refugios
+ *
+ * - Cercanía (closeness): qué tan rápido se llega desde la ubicación al resto de la red,
+ *   como fracción de ubicaciones alcanzadas dividida por la distancia media a ellas
+ *   (Wasserman-Faust, válida aunque la red no esté conectada). Un depósito con alta
+ *   cercanía atiende a más zonas con menos kilómetros.
+ * - Intermediación (betweenness): cuántos pares origen-destino tienen su ruta más corta
+ *   pasando por la ubicación; las más altas son buenos puntos de paso para equipos.
+ *
+ * Ambas salen de una sola ejecución de Brandes (ver Brandes) sobre el grafo transpuesto:
+ * las distancias desde un origen en el transpuesto son las distancias hacia él en la red,
+ * así que cada recorrido aporta un término a la cercanía de todos los vértices que
+ * alcanza, y la intermediación de vértices no cambia al invertir todas las aristas.
+ *
+ * Para redes muy grandes se puede usar una muestra uniforme de orígenes: la intermediación
+ * se escala por V / muestra y la cercanía se estima con las distancias hacia los orígenes
+ * de la muestra (Eppstein-Wang). El error baja con la raíz del tamaño de la muestra.
+ */
+public class CentralityAnalyzer {
+
+    /**
+     * Ubicación con su valor de centralidad
+     */
+    public static class Score {
+        private final Location location;
+        private final double value;
+
+        Score(Location location, double value) {
+            this.location = location;
+            this.value = value;
+        }
+
+        public Location getLocation() {
+            return location;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%.4f)", location.getId(), value);
+        }
+    }
+
+    /**
+     * Centralidad de todas las ubicaciones para una versión del grafo
+     */
+    public static class Result {
+        private final IndexedGraph graph;
+        private final double[] betweenness;
+        private final double[] closeness;
+        private final int sampleSize;
+
+        Result(IndexedGraph graph, double[] betweenness, double[] closeness, int sampleSize) {
+            this.graph = graph;
+            this.betweenness = betweenness;
+            this.closeness = closeness;
+            this.sampleSize = sampleSize;
+        }
+
+        /**
+         * Versión del grafo con la que se calculó
+         */
+        public long getVersion() {
+            return graph.getVersion();
+        }
+
+        /**
+         * Grafo indexado sobre el que se calculó
+         */
+        public IndexedGraph getIndexedGraph() {
+            return graph;
+        }
+
+        /**
+         * Número de orígenes usados (igual al número de ubicaciones si es exacta)
+         */
+        public int getSampleSize() {
+            return sampleSize;
+        }
+
+        public boolean isExact() {
+            return sampleSize == graph.getVertexCount();
+        }
+
+        /**
+         * Intermediación de una ubicación (0 si no existe)
+         */
+        public double getBetweenness(String id) {
+            int v = graph.indexOf(id);
+            return v >= 0 ? betweenness[v] : 0.0;
+        }
+
+        /**
+         * Cercanía de una ubicación, en 1/km (0 si no existe o no alcanza a ninguna)
+         */
+        public double getCloseness(String id) {
+            int v = graph.indexOf(id);
+            return v >= 0 ? closeness[v] : 0.0;
+        }
+
+        /**
+         * Ubicaciones con mayor intermediación
+         * Complejidad: O(V log limit)
+         */
+        public CustomList<Score> topByBetweenness(int limit) {
+            return top(betweenness, limit, null);
+        }
+
+        /**
+         * Ubicaciones con mayor cercanía
+         * Complejidad: O(V log limit)
+         */
+        public CustomList<Score> topByCloseness(int limit) {
+            return top(closeness, limit, null);
+        }
+
+        /**
+         * Ubicaciones con mayor cercanía, sin las de los tipos indicados
+         * (por ejemplo, candidatas a nuevo centro de ayuda que todavía no lo son)
+         * Complejidad: O(V log limit)
+         */
+        public CustomList<Score> topByCloseness(int limit, Location.LocationType... excluded) {
+            return top(closeness, limit, excluded);
+        }
+
+        private CustomList<Score> top(double[] values, int limit, Location.LocationType[] excluded) {
+            if (limit < 1) {
+                throw new IllegalArgumentException("Limit must be positive");
+            }
+            PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1,
+                    Comparator.comparingDouble((Integer v) -> values[v]));
+            for (int v = 0; v < values.length; v++) {
+                if (values[v] <= 0 || isExcluded(graph.getLocation(v), excluded)) {
+                    continue;
+                }
+                if (best.size() < limit) {
+                    best.offer(v);
+                } else if (values[v] > values[best.peek()]) {
+                    best.poll();
+                    best.offer(v);
+                }
+            }
+
+            Score[] ranked = new Score[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                int v = best.poll();
+                ranked[i] = new Score(graph.getLocation(v), values[v]);
+            }
+            CustomList<Score> result = new CustomList<>();
+            for (int i = 0; i < ranked.length; i++) {
+                result.add(ranked[i]);
+            }
+            return result;
+        }
+
+        private static boolean isExcluded(Location location, Location.LocationType[] excluded) {
+            if (excluded == null) {
+                return false;
+            }
+            for (int i = 0; i < excluded.length; i++) {
+                if (location.getType() == excluded[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Centralidad exacta, con todas las ubicaciones como orígenes
+     * Complejidad: O(V · (V + E) log V), repartido entre hilos si parallel
+     *
+     * @param parallel true para repartir los orígenes entre varios hilos
+     */
+    public static Result compute(IndexedGraph graph, boolean parallel) {
+        return compute(graph, Math.max(1, graph.getVertexCount()), 0L, parallel);
+    }
+
+    /**
+     * Centralidad exacta o aproximada por muestreo de orígenes
+     * Complejidad: O(S · (V + E) log V), repartido entre hilos si parallel
+     *
+     * @param samples Número de orígenes; si es mayor o igual al número de ubicaciones el
+     *                resultado es exacto
+     * @param seed Semilla del muestreo, para resultados reproducibles
+     * @param parallel true para repartir los orígenes entre varios hilos
+     */
+    public static Result compute(IndexedGraph graph, int samples, long seed, boolean parallel) {
+        if (samples < 1) {
+            throw new IllegalArgumentException("Sample size must be positive");
+        }
+        int n = graph.getVertexCount();
+        int[] sources = Brandes.allVertices(graph);
+        boolean[] sampled = null;
+        if (samples < n) {
+            // Fisher-Yates parcial: los primeros "samples" quedan elegidos al azar
+            Random random = new Random(seed);
+            sampled = new boolean[n];
+            for (int i = 0; i < samples; i++) {
+                int j = i + random.nextInt(n - i);
+                int tmp = sources[i];
+                sources[i] = sources[j];
+                sources[j] = tmp;
+                sampled[sources[i]] = true;
+            }
+            int[] chosen = new int[samples];
+            System.arraycopy(sources, 0, chosen, 0, samples);
+            sources = chosen;
+        }
+
+        Brandes.Worker totals = Brandes.run(graph.reversed(), sources, parallel);
+
+        double scale = (double) n / sources.length;
+        double[] betweenness = new double[n];
+        double[] closeness = new double[n];
+        for (int v = 0; v < n; v++) {
+            betweenness[v] = totals.vertexScore[v] * scale;
+
+            // Orígenes distintos de v considerados y cuántos de ellos alcanza v
+            int others = sources.length - (sampled == null || sampled[v] ? 1 : 0);
+            int reached = totals.reachedBy[v];
+            if (reached > 0) {
+                double meanDistance = totals.farness[v] / reached;
+                closeness[v] = ((double) reached / others) / meanDistance;
+            }
+        }
+        return new Result(graph, betweenness, closeness, sources.length);
+    }
+}
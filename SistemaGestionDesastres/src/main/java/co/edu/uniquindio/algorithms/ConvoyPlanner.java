@@ -0,0 +1,612 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.CustomMap;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.WorkerPool;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Planificador de recorridos de convoyes con varias paradas (VRP con capacidad)
+ *
+ * A partir de un depósito, la demanda de cada ubicación y la capacidad de los vehículos:
+ *   1. Las demandas mayores que el vehículo más grande se cubren con viajes dedicados
+ *      a plena carga y solo el resto entra en la heurística.
+ *   2. Se calcula la matriz de distancias entre depósito y paradas (un Dijkstra por fila,
+ *      en paralelo) y todo lo demás trabaja sobre ella.
+ *   3. Ahorros de Clarke-Wright: se unen recorridos por el final de uno y el inicio del
+ *      otro mientras quepa la carga, en orden de ahorro decreciente. Funciona también con
+ *      rutas dirigidas (matriz asimétrica).
+ *   4. Búsqueda local: 2-opt dentro de cada recorrido y Or-opt (mover tramos de 1 a 3
+ *      paradas dentro del recorrido o a otro) hasta que ningún movimiento mejora.
+ * Los pasos 3 y 4 se repiten con ahorros perturbados al azar en varios reinicios que se
+ * ejecutan en paralelo; se queda el plan más corto. El reinicio 0 no tiene perturbación,
+ * así que el resultado nunca es peor que el del algoritmo determinista.
+ *
+ * Por último los recorridos se reparten entre los vehículos: cada uno va al vehículo que
+ * menos ha recorrido entre los que tienen capacidad suficiente, que puede hacer varios viajes.
+ */
+public class ConvoyPlanner {
+    public static final int DEFAULT_RESTARTS = 8;
+    private static final int MAX_SEGMENT = 3;
+    private static final double EPSILON = 1e-9;
+
+    private final int restarts;
+    private final long seed;
+
+    /**
+     * Recorrido de un vehículo: sale del depósito, visita las paradas en orden y vuelve
+     */
+    public static class Tour {
+        private final CustomList<String> stops;
+        private final CustomList<Integer> deliveries;
+        private final int load;
+        private final double distance;
+        private int vehicle;
+        private int trip;
+
+        Tour(CustomList<String> stops, CustomList<Integer> deliveries, int load, double distance) {
+            this.stops = stops;
+            this.deliveries = deliveries;
+            this.load = load;
+            this.distance = distance;
+        }
+
+        public CustomList<String> getStops() {
+            return stops;
+        }
+
+        /**
+         * Unidades entregadas en cada parada, en el mismo orden que getStops()
+         */
+        public CustomList<Integer> getDeliveries() {
+            return deliveries;
+        }
+
+        public int getLoad() {
+            return load;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+
+        /**
+         * Índice del vehículo (en el arreglo de capacidades) que hace el recorrido
+         */
+        public int getVehicle() {
+            return vehicle;
+        }
+
+        /**
+         * Número de viaje del vehículo (0 = primero)
+         */
+        public int getTrip() {
+            return trip;
+        }
+
+        @Override
+        public String toString() {
+            return "Vehículo " + (vehicle + 1) + " viaje " + (trip + 1) + ": " + stops
+                    + " (" + load + " u, " + String.format("%.1f", distance) + " km)";
+        }
+    }
+
+    /**
+     * Resultado de la planificación
+     */
+    public static class ConvoyPlan {
+        private final CustomList<Tour> tours;
+        private final CustomList<String> unreachable;
+        private final double baselineDistance;
+
+        ConvoyPlan(CustomList<Tour> tours, CustomList<String> unreachable, double baselineDistance) {
+            this.tours = tours;
+            this.unreachable = unreachable;
+            this.baselineDistance = baselineDistance;
+        }
+
+        public CustomList<Tour> getTours() {
+            return tours;
+        }
+
+        /**
+         * Paradas sin ruta de ida o de vuelta desde el depósito
+         */
+        public CustomList<String> getUnreachable() {
+            return unreachable;
+        }
+
+        public double getTotalDistance() {
+            double total = 0;
+            for (int i = 0; i < tours.size(); i++) {
+                total += tours.get(i).getDistance();
+            }
+            return total;
+        }
+
+        /**
+         * Distancia si cada destino recibiera sus propios viajes de ida y vuelta
+         */
+        public double getBaselineDistance() {
+            return baselineDistance;
+        }
+    }
+
+    /**
+     * Solución de un reinicio: recorridos como listas de índices de parada (1..k)
+     */
+    private static class Solution {
+        final CustomList<int[]> routes;
+        final double cost;
+
+        Solution(CustomList<int[]> routes, double cost) {
+            this.routes = routes;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * Constructor con el número de reinicios por defecto
+     */
+    public ConvoyPlanner() {
+        this(DEFAULT_RESTARTS, 42L);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param restarts Número de reinicios de la búsqueda (al menos 1)
+     * @param seed Semilla de las perturbaciones, para resultados reproducibles
+     */
+    public ConvoyPlanner(int restarts, long seed) {
+        if (restarts < 1) {
+            throw new IllegalArgumentException("At least one restart is required");
+        }
+        this.restarts = restarts;
+        this.seed = seed;
+    }
+
+    /**
+     * Planificar los recorridos
+     * Complejidad: O(k (V + E) log V) para la matriz, O(k² log k) para los ahorros y
+     * O(k³) por pasada de búsqueda local, con k paradas, repartido entre los reinicios
+     *
+     * @param graph Forma indexada del grafo de ubicaciones
+     * @param depotId Ubicación de donde salen los convoyes
+     * @param demands Unidades a entregar por ID de ubicación
+     * @param vehicleCapacities Capacidad de cada vehículo
+     * @return Recorridos, paradas inalcanzables y distancia de referencia
+     */
+    public ConvoyPlan plan(IndexedGraph graph, String depotId, CustomMap<String, Integer> demands,
+                           int[] vehicleCapacities) {
+        int depot = graph.indexOf(depotId);
+        if (depot < 0) {
+            throw new IllegalArgumentException("Unknown depot: " + depotId);
+        }
+        if (vehicleCapacities == null || vehicleCapacities.length == 0) {
+            throw new IllegalArgumentException("At least one vehicle is required");
+        }
+        int maxCapacity = 0;
+        for (int capacity : vehicleCapacities) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Vehicle capacity must be positive");
+            }
+            maxCapacity = Math.max(maxCapacity, capacity);
+        }
+
+        // Paradas con demanda positiva
+        CustomList<String> stopIds = new CustomList<>();
+        CustomList<Integer> stopDemand = new CustomList<>();
+        CustomList<String> unreachable = new CustomList<>();
+        CustomList<String> ids = demands.keys();
+        for (int i = 0; i < ids.size(); i++) {
+            Integer demand = demands.get(ids.get(i));
+            if (demand == null || demand <= 0 || ids.get(i).equals(depotId)) {
+                continue;
+            }
+            if (graph.indexOf(ids.get(i)) < 0) {
+                unreachable.add(ids.get(i));
+                continue;
+            }
+            stopIds.add(ids.get(i));
+            stopDemand.add(demand);
+        }
+
+        // Matriz de distancias: fila 0 = depósito, filas 1..k = paradas
+        int[] vertices = new int[stopIds.size() + 1];
+        vertices[0] = depot;
+        for (int i = 0; i < stopIds.size(); i++) {
+            vertices[i + 1] = graph.indexOf(stopIds.get(i));
+        }
+
+        double[][] matrix = distanceMatrix(graph, vertices);
+
+        // Quitar paradas sin ida o vuelta
+        CustomList<Integer> reachable = new CustomList<>();
+        for (int i = 1; i < vertices.length; i++) {
+            if (Double.isInfinite(matrix[0][i]) || Double.isInfinite(matrix[i][0])) {
+                unreachable.add(stopIds.get(i - 1));
+            } else {
+                reachable.add(i);
+            }
+        }
+
+        // Viajes dedicados para las demandas que superan la capacidad máxima
+        CustomList<Tour> tours = new CustomList<>();
+        double baseline = 0;
+        int k = reachable.size();
+        int[] demand = new int[k + 1];
+        double[][] dist = new double[k + 1][k + 1];
+        String[] names = new String[k + 1];
+        names[0] = depotId;
+        for (int a = 0; a <= k; a++) {
+            int from = a == 0 ? 0 : reachable.get(a - 1);
+            for (int b = 0; b <= k; b++) {
+                int to = b == 0 ? 0 : reachable.get(b - 1);
+                dist[a][b] = matrix[from][to];
+            }
+        }
+        for (int a = 1; a <= k; a++) {
+            int stop = reachable.get(a - 1);
+            names[a] = stopIds.get(stop - 1);
+            int remaining = stopDemand.get(stop - 1);
+            double roundTrip = dist[0][a] + dist[a][0];
+            baseline += roundTrip * ((remaining + maxCapacity - 1) / maxCapacity);
+
+            while (remaining > maxCapacity) {
+                tours.add(singleStopTour(names[a], maxCapacity, roundTrip));
+                remaining -= maxCapacity;
+            }
+            demand[a] = remaining;
+        }
+
+        // Ahorros + búsqueda local, con reinicios en paralelo
+        Solution best = null;
+        if (k > 0) {
+            CustomList<Callable<Solution>> tasks = new CustomList<>();
+            for (int r = 0; r < restarts; r++) {
+                int restart = r;
+                int capacity = maxCapacity;
+                tasks.add(() -> solve(dist, demand, capacity, restart));
+            }
+            CustomList<Solution> solutions = WorkerPool.invokeAll(tasks, "Convoy planning");
+            for (int i = 0; i < solutions.size(); i++) {
+                Solution candidate = solutions.get(i);
+                if (best == null || candidate.cost < best.cost - EPSILON) {
+                    best = candidate;
+                }
+            }
+
+            for (int i = 0; i < best.routes.size(); i++) {
+                int[] route = best.routes.get(i);
+                CustomList<String> stops = new CustomList<>();
+                CustomList<Integer> deliveries = new CustomList<>();
+                int load = 0;
+                for (int j = 0; j < route.length; j++) {
+                    stops.add(names[route[j]]);
+                    deliveries.add(demand[route[j]]);
+                    load += demand[route[j]];
+                }
+                tours.add(new Tour(stops, deliveries, load, routeCost(dist, route)));
+            }
+        }
+
+        assignVehicles(tours, vehicleCapacities);
+        return new ConvoyPlan(tours, unreachable, baseline);
+    }
+
+    /**
+     * Demanda total por ubicación de un plan de asignación de recursos
+     * Complejidad: O(a) donde a es el número de asignaciones
+     */
+    public static CustomMap<String, Integer> demandsOf(ResourceAllocator.AllocationPlan plan) {
+        CustomMap<String, Integer> demands = new CustomMap<>();
+        CustomList<ResourceAllocator.Allocation> allocations = plan.getAllocations();
+        for (int i = 0; i < allocations.size(); i++) {
+            ResourceAllocator.Allocation allocation = allocations.get(i);
+            Integer current = demands.get(allocation.getLocationId());
+            demands.put(allocation.getLocationId(), (current != null ? current : 0) + allocation.getQuantity());
+        }
+        return demands;
+    }
+
+    // ==================== MATRIZ DE DISTANCIAS ====================
+
+    /**
+     * Distancias entre todos los pares de vértices indicados, un Dijkstra por fila en paralelo
+     * Complejidad: O(k (V + E) log V)
+     */
+    private static double[][] distanceMatrix(IndexedGraph graph, int[] vertices) {
+        int k = vertices.length;
+        CustomList<Callable<double[]>> tasks = new CustomList<>();
+
+        for (int i = 0; i < k; i++) {
+            int source = vertices[i];
+            tasks.add(() -> {
+                double[] all = DijkstraAlgorithm.shortestDistances(graph, source);
+                double[] row = new double[k];
+                for (int j = 0; j < k; j++) {
+                    row[j] = all[vertices[j]];
+                }
+                return row;
+            });
+        }
+
+        CustomList<double[]> rows = WorkerPool.invokeAll(tasks, "Convoy planning");
+        double[][] matrix = new double[k][];
+        for (int i = 0; i < k; i++) {
+            matrix[i] = rows.get(i);
+        }
+        return matrix;
+    }
+
+    // ==================== HEURÍSTICA ====================
+
+    /**
+     * Un reinicio completo: ahorros de Clarke-Wright y búsqueda local
+     */
+    private Solution solve(double[][] dist, int[] demand, int capacity, int restart) {
+        int k = demand.length - 1;
+        Random random = new Random(seed + 31L * restart);
+        double noise = restart == 0 ? 0.0 : 0.2;
+
+        // Cada parada empieza en su propio recorrido
+        int[] next = new int[k + 1];
+        int[] prev = new int[k + 1];
+        int[] head = new int[k + 1];   // Primera parada del recorrido de cada parada
+        int[] tail = new int[k + 1];   // Última parada, válida en la cabeza
+        int[] load = new int[k + 1];   // Carga, válida en la cabeza
+        for (int i = 1; i <= k; i++) {
+            head[i] = i;
+            tail[i] = i;
+            load[i] = demand[i];
+        }
+
+        // Ahorro de ir i -> j en lugar de i -> depósito -> j
+        int pairs = k * (k - 1);
+        long[] order = new long[pairs];
+        double[] saving = new double[pairs];
+        int p = 0;
+        for (int i = 1; i <= k; i++) {
+            for (int j = 1; j <= k; j++) {
+                if (i != j) {
+                    double s = dist[i][0] + dist[0][j] - dist[i][j];
+                    if (noise > 0) {
+                        s *= 1.0 + noise * (2 * random.nextDouble() - 1);
+                    }
+                    saving[p] = s;
+                    order[p] = ((long) i << 32) | j;
+                    p++;
+                }
+            }
+        }
+        Integer[] sorted = new Integer[pairs];
+        for (int i = 0; i < pairs; i++) {
+            sorted[i] = i;
+        }
+        Arrays.sort(sorted, (a, b) -> Double.compare(saving[b], saving[a]));
+
+        for (int idx = 0; idx < pairs; idx++) {
+            int pair = sorted[idx];
+            if (saving[pair] <= 0) {
+                break;
+            }
+            int i = (int) (order[pair] >>> 32);
+            int j = (int) order[pair];
+            int hi = head[i];
+            int hj = head[j];
+
+            // i debe cerrar su recorrido, j debe abrir el suyo y deben ser recorridos distintos
+            if (hi == hj || tail[hi] != i || hj != j || load[hi] + load[hj] > capacity) {
+                continue;
+            }
+
+            next[i] = j;
+            prev[j] = i;
+            tail[hi] = tail[hj];
+            load[hi] += load[hj];
+            for (int v = j; v != 0; v = next[v]) {
+                head[v] = hi;
+            }
+        }
+
+        CustomList<int[]> routes = new CustomList<>();
+        for (int i = 1; i <= k; i++) {
+            if (head[i] == i) {
+                int length = 0;
+                for (int v = i; v != 0; v = next[v]) {
+                    length++;
+                }
+                int[] route = new int[length];
+                int pos = 0;
+                for (int v = i; v != 0; v = next[v]) {
+                    route[pos++] = v;
+                }
+                routes.add(route);
+            }
+        }
+
+        improve(routes, dist, demand, capacity);
+
+        double cost = 0;
+        for (int i = 0; i < routes.size(); i++) {
+            cost += routeCost(dist, routes.get(i));
+        }
+        return new Solution(routes, cost);
+    }
+
+    /**
+     * Búsqueda local: 2-opt y Or-opt hasta que ningún movimiento mejora
+     */
+    private static void improve(CustomList<int[]> routes, double[][] dist, int[] demand, int capacity) {
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int r = 0; r < routes.size(); r++) {
+                int[] better = twoOpt(routes.get(r), dist);
+                if (better != null) {
+                    routes.set(r, better);
+                    improved = true;
+                }
+            }
+            if (orOpt(routes, dist, demand, capacity)) {
+                improved = true;
+            }
+        }
+
+        // Quitar recorridos que quedaron vacíos
+        for (int r = routes.size() - 1; r >= 0; r--) {
+            if (routes.get(r).length == 0) {
+                routes.remove(r);
+            }
+        }
+    }
+
+    /**
+     * Mejor inversión de un tramo dentro del recorrido (primera mejora)
+     *
+     * @return Recorrido mejorado, o null si ninguna inversión mejora
+     */
+    private static int[] twoOpt(int[] route, double[][] dist) {
+        double current = routeCost(dist, route);
+        for (int i = 0; i < route.length - 1; i++) {
+            for (int j = i + 1; j < route.length; j++) {
+                int[] candidate = route.clone();
+                for (int a = i, b = j; a < b; a++, b--) {
+                    int tmp = candidate[a];
+                    candidate[a] = candidate[b];
+                    candidate[b] = tmp;
+                }
+                if (routeCost(dist, candidate) < current - EPSILON) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mover un tramo de 1 a MAX_SEGMENT paradas a otra posición, en el mismo recorrido
+     * o en otro con capacidad libre (primera mejora)
+     *
+     * @return true si se aplicó algún movimiento
+     */
+    private static boolean orOpt(CustomList<int[]> routes, double[][] dist, int[] demand, int capacity) {
+        for (int from = 0; from < routes.size(); from++) {
+            int[] source = routes.get(from);
+            double sourceCost = routeCost(dist, source);
+
+            for (int length = 1; length <= MAX_SEGMENT && length <= source.length; length++) {
+                for (int start = 0; start + length <= source.length; start++) {
+                    int[] segment = Arrays.copyOfRange(source, start, start + length);
+                    int[] remainder = new int[source.length - length];
+                    System.arraycopy(source, 0, remainder, 0, start);
+                    System.arraycopy(source, start + length, remainder, start, source.length - start - length);
+                    int segmentLoad = 0;
+                    for (int v : segment) {
+                        segmentLoad += demand[v];
+                    }
+
+                    for (int to = 0; to < routes.size(); to++) {
+                        int[] target = to == from ? remainder : routes.get(to);
+                        if (to != from && loadOf(target, demand) + segmentLoad > capacity) {
+                            continue;
+                        }
+                        double before = to == from ? sourceCost : sourceCost + routeCost(dist, target);
+                        double remainderCost = to == from ? 0.0 : routeCost(dist, remainder);
+
+                        for (int pos = 0; pos <= target.length; pos++) {
+                            if (to == from && pos == start) {
+                                continue; // Misma posición
+                            }
+                            int[] inserted = insert(target, segment, pos);
+                            double after = remainderCost + routeCost(dist, inserted);
+                            if (after < before - EPSILON) {
+                                if (to == from) {
+                                    routes.set(from, inserted);
+                                } else {
+                                    routes.set(from, remainder);
+                                    routes.set(to, inserted);
+                                }
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private static int[] insert(int[] route, int[] segment, int position) {
+        int[] result = new int[route.length + segment.length];
+        System.arraycopy(route, 0, result, 0, position);
+        System.arraycopy(segment, 0, result, position, segment.length);
+        System.arraycopy(route, position, result, position + segment.length, route.length - position);
+        return result;
+    }
+
+    private static int loadOf(int[] route, int[] demand) {
+        int load = 0;
+        for (int v : route) {
+            load += demand[v];
+        }
+        return load;
+    }
+
+    /**
+     * Distancia de depósito -> paradas en orden -> depósito
+     */
+    private static double routeCost(double[][] dist, int[] route) {
+        if (route.length == 0) {
+            return 0.0;
+        }
+        double cost = dist[0][route[0]];
+        for (int i = 0; i + 1 < route.length; i++) {
+            cost += dist[route[i]][route[i + 1]];
+        }
+        return cost + dist[route[route.length - 1]][0];
+    }
+
+    private static Tour singleStopTour(String stop, int load, double distance) {
+        CustomList<String> stops = new CustomList<>();
+        CustomList<Integer> deliveries = new CustomList<>();
+        stops.add(stop);
+        deliveries.add(load);
+        return new Tour(stops, deliveries, load, distance);
+    }
+
+    /**
+     * Repartir los recursos entre vehículos: el de mayor carga primero, al vehículo con
+     * capacidad suficiente que menos distancia acumula
+     */
+    private static void assignVehicles(CustomList<Tour> tours, int[] capacities) {
+        Integer[] byLoad = new Integer[tours.size()];
+        for (int i = 0; i < byLoad.length; i++) {
+            byLoad[i] = i;
+        }
+        Arrays.sort(byLoad, (a, b) -> Integer.compare(tours.get(b).getLoad(), tours.get(a).getLoad()));
+
+        double[] travelled = new double[capacities.length];
+        int[] trips = new int[capacities.length];
+        for (int idx = 0; idx < byLoad.length; idx++) {
+            Tour tour = tours.get(byLoad[idx]);
+            int chosen = -1;
+            for (int v = 0; v < capacities.length; v++) {
+                if (capacities[v] >= tour.getLoad()
+                        && (chosen < 0 || travelled[v] < travelled[chosen])) {
+                    chosen = v;
+                }
+            }
+            tour.vehicle = chosen;
+            tour.trip = trips[chosen]++;
+            travelled[chosen] += tour.getDistance();
+        }
+    }
+}
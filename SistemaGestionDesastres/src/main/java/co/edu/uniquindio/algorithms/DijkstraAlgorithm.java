@@ -3,8 +3,10 @@ package co.edu.uniquindio.algorithms;
 import co.edu.uniquindio.structures.CustomList;
 import co.edu.uniquindio.structures.CustomMap;
 import co.edu.uniquindio.structures.Graph;
+import co.edu.uniquindio.structures.IndexedGraph;
 import co.edu.uniquindio.structures.PriorityQueue;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
 /**
@@ -14,12 +16,14 @@ public class DijkstraAlgorithm {
 
     /**
      * Resultado del algoritmo de Dijkstra
+     * Solo se llena aquí: fuera del paquete es de solo lectura, así puede compartirse con
+     * la caché de rutas
      */
     public static class DijkstraResult {
         private CustomMap<String, Double> distances;
         private CustomMap<String, String> previous;
 
-        public DijkstraResult() {
+        DijkstraResult() {
             this.distances = new CustomMap<>();
             this.previous = new CustomMap<>();
         }
@@ -29,7 +33,7 @@ public class DijkstraAlgorithm {
             return dist != null ? dist : Double.POSITIVE_INFINITY;
         }
 
-        public void setDistance(String vertexId, double distance) {
+        void setDistance(String vertexId, double distance) {
             distances.put(vertexId, distance);
         }
 
@@ -37,7 +41,7 @@ public class DijkstraAlgorithm {
             return previous.get(vertexId);
         }
 
-        public void setPrevious(String vertexId, String previousId) {
+        void setPrevious(String vertexId, String previousId) {
             previous.put(vertexId, previousId);
         }
 
@@ -148,4 +152,78 @@ public class DijkstraAlgorithm {
         DijkstraResult result = findShortestPaths(graph, sourceId);
         return result.getPath(destinationId);
     }
+
+    // ==================== VERSIÓN INDEXADA ====================
+
+    /**
+     * Nodo para la cola de prioridad de la versión indexada
+     */
+    private static class IndexedNode {
+        final int vertex;
+        final double distance;
+
+        IndexedNode(int vertex, double distance) {
+            this.vertex = vertex;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * Distancias más cortas desde uno o varios orígenes sobre la forma indexada del grafo
+     * Complejidad: O((V + E) log V)
+     *
+     * @param graph Grafo indexado
+     * @param sources Índices de los vértices origen (distancia 0)
+     * @return Distancia a cada vértice (POSITIVE_INFINITY si es inalcanzable)
+     */
+    public static double[] shortestDistances(IndexedGraph graph, int... sources) {
+        double[] dist = new double[graph.getVertexCount()];
+        shortestPathTree(graph, sources, dist, null);
+        return dist;
+    }
+
+    /**
+     * Árbol de caminos más cortos sobre la forma indexada del grafo
+     * Complejidad: O((V + E) log V)
+     *
+     * @param graph Grafo indexado
+     * @param sources Índices de los vértices origen
+     * @param dist Arreglo de salida con la distancia a cada vértice
+     * @param previousEdge Arreglo de salida con la arista por la que se llega a cada vértice
+     *                     (-1 para orígenes e inalcanzables); puede ser null
+     */
+    public static void shortestPathTree(IndexedGraph graph, int[] sources, double[] dist, int[] previousEdge) {
+        int n = graph.getVertexCount();
+        Arrays.fill(dist, 0, n, Double.POSITIVE_INFINITY);
+        if (previousEdge != null) {
+            Arrays.fill(previousEdge, 0, n, -1);
+        }
+
+        PriorityQueue<IndexedNode> pq = new PriorityQueue<>(
+                Comparator.comparingDouble((IndexedNode node) -> node.distance));
+        for (int i = 0; i < sources.length; i++) {
+            dist[sources[i]] = 0.0;
+            pq.offer(new IndexedNode(sources[i], 0.0));
+        }
+
+        while (!pq.isEmpty()) {
+            IndexedNode current = pq.poll();
+            int u = current.vertex;
+            if (current.distance > dist[u]) {
+                continue;
+            }
+
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.getTarget(e);
+                double candidate = dist[u] + graph.getWeight(e);
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    if (previousEdge != null) {
+                        previousEdge[v] = e;
+                    }
+                    pq.offer(new IndexedNode(v, candidate));
+                }
+            }
+        }
+    }
 }
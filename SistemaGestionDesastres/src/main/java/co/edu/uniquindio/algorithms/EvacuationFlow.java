@@ -0,0 +1,218 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.models.Location;
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.IndexedGraph;
+
+/**
+ * Capacidad de evacuación de la red de rutas
+ *
+ * Modela la red como un problema de flujo: una superfuente alimenta cada zona afectada
+ * (hasta su población), las rutas llevan como mucho su capacidad por hora y cada refugio
+ * descarga en un supersumidero. El flujo máximo de costo mínimo da cuántas personas por
+ * hora pueden llegar a los refugios y, entre los planes con ese caudal, el que recorre
+ * menos distancia.
+ */
+public class EvacuationFlow {
+
+    /**
+     * Flujo que recorre una ruta
+     */
+    public static class RouteFlow {
+        private final String fromId;
+        private final String toId;
+        private final double flow;
+        private final double capacity;
+
+        RouteFlow(String fromId, String toId, double flow, double capacity) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.flow = flow;
+            this.capacity = capacity;
+        }
+
+        public String getFromId() {
+            return fromId;
+        }
+
+        public String getToId() {
+            return toId;
+        }
+
+        public double getFlow() {
+            return flow;
+        }
+
+        public double getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * Verificar si la ruta va a plena capacidad (cuello de botella)
+         */
+        public boolean isSaturated() {
+            return !Double.isInfinite(capacity) && flow >= capacity - 1e-9;
+        }
+
+        @Override
+        public String toString() {
+            return fromId + " -> " + toId + ": " + String.format("%.1f", flow)
+                    + (Double.isInfinite(capacity) ? "" : " / " + String.format("%.1f", capacity));
+        }
+    }
+
+    /**
+     * Resultado del cálculo
+     */
+    public static class Result {
+        private final double throughput;
+        private final double totalDistance;
+        private final CustomList<RouteFlow> routeFlows;
+        private final CustomList<String> zoneIds;
+        private final double[] zoneFlows;
+        private final CustomList<String> shelterIds;
+        private final double[] shelterFlows;
+
+        Result(double throughput, double totalDistance, CustomList<RouteFlow> routeFlows,
+               CustomList<String> zoneIds, double[] zoneFlows,
+               CustomList<String> shelterIds, double[] shelterFlows) {
+            this.throughput = throughput;
+            this.totalDistance = totalDistance;
+            this.routeFlows = routeFlows;
+            this.zoneIds = zoneIds;
+            this.zoneFlows = zoneFlows;
+            this.shelterIds = shelterIds;
+            this.shelterFlows = shelterFlows;
+        }
+
+        /**
+         * Personas por hora que pueden llegar a los refugios
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        /**
+         * Distancia total recorrida por el flujo (persona·km por hora)
+         */
+        public double getTotalDistance() {
+            return totalDistance;
+        }
+
+        /**
+         * Distancia media recorrida por persona evacuada
+         */
+        public double getAverageDistance() {
+            return throughput > 0 ? totalDistance / throughput : 0.0;
+        }
+
+        /**
+         * Rutas con flujo positivo
+         */
+        public CustomList<RouteFlow> getRouteFlows() {
+            return routeFlows;
+        }
+
+        /**
+         * Rutas que van a plena capacidad
+         */
+        public CustomList<RouteFlow> getBottlenecks() {
+            CustomList<RouteFlow> saturated = new CustomList<>();
+            for (int i = 0; i < routeFlows.size(); i++) {
+                if (routeFlows.get(i).isSaturated()) {
+                    saturated.add(routeFlows.get(i));
+                }
+            }
+            return saturated;
+        }
+
+        /**
+         * Personas por hora que salen de una zona afectada
+         */
+        public double getZoneFlow(String zoneId) {
+            int index = zoneIds.indexOf(zoneId);
+            return index >= 0 ? zoneFlows[index] : 0.0;
+        }
+
+        /**
+         * Personas por hora que llegan a un refugio
+         */
+        public double getShelterFlow(String shelterId) {
+            int index = shelterIds.indexOf(shelterId);
+            return index >= 0 ? shelterFlows[index] : 0.0;
+        }
+
+        public CustomList<String> getZoneIds() {
+            return zoneIds;
+        }
+
+        public CustomList<String> getShelterIds() {
+            return shelterIds;
+        }
+    }
+
+    /**
+     * Calcular la capacidad de evacuación desde las zonas afectadas hacia los refugios
+     * Complejidad: O(F · E log V) donde F es el número de caminos de aumento
+     *
+     * @param graph Forma indexada del grafo de ubicaciones
+     * @return Caudal máximo y su reparto por rutas, zonas y refugios
+     */
+    public static Result computeThroughput(IndexedGraph graph) {
+        int n = graph.getVertexCount();
+        int source = n;
+        int sink = n + 1;
+        MinCostMaxFlow network = new MinCostMaxFlow(n + 2);
+
+        // Rutas
+        int m = graph.getEdgeCount();
+        int[] edgeIds = new int[m];
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                edgeIds[e] = network.addEdge(v, graph.getTarget(e), graph.getCapacity(e), graph.getWeight(e));
+            }
+        }
+
+        // Zonas afectadas y refugios
+        CustomList<String> zoneIds = new CustomList<>();
+        CustomList<Integer> zoneEdges = new CustomList<>();
+        CustomList<String> shelterIds = new CustomList<>();
+        CustomList<Integer> shelterEdges = new CustomList<>();
+        for (int v = 0; v < n; v++) {
+            Location location = graph.getLocation(v);
+            if (location.getType() == Location.LocationType.AFFECTED_ZONE && !location.isEvacuated()
+                    && location.getPopulation() > 0) {
+                zoneIds.add(location.getId());
+                zoneEdges.add(network.addEdge(source, v, location.getPopulation(), 0.0));
+            } else if (location.getType() == Location.LocationType.SHELTER) {
+                shelterIds.add(location.getId());
+                shelterEdges.add(network.addEdge(v, sink, Double.POSITIVE_INFINITY, 0.0));
+            }
+        }
+
+        MinCostMaxFlow.FlowResult result = network.solve(source, sink);
+
+        CustomList<RouteFlow> routeFlows = new CustomList<>();
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                double flow = network.getFlow(edgeIds[e]);
+                if (flow > 1e-9) {
+                    routeFlows.add(new RouteFlow(graph.getId(v), graph.getId(graph.getTarget(e)),
+                            flow, graph.getCapacity(e)));
+                }
+            }
+        }
+
+        double[] zoneFlows = new double[zoneIds.size()];
+        for (int i = 0; i < zoneFlows.length; i++) {
+            zoneFlows[i] = network.getFlow(zoneEdges.get(i));
+        }
+        double[] shelterFlows = new double[shelterIds.size()];
+        for (int i = 0; i < shelterFlows.length; i++) {
+            shelterFlows[i] = network.getFlow(shelterEdges.get(i));
+        }
+
+        return new Result(result.getFlow(), result.getCost(), routeFlows,
+                zoneIds, zoneFlows, shelterIds, shelterFlows);
+    }
+}
@@ -0,0 +1,110 @@
+package co.edu.uniquindio.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Algoritmo húngaro para el problema de asignación de costo mínimo
+ *
+ * Dada una matriz de costos de n filas por m columnas (n <= m), asigna a cada fila una
+ * columna distinta minimizando la suma de costos. Es la versión con potenciales de filas
+ * y columnas que agrega una fila por vez buscando un camino aumentante de costo reducido
+ * mínimo, O(n² · m). Los costos pueden ser negativos.
+ */
+public class HungarianAlgorithm {
+
+    /**
+     * Resolver la asignación
+     * Complejidad: O(n² · m)
+     *
+     * @param cost Matriz de costos [fila][columna], con al menos tantas columnas como filas
+     * @return Columna asignada a cada fila
+     */
+    public static int[] solve(double[][] cost) {
+        int n = cost.length;
+        if (n == 0) {
+            return new int[0];
+        }
+        int m = cost[0].length;
+        if (m < n) {
+            throw new IllegalArgumentException("Cost matrix needs at least as many columns as rows");
+        }
+
+        // Índices desde 1; la columna 0 es ficticia y marca la fila que se está agregando
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] rowOfColumn = new int[m + 1];
+        int[] way = new int[m + 1];
+        double[] minSlack = new double[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int row = 1; row <= n; row++) {
+            if (cost[row - 1].length != m) {
+                throw new IllegalArgumentException("Cost matrix must be rectangular");
+            }
+
+            rowOfColumn[0] = row;
+            int column = 0;
+            Arrays.fill(minSlack, Double.POSITIVE_INFINITY);
+            Arrays.fill(used, false);
+
+            // Buscar el camino aumentante más barato desde la nueva fila
+            do {
+                used[column] = true;
+                int currentRow = rowOfColumn[column];
+                double delta = Double.POSITIVE_INFINITY;
+                int nextColumn = -1;
+
+                for (int j = 1; j <= m; j++) {
+                    if (!used[j]) {
+                        double reduced = cost[currentRow - 1][j - 1] - u[currentRow] - v[j];
+                        if (reduced < minSlack[j]) {
+                            minSlack[j] = reduced;
+                            way[j] = column;
+                        }
+                        if (minSlack[j] < delta) {
+                            delta = minSlack[j];
+                            nextColumn = j;
+                        }
+                    }
+                }
+
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[rowOfColumn[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minSlack[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (rowOfColumn[column] != 0);
+
+            // Invertir el camino
+            do {
+                int previous = way[column];
+                rowOfColumn[column] = rowOfColumn[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        int[] assignment = new int[n];
+        for (int j = 1; j <= m; j++) {
+            if (rowOfColumn[j] != 0) {
+                assignment[rowOfColumn[j] - 1] = j - 1;
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * Costo total de una asignación
+     * Complejidad: O(n)
+     */
+    public static double totalCost(double[][] cost, int[] assignment) {
+        double total = 0;
+        for (int i = 0; i < assignment.length; i++) {
+            total += cost[i][assignment[i]];
+        }
+        return total;
+    }
+}
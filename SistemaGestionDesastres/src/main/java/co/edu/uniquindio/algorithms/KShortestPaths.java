@@ -0,0 +1,402 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.CustomMap;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.PriorityQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Rutas alternativas: k caminos más cortos sin ciclos (algoritmo de Yen)
+ *
+ * El primer camino es el más corto; cada uno de los siguientes se obtiene desviándose
+ * de un camino ya encontrado en alguno de sus vértices ("camino de desvío"), prohibiendo
+ * las aristas que repetirían un camino conocido y los vértices del tramo inicial.
+ *
+ * Para que sea interactivo en grafos grandes, todas las búsquedas de una llamada
+ * comparten el mismo estado:
+ *   - Un Dijkstra inverso desde el destino, calculado una sola vez, da una cota inferior
+ *     admisible y consistente (prohibir aristas solo alarga los caminos), así que cada
+ *     desvío es una búsqueda A* que se detiene al llegar al destino.
+ *   - Distancias, predecesores y prohibiciones viven en arreglos reutilizados que se
+ *     "limpian" con un contador de generación en lugar de rellenarlos en cada búsqueda,
+ *     y la cola de prioridad también se reutiliza.
+ *
+ * Para obtener rutas realmente distintas se puede limitar la fracción de distancia que una
+ * ruta comparte con las ya aceptadas (maxOverlap); los candidatos demasiado parecidos se
+ * descartan pero siguen generando desvíos.
+ */
+public class KShortestPaths {
+    public static final double NO_OVERLAP_LIMIT = 1.0;
+    private static final int CANDIDATE_FACTOR = 10; // Candidatos revisados por ruta pedida
+
+    /**
+     * Ruta encontrada
+     */
+    public static class Path {
+        private final CustomList<String> locationIds;
+        private final double distance;
+        private final double sharedWithBest;
+
+        Path(CustomList<String> locationIds, double distance, double sharedWithBest) {
+            this.locationIds = locationIds;
+            this.distance = distance;
+            this.sharedWithBest = sharedWithBest;
+        }
+
+        public CustomList<String> getLocationIds() {
+            return locationIds;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+
+        /**
+         * Fracción de la distancia que recorre tramos de la ruta más corta (1.0 para ella misma)
+         */
+        public double getSharedWithBest() {
+            return sharedWithBest;
+        }
+
+        @Override
+        public String toString() {
+            return locationIds + " (" + String.format("%.1f", distance) + " km)";
+        }
+    }
+
+    /**
+     * Camino en índices del grafo indexado
+     */
+    private static class Candidate {
+        final int[] vertices;
+        final int[] edges;
+        final double distance;
+
+        Candidate(int[] vertices, int[] edges, double distance) {
+            this.vertices = vertices;
+            this.edges = edges;
+            this.distance = distance;
+        }
+
+        String key() {
+            return Arrays.toString(edges);
+        }
+    }
+
+    private final double maxOverlap;
+
+    // Estado compartido por las búsquedas de una llamada
+    private IndexedGraph graph;
+    private double[] lowerBound;
+    private double[] dist;
+    private int[] previousEdge;
+    private int[] visitedStamp;
+    private int[] bannedVertexStamp;
+    private int[] bannedEdgeStamp;
+    private int[] edgeSource;
+    private final PriorityQueue<double[]> open;
+    private int generation;
+    private int searches;
+
+    /**
+     * Constructor sin filtro de diversidad (k caminos más cortos clásicos)
+     */
+    public KShortestPaths() {
+        this(NO_OVERLAP_LIMIT);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxOverlap Fracción máxima de su distancia que una ruta puede compartir con
+     *                   cualquier ruta ya aceptada (0..1; 1 acepta cualquier ruta)
+     */
+    public KShortestPaths(double maxOverlap) {
+        if (maxOverlap < 0 || maxOverlap > 1) {
+            throw new IllegalArgumentException("Overlap must be between 0 and 1");
+        }
+        this.maxOverlap = maxOverlap;
+        this.open = new PriorityQueue<>(Comparator.comparingDouble((double[] entry) -> entry[1]));
+    }
+
+    /**
+     * Calcular hasta k rutas sin ciclos, de la más corta a la más larga
+     * Complejidad: O(k · L · (V + E) log V) en el peor caso, con L la longitud de las rutas;
+     * en la práctica cada desvío explora solo la zona entre su vértice y el destino
+     *
+     * @param indexed Forma indexada del grafo de ubicaciones
+     * @param fromId Origen
+     * @param toId Destino
+     * @param k Número de rutas a devolver
+     * @return Rutas encontradas (vacía si no hay ninguna)
+     */
+    public synchronized CustomList<Path> find(IndexedGraph indexed, String fromId, String toId, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        CustomList<Path> result = new CustomList<>();
+        int source = indexed.indexOf(fromId);
+        int target = indexed.indexOf(toId);
+        if (source < 0 || target < 0 || source == target) {
+            return result;
+        }
+
+        prepare(indexed, target);
+        searches = 0;
+        if (Double.isInfinite(lowerBound[source])) {
+            return result;
+        }
+
+        CustomList<Candidate> accepted = new CustomList<>();
+        CustomList<Candidate> generated = new CustomList<>();
+        CustomMap<String, Boolean> seen = new CustomMap<>();
+        PriorityQueue<Candidate> pending = new PriorityQueue<>(
+                Comparator.comparingDouble((Candidate candidate) -> candidate.distance));
+
+        Candidate first = search(source, target, null, 0, 0.0);
+        seen.put(first.key(), Boolean.TRUE);
+        pending.offer(first);
+
+        int budget = k * CANDIDATE_FACTOR;
+        while (!pending.isEmpty() && accepted.size() < k && generated.size() < budget) {
+            Candidate path = pending.poll();
+            generated.add(path);
+            if (accepted.isEmpty() || maxSharedFraction(path, accepted) <= maxOverlap) {
+                accepted.add(path);
+            }
+            spur(path, generated, seen, pending, target);
+        }
+
+        Candidate best = accepted.get(0);
+        for (int i = 0; i < accepted.size(); i++) {
+            Candidate path = accepted.get(i);
+            CustomList<String> ids = new CustomList<>();
+            for (int j = 0; j < path.vertices.length; j++) {
+                ids.add(indexed.getId(path.vertices[j]));
+            }
+            result.add(new Path(ids, path.distance, sharedFraction(path, best)));
+        }
+        return result;
+    }
+
+    /**
+     * Búsquedas A* ejecutadas en la última llamada (incluye la inicial)
+     */
+    public synchronized int getLastSearchCount() {
+        return searches;
+    }
+
+    // ==================== YEN ====================
+
+    /**
+     * Generar los desvíos de un camino y agregarlos a los candidatos
+     */
+    private void spur(Candidate path, CustomList<Candidate> generated, CustomMap<String, Boolean> seen,
+                      PriorityQueue<Candidate> pending, int target) {
+        double rootDistance = 0.0;
+        for (int i = 0; i < path.edges.length; i++) {
+            generation++;
+
+            // Aristas que repetirían un camino ya generado con el mismo tramo inicial
+            for (int g = 0; g < generated.size(); g++) {
+                Candidate other = generated.get(g);
+                if (other.edges.length > i && sharesRoot(other, path, i)) {
+                    bannedEdgeStamp[other.edges[i]] = generation;
+                }
+            }
+            // Vértices del tramo inicial (el camino debe seguir sin ciclos)
+            for (int j = 0; j < i; j++) {
+                bannedVertexStamp[path.vertices[j]] = generation;
+            }
+
+            Candidate tail = search(path.vertices[i], target, path, i, rootDistance);
+            if (tail != null) {
+                String key = tail.key();
+                if (!seen.containsKey(key)) {
+                    seen.put(key, Boolean.TRUE);
+                    pending.offer(tail);
+                }
+            }
+            rootDistance += graph.getWeight(path.edges[i]);
+        }
+    }
+
+    private static boolean sharesRoot(Candidate a, Candidate b, int length) {
+        for (int j = 0; j < length; j++) {
+            if (a.edges[j] != b.edges[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ==================== BÚSQUEDA ====================
+
+    /**
+     * Preparar el estado compartido: arreglos y cota inferior hacia el destino
+     * Complejidad: O((V + E) log V)
+     */
+    private void prepare(IndexedGraph indexed, int target) {
+        int n = indexed.getVertexCount();
+        int m = indexed.getEdgeCount();
+        if (graph != indexed || dist == null || dist.length != n) {
+            dist = new double[n];
+            previousEdge = new int[n];
+            visitedStamp = new int[n];
+            bannedVertexStamp = new int[n];
+            bannedEdgeStamp = new int[m];
+            edgeSource = new int[m];
+            for (int v = 0; v < n; v++) {
+                for (int e = indexed.edgeStart(v); e < indexed.edgeEnd(v); e++) {
+                    edgeSource[e] = v;
+                }
+            }
+            generation = 0;
+            graph = indexed;
+        }
+
+        // Dijkstra inverso: aristas entrantes agrupadas por destino
+        int[] inStart = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            inStart[indexed.getTarget(e) + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            inStart[v + 1] += inStart[v];
+        }
+        int[] inEdges = new int[m];
+        int[] fill = Arrays.copyOf(inStart, n);
+        for (int e = 0; e < m; e++) {
+            inEdges[fill[indexed.getTarget(e)]++] = e;
+        }
+
+        lowerBound = new double[n];
+        Arrays.fill(lowerBound, Double.POSITIVE_INFINITY);
+        lowerBound[target] = 0.0;
+        open.clear();
+        open.offer(new double[]{target, 0.0});
+        while (!open.isEmpty()) {
+            double[] entry = open.poll();
+            int v = (int) entry[0];
+            if (entry[1] > lowerBound[v]) {
+                continue;
+            }
+            for (int i = inStart[v]; i < inStart[v + 1]; i++) {
+                int e = inEdges[i];
+                int u = edgeSource[e];
+                double candidate = lowerBound[v] + indexed.getWeight(e);
+                if (candidate < lowerBound[u]) {
+                    lowerBound[u] = candidate;
+                    open.offer(new double[]{u, candidate});
+                }
+            }
+        }
+    }
+
+    /**
+     * A* desde start hasta target respetando las prohibiciones de la generación actual
+     * Si root no es null, el resultado es root[0..rootLength] seguido del tramo encontrado
+     *
+     * @return Camino completo, o null si el destino no es alcanzable
+     */
+    private Candidate search(int start, int target, Candidate root, int rootLength, double rootDistance) {
+        searches++;
+        if (root == null) {
+            generation++;
+        }
+        int stamp = generation;
+
+        open.clear();
+        visitedStamp[start] = stamp;
+        dist[start] = 0.0;
+        previousEdge[start] = -1;
+        open.offer(new double[]{start, lowerBound[start]});
+
+        boolean found = false;
+        while (!open.isEmpty()) {
+            double[] entry = open.poll();
+            int u = (int) entry[0];
+            if (entry[1] > dist[u] + lowerBound[u]) {
+                continue; // Entrada obsoleta
+            }
+            if (u == target) {
+                found = true;
+                break;
+            }
+
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.getTarget(e);
+                if (bannedEdgeStamp[e] == stamp || bannedVertexStamp[v] == stamp
+                        || Double.isInfinite(lowerBound[v])) {
+                    continue;
+                }
+                double candidate = dist[u] + graph.getWeight(e);
+                if (visitedStamp[v] != stamp || candidate < dist[v]) {
+                    visitedStamp[v] = stamp;
+                    dist[v] = candidate;
+                    previousEdge[v] = e;
+                    open.offer(new double[]{v, candidate + lowerBound[v]});
+                }
+            }
+        }
+        if (!found) {
+            return null;
+        }
+
+        // Reconstruir el tramo encontrado
+        int length = 0;
+        for (int v = target; v != start; v = edgeSource[previousEdge[v]]) {
+            length++;
+        }
+        int[] vertices = new int[rootLength + length + 1];
+        int[] edges = new int[rootLength + length];
+        for (int j = 0; j < rootLength; j++) {
+            vertices[j] = root.vertices[j];
+            edges[j] = root.edges[j];
+        }
+        int position = rootLength + length;
+        for (int v = target; v != start; v = edgeSource[previousEdge[v]]) {
+            vertices[position] = v;
+            edges[position - 1] = previousEdge[v];
+            position--;
+        }
+        vertices[rootLength] = start;
+        return new Candidate(vertices, edges, rootDistance + dist[target]);
+    }
+
+    // ==================== DIVERSIDAD ====================
+
+    /**
+     * Mayor fracción de la distancia del camino compartida con alguno de los aceptados
+     */
+    private double maxSharedFraction(Candidate path, CustomList<Candidate> accepted) {
+        double max = 0.0;
+        for (int i = 0; i < accepted.size(); i++) {
+            max = Math.max(max, sharedFraction(path, accepted.get(i)));
+        }
+        return max;
+    }
+
+    /**
+     * Fracción de la distancia del camino que recorre aristas del otro
+     * Complejidad: O(L) usando el contador de generación como conjunto de aristas
+     */
+    private double sharedFraction(Candidate path, Candidate other) {
+        if (path.distance <= 0) {
+            return 1.0;
+        }
+        int stamp = ++generation;
+        for (int j = 0; j < other.edges.length; j++) {
+            bannedEdgeStamp[other.edges[j]] = stamp;
+        }
+        double shared = 0.0;
+        for (int j = 0; j < path.edges.length; j++) {
+            if (bannedEdgeStamp[path.edges[j]] == stamp) {
+                shared += graph.getWeight(path.edges[j]);
+            }
+        }
+        return shared / path.distance;
+    }
+}
@@ -0,0 +1,582 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.PriorityQueue;
+import co.edu.uniquindio.structures.TravelTimeFunction;
+import co.edu.uniquindio.structures.WorkerPool;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Preprocesamiento ALT (A*, landmarks, desigualdad triangular) para cotas inferiores con
+ * cualquier costo por arista
+ *
+ * Con los costos de un landmark L hacia y desde cada vértice, la desigualdad triangular da
+ * para cualquier par (v, t):
+ *   d(v, t) >= d(L, t) - d(L, v)   y   d(v, t) >= d(v, L) - d(t, L)
+ * El máximo sobre los landmarks es una cota admisible y consistente para A*, también
+ * cuando los costos no son distancias geográficas (minutos, riesgo) y Haversine no sirve.
+ *
+ * Selección de landmarks (deben quedar "detrás" de muchos destinos):
+ *   - FARTHEST: cada landmark es el vértice más lejano de los ya elegidos
+ *   - AVOID (Goldberg-Werneck): desde una raíz al azar se busca la rama del árbol de
+ *     caminos más cortos donde la cota actual es peor y se toma una hoja de esa rama
+ * La selección es secuencial porque cada landmark depende de los anteriores y solo usa
+ * los costos desde los landmarks. Los costos hacia los landmarks (o ambos sentidos si los
+ * landmarks se dan explícitamente) se calculan en paralelo, un Dijkstra por tarea.
+ *
+ * Los costos se guardan en arreglos float (la mitad de memoria que double), uno por
+ * sentido con los landmarks uno tras otro; al calcular la cota se descuenta el error de
+ * redondeo para que siga siendo admisible. Un costo POSITIVE_INFINITY indica que no hay
+ * camino, y sirve para descartar vértices que no pueden llegar al destino.
+ */
+public final class LandmarkIndex {
+    public static final int DEFAULT_LANDMARKS = 8;
+    static final int PARALLEL_THRESHOLD = 2;
+    private static final int AVOID_ATTEMPTS = 4;
+
+    /**
+     * Estrategia de selección de landmarks
+     */
+    public enum Selection {
+        FARTHEST,
+        AVOID
+    }
+
+    /**
+     * Costos por arista disponibles para rutas
+     */
+    public enum Metric {
+        DISTANCE,      // Kilómetros
+        TRAVEL_TIME,   // Menor tiempo de recorrido en horas (sin esperas)
+        RISK           // Kilómetros por nivel de urgencia del destino (ver MultiCriteriaRouter)
+    }
+
+    private final IndexedGraph graph;
+    private final double[] edgeCost;
+    private final int[] landmarks;
+    private final float[] fromLandmark; // fromLandmark[i * V + v] = d(landmark i, v)
+    private final float[] toLandmark;   // toLandmark[i * V + v] = d(v, landmark i)
+
+    private LandmarkIndex(IndexedGraph graph, double[] edgeCost, int[] landmarks,
+                          float[] fromLandmark, float[] toLandmark) {
+        this.graph = graph;
+        this.edgeCost = edgeCost;
+        this.landmarks = landmarks;
+        this.fromLandmark = fromLandmark;
+        this.toLandmark = toLandmark;
+    }
+
+    // ==================== COSTOS ====================
+
+    /**
+     * Costo de cada arista según la métrica, por índice de arista
+     * Complejidad: O(E)
+     *
+     * @param speedKmh Velocidad para las aristas sin función de tiempo (solo TRAVEL_TIME)
+     */
+    public static double[] edgeCosts(IndexedGraph graph, Metric metric, double speedKmh) {
+        if (metric == Metric.TRAVEL_TIME && (!(speedKmh > 0) || Double.isInfinite(speedKmh))) {
+            throw new IllegalArgumentException("Speed must be positive");
+        }
+        double[] cost = new double[graph.getEdgeCount()];
+        for (int u = 0; u < graph.getVertexCount(); u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                switch (metric) {
+                    case TRAVEL_TIME:
+                        TravelTimeFunction travelTime = graph.getTravelTime(e);
+                        cost[e] = travelTime != null ? travelTime.getMinTravelTime() : graph.getWeight(e) / speedKmh;
+                        break;
+                    case RISK:
+                        cost[e] = graph.getWeight(e) * graph.getLocation(graph.getTarget(e)).getUrgencyLevel();
+                        break;
+                    default:
+                        cost[e] = graph.getWeight(e);
+                }
+            }
+        }
+        return cost;
+    }
+
+    // ==================== CONSTRUCCIÓN ====================
+
+    /**
+     * Elegir landmarks y calcular sus costos
+     * Complejidad: O(k · (V + E) log V), con los costos hacia los landmarks repartidos entre hilos
+     *
+     * @param edgeCost Costo no negativo por índice de arista (null para los pesos del grafo)
+     * @param count Número de landmarks (se limita al número de ubicaciones)
+     * @param seed Semilla para las elecciones al azar
+     * @param parallel true para repartir los Dijkstra entre varios hilos
+     */
+    public static LandmarkIndex build(IndexedGraph graph, double[] edgeCost, int count, Selection selection,
+                                      long seed, boolean parallel) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Landmark count must be positive");
+        }
+        double[] cost = checkCosts(graph, edgeCost);
+        Csr forward = Csr.forward(graph, cost);
+        int n = graph.getVertexCount();
+        int k = Math.min(count, n);
+
+        int[] chosen = new int[k];
+        double[][] fromDistances = new double[k][];
+        Random random = new Random(seed);
+        for (int i = 0; i < k; i++) {
+            int landmark = selection == Selection.AVOID
+                    ? avoidCandidate(forward, chosen, fromDistances, i, random)
+                    : farthestCandidate(forward, chosen, fromDistances, i, random);
+            chosen[i] = landmark;
+            fromDistances[i] = new double[n];
+            forward.dijkstra(landmark, fromDistances[i], null, null);
+        }
+
+        float[] from = new float[k * n];
+        for (int i = 0; i < k; i++) {
+            store(fromDistances[i], from, i * n);
+        }
+        float[] to = new float[k * n];
+        computeAll(Csr.backward(graph, cost), chosen, to, parallel);
+        return new LandmarkIndex(graph, cost, chosen, from, to);
+    }
+
+    /**
+     * Calcular los costos de landmarks ya elegidos (ambos sentidos en paralelo)
+     * Complejidad: O(k · (V + E) log V), repartido entre hilos si parallel
+     *
+     * @param edgeCost Costo no negativo por índice de arista (null para los pesos del grafo)
+     * @param landmarkIds IDs de los landmarks
+     */
+    public static LandmarkIndex build(IndexedGraph graph, double[] edgeCost, CustomList<String> landmarkIds,
+                                      boolean parallel) {
+        double[] cost = checkCosts(graph, edgeCost);
+        int[] chosen = new int[landmarkIds.size()];
+        for (int i = 0; i < chosen.length; i++) {
+            chosen[i] = graph.indexOf(landmarkIds.get(i));
+            if (chosen[i] < 0) {
+                throw new IllegalArgumentException("Unknown landmark: " + landmarkIds.get(i));
+            }
+        }
+        int n = graph.getVertexCount();
+        float[] from = new float[chosen.length * n];
+        float[] to = new float[chosen.length * n];
+        Csr forward = Csr.forward(graph, cost);
+        Csr backward = Csr.backward(graph, cost);
+        if (!parallel || 2 * chosen.length < PARALLEL_THRESHOLD) {
+            computeAll(forward, chosen, from, false);
+            computeAll(backward, chosen, to, false);
+            return new LandmarkIndex(graph, cost, chosen, from, to);
+        }
+
+        CustomList<Callable<Void>> tasks = new CustomList<>();
+        addTasks(forward, chosen, from, tasks);
+        addTasks(backward, chosen, to, tasks);
+        WorkerPool.invokeAll(tasks, "Landmark preprocessing");
+        return new LandmarkIndex(graph, cost, chosen, from, to);
+    }
+
+    private static double[] checkCosts(IndexedGraph graph, double[] edgeCost) {
+        if (edgeCost == null) {
+            double[] weights = new double[graph.getEdgeCount()];
+            for (int e = 0; e < weights.length; e++) {
+                weights[e] = graph.getWeight(e);
+            }
+            return weights;
+        }
+        if (edgeCost.length != graph.getEdgeCount()) {
+            throw new IllegalArgumentException("Edge costs must have one value per edge");
+        }
+        for (int e = 0; e < edgeCost.length; e++) {
+            if (!(edgeCost[e] >= 0)) {
+                throw new IllegalArgumentException("Edge costs must be non-negative");
+            }
+        }
+        return edgeCost;
+    }
+
+    // ==================== SELECCIÓN ====================
+
+    /**
+     * Vértice con mayor costo mínimo desde los landmarks ya elegidos; los inalcanzables
+     * cuentan como infinitamente lejanos, así cada componente recibe su landmark. El primero
+     * es el más lejano de un vértice al azar.
+     */
+    private static int farthestCandidate(Csr forward, int[] chosen, double[][] fromDistances, int count,
+                                         Random random) {
+        int n = forward.vertexCount();
+        double[] nearest;
+        if (count == 0) {
+            nearest = new double[n];
+            forward.dijkstra(random.nextInt(n), nearest, null, null);
+        } else {
+            nearest = Arrays.copyOf(fromDistances[0], n);
+            for (int i = 1; i < count; i++) {
+                for (int v = 0; v < n; v++) {
+                    nearest[v] = Math.min(nearest[v], fromDistances[i][v]);
+                }
+            }
+        }
+
+        int best = -1;
+        for (int v = 0; v < n; v++) {
+            if (!isChosen(chosen, count, v) && (best < 0 || nearest[v] > nearest[best])) {
+                best = v;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Selección "avoid": en el árbol de caminos más cortos desde una raíz al azar, cada
+     * vértice pesa d(r, v) - cota(r, v) (lo que la cota actual no cubre) y cada subárbol
+     * suma sus pesos, o vale cero si ya contiene un landmark. Se baja desde la raíz por el
+     * hijo de mayor peso hasta una hoja. Si ninguna raíz encuentra rama sin cubrir, se usa
+     * la selección FARTHEST.
+     */
+    private static int avoidCandidate(Csr forward, int[] chosen, double[][] fromDistances, int count,
+                                      Random random) {
+        int n = forward.vertexCount();
+        double[] dist = new double[n];
+        int[] parent = new int[n];
+        int[] order = new int[n];
+        double[] size = new double[n];
+        int[] heaviestChild = new int[n];
+
+        for (int attempt = 0; attempt < AVOID_ATTEMPTS; attempt++) {
+            int root = random.nextInt(n);
+            int settled = forward.dijkstra(root, dist, parent, order);
+
+            Arrays.fill(heaviestChild, -1);
+            boolean[] covered = new boolean[n];
+            for (int i = settled - 1; i >= 0; i--) {
+                int v = order[i];
+                if (isChosen(chosen, count, v)) {
+                    covered[v] = true;
+                }
+                if (covered[v]) {
+                    size[v] = 0;
+                } else {
+                    double bound = 0;
+                    for (int l = 0; l < count; l++) {
+                        bound = Math.max(bound, fromDistances[l][v] - fromDistances[l][root]);
+                    }
+                    size[v] += Math.max(0, dist[v] - bound);
+                }
+                int p = parent[v];
+                if (p >= 0) {
+                    covered[p] |= covered[v];
+                    size[p] += size[v];
+                    if (size[v] > 0 && (heaviestChild[p] < 0 || size[v] > size[heaviestChild[p]])) {
+                        heaviestChild[p] = v;
+                    }
+                }
+            }
+
+            if (size[root] > 0 && !covered[root]) {
+                int leaf = root;
+                while (heaviestChild[leaf] >= 0) {
+                    leaf = heaviestChild[leaf];
+                }
+                return leaf;
+            }
+            Arrays.fill(size, 0);
+        }
+        return farthestCandidate(forward, chosen, fromDistances, count, random);
+    }
+
+    private static boolean isChosen(int[] chosen, int count, int vertex) {
+        for (int i = 0; i < count; i++) {
+            if (chosen[i] == vertex) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ==================== COTAS ====================
+
+    /**
+     * Cota inferior del costo de v a t con todos los landmarks
+     * Complejidad: O(k)
+     *
+     * @return Cota, o POSITIVE_INFINITY si se sabe que v no llega a t
+     */
+    public double lowerBound(int vertex, int target) {
+        double bound = 0;
+        for (int i = 0; i < landmarks.length; i++) {
+            bound = Math.max(bound, landmarkBound(i, vertex, target));
+        }
+        return bound;
+    }
+
+    /**
+     * Cota inferior del costo de v a t con un subconjunto de landmarks
+     * Complejidad: O(|active|)
+     *
+     * @param active Posiciones de los landmarks a usar (ver selectActive)
+     */
+    public double lowerBound(int vertex, int target, int[] active) {
+        double bound = 0;
+        for (int i = 0; i < active.length; i++) {
+            bound = Math.max(bound, landmarkBound(active[i], vertex, target));
+        }
+        return bound;
+    }
+
+    /**
+     * Landmarks que dan la mejor cota para un par origen-destino
+     * Usar solo unos pocos por consulta abarata cada evaluación casi sin perder poda
+     * Complejidad: O(k log max)
+     *
+     * @param max Número máximo de landmarks a devolver
+     * @return Posiciones de los landmarks, de mejor a peor cota
+     */
+    public int[] selectActive(int source, int target, int max) {
+        int limit = Math.min(max, landmarks.length);
+        if (limit < 1) {
+            return new int[0];
+        }
+        double[] bounds = new double[landmarks.length];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = landmarkBound(i, source, target);
+        }
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble((Integer i) -> bounds[i]));
+        for (int i = 0; i < bounds.length; i++) {
+            if (best.size() < limit) {
+                best.offer(i);
+            } else if (bounds[i] > bounds[best.peek()]) {
+                best.poll();
+                best.offer(i);
+            }
+        }
+        int[] active = new int[best.size()];
+        for (int i = active.length - 1; i >= 0; i--) {
+            active[i] = best.poll();
+        }
+        return active;
+    }
+
+    private double landmarkBound(int landmark, int vertex, int target) {
+        int offset = landmark * graph.getVertexCount();
+        return Math.max(
+                difference(fromLandmark[offset + target], fromLandmark[offset + vertex]),
+                difference(toLandmark[offset + vertex], toLandmark[offset + target]));
+    }
+
+    /**
+     * Cota de a - b con valores redondeados a float: se descuenta el error de redondeo
+     * Si a es infinito y b no, no hay camino (si lo hubiera, a sería finito)
+     */
+    private static double difference(float a, float b) {
+        if (Float.isInfinite(a)) {
+            return Float.isInfinite(b) ? 0.0 : Double.POSITIVE_INFINITY;
+        }
+        if (Float.isInfinite(b)) {
+            return 0.0;
+        }
+        double bound = (double) a - b - (Math.ulp(a) + Math.ulp(b));
+        return bound > 0 ? bound : 0.0;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    public IndexedGraph getIndexedGraph() {
+        return graph;
+    }
+
+    /**
+     * Costo de una arista con el que se construyó el índice
+     */
+    public double getEdgeCost(int edge) {
+        return edgeCost[edge];
+    }
+
+    /**
+     * Arreglo de costos por arista, compartido (no modificar)
+     */
+    double[] edgeCosts() {
+        return edgeCost;
+    }
+
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * Índice de vértice del landmark i
+     */
+    public int getLandmark(int i) {
+        return landmarks[i];
+    }
+
+    /**
+     * Costo desde el landmark i hasta un vértice (POSITIVE_INFINITY si no hay camino)
+     */
+    public double getCostFromLandmark(int i, int vertex) {
+        return fromLandmark[i * graph.getVertexCount() + vertex];
+    }
+
+    /**
+     * Costo desde un vértice hasta el landmark i (POSITIVE_INFINITY si no hay camino)
+     */
+    public double getCostToLandmark(int i, int vertex) {
+        return toLandmark[i * graph.getVertexCount() + vertex];
+    }
+
+    // ==================== DIJKSTRA ====================
+
+    private static void store(double[] dist, float[] out, int offset) {
+        for (int v = 0; v < dist.length; v++) {
+            out[offset + v] = (float) dist[v];
+        }
+    }
+
+    private static void computeAll(Csr csr, int[] chosen, float[] out, boolean parallel) {
+        if (!parallel || chosen.length < PARALLEL_THRESHOLD) {
+            double[] dist = new double[csr.vertexCount()];
+            for (int i = 0; i < chosen.length; i++) {
+                csr.dijkstra(chosen[i], dist, null, null);
+                store(dist, out, i * csr.vertexCount());
+            }
+            return;
+        }
+        CustomList<Callable<Void>> tasks = new CustomList<>();
+        addTasks(csr, chosen, out, tasks);
+        WorkerPool.invokeAll(tasks, "Landmark preprocessing");
+    }
+
+    private static void addTasks(Csr csr, int[] chosen, float[] out, CustomList<Callable<Void>> tasks) {
+        for (int i = 0; i < chosen.length; i++) {
+            int position = i;
+            tasks.add(() -> {
+                double[] dist = new double[csr.vertexCount()];
+                csr.dijkstra(chosen[position], dist, null, null);
+                store(dist, out, position * csr.vertexCount()); // Cada tarea escribe su propio tramo
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Nodo para la cola de prioridad
+     */
+    private static class Node {
+        final int vertex;
+        final double distance;
+
+        Node(int vertex, double distance) {
+            this.vertex = vertex;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * Grafo en formato CSR con el costo elegido, en el sentido original o invertido
+     */
+    private static final class Csr {
+        final int[] start;
+        final int[] target;
+        final double[] cost;
+
+        private Csr(int[] start, int[] target, double[] cost) {
+            this.start = start;
+            this.target = target;
+            this.cost = cost;
+        }
+
+        static Csr forward(IndexedGraph graph, double[] edgeCost) {
+            int n = graph.getVertexCount();
+            int[] start = new int[n + 1];
+            int[] target = new int[graph.getEdgeCount()];
+            for (int u = 0; u < n; u++) {
+                start[u] = graph.edgeStart(u);
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    target[e] = graph.getTarget(e);
+                }
+            }
+            start[n] = graph.getEdgeCount();
+            return new Csr(start, target, edgeCost);
+        }
+
+        /**
+         * Aristas invertidas, agrupadas por su destino original (conteo y acomodo)
+         * Complejidad: O(V + E)
+         */
+        static Csr backward(IndexedGraph graph, double[] edgeCost) {
+            int n = graph.getVertexCount();
+            int m = graph.getEdgeCount();
+            int[] start = new int[n + 1];
+            for (int e = 0; e < m; e++) {
+                start[graph.getTarget(e) + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                start[v + 1] += start[v];
+            }
+            int[] next = Arrays.copyOf(start, n);
+            int[] target = new int[m];
+            double[] cost = new double[m];
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    int slot = next[graph.getTarget(e)]++;
+                    target[slot] = u;
+                    cost[slot] = edgeCost[e];
+                }
+            }
+            return new Csr(start, target, cost);
+        }
+
+        int vertexCount() {
+            return start.length - 1;
+        }
+
+        /**
+         * Dijkstra desde un vértice
+         * Complejidad: O((V + E) log V)
+         *
+         * @param parent Salida opcional con el vértice anterior en el árbol (-1 si no hay)
+         * @param order Salida opcional con los vértices en orden de asentamiento
+         * @return Número de vértices asentados
+         */
+        int dijkstra(int source, double[] dist, int[] parent, int[] order) {
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            if (parent != null) {
+                Arrays.fill(parent, -1);
+            }
+            PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingDouble((Node node) -> node.distance));
+            dist[source] = 0.0;
+            pq.offer(new Node(source, 0.0));
+            int settled = 0;
+            boolean[] done = new boolean[dist.length];
+
+            while (!pq.isEmpty()) {
+                int u = pq.poll().vertex;
+                if (done[u]) {
+                    continue;
+                }
+                done[u] = true;
+                if (order != null) {
+                    order[settled] = u;
+                }
+                settled++;
+
+                for (int e = start[u]; e < start[u + 1]; e++) {
+                    int v = target[e];
+                    double candidate = dist[u] + cost[e];
+                    if (candidate < dist[v]) {
+                        dist[v] = candidate;
+                        if (parent != null) {
+                            parent[v] = u;
+                        }
+                        pq.offer(new Node(v, candidate));
+                    }
+                }
+            }
+            return settled;
+        }
+    }
+}
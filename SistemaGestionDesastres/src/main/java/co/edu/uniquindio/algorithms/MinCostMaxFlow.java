@@ -0,0 +1,333 @@
+package co.edu.uniquindio.algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Flujo máximo de costo mínimo por caminos más cortos sucesivos con potenciales
+ *
+ * La red se describe con índices enteros: addEdge() agrega una arista con su capacidad
+ * y su costo por unidad, y solve() empuja flujo de la fuente al sumidero siempre por el
+ * camino residual más barato. Los potenciales de Johnson mantienen los costos reducidos
+ * no negativos, así que cada camino se busca con Dijkstra sobre arreglos.
+ *
+ * Requiere costos no negativos en las aristas agregadas (distancias, tiempos).
+ * Capacidades y flujos son double; una capacidad infinita representa una arista sin límite.
+ * Cada red se resuelve una sola vez: después solo se consultan los flujos.
+ */
+public class MinCostMaxFlow {
+    private static final double EPSILON = 1e-9;
+
+    private final int nodeCount;
+    private final int[] head;
+    private int[] next;
+    private int[] to;
+    private double[] capacity;
+    private double[] cost;
+    private int edgeCount;
+    private boolean solved;
+
+    /**
+     * Resultado de una ejecución
+     */
+    public static class FlowResult {
+        private final double flow;
+        private final double cost;
+        private final int augmentations;
+
+        FlowResult(double flow, double cost, int augmentations) {
+            this.flow = flow;
+            this.cost = cost;
+            this.augmentations = augmentations;
+        }
+
+        /**
+         * Flujo total enviado (infinito si existe un camino sin límite de capacidad)
+         */
+        public double getFlow() {
+            return flow;
+        }
+
+        /**
+         * Costo total del flujo (suma de flujo por costo en cada arista)
+         */
+        public double getCost() {
+            return cost;
+        }
+
+        /**
+         * Número de caminos de aumento usados
+         */
+        public int getAugmentations() {
+            return augmentations;
+        }
+
+        /**
+         * Costo medio por unidad de flujo
+         */
+        public double getAverageCost() {
+            return flow > 0 && !Double.isInfinite(flow) ? cost / flow : 0.0;
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param nodeCount Número de nodos de la red (índices 0..nodeCount-1)
+     */
+    public MinCostMaxFlow(int nodeCount) {
+        if (nodeCount <= 0) {
+            throw new IllegalArgumentException("Node count must be positive");
+        }
+
+        this.nodeCount = nodeCount;
+        this.head = new int[nodeCount];
+        Arrays.fill(head, -1);
+        int initial = 16;
+        this.next = new int[initial];
+        this.to = new int[initial];
+        this.capacity = new double[initial];
+        this.cost = new double[initial];
+        this.edgeCount = 0;
+    }
+
+    /**
+     * Agregar una arista dirigida (y su residual inversa)
+     * Complejidad: O(1) amortizado
+     *
+     * @param from Nodo origen
+     * @param toNode Nodo destino
+     * @param edgeCapacity Capacidad (puede ser Double.POSITIVE_INFINITY)
+     * @param unitCost Costo por unidad de flujo, no negativo
+     * @return Identificador de la arista para consultar su flujo
+     */
+    public int addEdge(int from, int toNode, double edgeCapacity, double unitCost) {
+        if (from < 0 || from >= nodeCount || toNode < 0 || toNode >= nodeCount) {
+            throw new IllegalArgumentException("Node index out of range");
+        }
+        if (edgeCapacity < 0 || unitCost < 0) {
+            throw new IllegalArgumentException("Capacity and cost cannot be negative");
+        }
+
+        if (solved) {
+            throw new IllegalStateException("Flow network already solved");
+        }
+
+        ensureEdgeCapacity(edgeCount + 2);
+        int id = edgeCount;
+        link(from, toNode, edgeCapacity, unitCost);
+        link(toNode, from, 0.0, -unitCost);
+        return id;
+    }
+
+    /**
+     * Flujo que pasa por una arista tras solve()
+     */
+    public double getFlow(int edge) {
+        return capacity[edge ^ 1]; // La residual inversa acumula exactamente el flujo enviado
+    }
+
+    /**
+     * Número de aristas agregadas (sin contar las residuales)
+     */
+    public int getEdgeCount() {
+        return edgeCount / 2;
+    }
+
+    /**
+     * Calcular el flujo máximo de costo mínimo
+     */
+    public FlowResult solve(int source, int sink) {
+        return solve(source, sink, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Calcular el flujo de costo mínimo hasta un límite
+     * Complejidad: O(F · E log V) donde F es el número de caminos de aumento
+     *
+     * @param source Nodo fuente
+     * @param sink Nodo sumidero
+     * @param maxFlow Flujo máximo a enviar
+     * @return Flujo enviado y su costo
+     */
+    public FlowResult solve(int source, int sink, double maxFlow) {
+        if (source == sink) {
+            throw new IllegalArgumentException("Source and sink must differ");
+        }
+        if (solved) {
+            throw new IllegalStateException("Flow network already solved");
+        }
+        solved = true;
+
+        double[] potential = new double[nodeCount];
+        double[] dist = new double[nodeCount];
+        int[] previousEdge = new int[nodeCount];
+        IndexHeap heap = new IndexHeap(nodeCount);
+
+        double flow = 0;
+        double totalCost = 0;
+        int augmentations = 0;
+
+        while (flow < maxFlow) {
+            // Dijkstra sobre costos reducidos
+            Arrays.fill(dist, Double.POSITIVE_INFINITY);
+            Arrays.fill(previousEdge, -1);
+            dist[source] = 0;
+            heap.push(source, 0);
+
+            while (!heap.isEmpty()) {
+                int u = heap.pop();
+                for (int e = head[u]; e != -1; e = next[e]) {
+                    if (capacity[e] <= EPSILON) {
+                        continue;
+                    }
+                    int v = to[e];
+                    double candidate = dist[u] + cost[e] + potential[u] - potential[v];
+                    if (candidate < dist[v] - EPSILON) {
+                        dist[v] = candidate;
+                        previousEdge[v] = e;
+                        heap.push(v, candidate);
+                    }
+                }
+            }
+
+            if (Double.isInfinite(dist[sink])) {
+                break;
+            }
+
+            for (int v = 0; v < nodeCount; v++) {
+                if (!Double.isInfinite(dist[v])) {
+                    potential[v] += dist[v];
+                }
+            }
+
+            // Cuello de botella del camino
+            double push = maxFlow - flow;
+            for (int v = sink; v != source; v = to[previousEdge[v] ^ 1]) {
+                push = Math.min(push, capacity[previousEdge[v]]);
+            }
+
+            if (Double.isInfinite(push)) {
+                return new FlowResult(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, augmentations + 1);
+            }
+
+            for (int v = sink; v != source; v = to[previousEdge[v] ^ 1]) {
+                int e = previousEdge[v];
+                capacity[e] -= push;
+                capacity[e ^ 1] += push;
+                totalCost += push * cost[e];
+            }
+            flow += push;
+            augmentations++;
+        }
+
+        return new FlowResult(flow, totalCost, augmentations);
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private void link(int from, int toNode, double edgeCapacity, double unitCost) {
+        to[edgeCount] = toNode;
+        capacity[edgeCount] = edgeCapacity;
+        cost[edgeCount] = unitCost;
+        next[edgeCount] = head[from];
+        head[from] = edgeCount;
+        edgeCount++;
+    }
+
+    private void ensureEdgeCapacity(int required) {
+        if (required <= to.length) {
+            return;
+        }
+
+        int size = Math.max(required, to.length * 2);
+        next = Arrays.copyOf(next, size);
+        to = Arrays.copyOf(to, size);
+        capacity = Arrays.copyOf(capacity, size);
+        cost = Arrays.copyOf(cost, size);
+    }
+
+    /**
+     * Montículo binario de nodos por distancia, con entradas repetidas
+     * Una entrada es obsoleta si su clave ya no coincide con la mejor distancia conocida;
+     * pop() las descarta
+     */
+    private static class IndexHeap {
+        private int[] nodes;
+        private double[] keys;
+        private double[] best;
+        private int size;
+
+        IndexHeap(int nodeCount) {
+            this.nodes = new int[Math.max(16, nodeCount)];
+            this.keys = new double[nodes.length];
+            this.best = new double[nodeCount];
+            this.size = 0;
+        }
+
+        boolean isEmpty() {
+            discardStale();
+            return size == 0;
+        }
+
+        void push(int node, double key) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            best[node] = key;
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                nodes[i] = nodes[parent];
+                keys[i] = keys[parent];
+                i = parent;
+            }
+            nodes[i] = node;
+            keys[i] = key;
+        }
+
+        int pop() {
+            discardStale();
+            int node = nodes[0];
+            removeTop();
+            best[node] = Double.NaN; // Ya procesado: sus demás entradas son obsoletas
+            return node;
+        }
+
+        private void discardStale() {
+            while (size > 0 && keys[0] != best[nodes[0]]) {
+                removeTop();
+            }
+        }
+
+        private void removeTop() {
+            size--;
+            if (size == 0) {
+                return;
+            }
+            int node = nodes[size];
+            double key = keys[size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (keys[child] >= key) {
+                    break;
+                }
+                nodes[i] = nodes[child];
+                keys[i] = keys[child];
+                i = child;
+            }
+            nodes[i] = node;
+            keys[i] = key;
+        }
+    }
+}
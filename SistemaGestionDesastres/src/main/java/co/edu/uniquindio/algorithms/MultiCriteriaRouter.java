@@ -0,0 +1,380 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.PriorityQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Rutas con varios criterios: distancia, riesgo y capacidad
+ *
+ * - Distancia: suma de los pesos de las aristas (a minimizar)
+ * - Riesgo: suma de peso × peligro de la ubicación a la que se entra; por defecto el
+ *   peligro es el nivel de urgencia de la ubicación (a minimizar)
+ * - Capacidad: la menor capacidad de las rutas recorridas, el cuello de botella (a maximizar)
+ *
+ * findParetoRoutes devuelve el frente de Pareto: todas las rutas que no son peores en los
+ * tres criterios que otra. Búsqueda por etiquetas (label-setting): las etiquetas salen de
+ * la cola en orden lexicográfico (distancia, riesgo, -capacidad), así que ninguna
+ * etiqueta posterior puede dominar a una ya asentada. Para que el número de etiquetas no
+ * crezca sin control:
+ *   - Dominancia: una etiqueta dominada por otra ya asentada en su ubicación se descarta
+ *   - Cotas: con la distancia y el riesgo mínimos que faltan hasta el destino (Dijkstra
+ *     inverso por cada criterio), se descarta toda etiqueta que, aun en el mejor caso,
+ *     quedaría dominada por una ruta ya encontrada
+ *   - Límite de etiquetas: si se alcanza, se devuelven las rutas encontradas hasta ahí y
+ *     el resultado se marca como incompleto (ParetoFront.isComplete())
+ *
+ * findWeightedRoute es el modo rápido: un solo Dijkstra sobre distancia + factor × riesgo
+ * (con capacidad mínima opcional). Solo encuentra rutas del frente que son óptimas para
+ * alguna combinación lineal, pero cuesta lo mismo que una ruta más corta.
+ */
+public class MultiCriteriaRouter {
+    public static final int DEFAULT_MAX_LABELS = 200_000;
+
+    /**
+     * Ruta con el valor de cada criterio
+     */
+    public static class ParetoRoute {
+        private final CustomList<String> locationIds;
+        private final double distance;
+        private final double risk;
+        private final double capacity;
+
+        ParetoRoute(CustomList<String> locationIds, double distance, double risk, double capacity) {
+            this.locationIds = locationIds;
+            this.distance = distance;
+            this.risk = risk;
+            this.capacity = capacity;
+        }
+
+        public CustomList<String> getLocationIds() {
+            return locationIds;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+
+        public double getRisk() {
+            return risk;
+        }
+
+        /**
+         * Capacidad del cuello de botella (Graph.UNLIMITED_CAPACITY si ninguna ruta tiene límite)
+         */
+        public double getCapacity() {
+            return capacity;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%.2f km, riesgo %.2f, capacidad %.0f)", locationIds, distance, risk, capacity);
+        }
+    }
+
+    /**
+     * Rutas del frente de Pareto y si la búsqueda terminó
+     * Si se alcanzó el límite de etiquetas las rutas siguen siendo óptimas de Pareto,
+     * pero pueden faltar otras del frente
+     */
+    public static class ParetoFront {
+        private final CustomList<ParetoRoute> routes;
+        private final boolean complete;
+
+        ParetoFront(CustomList<ParetoRoute> routes, boolean complete) {
+            this.routes = routes;
+            this.complete = complete;
+        }
+
+        /**
+         * Rutas ordenadas por distancia (vacía si no hay ruta)
+         */
+        public CustomList<ParetoRoute> getRoutes() {
+            return routes;
+        }
+
+        /**
+         * false si la búsqueda se cortó al alcanzar el límite de etiquetas
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+    }
+
+    /**
+     * Peligro por índice de vértice a partir del nivel de urgencia de cada ubicación
+     */
+    public static double[] urgencyHazard(IndexedGraph graph) {
+        double[] hazard = new double[graph.getVertexCount()];
+        for (int v = 0; v < hazard.length; v++) {
+            hazard[v] = graph.getLocation(v).getUrgencyLevel();
+        }
+        return hazard;
+    }
+
+    // ==================== FRENTE DE PARETO ====================
+
+    /**
+     * Etiquetas de una búsqueda en arreglos paralelos (una etiqueta = un camino parcial)
+     */
+    private static final class Labels {
+        int[] vertex = new int[64];
+        int[] parent = new int[64];
+        double[] distance = new double[64];
+        double[] risk = new double[64];
+        double[] capacity = new double[64];
+        int[] nextSettled = new int[64]; // Lista enlazada de etiquetas asentadas por vértice
+        int size;
+
+        int add(int v, int from, double d, double r, double c) {
+            if (size == vertex.length) {
+                int capacityNew = size * 2;
+                vertex = Arrays.copyOf(vertex, capacityNew);
+                parent = Arrays.copyOf(parent, capacityNew);
+                distance = Arrays.copyOf(distance, capacityNew);
+                risk = Arrays.copyOf(risk, capacityNew);
+                capacity = Arrays.copyOf(capacity, capacityNew);
+                nextSettled = Arrays.copyOf(nextSettled, capacityNew);
+            }
+            vertex[size] = v;
+            parent[size] = from;
+            distance[size] = d;
+            risk[size] = r;
+            capacity[size] = c;
+            nextSettled[size] = -1;
+            return size++;
+        }
+
+        int compare(int a, int b) {
+            int byDistance = Double.compare(distance[a], distance[b]);
+            if (byDistance != 0) {
+                return byDistance;
+            }
+            int byRisk = Double.compare(risk[a], risk[b]);
+            return byRisk != 0 ? byRisk : Double.compare(capacity[b], capacity[a]);
+        }
+    }
+
+    private static boolean dominates(double d1, double r1, double c1, double d2, double r2, double c2) {
+        return d1 <= d2 && r1 <= r2 && c1 >= c2;
+    }
+
+    /**
+     * Calcular el frente de Pareto entre dos ubicaciones
+     * Complejidad: O(L · (log L + grado · S)), L etiquetas creadas y S etiquetas asentadas por
+     * ubicación; acotado por maxLabels
+     *
+     * @param hazard Peligro por índice de vértice (ver urgencyHazard)
+     * @param maxLabels Máximo de etiquetas a crear
+     * @return Rutas del frente ordenadas por distancia, e indicación de si el frente está completo
+     */
+    public static ParetoFront findParetoRoutes(IndexedGraph graph, String fromId, String toId,
+                                               double[] hazard, int maxLabels) {
+        if (maxLabels < 1) {
+            throw new IllegalArgumentException("Label limit must be positive");
+        }
+        CustomList<ParetoRoute> result = new CustomList<>();
+        int source = graph.indexOf(fromId);
+        int target = graph.indexOf(toId);
+        if (source < 0 || target < 0) {
+            return new ParetoFront(result, true);
+        }
+
+        IndexedGraph reversed = graph.reversed();
+        double[] distanceToGo = reverseBound(reversed, target, null);
+        double[] riskToGo = reverseBound(reversed, target, hazard);
+        if (Double.isInfinite(distanceToGo[source])) {
+            return new ParetoFront(result, true);
+        }
+
+        Labels labels = new Labels();
+        int[] settledHead = new int[graph.getVertexCount()];
+        Arrays.fill(settledHead, -1);
+        PriorityQueue<Integer> open = new PriorityQueue<>(labels::compare);
+        open.offer(labels.add(source, -1, 0.0, 0.0, Double.POSITIVE_INFINITY));
+        CustomList<Integer> found = new CustomList<>();
+        boolean complete = true;
+
+        while (!open.isEmpty()) {
+            int label = open.poll();
+            int v = labels.vertex[label];
+            double d = labels.distance[label];
+            double r = labels.risk[label];
+            double c = labels.capacity[label];
+            if (isDominated(labels, settledHead[v], d, r, c)
+                    || isDominated(labels, settledHead[target], d + distanceToGo[v], r + riskToGo[v], c)) {
+                continue;
+            }
+            labels.nextSettled[label] = settledHead[v];
+            settledHead[v] = label;
+            if (v == target) {
+                found.add(label);
+                continue;
+            }
+
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                int w = graph.getTarget(e);
+                if (Double.isInfinite(distanceToGo[w])) {
+                    continue;
+                }
+                double nd = d + graph.getWeight(e);
+                double nr = r + graph.getWeight(e) * hazard[w];
+                double nc = Math.min(c, graph.getCapacity(e));
+                if (labels.size >= maxLabels) {
+                    complete = false;
+                    break;
+                }
+                if (!isDominated(labels, settledHead[w], nd, nr, nc)
+                        && !isDominated(labels, settledHead[target], nd + distanceToGo[w], nr + riskToGo[w], nc)) {
+                    open.offer(labels.add(w, label, nd, nr, nc));
+                }
+            }
+        }
+
+        for (int i = 0; i < found.size(); i++) {
+            int label = found.get(i);
+            result.add(new ParetoRoute(pathOf(graph, labels, label), labels.distance[label],
+                    labels.risk[label], labels.capacity[label]));
+        }
+        return new ParetoFront(result, complete);
+    }
+
+    /**
+     * Verificar si alguna etiqueta asentada de la lista domina a (d, r, c)
+     */
+    private static boolean isDominated(Labels labels, int head, double d, double r, double c) {
+        for (int l = head; l >= 0; l = labels.nextSettled[l]) {
+            if (dominates(labels.distance[l], labels.risk[l], labels.capacity[l], d, r, c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static CustomList<String> pathOf(IndexedGraph graph, Labels labels, int label) {
+        int length = 0;
+        for (int l = label; l >= 0; l = labels.parent[l]) {
+            length++;
+        }
+        String[] ids = new String[length];
+        for (int l = label, i = length - 1; l >= 0; l = labels.parent[l], i--) {
+            ids[i] = graph.getId(labels.vertex[l]);
+        }
+        CustomList<String> path = new CustomList<>();
+        for (int i = 0; i < length; i++) {
+            path.add(ids[i]);
+        }
+        return path;
+    }
+
+    /**
+     * Menor distancia (hazard == null) o menor riesgo desde cada vértice hasta el destino,
+     * con Dijkstra sobre el grafo transpuesto
+     * En el transpuesto, la arista e = (v -> u) es la original u -> v, que entra en v
+     */
+    private static double[] reverseBound(IndexedGraph reversed, int target, double[] hazard) {
+        int n = reversed.getVertexCount();
+        double[] bound = new double[n];
+        Arrays.fill(bound, Double.POSITIVE_INFINITY);
+        PriorityQueue<double[]> open = new PriorityQueue<>(Comparator.comparingDouble((double[] entry) -> entry[1]));
+        bound[target] = 0.0;
+        open.offer(new double[]{target, 0.0});
+        while (!open.isEmpty()) {
+            double[] entry = open.poll();
+            int v = (int) entry[0];
+            if (entry[1] > bound[v]) {
+                continue;
+            }
+            for (int e = reversed.edgeStart(v); e < reversed.edgeEnd(v); e++) {
+                int u = reversed.getTarget(e);
+                double cost = hazard == null ? reversed.getWeight(e) : reversed.getWeight(e) * hazard[v];
+                if (bound[v] + cost < bound[u]) {
+                    bound[u] = bound[v] + cost;
+                    open.offer(new double[]{u, bound[u]});
+                }
+            }
+        }
+        return bound;
+    }
+
+    // ==================== SUMA PONDERADA ====================
+
+    /**
+     * Ruta que minimiza distancia + riskFactor × riesgo, usando solo rutas con al menos
+     * minCapacity de capacidad
+     * Complejidad: O((V + E) log V)
+     *
+     * @param riskFactor Kilómetros que se aceptan recorrer de más por cada unidad de riesgo evitada
+     * @param minCapacity Capacidad mínima de cada ruta (0 para no filtrar)
+     * @return Ruta con el valor de cada criterio, o null si no hay ruta
+     */
+    public static ParetoRoute findWeightedRoute(IndexedGraph graph, String fromId, String toId, double[] hazard,
+                                                double riskFactor, double minCapacity) {
+        if (riskFactor < 0 || Double.isNaN(riskFactor)) {
+            throw new IllegalArgumentException("Risk factor cannot be negative");
+        }
+        int source = graph.indexOf(fromId);
+        int target = graph.indexOf(toId);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+
+        int n = graph.getVertexCount();
+        double[] cost = new double[n];
+        int[] previousEdge = new int[n];
+        int[] previousVertex = new int[n];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(previousEdge, -1);
+        PriorityQueue<double[]> open = new PriorityQueue<>(Comparator.comparingDouble((double[] entry) -> entry[1]));
+        cost[source] = 0.0;
+        open.offer(new double[]{source, 0.0});
+        while (!open.isEmpty()) {
+            double[] entry = open.poll();
+            int u = (int) entry[0];
+            if (entry[1] > cost[u]) {
+                continue;
+            }
+            if (u == target) {
+                break;
+            }
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                if (graph.getCapacity(e) < minCapacity) {
+                    continue;
+                }
+                int v = graph.getTarget(e);
+                double candidate = cost[u] + graph.getWeight(e) * (1 + riskFactor * hazard[v]);
+                if (candidate < cost[v]) {
+                    cost[v] = candidate;
+                    previousEdge[v] = e;
+                    previousVertex[v] = u;
+                    open.offer(new double[]{v, candidate});
+                }
+            }
+        }
+        if (Double.isInfinite(cost[target])) {
+            return null;
+        }
+
+        CustomList<Integer> edges = new CustomList<>();
+        for (int v = target; v != source; v = previousVertex[v]) {
+            edges.add(previousEdge[v]);
+        }
+        CustomList<String> path = new CustomList<>();
+        path.add(graph.getId(source));
+        double distance = 0.0;
+        double risk = 0.0;
+        double capacity = Double.POSITIVE_INFINITY;
+        for (int i = edges.size() - 1; i >= 0; i--) {
+            int e = edges.get(i);
+            int v = graph.getTarget(e);
+            path.add(graph.getId(v));
+            distance += graph.getWeight(e);
+            risk += graph.getWeight(e) * hazard[v];
+            capacity = Math.min(capacity, graph.getCapacity(e));
+        }
+        return new ParetoRoute(path, distance, risk, capacity);
+    }
+}
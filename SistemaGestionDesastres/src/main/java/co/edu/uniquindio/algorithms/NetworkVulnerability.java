@@ -0,0 +1,299 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.models.Route;
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.Graph;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.PriorityQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Puntos únicos de falla de la red de rutas
+ *
+ * - Puentes: rutas cuya pérdida (en ambos sentidos) parte la red en dos
+ * - Puntos de articulación: ubicaciones cuya pérdida parte la red en dos
+ * Ambos se calculan en un solo recorrido DFS con los valores low-link de Tarjan, en
+ * versión iterativa para no desbordar la pila en grafos grandes. La conectividad se
+ * mide sin dirección: una ruta de un solo sentido también une a sus extremos.
+ *
+ * - Intermediación de aristas (Brandes): cuántos pares origen-destino tienen su ruta
+ *   más corta por cada ruta; las más altas concentran el tráfico de la red aunque no
+ *   sean puentes. Opcionalmente en paralelo, repartiendo los orígenes entre hilos.
+ */
+public class NetworkVulnerability {
+
+    /**
+     * Ruta con su intermediación
+     */
+    public static class CriticalRoute {
+        private final Route route;
+        private final double betweenness;
+
+        CriticalRoute(Route route, double betweenness) {
+            this.route = route;
+            this.betweenness = betweenness;
+        }
+
+        public Route getRoute() {
+            return route;
+        }
+
+        /**
+         * Número de pares origen-destino cuyas rutas más cortas pasan por esta ruta
+         * (fraccionario cuando hay varias rutas más cortas empatadas)
+         */
+        public double getBetweenness() {
+            return betweenness;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s -> %s (%.1f)", route.getFromId(), route.getToId(), betweenness);
+        }
+    }
+
+    // ==================== PUENTES Y ARTICULACIONES ====================
+
+    /**
+     * Grafo sin dirección y sin aristas repetidas, en formato CSR
+     */
+    private static final class UndirectedView {
+        final int[] start;
+        final int[] neighbors;
+
+        UndirectedView(IndexedGraph graph) {
+            int n = graph.getVertexCount();
+            int[] degree = new int[n + 1];
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    int v = graph.getTarget(e);
+                    if (v != u) {
+                        degree[u + 1]++;
+                        degree[v + 1]++;
+                    }
+                }
+            }
+            for (int u = 0; u < n; u++) {
+                degree[u + 1] += degree[u];
+            }
+            int[] all = new int[degree[n]];
+            int[] fill = Arrays.copyOf(degree, n);
+            for (int u = 0; u < n; u++) {
+                for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                    int v = graph.getTarget(e);
+                    if (v != u) {
+                        all[fill[u]++] = v;
+                        all[fill[v]++] = u;
+                    }
+                }
+            }
+
+            // Una ruta de ida y vuelta aparece dos veces en cada extremo: se deja una
+            this.start = new int[n + 1];
+            int[] lastSeen = new int[n];
+            Arrays.fill(lastSeen, -1);
+            int size = 0;
+            for (int u = 0; u < n; u++) {
+                start[u] = size;
+                for (int i = degree[u]; i < degree[u + 1]; i++) {
+                    int v = all[i];
+                    if (lastSeen[v] != u) {
+                        lastSeen[v] = u;
+                        all[size++] = v;
+                    }
+                }
+            }
+            start[n] = size;
+            this.neighbors = all;
+        }
+    }
+
+    /**
+     * Resultado del recorrido: articulaciones por vértice y puentes como pares (padre, hijo)
+     */
+    private static final class LowLink {
+        final boolean[] articulation;
+        final int[] bridgeEnds;
+        final int bridgeCount;
+
+        LowLink(boolean[] articulation, int[] bridgeEnds, int bridgeCount) {
+            this.articulation = articulation;
+            this.bridgeEnds = bridgeEnds;
+            this.bridgeCount = bridgeCount;
+        }
+    }
+
+    /**
+     * DFS iterativo con tiempos de descubrimiento y low-link
+     * Complejidad: O(V + E)
+     */
+    private static LowLink lowLink(IndexedGraph graph) {
+        UndirectedView view = new UndirectedView(graph);
+        int n = graph.getVertexCount();
+        int[] discovery = new int[n];
+        int[] low = new int[n];
+        int[] parent = new int[n];
+        int[] nextEdge = new int[n];
+        int[] stack = new int[n];
+        boolean[] articulation = new boolean[n];
+        int[] bridgeEnds = new int[2 * Math.max(1, n - 1)];
+        int bridgeCount = 0;
+        Arrays.fill(discovery, -1);
+
+        int time = 0;
+        for (int root = 0; root < n; root++) {
+            if (discovery[root] != -1) {
+                continue;
+            }
+            int rootChildren = 0;
+            int depth = 0;
+            stack[depth++] = root;
+            parent[root] = -1;
+            discovery[root] = low[root] = time++;
+            nextEdge[root] = view.start[root];
+
+            while (depth > 0) {
+                int u = stack[depth - 1];
+                if (nextEdge[u] < view.start[u + 1]) {
+                    int v = view.neighbors[nextEdge[u]++];
+                    if (discovery[v] == -1) {
+                        parent[v] = u;
+                        discovery[v] = low[v] = time++;
+                        nextEdge[v] = view.start[v];
+                        stack[depth++] = v;
+                        if (u == root) {
+                            rootChildren++;
+                        }
+                    } else if (v != parent[u]) {
+                        low[u] = Math.min(low[u], discovery[v]);
+                    }
+                    continue;
+                }
+
+                // Retorno de u a su padre
+                depth--;
+                int p = parent[u];
+                if (p >= 0) {
+                    low[p] = Math.min(low[p], low[u]);
+                    if (low[u] > discovery[p]) {
+                        bridgeEnds[bridgeCount++] = p;
+                        bridgeEnds[bridgeCount++] = u;
+                    }
+                    if (p != root && low[u] >= discovery[p]) {
+                        articulation[p] = true;
+                    }
+                }
+            }
+            articulation[root] = rootChildren > 1;
+        }
+        return new LowLink(articulation, bridgeEnds, bridgeCount / 2);
+    }
+
+    /**
+     * Rutas cuya pérdida desconecta la red (puentes)
+     * Una ruta de ida y vuelta se informa una sola vez, como bidireccional
+     * Complejidad: O(V + E)
+     */
+    public static CustomList<Route> findBridges(Graph graph) {
+        IndexedGraph indexed = graph.getIndexedGraph();
+        LowLink result = lowLink(indexed);
+
+        CustomList<Route> bridges = new CustomList<>();
+        for (int i = 0; i < result.bridgeCount; i++) {
+            String a = indexed.getId(result.bridgeEnds[2 * i]);
+            String b = indexed.getId(result.bridgeEnds[2 * i + 1]);
+            boolean forward = graph.hasEdge(a, b);
+            boolean backward = graph.hasEdge(b, a);
+            if (forward) {
+                bridges.add(new Route(a, b, graph.getEdgeWeight(a, b), backward));
+            } else {
+                bridges.add(new Route(b, a, graph.getEdgeWeight(b, a), false));
+            }
+        }
+        return bridges;
+    }
+
+    /**
+     * Ubicaciones cuya pérdida desconecta la red (puntos de articulación)
+     * Complejidad: O(V + E)
+     */
+    public static CustomList<String> findArticulationPoints(Graph graph) {
+        IndexedGraph indexed = graph.getIndexedGraph();
+        LowLink result = lowLink(indexed);
+
+        CustomList<String> points = new CustomList<>();
+        for (int v = 0; v < result.articulation.length; v++) {
+            if (result.articulation[v]) {
+                points.add(indexed.getId(v));
+            }
+        }
+        return points;
+    }
+
+    // ==================== INTERMEDIACIÓN DE ARISTAS ====================
+
+    /**
+     * Intermediación de cada ruta, con Brandes desde todos los orígenes
+     * Complejidad: O(V · (V + E) log V), repartido entre hilos si parallel
+     *
+     * @param parallel true para repartir los orígenes entre varios hilos
+     * @return Intermediación por índice de arista del grafo indexado
+     */
+    public static double[] edgeBetweenness(IndexedGraph graph, boolean parallel) {
+        return Brandes.run(graph, Brandes.allVertices(graph), parallel).edgeScore;
+    }
+
+    /**
+     * Rutas con mayor intermediación
+     * Complejidad: O(V · (V + E) log V + E log limit)
+     *
+     * @param limit Número máximo de rutas
+     * @param parallel true para repartir los orígenes entre varios hilos
+     * @return Rutas de mayor a menor intermediación (solo las que tienen intermediación positiva)
+     */
+    public static CustomList<CriticalRoute> rankRoutesByBetweenness(Graph graph, int limit, boolean parallel) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        IndexedGraph indexed = graph.getIndexedGraph();
+        double[] scores = edgeBetweenness(indexed, parallel);
+
+        // Montículo de mínimos con las mejores limit aristas
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble((Integer e) -> scores[e]));
+        for (int e = 0; e < scores.length; e++) {
+            if (scores[e] <= 0) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.offer(e);
+            } else if (scores[e] > scores[best.peek()]) {
+                best.poll();
+                best.offer(e);
+            }
+        }
+
+        // Origen de cada arista (el CSR solo guarda el destino)
+        int[] sourceOf = new int[scores.length];
+        for (int v = 0; v < indexed.getVertexCount(); v++) {
+            for (int e = indexed.edgeStart(v); e < indexed.edgeEnd(v); e++) {
+                sourceOf[e] = v;
+            }
+        }
+
+        CriticalRoute[] ranked = new CriticalRoute[best.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            int e = best.poll();
+            Route route = new Route(indexed.getId(sourceOf[e]), indexed.getId(indexed.getTarget(e)),
+                    indexed.getWeight(e));
+            ranked[i] = new CriticalRoute(route, scores[e]);
+        }
+        CustomList<CriticalRoute> result = new CustomList<>();
+        for (int i = 0; i < ranked.length; i++) {
+            result.add(ranked[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,220 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.models.Location;
+import co.edu.uniquindio.models.Route;
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.CustomMap;
+import co.edu.uniquindio.structures.GeoPoints;
+import co.edu.uniquindio.structures.PriorityQueue;
+import co.edu.uniquindio.structures.SpatialGrid;
+import co.edu.uniquindio.structures.WorkerPool;
+
+import java.util.Comparator;
+import java.util.concurrent.Callable;
+
+/**
+ * Generación automática de rutas por proximidad (grafo de k vecinos más cercanos)
+ *
+ * Para zonas nuevas de las que solo se conocen coordenadas: cada ubicación se conecta
+ * con sus k vecinas más cercanas (y la relación se simetriza: basta con que una de las
+ * dos esté entre las k de la otra), con rutas bidireccionales cuyo peso es la distancia
+ * de Haversine. Opcionalmente se descartan vecinas más lejanas que maxDistanceKm.
+ *
+ * Las vecinas se buscan en un SpatialGrid, así que cada consulta revisa solo las celdas
+ * cercanas (cada celda con una llamada masiva de GeoPoints): O(n · k log k) en total para
+ * puntos razonablemente repartidos, más la construcción del índice. Las consultas son de
+ * solo lectura y se reparten entre varios hilos cuando se pide ejecución en paralelo.
+ * Con pocas ubicaciones (hasta DENSE_THRESHOLD) no se construye el índice: la matriz de
+ * distancias completa (GeoPoints.distanceMatrix) cuesta menos que crearlo y consultarlo.
+ */
+public class ProximityGraphBuilder {
+    public static final int DEFAULT_NEIGHBORS = 4;
+    private static final int PARALLEL_THRESHOLD = 2048;
+    private static final int DENSE_THRESHOLD = 256;
+
+    /**
+     * Construir las rutas entre un conjunto de ubicaciones
+     * Complejidad: O(n · k log k) esperado
+     *
+     * @param locations Ubicaciones a conectar
+     * @param k Vecinas por ubicación
+     * @param maxDistanceKm Distancia máxima de una ruta (Double.POSITIVE_INFINITY sin límite)
+     * @param parallel true para repartir las consultas entre varios hilos
+     * @return Rutas bidireccionales, sin duplicados
+     */
+    public static CustomList<Route> build(CustomList<Location> locations, int k, double maxDistanceKm,
+                                          boolean parallel) {
+        if (locations.size() <= DENSE_THRESHOLD) {
+            validate(k, maxDistanceKm);
+            return buildDense(locations, k, maxDistanceKm);
+        }
+        SpatialGrid index = new SpatialGrid(cellSizeFor(locations, k));
+        for (int i = 0; i < locations.size(); i++) {
+            index.put(locations.get(i));
+        }
+        return build(index, locations, k, maxDistanceKm, parallel);
+    }
+
+    /**
+     * Construir las rutas que salen de algunas ubicaciones hacia sus vecinas en un índice
+     * Sirve para conectar zonas recién declaradas con la red existente
+     * El índice no debe modificarse mientras se construye
+     *
+     * @param index Índice con todas las ubicaciones candidatas
+     * @param sources Ubicaciones a conectar (deben estar en el índice)
+     * @param k Vecinas por ubicación
+     * @param maxDistanceKm Distancia máxima de una ruta
+     * @param parallel true para repartir las consultas entre varios hilos
+     * @return Rutas bidireccionales, sin duplicados
+     */
+    public static CustomList<Route> build(SpatialGrid index, CustomList<Location> sources, int k,
+                                          double maxDistanceKm, boolean parallel) {
+        validate(k, maxDistanceKm);
+
+        int n = sources.size();
+        CustomList<SpatialGrid.Neighbor>[] neighbors = findNeighbors(index, sources, k, maxDistanceKm,
+                parallel && n >= PARALLEL_THRESHOLD);
+
+        // Unir pares sin repetir (la relación de vecindad se simetriza)
+        CustomList<Route> routes = new CustomList<>();
+        CustomMap<String, Boolean> seen = new CustomMap<>();
+        seen.ensureCapacity(n * k);
+        for (int i = 0; i < n; i++) {
+            Location from = sources.get(i);
+            for (int j = 0; j < neighbors[i].size(); j++) {
+                SpatialGrid.Neighbor neighbor = neighbors[i].get(j);
+                addRoute(from, neighbor.getLocation(), neighbor.getDistance(), seen, routes);
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Construir las rutas de un conjunto pequeño con la matriz de distancias completa
+     * Complejidad: O(n² log k)
+     */
+    private static CustomList<Route> buildDense(CustomList<Location> locations, int k, double maxDistanceKm) {
+        int n = locations.size();
+        GeoPoints points = GeoPoints.of(locations);
+        double[][] distances = points.distanceMatrix(points);
+
+        CustomList<Route> routes = new CustomList<>();
+        CustomMap<String, Boolean> seen = new CustomMap<>();
+        seen.ensureCapacity(n * k);
+        for (int i = 0; i < n; i++) {
+            double[] row = distances[i];
+            // Las k más cercanas de la fila (montículo de máximos con la más lejana arriba)
+            PriorityQueue<Integer> nearest = new PriorityQueue<>(k + 1,
+                    Comparator.comparingDouble((Integer j) -> row[j]).reversed());
+            for (int j = 0; j < n; j++) {
+                if (j == i || row[j] > maxDistanceKm) {
+                    continue;
+                }
+                if (nearest.size() < k) {
+                    nearest.offer(j);
+                } else if (row[j] < row[nearest.peek()]) {
+                    nearest.poll();
+                    nearest.offer(j);
+                }
+            }
+
+            Location from = locations.get(i);
+            while (!nearest.isEmpty()) {
+                int j = nearest.poll();
+                addRoute(from, locations.get(j), row[j], seen, routes);
+            }
+        }
+        return routes;
+    }
+
+    /**
+     * Agregar la ruta bidireccional entre dos ubicaciones si el par no se había unido
+     */
+    private static void addRoute(Location from, Location to, double distance,
+                                 CustomMap<String, Boolean> seen, CustomList<Route> routes) {
+        String key = from.getId().compareTo(to.getId()) < 0
+                ? from.getId() + "\u0000" + to.getId()
+                : to.getId() + "\u0000" + from.getId();
+        if (!seen.containsKey(key)) {
+            seen.put(key, Boolean.TRUE);
+            routes.add(new Route(from.getId(), to.getId(), distance, true));
+        }
+    }
+
+    private static void validate(int k, double maxDistanceKm) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        if (maxDistanceKm < 0 || Double.isNaN(maxDistanceKm)) {
+            throw new IllegalArgumentException("Maximum distance cannot be negative");
+        }
+    }
+
+    /**
+     * Vecinas de cada ubicación de origen (sin ella misma) con su distancia
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static CustomList<SpatialGrid.Neighbor>[] findNeighbors(SpatialGrid index, CustomList<Location> sources,
+                                                                   int k, double maxDistanceKm, boolean parallel) {
+        int n = sources.size();
+        CustomList<SpatialGrid.Neighbor>[] neighbors = new CustomList[n];
+        if (!parallel) {
+            findRange(index, sources, k, maxDistanceKm, neighbors, 0, n);
+            return neighbors;
+        }
+
+        int threads = WorkerPool.parallelism();
+        CustomList<Callable<Void>> tasks = new CustomList<>();
+        int chunk = Math.max(1, (n + threads - 1) / threads);
+        for (int start = 0; start < n; start += chunk) {
+            int from = start;
+            int to = Math.min(n, start + chunk);
+            tasks.add(() -> {
+                findRange(index, sources, k, maxDistanceKm, neighbors, from, to);
+                return null;
+            });
+        }
+        WorkerPool.invokeAll(tasks, "Proximity graph generation");
+        return neighbors;
+    }
+
+    private static void findRange(SpatialGrid index, CustomList<Location> sources, int k, double maxDistanceKm,
+                                  CustomList<SpatialGrid.Neighbor>[] neighbors, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Location location = sources.get(i);
+            // El índice filtra por cuerda contra la distancia máxima y da cada distancia ya calculada
+            CustomList<SpatialGrid.Neighbor> nearest = index.nearestWithin(
+                    location.getLatitude(), location.getLongitude(), k + 1, maxDistanceKm);
+            CustomList<SpatialGrid.Neighbor> kept = new CustomList<>();
+            for (int j = 0; j < nearest.size() && kept.size() < k; j++) {
+                if (!nearest.get(j).getLocation().getId().equals(location.getId())) {
+                    kept.add(nearest.get(j));
+                }
+            }
+            neighbors[i] = kept;
+        }
+    }
+
+    /**
+     * Tamaño de celda para que cada celda tenga del orden de k ubicaciones
+     */
+    private static double cellSizeFor(CustomList<Location> locations, int k) {
+        if (locations.size() < 2) {
+            return SpatialGrid.DEFAULT_CELL_DEGREES;
+        }
+        double minLat = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        double minLon = Double.POSITIVE_INFINITY;
+        double maxLon = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < locations.size(); i++) {
+            Location location = locations.get(i);
+            minLat = Math.min(minLat, location.getLatitude());
+            maxLat = Math.max(maxLat, location.getLatitude());
+            minLon = Math.min(minLon, location.getLongitude());
+            maxLon = Math.max(maxLon, location.getLongitude());
+        }
+        double area = Math.max(maxLat - minLat, 1e-6) * Math.max(maxLon - minLon, 1e-6);
+        double size = Math.sqrt(area * Math.max(1, k) / locations.size());
+        return Math.max(1e-4, Math.min(90.0, size));
+    }
+}
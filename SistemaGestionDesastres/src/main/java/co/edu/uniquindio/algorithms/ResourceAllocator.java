@@ -0,0 +1,473 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.models.Location;
+import co.edu.uniquindio.models.Resource;
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.CustomMap;
+import co.edu.uniquindio.structures.DistributionTree;
+import co.edu.uniquindio.structures.Graph;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.PriorityQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Motor de asignación de recursos a ubicaciones
+ *
+ * Calcula en una sola pasada cuánto de cada recurso enviar a cada ubicación. La necesidad
+ * de una ubicación para un tipo de recurso es su población por la demanda por persona del
+ * tipo, menos lo que ya tiene distribuido. El inventario de cada tipo se reparte por
+ * llenado progresivo: en cada paso recibe un lote la ubicación con mayor prioridad,
+ *
+ *   prioridad = urgencia² · (1 - cobertura) / (1 + distancia / distancia media)
+ *
+ * donde la distancia es la del camino más corto desde el centro de ayuda más cercano.
+ * Es el voraz clásico para un objetivo cóncavo y separable: el resultado queda a un lote
+ * del óptimo. Si existen centros de ayuda, las ubicaciones sin ruta desde ninguno no
+ * reciben nada y se informan como inalcanzables.
+ *
+ * Re-solución incremental: las distancias se guardan mientras no cambie la versión del
+ * grafo, y el plan de cada tipo de recurso se reutiliza mientras no cambien su inventario,
+ * lo ya distribuido ni la población o urgencia de las ubicaciones.
+ *
+ * plan() y setDemandPerCapita() están sincronizados; DisasterManager llama a plan() dentro
+ * de una lectura consistente.
+ */
+public class ResourceAllocator {
+    private static final int STEPS = 10; // Lotes en que se divide la necesidad de cada ubicación
+
+    private final CustomMap<Resource.ResourceType, Double> demandPerCapita;
+
+    // Caché de distancias desde los centros de ayuda, por índice de vértice
+    private IndexedGraph distanceGraph;
+    private double[] supplyDistances; // null si no hay centros de ayuda
+
+    // Caché del plan por tipo de recurso
+    private final CustomMap<Resource.ResourceType, CachedPlan> cachedPlans;
+    private int lastResolvedTypes;
+
+    /**
+     * Asignación de una cantidad de un recurso a una ubicación
+     */
+    public static class Allocation {
+        private final String resourceId;
+        private final String locationId;
+        private final int quantity;
+
+        public Allocation(String resourceId, String locationId, int quantity) {
+            this.resourceId = resourceId;
+            this.locationId = locationId;
+            this.quantity = quantity;
+        }
+
+        public String getResourceId() {
+            return resourceId;
+        }
+
+        public String getLocationId() {
+            return locationId;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        @Override
+        public String toString() {
+            return quantity + " de " + resourceId + " -> " + locationId;
+        }
+    }
+
+    /**
+     * Plan de distribución completo
+     */
+    public static class AllocationPlan {
+        private final CustomList<Allocation> allocations;
+        private final CustomMap<String, int[]> unmetDemand; // Por ubicación, indexado por tipo
+        private final CustomList<String> unreachableLocations;
+
+        AllocationPlan() {
+            this.allocations = new CustomList<>();
+            this.unmetDemand = new CustomMap<>();
+            this.unreachableLocations = new CustomList<>();
+        }
+
+        public CustomList<Allocation> getAllocations() {
+            return allocations;
+        }
+
+        /**
+         * Necesidad que quedó sin cubrir en una ubicación, sumando todos los tipos
+         */
+        public int getUnmetDemand(String locationId) {
+            int[] unmet = unmetDemand.get(locationId);
+            int total = 0;
+            if (unmet != null) {
+                for (int i = 0; i < unmet.length; i++) {
+                    total += unmet[i];
+                }
+            }
+            return total;
+        }
+
+        /**
+         * Necesidad de un tipo de recurso que quedó sin cubrir en una ubicación
+         */
+        public int getUnmetDemand(String locationId, Resource.ResourceType type) {
+            int[] unmet = unmetDemand.get(locationId);
+            return unmet != null ? unmet[type.ordinal()] : 0;
+        }
+
+        /**
+         * Ubicaciones sin ruta desde ningún centro de ayuda
+         */
+        public CustomList<String> getUnreachableLocations() {
+            return unreachableLocations;
+        }
+
+        /**
+         * Unidades totales asignadas por el plan
+         */
+        public long getTotalAllocated() {
+            long total = 0;
+            for (int i = 0; i < allocations.size(); i++) {
+                total += allocations.get(i).getQuantity();
+            }
+            return total;
+        }
+
+        /**
+         * Total asignado de un recurso
+         */
+        public int getAllocatedQuantity(String resourceId) {
+            int total = 0;
+            for (int i = 0; i < allocations.size(); i++) {
+                Allocation allocation = allocations.get(i);
+                if (allocation.getResourceId().equals(resourceId)) {
+                    total += allocation.getQuantity();
+                }
+            }
+            return total;
+        }
+
+        public boolean isEmpty() {
+            return allocations.isEmpty();
+        }
+    }
+
+    /**
+     * Plan de un tipo de recurso junto con los datos con que se calculó
+     */
+    private static class CachedPlan {
+        String[] locationIds;
+        String[] skuIds;
+        long[] inputs;     // Necesidad y peso de cada ubicación, cantidad de cada recurso
+        CustomList<Allocation> allocations;
+        int[] unmet;       // Alineado con locationIds
+
+        boolean matches(String[] locationIds, String[] skuIds, long[] inputs) {
+            return Arrays.equals(this.locationIds, locationIds) && Arrays.equals(this.skuIds, skuIds)
+                    && Arrays.equals(this.inputs, inputs);
+        }
+    }
+
+    /**
+     * Ubicación candidata durante el llenado de un tipo
+     */
+    private static class Candidate {
+        final int index;
+        final int demand;
+        final int step;
+        int allocated;
+        double priority;
+
+        Candidate(int index, int demand) {
+            this.index = index;
+            this.demand = demand;
+            this.step = Math.max(1, (demand + STEPS - 1) / STEPS);
+        }
+    }
+
+    /**
+     * Constructor con la demanda por persona por defecto
+     */
+    public ResourceAllocator() {
+        this.demandPerCapita = new CustomMap<>();
+        this.cachedPlans = new CustomMap<>();
+        demandPerCapita.put(Resource.ResourceType.WATER, 3.0);
+        demandPerCapita.put(Resource.ResourceType.FOOD, 1.0);
+        demandPerCapita.put(Resource.ResourceType.MEDICINE, 0.1);
+        demandPerCapita.put(Resource.ResourceType.SHELTER_SUPPLIES, 0.25);
+        demandPerCapita.put(Resource.ResourceType.RESCUE_EQUIPMENT, 0.01);
+        demandPerCapita.put(Resource.ResourceType.MEDICAL_EQUIPMENT, 0.02);
+        demandPerCapita.put(Resource.ResourceType.CLOTHING, 0.5);
+        demandPerCapita.put(Resource.ResourceType.FUEL, 0.2);
+        demandPerCapita.put(Resource.ResourceType.COMMUNICATION, 0.01);
+        demandPerCapita.put(Resource.ResourceType.TOOLS, 0.05);
+    }
+
+    /**
+     * Cambiar la demanda por persona de un tipo de recurso
+     *
+     * @param type Tipo de recurso
+     * @param unitsPerPerson Unidades que necesita cada persona
+     */
+    public synchronized void setDemandPerCapita(Resource.ResourceType type, double unitsPerPerson) {
+        if (type == null || unitsPerPerson < 0) {
+            throw new IllegalArgumentException("Demand per capita must be non-negative");
+        }
+        demandPerCapita.put(type, unitsPerPerson);
+        cachedPlans.remove(type);
+    }
+
+    /**
+     * Demanda por persona de un tipo de recurso
+     */
+    public synchronized double getDemandPerCapita(Resource.ResourceType type) {
+        Double rate = demandPerCapita.get(type);
+        return rate != null ? rate : 0.0;
+    }
+
+    /**
+     * Tipos de recurso recalculados en la última llamada a plan()
+     */
+    public synchronized int getLastResolvedTypes() {
+        return lastResolvedTypes;
+    }
+
+    /**
+     * Calcular el plan de distribución
+     * Complejidad: O(V log V + E log V) si cambió el grafo, más O(L log L · STEPS) por cada
+     * tipo de recurso cuyo inventario o demanda cambió; O(L + R) para los demás
+     *
+     * @param graph Grafo de ubicaciones
+     * @param stock Inventario disponible
+     * @param tree Árbol de distribución con lo ya entregado (puede ser null)
+     * @return Plan con las asignaciones, la necesidad sin cubrir y las ubicaciones inalcanzables
+     */
+    public synchronized AllocationPlan plan(Graph graph, CustomList<Resource> stock, DistributionTree tree) {
+        AllocationPlan plan = new AllocationPlan();
+        lastResolvedTypes = 0;
+
+        IndexedGraph indexed = graph.getIndexedGraph();
+        double[] distances = getSupplyDistances(indexed);
+        boolean hasSupply = distances != null;
+
+        // Ubicaciones que pueden recibir recursos
+        CustomList<Location> targets = new CustomList<>();
+        CustomList<Double> targetDistances = new CustomList<>();
+        double distanceSum = 0;
+        for (int v = 0; v < indexed.getVertexCount(); v++) {
+            Location location = indexed.getLocation(v);
+            if (location.getType() == Location.LocationType.AID_CENTER || location.isEvacuated()
+                    || location.getPopulation() <= 0) {
+                continue;
+            }
+
+            double distance = hasSupply ? distances[v] : 0.0;
+            if (Double.isInfinite(distance)) {
+                plan.unreachableLocations.add(location.getId());
+                continue;
+            }
+            targets.add(location);
+            targetDistances.add(distance);
+            distanceSum += distance;
+        }
+
+        int n = targets.size();
+        String[] locationIds = new String[n];
+        double[] weights = new double[n];
+        double meanDistance = n > 0 && distanceSum > 0 ? distanceSum / n : 1.0;
+        for (int i = 0; i < n; i++) {
+            Location location = targets.get(i);
+            locationIds[i] = location.getId();
+            double urgency = location.getUrgencyLevel();
+            weights[i] = urgency * urgency / (1.0 + targetDistances.get(i) / meanDistance);
+        }
+
+        // Inventario agrupado por tipo, en el orden del enum
+        Resource.ResourceType[] types = Resource.ResourceType.values();
+        for (int t = 0; t < types.length; t++) {
+            Resource.ResourceType type = types[t];
+            double rate = getDemandPerCapita(type);
+
+            // La cantidad se lee una sola vez: puede cambiar por reservas concurrentes
+            CustomList<String> skuList = new CustomList<>();
+            CustomList<Integer> quantityList = new CustomList<>();
+            for (int i = 0; i < stock.size(); i++) {
+                Resource resource = stock.get(i);
+                int quantity = resource.getQuantity();
+                if (resource.getType() == type && quantity > 0) {
+                    skuList.add(resource.getId());
+                    quantityList.add(quantity);
+                }
+            }
+            String[] skuIds = new String[skuList.size()];
+            int[] quantities = new int[skuIds.length];
+            for (int i = 0; i < skuIds.length; i++) {
+                skuIds[i] = skuList.get(i);
+                quantities[i] = quantityList.get(i);
+            }
+
+            int[] demand = new int[n];
+            for (int i = 0; i < n; i++) {
+                Location location = targets.get(i);
+                int needed = (int) Math.ceil(location.getPopulation() * rate);
+                demand[i] = Math.max(0, needed - deliveredQuantity(tree, location.getId(), type));
+            }
+
+            long[] inputs = planInputs(weights, demand, quantities);
+            CachedPlan cached = cachedPlans.get(type);
+            if (cached == null || !cached.matches(locationIds, skuIds, inputs)) {
+                cached = solveType(locationIds, weights, demand, skuIds, quantities);
+                cached.skuIds = skuIds;
+                cached.inputs = inputs;
+                cachedPlans.put(type, cached);
+                lastResolvedTypes++;
+            }
+
+            for (int i = 0; i < cached.allocations.size(); i++) {
+                plan.allocations.add(cached.allocations.get(i));
+            }
+            for (int i = 0; i < cached.unmet.length; i++) {
+                if (cached.unmet[i] > 0) {
+                    int[] unmet = plan.unmetDemand.get(cached.locationIds[i]);
+                    if (unmet == null) {
+                        unmet = new int[types.length];
+                        plan.unmetDemand.put(cached.locationIds[i], unmet);
+                    }
+                    unmet[t] = cached.unmet[i];
+                }
+            }
+        }
+
+        return plan;
+    }
+
+    /**
+     * Repartir el inventario de un tipo entre las ubicaciones por llenado progresivo
+     * Complejidad: O(L log L · STEPS)
+     */
+    private CachedPlan solveType(String[] locationIds, double[] weights, int[] demand,
+                                 String[] skuIds, int[] quantities) {
+        int n = locationIds.length;
+        int[][] perSku = new int[skuIds.length][n];
+        int[] unmet = demand.clone();
+
+        PriorityQueue<Candidate> pq = new PriorityQueue<>(n + 1,
+                Comparator.comparingDouble((Candidate c) -> -c.priority)
+                        .thenComparingInt(c -> c.index));
+        for (int i = 0; i < n; i++) {
+            if (demand[i] > 0 && weights[i] > 0) {
+                Candidate candidate = new Candidate(i, demand[i]);
+                candidate.priority = weights[i];
+                pq.offer(candidate);
+            }
+        }
+
+        int sku = 0;
+        int skuRemaining = skuIds.length > 0 ? quantities[0] : 0;
+        while (!pq.isEmpty() && sku < skuIds.length) {
+            Candidate candidate = pq.poll();
+            int wanted = Math.min(candidate.step, candidate.demand - candidate.allocated);
+
+            // Un lote puede salir de varios recursos del mismo tipo
+            while (wanted > 0 && sku < skuIds.length) {
+                int taken = Math.min(wanted, skuRemaining);
+                perSku[sku][candidate.index] += taken;
+                candidate.allocated += taken;
+                skuRemaining -= taken;
+                wanted -= taken;
+                if (skuRemaining == 0) {
+                    sku++;
+                    skuRemaining = sku < skuIds.length ? quantities[sku] : 0;
+                }
+            }
+
+            if (candidate.allocated < candidate.demand) {
+                double coverage = (double) candidate.allocated / candidate.demand;
+                candidate.priority = weights[candidate.index] * (1.0 - coverage);
+                pq.offer(candidate);
+            }
+        }
+
+        CachedPlan result = new CachedPlan();
+        result.allocations = new CustomList<>();
+        result.locationIds = locationIds;
+        for (int s = 0; s < perSku.length; s++) {
+            String resourceId = skuIds[s];
+            for (int i = 0; i < n; i++) {
+                if (perSku[s][i] > 0) {
+                    result.allocations.add(new Allocation(resourceId, locationIds[i], perSku[s][i]));
+                    unmet[i] -= perSku[s][i];
+                }
+            }
+        }
+        result.unmet = unmet;
+        return result;
+    }
+
+    /**
+     * Distancias más cortas desde el centro de ayuda más cercano (Dijkstra con varios orígenes)
+     * Se recalculan solo si cambió la forma indexada del grafo, igual que en TeamDispatcher
+     * Complejidad: O((V + E) log V), O(1) si el grafo no cambió
+     *
+     * @return Distancia por índice de vértice, o null si no hay centros de ayuda
+     */
+    private double[] getSupplyDistances(IndexedGraph graph) {
+        if (distanceGraph == graph) {
+            return supplyDistances;
+        }
+
+        CustomList<Integer> centers = new CustomList<>();
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            if (graph.getLocation(v).getType() == Location.LocationType.AID_CENTER) {
+                centers.add(v);
+            }
+        }
+        int[] sources = new int[centers.size()];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = centers.get(i);
+        }
+
+        supplyDistances = sources.length > 0 ? DijkstraAlgorithm.shortestDistances(graph, sources) : null;
+        distanceGraph = graph;
+        return supplyDistances;
+    }
+
+    /**
+     * Unidades de un tipo ya distribuidas a una ubicación
+     */
+    private static int deliveredQuantity(DistributionTree tree, String locationId, Resource.ResourceType type) {
+        if (tree == null) {
+            return 0;
+        }
+
+        CustomList<Resource> assigned = tree.getResources(locationId);
+        int total = 0;
+        for (int i = 0; i < assigned.size(); i++) {
+            Resource resource = assigned.get(i);
+            if (resource.getType() == type) {
+                total += resource.getQuantity();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Datos de los que depende el plan de un tipo, para decidir si puede reutilizarse
+     */
+    private static long[] planInputs(double[] weights, int[] demand, int[] quantities) {
+        long[] inputs = new long[2 * weights.length + quantities.length];
+        int k = 0;
+        for (int i = 0; i < weights.length; i++) {
+            inputs[k++] = demand[i];
+            inputs[k++] = Double.doubleToLongBits(weights[i]);
+        }
+        for (int i = 0; i < quantities.length; i++) {
+            inputs[k++] = quantities[i];
+        }
+        return inputs;
+    }
+}
@@ -0,0 +1,310 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.models.Location;
+import co.edu.uniquindio.models.RescueTeam;
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.CustomMap;
+import co.edu.uniquindio.structures.Graph;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.PriorityQueue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Despacho de equipos de rescate a ubicaciones críticas
+ *
+ * Cada ubicación crítica ofrece uno o más puestos (uno más por cada PEOPLE_PER_EXTRA_TEAM
+ * habitantes, hasta MAX_TEAMS_PER_LOCATION, descontando los equipos que ya tiene) y se
+ * resuelve una sola asignación equipos × puestos con el algoritmo húngaro. El costo de
+ * poner un equipo en un puesto combina:
+ *   - distancia de viaje desde la última posición conocida del equipo (o desde el centro
+ *     de ayuda más cercano si no se conoce), normalizada por la mayor distancia del lote
+ *   - idoneidad del tipo de equipo para el tipo de ubicación
+ *   - capacidad operativa y nivel de experiencia del equipo
+ * ponderados por la urgencia de la ubicación; los puestos adicionales de una misma
+ * ubicación valen menos que el primero. Cada equipo tiene además una columna "sin
+ * asignar" de costo cero, así que nunca se envía un equipo a un puesto inalcanzable
+ * o que empeora el total.
+ *
+ * Re-solución incremental: cada llamada solo considera los equipos libres y los puestos
+ * abiertos, así que cuando un equipo queda libre basta con volver a despachar; las
+ * distancias desde cada origen se guardan mientras no cambie la versión del grafo.
+ *
+ * Los métodos están sincronizados; DisasterManager planifica dentro de una lectura consistente.
+ */
+public class TeamDispatcher {
+    public static final int PEOPLE_PER_EXTRA_TEAM = 5000;
+    public static final int MAX_TEAMS_PER_LOCATION = 5;
+
+    private static final double TRAVEL_WEIGHT = 1.0;
+    private static final double SUITABILITY_WEIGHT = 1.5;
+    private static final double CAPACITY_WEIGHT = 1.0;
+    private static final double EXPERIENCE_WEIGHT = 0.5;
+    private static final double INFEASIBLE = 1e9;
+
+    private static final String STAGING = "";  // Origen de los equipos sin posición conocida
+
+    // Última posición conocida de cada equipo
+    private final CustomMap<String, String> positions;
+
+    // Distancias desde cada origen, válidas para una versión del grafo
+    private final CustomMap<String, double[]> distanceCache;
+    private IndexedGraph cachedGraph;
+
+    /**
+     * Asignación propuesta de un equipo a una ubicación
+     */
+    public static class Dispatch {
+        private final String teamId;
+        private final String locationId;
+        private final double travelDistance;
+        private final double cost;
+
+        Dispatch(String teamId, String locationId, double travelDistance, double cost) {
+            this.teamId = teamId;
+            this.locationId = locationId;
+            this.travelDistance = travelDistance;
+            this.cost = cost;
+        }
+
+        public String getTeamId() {
+            return teamId;
+        }
+
+        public String getLocationId() {
+            return locationId;
+        }
+
+        public double getTravelDistance() {
+            return travelDistance;
+        }
+
+        public double getCost() {
+            return cost;
+        }
+
+        @Override
+        public String toString() {
+            return teamId + " -> " + locationId + " (" + String.format("%.1f", travelDistance) + " km)";
+        }
+    }
+
+    /**
+     * Puesto a cubrir en una ubicación
+     */
+    private static class Slot {
+        final Location location;
+        final int vertex;
+        final int rank; // 0 = primer puesto de la ubicación
+
+        Slot(Location location, int vertex, int rank) {
+            this.location = location;
+            this.vertex = vertex;
+            this.rank = rank;
+        }
+    }
+
+    /**
+     * Constructor
+     */
+    public TeamDispatcher() {
+        this.positions = new CustomMap<>();
+        this.distanceCache = new CustomMap<>();
+        this.cachedGraph = null;
+    }
+
+    /**
+     * Registrar la posición actual de un equipo
+     *
+     * @param teamId ID del equipo
+     * @param locationId Ubicación donde se encuentra (null si se desconoce)
+     */
+    public synchronized void reportPosition(String teamId, String locationId) {
+        if (locationId == null) {
+            positions.remove(teamId);
+        } else {
+            positions.put(teamId, locationId);
+        }
+    }
+
+    /**
+     * Última posición conocida de un equipo
+     */
+    public synchronized String getPosition(String teamId) {
+        return positions.get(teamId);
+    }
+
+    /**
+     * Calcular la asignación óptima de los equipos libres a los puestos abiertos
+     * Complejidad: O(T² · (P + T)) por el algoritmo húngaro, más un Dijkstra por cada
+     * origen distinto que no esté en caché
+     *
+     * @param graph Grafo de ubicaciones
+     * @param teams Todos los equipos (se usan los que pueden desplegarse)
+     * @param targets Ubicaciones a cubrir
+     * @return Asignaciones propuestas, de la más ventajosa a la menos
+     */
+    public synchronized CustomList<Dispatch> plan(Graph graph, CustomList<RescueTeam> teams,
+                                                  CustomList<Location> targets) {
+        IndexedGraph indexed = graph.getIndexedGraph();
+        if (cachedGraph != indexed) {
+            distanceCache.clear();
+            cachedGraph = indexed;
+        }
+
+        // Equipos libres y equipos ya presentes en cada ubicación
+        CustomList<RescueTeam> free = new CustomList<>();
+        CustomMap<String, Integer> present = new CustomMap<>();
+        for (int i = 0; i < teams.size(); i++) {
+            RescueTeam team = teams.get(i);
+            if (team.canDeploy()) {
+                free.add(team);
+            } else if (team.hasAssignment()) {
+                Integer count = present.get(team.getAssignedLocationId());
+                present.put(team.getAssignedLocationId(), count != null ? count + 1 : 1);
+            }
+        }
+
+        // Puestos abiertos
+        CustomList<Slot> slots = new CustomList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            Location location = targets.get(i);
+            int vertex = indexed.indexOf(location.getId());
+            if (vertex < 0) {
+                continue;
+            }
+            int wanted = Math.min(MAX_TEAMS_PER_LOCATION, 1 + location.getPopulation() / PEOPLE_PER_EXTRA_TEAM);
+            Integer already = present.get(location.getId());
+            for (int k = already != null ? already : 0; k < wanted; k++) {
+                slots.add(new Slot(location, vertex, k));
+            }
+        }
+
+        CustomList<Dispatch> result = new CustomList<>();
+        if (free.isEmpty() || slots.isEmpty()) {
+            return result;
+        }
+
+        // Distancias de viaje
+        int teamCount = free.size();
+        int slotCount = slots.size();
+        double[][] travel = new double[teamCount][slotCount];
+        double maxDistance = 0;
+        for (int t = 0; t < teamCount; t++) {
+            double[] distances = distancesFrom(indexed, positions.get(free.get(t).getId()));
+            for (int s = 0; s < slotCount; s++) {
+                travel[t][s] = distances[slots.get(s).vertex];
+                if (!Double.isInfinite(travel[t][s])) {
+                    maxDistance = Math.max(maxDistance, travel[t][s]);
+                }
+            }
+        }
+        if (maxDistance == 0) {
+            maxDistance = 1;
+        }
+
+        // Matriz de costos: puestos reales seguidos de una columna "sin asignar" por equipo
+        double[][] cost = new double[teamCount][slotCount + teamCount];
+        for (int t = 0; t < teamCount; t++) {
+            RescueTeam team = free.get(t);
+            for (int s = 0; s < slotCount; s++) {
+                cost[t][s] = Double.isInfinite(travel[t][s])
+                        ? INFEASIBLE
+                        : pairCost(team, slots.get(s), travel[t][s] / maxDistance);
+            }
+            Arrays.fill(cost[t], slotCount, slotCount + teamCount, 0.0);
+        }
+
+        int[] assignment = HungarianAlgorithm.solve(cost);
+
+        PriorityQueue<Dispatch> ordered = new PriorityQueue<>(teamCount + 1,
+                Comparator.comparingDouble(Dispatch::getCost));
+        for (int t = 0; t < teamCount; t++) {
+            int s = assignment[t];
+            if (s < slotCount && cost[t][s] < INFEASIBLE) {
+                ordered.offer(new Dispatch(free.get(t).getId(), slots.get(s).location.getId(),
+                        travel[t][s], cost[t][s]));
+            }
+        }
+        while (!ordered.isEmpty()) {
+            result.add(ordered.poll());
+        }
+        return result;
+    }
+
+    /**
+     * Costo de poner un equipo en un puesto (menor es mejor)
+     */
+    private static double pairCost(RescueTeam team, Slot slot, double normalizedTravel) {
+        double urgency = slot.location.getUrgencyLevel() / 5.0;
+        double slotValue = 1.0 / (1 + slot.rank);
+        double benefit = SUITABILITY_WEIGHT * suitability(team.getType(), slot.location.getType())
+                + CAPACITY_WEIGHT * team.getOperationalCapacity() / 100.0
+                + EXPERIENCE_WEIGHT * team.getExperienceLevel() / 5.0;
+        return TRAVEL_WEIGHT * normalizedTravel - urgency * slotValue * benefit;
+    }
+
+    /**
+     * Idoneidad de un tipo de equipo para un tipo de ubicación (0.3 - 1.0)
+     */
+    static double suitability(RescueTeam.TeamType team, Location.LocationType location) {
+        switch (location) {
+            case HOSPITAL:
+                return team == RescueTeam.TeamType.MEDICAL || team == RescueTeam.TeamType.PARAMEDICS ? 1.0
+                        : team == RescueTeam.TeamType.LOGISTICS || team == RescueTeam.TeamType.ENGINEERS ? 0.6 : 0.3;
+            case AFFECTED_ZONE:
+                return team == RescueTeam.TeamType.SEARCH_AND_RESCUE || team == RescueTeam.TeamType.FIREFIGHTERS ? 1.0
+                        : team == RescueTeam.TeamType.PARAMEDICS || team == RescueTeam.TeamType.ENGINEERS ? 0.6 : 0.3;
+            case SHELTER:
+                return team == RescueTeam.TeamType.LOGISTICS || team == RescueTeam.TeamType.MEDICAL ? 1.0
+                        : team == RescueTeam.TeamType.POLICE || team == RescueTeam.TeamType.PARAMEDICS ? 0.6 : 0.3;
+            case CITY:
+                return team == RescueTeam.TeamType.POLICE || team == RescueTeam.TeamType.FIREFIGHTERS ? 1.0
+                        : team == RescueTeam.TeamType.SEARCH_AND_RESCUE || team == RescueTeam.TeamType.ENGINEERS ? 0.6 : 0.3;
+            case AID_CENTER:
+                return team == RescueTeam.TeamType.LOGISTICS || team == RescueTeam.TeamType.COMMUNICATIONS ? 1.0 : 0.3;
+            default:
+                return 0.3;
+        }
+    }
+
+    /**
+     * Distancias desde un origen (o desde los centros de ayuda si el origen se desconoce)
+     * Complejidad: O((V + E) log V), O(1) si ya estaba en caché
+     */
+    private double[] distancesFrom(IndexedGraph graph, String originId) {
+        String key = originId != null && graph.indexOf(originId) >= 0 ? originId : STAGING;
+        double[] cached = distanceCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        int[] sources;
+        if (key.equals(STAGING)) {
+            CustomList<Integer> centers = new CustomList<>();
+            for (int v = 0; v < graph.getVertexCount(); v++) {
+                if (graph.getLocation(v).getType() == Location.LocationType.AID_CENTER) {
+                    centers.add(v);
+                }
+            }
+            sources = new int[centers.size()];
+            for (int i = 0; i < sources.length; i++) {
+                sources[i] = centers.get(i);
+            }
+        } else {
+            sources = new int[]{graph.indexOf(key)};
+        }
+
+        double[] dist;
+        if (sources.length == 0) {
+            // Sin centros de ayuda ni posición conocida no hay forma de medir el viaje
+            dist = new double[graph.getVertexCount()];
+        } else {
+            dist = DijkstraAlgorithm.shortestDistances(graph, sources);
+        }
+
+        distanceCache.put(key, dist);
+        return dist;
+    }
+}
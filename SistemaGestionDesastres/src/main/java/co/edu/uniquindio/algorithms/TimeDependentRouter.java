@@ -0,0 +1,277 @@
+package co.edu.uniquindio.algorithms;
+
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.GeoPoints;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.PriorityQueue;
+import co.edu.uniquindio.structures.TravelTimeFunction;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Rutas por hora de llegada con tiempos de recorrido que cambian con la hora
+ *
+ * Las aristas con TravelTimeFunction usan su función (con espera si la ruta está cortada
+ * y se reabre más tarde); las demás tardan distancia / velocidad. Como todas las
+ * funciones son FIFO, Dijkstra sobre la hora de llegada es exacto: al asentar un vértice
+ * ya no hay forma de llegar antes.
+ *
+ * Con destino se usa A*: la cota inferior es la distancia de Haversine al destino dividida
+ * por la mayor velocidad aparente de la red (distancia en línea recta / menor duración de
+ * cada arista), así que es admisible y consistente sin suponer nada sobre las funciones.
+ * Las distancias al destino se calculan una vez por consulta para todos los vértices con
+ * GeoPoints (uno a muchos por cuerdas), en lugar de una fórmula de Haversine por arista.
+ * Si alguna arista puede recorrerse en tiempo cero la cota se anula y queda Dijkstra.
+ *
+ * Horas en horas desde el inicio de la planificación, igual que en TravelTimeFunction.
+ */
+public class TimeDependentRouter {
+
+    /**
+     * Ruta con la hora de llegada y de salida en cada parada
+     */
+    public static class TimedRoute {
+        private final CustomList<String> locationIds;
+        private final double[] arrivals;
+        private final double[] departures;
+
+        TimedRoute(CustomList<String> locationIds, double[] arrivals, double[] departures) {
+            this.locationIds = locationIds;
+            this.arrivals = arrivals;
+            this.departures = departures;
+        }
+
+        public CustomList<String> getLocationIds() {
+            return locationIds;
+        }
+
+        /**
+         * Hora de llegada a la parada i (la primera es la hora de salida pedida)
+         */
+        public double getArrivalTime(int stop) {
+            return arrivals[stop];
+        }
+
+        /**
+         * Hora de salida de la parada i (mayor que la de llegada si hay que esperar a que
+         * se reabra la siguiente ruta); la última parada no tiene salida
+         */
+        public double getDepartureTime(int stop) {
+            return departures[stop];
+        }
+
+        /**
+         * Hora de llegada al destino
+         */
+        public double getArrivalTime() {
+            return arrivals[arrivals.length - 1];
+        }
+
+        /**
+         * Duración total, incluidas las esperas
+         */
+        public double getTotalTime() {
+            return arrivals[arrivals.length - 1] - arrivals[0];
+        }
+
+        /**
+         * Horas de espera acumuladas por rutas cortadas
+         */
+        public double getWaitingTime() {
+            double waiting = 0;
+            for (int i = 0; i < departures.length; i++) {
+                waiting += departures[i] - arrivals[i];
+            }
+            return waiting;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (llegada %.2f h)", locationIds, getArrivalTime());
+        }
+    }
+
+    /**
+     * Nodo para la cola de prioridad
+     */
+    private static class Node {
+        final int vertex;
+        final double arrival;
+        final double priority;
+
+        Node(int vertex, double arrival, double priority) {
+            this.vertex = vertex;
+            this.arrival = arrival;
+            this.priority = priority;
+        }
+    }
+
+    /**
+     * Hora de llegada al final de una arista estando listo para salir a una hora
+     */
+    private static double arrivalThrough(IndexedGraph graph, int edge, double ready, double speedKmh) {
+        TravelTimeFunction travelTime = graph.getTravelTime(edge);
+        return travelTime != null ? travelTime.arrivalTime(ready) : ready + graph.getWeight(edge) / speedKmh;
+    }
+
+    private static double departureThrough(IndexedGraph graph, int edge, double ready) {
+        TravelTimeFunction travelTime = graph.getTravelTime(edge);
+        return travelTime != null ? travelTime.departureTime(ready) : ready;
+    }
+
+    private static void checkSpeed(double speedKmh) {
+        if (!(speedKmh > 0) || Double.isInfinite(speedKmh)) {
+            throw new IllegalArgumentException("Speed must be positive");
+        }
+    }
+
+    /**
+     * Hora de llegada más temprana a cada ubicación saliendo de un origen a una hora
+     * Complejidad: O((V + E) (log V + log k)), k = puntos de quiebre por función
+     *
+     * @param speedKmh Velocidad para las aristas sin función de tiempo
+     * @return Hora de llegada por índice de vértice (POSITIVE_INFINITY si no se llega)
+     */
+    public static double[] earliestArrivals(IndexedGraph graph, String fromId, double departure, double speedKmh) {
+        checkSpeed(speedKmh);
+        double[] arrival = new double[graph.getVertexCount()];
+        Arrays.fill(arrival, Double.POSITIVE_INFINITY);
+        int source = graph.indexOf(fromId);
+        if (source >= 0) {
+            search(graph, source, -1, departure, speedKmh, arrival, null, null);
+        }
+        return arrival;
+    }
+
+    /**
+     * Ruta de llegada más temprana entre dos ubicaciones (A*)
+     * Complejidad: O((V + E) (log V + log k)) en el peor caso; la cota suele explorar mucho menos
+     *
+     * @param departure Hora de salida
+     * @param speedKmh Velocidad para las aristas sin función de tiempo
+     * @return Ruta con sus horas, o null si no se puede llegar
+     */
+    public static TimedRoute findEarliestArrival(IndexedGraph graph, String fromId, String toId,
+                                                 double departure, double speedKmh) {
+        checkSpeed(speedKmh);
+        int source = graph.indexOf(fromId);
+        int target = graph.indexOf(toId);
+        if (source < 0 || target < 0) {
+            return null;
+        }
+
+        int n = graph.getVertexCount();
+        double[] arrival = new double[n];
+        int[] previousEdge = new int[n];
+        Arrays.fill(arrival, Double.POSITIVE_INFINITY);
+        Arrays.fill(previousEdge, -1);
+        int[] previousVertex = new int[n];
+        search(graph, source, target, departure, speedKmh, arrival, previousEdge, previousVertex);
+        if (Double.isInfinite(arrival[target])) {
+            return null;
+        }
+
+        CustomList<Integer> edges = new CustomList<>();
+        for (int v = target; v != source; v = previousVertex[v]) {
+            edges.add(previousEdge[v]);
+        }
+
+        // Recorrer hacia adelante para registrar esperas y horas de llegada
+        CustomList<String> ids = new CustomList<>();
+        double[] arrivals = new double[edges.size() + 1];
+        double[] departures = new double[edges.size()];
+        double time = departure;
+        ids.add(graph.getId(source));
+        arrivals[0] = departure;
+        for (int i = edges.size() - 1, stop = 1; i >= 0; i--, stop++) {
+            int e = edges.get(i);
+            departures[stop - 1] = departureThrough(graph, e, time);
+            time = arrivalThrough(graph, e, time, speedKmh);
+            ids.add(graph.getId(graph.getTarget(e)));
+            arrivals[stop] = time;
+        }
+        return new TimedRoute(ids, arrivals, departures);
+    }
+
+    /**
+     * Dijkstra por hora de llegada, o A* hacia target si target >= 0
+     */
+    private static void search(IndexedGraph graph, int source, int target, double departure, double speedKmh,
+                               double[] arrival, int[] previousEdge, int[] previousVertex) {
+        int n = graph.getVertexCount();
+        double maxSpeed = Double.POSITIVE_INFINITY;
+        double[] straight = null; // Distancia en línea recta de cada vértice al destino
+        if (target >= 0) {
+            GeoPoints points = GeoPoints.of(graph);
+            maxSpeed = apparentMaxSpeed(graph, points, speedKmh);
+            if (!Double.isInfinite(maxSpeed)) {
+                straight = new double[n];
+                points.distancesFrom(target, straight);
+            }
+        }
+        boolean[] settled = new boolean[n];
+
+        PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingDouble((Node node) -> node.priority));
+        arrival[source] = departure;
+        open.offer(new Node(source, departure, departure + lowerBound(straight, source, maxSpeed)));
+
+        while (!open.isEmpty()) {
+            Node current = open.poll();
+            int u = current.vertex;
+            if (settled[u] || current.arrival > arrival[u]) {
+                continue;
+            }
+            settled[u] = true;
+            if (u == target) {
+                return;
+            }
+
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                int v = graph.getTarget(e);
+                if (settled[v]) {
+                    continue;
+                }
+                double candidate = arrivalThrough(graph, e, arrival[u], speedKmh);
+                if (candidate < arrival[v]) {
+                    arrival[v] = candidate;
+                    if (previousEdge != null) {
+                        previousEdge[v] = e;
+                        previousVertex[v] = u;
+                    }
+                    open.offer(new Node(v, candidate, candidate + lowerBound(straight, v, maxSpeed)));
+                }
+            }
+        }
+    }
+
+    private static double lowerBound(double[] straight, int vertex, double maxSpeed) {
+        return straight != null ? straight[vertex] / maxSpeed : 0.0;
+    }
+
+    /**
+     * Mayor cociente distancia en línea recta / menor duración entre todas las aristas
+     * Ninguna arista puede recorrerse más rápido, así que Haversine / este valor es admisible
+     * Complejidad: O(E)
+     */
+    private static double apparentMaxSpeed(IndexedGraph graph, GeoPoints points, double speedKmh) {
+        double maxSpeed = 0.0;
+        for (int u = 0; u < graph.getVertexCount(); u++) {
+            for (int e = graph.edgeStart(u); e < graph.edgeEnd(u); e++) {
+                TravelTimeFunction travelTime = graph.getTravelTime(e);
+                double minTime = travelTime != null ? travelTime.getMinTravelTime() : graph.getWeight(e) / speedKmh;
+                if (Double.isInfinite(minTime)) {
+                    continue; // Nunca se abre
+                }
+                double straight = points.distance(u, graph.getTarget(e));
+                if (straight > 0) {
+                    if (minTime == 0) {
+                        return Double.POSITIVE_INFINITY;
+                    }
+                    maxSpeed = Math.max(maxSpeed, straight / minTime);
+                }
+            }
+        }
+        return maxSpeed > 0 ? maxSpeed : Double.POSITIVE_INFINITY;
+    }
+}
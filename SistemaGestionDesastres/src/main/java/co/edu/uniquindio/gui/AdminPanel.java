@@ -17,6 +17,7 @@ public class AdminPanel extends JPanel {
     private DefaultListModel<String> resourcesModel;
     private DefaultListModel<String> teamsModel;
     private MainFrame mainFrame;
+    private JButton reportButton;
 
     public AdminPanel(DisasterManager manager, AuthenticationService authService) {
         this.manager = manager;
@@ -68,6 +69,7 @@ public class AdminPanel extends JPanel {
     private JButton createReportButton() {
         JButton reportBtn = new JButton("Generar Informe");
         reportBtn.addActionListener(e -> generateReport());
+        reportButton = reportBtn;
         return reportBtn;
     }
 
@@ -75,9 +77,15 @@ public class AdminPanel extends JPanel {
         // Crear el generador de informes
         ReportGenerator reportGenerator = new ReportGenerator(manager, authService.getCurrentUser());
 
-        // Diálogo para seleccionar ubicación del archivo
+        // Diálogo para seleccionar ubicación y formato del archivo
         JFileChooser fileChooser = new JFileChooser();
         fileChooser.setDialogTitle("Guardar Informe del Sistema");
+        fileChooser.addChoosableFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+                "Texto (*.txt, *.txt.gz)", "txt", "gz"));
+        fileChooser.addChoosableFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+                "CSV (*.csv, *.csv.gz)", "csv", "gz"));
+        fileChooser.addChoosableFileFilter(new javax.swing.filechooser.FileNameExtensionFilter(
+                "JSON (*.json, *.json.gz)", "json", "gz"));
 
         // Nombre por defecto
         String timestamp = java.time.LocalDateTime.now()
@@ -88,21 +96,48 @@ public class AdminPanel extends JPanel {
 
         if (userSelection == JFileChooser.APPROVE_OPTION) {
             java.io.File fileToSave = fileChooser.getSelectedFile();
+            String fileName = fileToSave.getName();
 
-            // Generar el informe
-            boolean success = reportGenerator.generateCompleteReport(fileToSave.getAbsolutePath());
+            // El formato se deduce de la extensión; ".gz" al final activa la compresión
+            ReportGenerator.ReportFormat format = ReportGenerator.ReportFormat.fromFileName(fileName);
+            boolean gzip = fileName.toLowerCase().endsWith(".gz");
 
-            if (success) {
-                JOptionPane.showMessageDialog(this,
-                        "Informe generado exitosamente en:\n" + fileToSave.getAbsolutePath(),
-                        "Informe Completado",
-                        JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        "Error al generar el informe",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            // Generar el informe fuera del hilo de la interfaz
+            reportButton.setEnabled(false);
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+            new SwingWorker<Boolean, Void>() {
+                @Override
+                protected Boolean doInBackground() {
+                    return reportGenerator.generateReport(fileToSave.getAbsolutePath(), format, gzip);
+                }
+
+                @Override
+                protected void done() {
+                    setCursor(Cursor.getDefaultCursor());
+                    reportButton.setEnabled(true);
+
+                    boolean success;
+                    try {
+                        success = get();
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                        success = false;
+                    }
+
+                    if (success) {
+                        JOptionPane.showMessageDialog(AdminPanel.this,
+                                "Informe generado exitosamente en:\n" + fileToSave.getAbsolutePath(),
+                                "Informe Completado",
+                                JOptionPane.INFORMATION_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(AdminPanel.this,
+                                "Error al generar el informe",
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            }.execute();
         }
     }
 
@@ -1,15 +1,15 @@
 package co.edu.uniquindio.gui;
 
 import co.edu.uniquindio.models.Location;
-import co.edu.uniquindio.models.RescueTeam;
-import co.edu.uniquindio.models.Resource;
 import co.edu.uniquindio.services.DisasterManager;
+import co.edu.uniquindio.services.SystemSnapshot;
 import co.edu.uniquindio.structures.CustomList;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Panel de inicio con vista general del sistema
@@ -31,6 +31,9 @@ public class HomePanel extends JPanel {
     // Paneles de gráficos
     private JPanel urgencyDistributionPanel;
 
+    // Última instantánea mostrada (solo se lee y escribe desde el EDT)
+    private SystemSnapshot snapshot;
+
     /**
      * Constructor del panel de inicio
      *
@@ -276,15 +279,15 @@ public class HomePanel extends JPanel {
 
         if (width <= 0 || height <= 0) return;
 
+        if (snapshot == null) return;
+
         // Contar ubicaciones por urgencia
         int[] urgencyCounts = new int[6]; // 0-5
-        CustomList<Location> locations = manager.getAllLocations();
         int maxCount = 1;
 
-        for (int i = 0; i < locations.size(); i++) {
-            int urgency = locations.get(i).getUrgencyLevel();
-            urgencyCounts[urgency]++;
-            maxCount = Math.max(maxCount, urgencyCounts[urgency]);
+        for (int i = 1; i <= 5; i++) {
+            urgencyCounts[i] = snapshot.getUrgencyCount(i);
+            maxCount = Math.max(maxCount, urgencyCounts[i]);
         }
 
         // Dibujar barras
@@ -462,42 +465,54 @@ public class HomePanel extends JPanel {
 
     /**
      * Actualizar todos los datos del panel
+     * La instantánea se obtiene fuera del EDT y todos los indicadores se actualizan con ella
      */
     public void refresh() {
-        updateStatistics();
-        updateUrgentLocations();
         updateRecentActivities();
-        urgencyDistributionPanel.repaint();
+
+        new SwingWorker<SystemSnapshot, Void>() {
+            @Override
+            protected SystemSnapshot doInBackground() {
+                return manager.getSnapshot();
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    snapshot = get();
+                    updateStatistics();
+                    updateUrgentLocations();
+                    urgencyDistributionPanel.repaint();
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
     }
 
     /**
      * Actualizar estadísticas generales
      */
     private void updateStatistics() {
-        CustomList<Location> locations = manager.getAllLocations();
-        CustomList<Resource> resources = manager.getAllResources();
-        CustomList<RescueTeam> teams = manager.getAllRescueTeams();
-
-        locationsCountLabel.setText(String.valueOf(locations.size()));
-        resourcesCountLabel.setText(String.valueOf(manager.getTotalResourceQuantity()));
-        teamsCountLabel.setText(teams.size() + " (" + manager.getDeployedTeamsCount() + " desplegados)");
-        populationLabel.setText(String.format("%,d personas", manager.getTotalPopulation()));
+        locationsCountLabel.setText(String.valueOf(snapshot.getLocationCount()));
+        resourcesCountLabel.setText(String.valueOf(snapshot.getTotalResourceQuantity()));
+        teamsCountLabel.setText(snapshot.getTeamCount() + " (" + snapshot.getDeployedTeamsCount() + " desplegados)");
+        populationLabel.setText(String.format("%,d personas", snapshot.getTotalPopulation()));
     }
 
     /**
      * Actualizar zonas urgentes
      */
     private void updateUrgentLocations() {
-        CustomList<Location> prioritized = manager.prioritizeEvacuations();
         StringBuilder sb = new StringBuilder();
 
         sb.append(String.format("%-3s %-25s %-15s %s\n",
                 "#", "Ubicación", "Tipo", "Urgencia"));
         sb.append("─".repeat(60)).append("\n");
 
-        int count = Math.min(10, prioritized.size());
+        int count = Math.min(10, snapshot.getLocationCount());
         for (int i = 0; i < count; i++) {
-            Location loc = prioritized.get(i);
+            Location loc = snapshot.getLocation(i);
             String urgencyBar = getUrgencyBar(loc.getUrgencyLevel());
             sb.append(String.format("%-3d %-25s %-15s %s\n",
                     (i + 1),
@@ -507,7 +522,7 @@ public class HomePanel extends JPanel {
             ));
         }
 
-        if (prioritized.size() == 0) {
+        if (snapshot.getLocationCount() == 0) {
             sb.append("\nNo hay ubicaciones registradas");
         }
 
@@ -555,7 +570,7 @@ public class HomePanel extends JPanel {
      * Mostrar evacuaciones priorizadas
      */
     private void showPrioritizedEvacuations() {
-        CustomList<Location> prioritized = manager.prioritizeEvacuations();
+        CustomList<Location> prioritized = manager.getSnapshot().getPrioritizedLocations();
 
         StringBuilder message = new StringBuilder();
         message.append("EVACUACIONES PRIORIZADAS\n");
@@ -588,7 +603,7 @@ public class HomePanel extends JPanel {
      * Mostrar zonas críticas
      */
     private void showCriticalLocations() {
-        CustomList<Location> critical = manager.getCriticalLocations();
+        CustomList<Location> critical = manager.getSnapshot().getCriticalLocations();
 
         if (critical.isEmpty()) {
             JOptionPane.showMessageDialog(
@@ -2,15 +2,25 @@ package co.edu.uniquindio.gui;
 
 import co.edu.uniquindio.services.*;
 import co.edu.uniquindio.models.User;
+import co.edu.uniquindio.structures.CustomList;
 import javax.swing.*;
 import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 
 /**
  * Ventana principal de la aplicación
  */
 public class MainFrame extends JFrame {
+    private static final String DATA_DIRECTORY = "data";
+    private static final String DATASETS_DIRECTORY = "datasets";
+    private static final String OPERATION_LOG_FILE = "operaciones.log";
+
     private AuthenticationService authService;
     private DisasterManager disasterManager;
+    private PersistenceService persistenceService;
     private JTabbedPane tabbedPane;
     private JLabel statusLabel;
 
@@ -30,7 +40,36 @@ public class MainFrame extends JFrame {
     private void initializeServices() {
         authService = new AuthenticationService();
         disasterManager = new DisasterManager();
-        loadTestData();
+
+        // Recuperar el estado persistido; los datos de prueba solo se cargan la primera vez
+        try {
+            persistenceService = new PersistenceService(disasterManager, DATA_DIRECTORY);
+            if (!persistenceService.recover()) {
+                loadTestData();
+            }
+            persistenceService.start();
+        } catch (IOException e) {
+            // Sin persistencia todo lo que se haga se perdería al salir: no se continúa
+            JOptionPane.showMessageDialog(null,
+                    "No se pudo recuperar ni abrir el estado guardado en '" + DATA_DIRECTORY + "':\n"
+                            + e.getMessage()
+                            + "\n\nLa aplicación se cerrará para no trabajar sin guardar los cambios.",
+                    "Error de persistencia", JOptionPane.ERROR_MESSAGE);
+            System.exit(1);
+        }
+
+        // Volcar el registro de operaciones a disco en segundo plano
+        try {
+            Files.createDirectories(Paths.get(DATA_DIRECTORY));
+            disasterManager.startOperationLogSink(DATA_DIRECTORY + File.separator + OPERATION_LOG_FILE);
+            DisasterManager manager = disasterManager;
+            Runtime.getRuntime().addShutdownHook(new Thread(manager::stopOperationLogSink, "operation-log-close"));
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null,
+                    "No se pudo abrir el archivo del registro de operaciones:\n" + e.getMessage()
+                            + "\nEl registro solo se conservará en memoria.",
+                    "Registro de operaciones", JOptionPane.WARNING_MESSAGE);
+        }
     }
 
     private void initializeFrame() {
@@ -75,6 +114,10 @@ public class MainFrame extends JFrame {
 
         // Menú Archivo
         JMenu fileMenu = new JMenu("Archivo");
+        JMenuItem exportItem = new JMenuItem("Exportar Red (network.sgdg)");
+        exportItem.addActionListener(e -> exportNetwork());
+        fileMenu.add(exportItem);
+        fileMenu.addSeparator();
         JMenuItem exitItem = new JMenuItem("Salir");
         exitItem.addActionListener(e -> System.exit(0));
         fileMenu.add(exitItem);
@@ -143,9 +186,68 @@ public class MainFrame extends JFrame {
     }
 
     private void loadTestData() {
+        // Si hay datos municipales disponibles se importan; si no, se usan los datos de prueba
+        try {
+            BulkImporter.ImportResult result = DataLoader.loadFromDirectory(disasterManager, DATASETS_DIRECTORY);
+            if (result != null) {
+                showImportResult(result);
+                return;
+            }
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null,
+                    "No se pudieron importar los datos de '" + DATASETS_DIRECTORY + "':\n" + e.getMessage()
+                            + "\nSe cargarán los datos de prueba.",
+                    "Importación de datos", JOptionPane.WARNING_MESSAGE);
+        }
+
         DataLoader.loadTestData(disasterManager);
     }
 
+    /**
+     * Exportar la red actual al directorio de datos para que el próximo inicio la
+     * cargue desde la instantánea binaria en lugar de los CSV (solo administradores)
+     */
+    private void exportNetwork() {
+        User currentUser = authService.getCurrentUser();
+        if (currentUser == null || !currentUser.isAdministrator()) {
+            JOptionPane.showMessageDialog(this,
+                    "Solo un administrador puede exportar la red.",
+                    "Exportar Red", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        try {
+            File file = DataLoader.exportNetwork(disasterManager, DATASETS_DIRECTORY);
+            updateStatus("Red exportada a " + file.getPath());
+            JOptionPane.showMessageDialog(this,
+                    "Red exportada a '" + file.getPath() + "'.\n"
+                            + "Las capacidades y tiempos de recorrido no se incluyen.",
+                    "Exportar Red", JOptionPane.INFORMATION_MESSAGE);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(this,
+                    "No se pudo exportar la red:\n" + e.getMessage(),
+                    "Exportar Red", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Informar el resultado de la importación inicial, con los primeros registros rechazados
+     */
+    private void showImportResult(BulkImporter.ImportResult result) {
+        StringBuilder message = new StringBuilder(result.toString());
+        CustomList<String> errors = result.getErrors();
+        int shown = Math.min(errors.size(), 10);
+        for (int i = 0; i < shown; i++) {
+            message.append("\n  ").append(errors.get(i));
+        }
+        if (result.getRejected() > shown) {
+            message.append("\n  ... y ").append(result.getRejected() - shown).append(" más");
+        }
+
+        JOptionPane.showMessageDialog(null, message.toString(), "Importación de datos",
+                result.getRejected() > 0 ? JOptionPane.WARNING_MESSAGE : JOptionPane.INFORMATION_MESSAGE);
+    }
+
     public void updateStatus(String message) {
         statusLabel.setText(message);
     }
@@ -1,23 +1,32 @@
 package co.edu.uniquindio.gui;
 
+import co.edu.uniquindio.algorithms.KShortestPaths;
+import co.edu.uniquindio.algorithms.MultiCriteriaRouter;
+import co.edu.uniquindio.algorithms.NetworkVulnerability;
 import co.edu.uniquindio.services.DisasterManager;
 import co.edu.uniquindio.models.Location;
+import co.edu.uniquindio.models.Route;
 import co.edu.uniquindio.structures.CustomList;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Panel para visualización y cálculo de rutas
  * Permite calcular rutas más cortas y gestionar conexiones
  */
 public class RoutesPanel extends JPanel {
+    private static final int ALTERNATIVE_ROUTES = 3;
+    private static final int BUSIEST_ROUTES = 5;
+
     private DisasterManager manager;
     private JComboBox<String> originCombo;
     private JComboBox<String> destinationCombo;
     private JTextArea routeArea;
     private JLabel distanceLabel;
     private JLabel routeStepsLabel;
+    private JButton criticalBtn;
 
     /**
      * Constructor del panel de rutas
@@ -134,6 +143,16 @@ public class RoutesPanel extends JPanel {
         calculateBtn.addActionListener(e -> calculateRoute());
         buttonsPanel.add(calculateBtn);
 
+        JButton alternativesBtn = createStyledButton("🔀 Rutas Alternativas",
+                new Color(230, 126, 34));
+        alternativesBtn.addActionListener(e -> calculateAlternativeRoutes());
+        buttonsPanel.add(alternativesBtn);
+
+        JButton riskBtn = createStyledButton("⚖️ Rutas por Riesgo",
+                new Color(22, 160, 133));
+        riskBtn.addActionListener(e -> calculateParetoRoutes());
+        buttonsPanel.add(riskBtn);
+
         JButton addRouteBtn = createStyledButton("➕ Agregar Nueva Ruta",
                 new Color(46, 204, 113));
         addRouteBtn.addActionListener(e -> addRoute());
@@ -144,6 +163,16 @@ public class RoutesPanel extends JPanel {
         neighborsBtn.addActionListener(e -> showNeighbors());
         buttonsPanel.add(neighborsBtn);
 
+        JButton cutOffBtn = createStyledButton("🚧 Zonas Aisladas",
+                new Color(231, 76, 60));
+        cutOffBtn.addActionListener(e -> showCutOffLocations());
+        buttonsPanel.add(cutOffBtn);
+
+        criticalBtn = createStyledButton("⚠️ Puntos Críticos",
+                new Color(192, 57, 43));
+        criticalBtn.addActionListener(e -> showCriticalPoints());
+        buttonsPanel.add(criticalBtn);
+
         panel.add(buttonsPanel);
 
         return panel;
@@ -245,14 +274,17 @@ public class RoutesPanel extends JPanel {
     }
 
     /**
-     * Calcular ruta más corta
+     * Leer el origen y el destino seleccionados
+     * Avisa si falta alguno o no hay ubicaciones, y muestra la ruta trivial si son iguales
+     *
+     * @return {origen, destino}, o null si no hay nada que calcular
      */
-    private void calculateRoute() {
+    private String[] selectedEndpoints() {
         if (originCombo.getSelectedItem() == null ||
                 destinationCombo.getSelectedItem() == null) {
             showMessage("Por favor seleccione origen y destino", "Advertencia",
                     JOptionPane.WARNING_MESSAGE);
-            return;
+            return null;
         }
 
         String originStr = (String) originCombo.getSelectedItem();
@@ -261,7 +293,7 @@ public class RoutesPanel extends JPanel {
         if (originStr.contains("No hay ubicaciones")) {
             showMessage("No hay ubicaciones disponibles en el sistema", "Error",
                     JOptionPane.ERROR_MESSAGE);
-            return;
+            return null;
         }
 
         String originId = originStr.split(" - ")[0];
@@ -271,8 +303,22 @@ public class RoutesPanel extends JPanel {
             routeArea.setText("⚠️ El origen y destino son iguales");
             distanceLabel.setText("Distancia: 0.0 km");
             routeStepsLabel.setText("Paradas: 1");
+            return null;
+        }
+
+        return new String[]{originId, destId};
+    }
+
+    /**
+     * Calcular ruta más corta
+     */
+    private void calculateRoute() {
+        String[] endpoints = selectedEndpoints();
+        if (endpoints == null) {
             return;
         }
+        String originId = endpoints[0];
+        String destId = endpoints[1];
 
         // Calcular ruta
         CustomList<String> path = manager.findShortestRoute(originId, destId);
@@ -296,6 +342,236 @@ public class RoutesPanel extends JPanel {
         }
     }
 
+    /**
+     * Calcular rutas alternativas (respaldo ante vías bloqueadas)
+     */
+    private void calculateAlternativeRoutes() {
+        String[] endpoints = selectedEndpoints();
+        if (endpoints == null) {
+            return;
+        }
+        String originId = endpoints[0];
+        String destId = endpoints[1];
+
+        CustomList<KShortestPaths.Path> routes =
+                manager.findAlternativeRoutes(originId, destId, ALTERNATIVE_ROUTES);
+
+        if (routes.isEmpty()) {
+            routeArea.setText("❌ NO EXISTE RUTA\n" + "═".repeat(70) + "\n\n"
+                    + "No se encontró una ruta entre estas ubicaciones.");
+            distanceLabel.setText("Distancia: ∞");
+            routeStepsLabel.setText("Alternativas: 0");
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("🔀 RUTAS ALTERNATIVAS\n");
+        sb.append("═".repeat(70)).append("\n\n");
+
+        for (int i = 0; i < routes.size(); i++) {
+            KShortestPaths.Path route = routes.get(i);
+            CustomList<String> path = route.getLocationIds();
+
+            sb.append(String.format("%s Ruta %d: %.2f km, %d paradas",
+                    i == 0 ? "✅" : "↪️", i + 1, route.getDistance(), path.size()));
+            if (i > 0) {
+                sb.append(String.format(" (+%.2f km, comparte %.0f%% con la principal)",
+                        route.getDistance() - routes.get(0).getDistance(),
+                        route.getSharedWithBest() * 100));
+            }
+            sb.append("\n   ");
+
+            for (int j = 0; j < path.size(); j++) {
+                Location loc = manager.getLocation(path.get(j));
+                sb.append(loc != null ? loc.getName() : path.get(j));
+                if (j < path.size() - 1) {
+                    sb.append(" → ");
+                }
+            }
+            sb.append("\n\n");
+        }
+
+        if (routes.size() == 1) {
+            sb.append("⚠️ No hay rutas alternativas suficientemente distintas:\n");
+            sb.append("   un bloqueo en la ruta principal podría aislar el destino.");
+        }
+
+        routeArea.setText(sb.toString());
+        routeArea.setCaretPosition(0);
+
+        distanceLabel.setText(String.format("Distancia Principal: %.2f km", routes.get(0).getDistance()));
+        routeStepsLabel.setText(String.format("Alternativas: %d", routes.size() - 1));
+    }
+
+    /**
+     * Calcular las rutas que equilibran distancia, riesgo y capacidad
+     */
+    private void calculateParetoRoutes() {
+        String[] endpoints = selectedEndpoints();
+        if (endpoints == null) {
+            return;
+        }
+        String originId = endpoints[0];
+        String destId = endpoints[1];
+
+        MultiCriteriaRouter.ParetoFront front = manager.findParetoRoutes(originId, destId);
+        CustomList<MultiCriteriaRouter.ParetoRoute> routes = front.getRoutes();
+        if (routes.isEmpty()) {
+            routeArea.setText("❌ NO EXISTE RUTA\n" + "═".repeat(70) + "\n\n"
+                    + "No se encontró una ruta entre estas ubicaciones.");
+            distanceLabel.setText("Distancia: ∞");
+            routeStepsLabel.setText("Opciones: 0");
+            return;
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("⚖️ RUTAS POR DISTANCIA, RIESGO Y CAPACIDAD\n");
+        sb.append("═".repeat(70)).append("\n");
+        sb.append("Ninguna opción es mejor que otra en los tres criterios a la vez.\n");
+        sb.append("Riesgo: km recorridos × urgencia de las ubicaciones atravesadas.\n\n");
+
+        for (int i = 0; i < routes.size(); i++) {
+            MultiCriteriaRouter.ParetoRoute route = routes.get(i);
+            CustomList<String> path = route.getLocationIds();
+            String capacity = Double.isInfinite(route.getCapacity())
+                    ? "sin límite" : String.format("%.0f/h", route.getCapacity());
+            sb.append(String.format("%d. %.2f km | riesgo %.1f | capacidad %s\n   ",
+                    i + 1, route.getDistance(), route.getRisk(), capacity));
+            for (int j = 0; j < path.size(); j++) {
+                sb.append(locationName(path.get(j)));
+                if (j < path.size() - 1) {
+                    sb.append(" → ");
+                }
+            }
+            sb.append("\n\n");
+        }
+
+        if (!front.isComplete()) {
+            sb.append("⚠️ La red es demasiado grande para revisar todas las combinaciones:\n");
+            sb.append("   estas rutas son óptimas, pero puede haber otras opciones equilibradas.");
+        }
+
+        routeArea.setText(sb.toString());
+        routeArea.setCaretPosition(0);
+
+        distanceLabel.setText(String.format("Distancia Mínima: %.2f km", routes.get(0).getDistance()));
+        routeStepsLabel.setText(String.format("Opciones: %d%s", routes.size(), front.isComplete() ? "" : " (parcial)"));
+    }
+
+    /**
+     * Mostrar las ubicaciones que ningún centro de ayuda puede alcanzar
+     */
+    private void showCutOffLocations() {
+        CustomList<Location> cutOff = manager.getCutOffLocations();
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("🚧 ZONAS AISLADAS\n");
+        sb.append("═".repeat(70)).append("\n\n");
+
+        if (cutOff.isEmpty()) {
+            sb.append("✅ Todas las ubicaciones son alcanzables desde algún centro de ayuda.");
+        } else {
+            sb.append("Ningún centro de ayuda tiene rutas hacia estas ubicaciones:\n\n");
+            for (int i = 0; i < cutOff.size(); i++) {
+                Location loc = cutOff.get(i);
+                sb.append(String.format("%d. %s (%s) | Urgencia: %d/5\n",
+                        i + 1, loc.getName(), loc.getType(), loc.getUrgencyLevel()));
+            }
+            sb.append("\nSugerencia: Agregue rutas desde un centro de ayuda hacia estas zonas");
+        }
+
+        routeArea.setText(sb.toString());
+        routeArea.setCaretPosition(0);
+
+        distanceLabel.setText(String.format("Zonas aisladas: %d", cutOff.size()));
+        routeStepsLabel.setText(cutOff.isEmpty() ? "Red conectada" : "Requiere atención");
+    }
+
+    /**
+     * Mostrar rutas y ubicaciones cuya pérdida parte la red, y las rutas más transitadas
+     * La intermediación (Brandes) se calcula en segundo plano; el botón queda deshabilitado
+     * mientras tanto
+     */
+    private void showCriticalPoints() {
+        criticalBtn.setEnabled(false);
+        routeArea.setText("⏳ Calculando puntos críticos de la red...");
+
+        new SwingWorker<Void, Void>() {
+            private CustomList<Route> criticalRoutes;
+            private CustomList<Location> criticalLocations;
+            private CustomList<NetworkVulnerability.CriticalRoute> busiest;
+
+            @Override
+            protected Void doInBackground() {
+                criticalRoutes = manager.findCriticalRoutes();
+                criticalLocations = manager.findCriticalLocations();
+                busiest = manager.rankRoutesByTraffic(BUSIEST_ROUTES);
+                return null;
+            }
+
+            @Override
+            protected void done() {
+                criticalBtn.setEnabled(true);
+                try {
+                    get();
+                    displayCriticalPoints(criticalRoutes, criticalLocations, busiest);
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                    routeArea.setText("❌ No se pudieron calcular los puntos críticos");
+                }
+            }
+        }.execute();
+    }
+
+    /**
+     * Mostrar los puntos críticos ya calculados
+     */
+    private void displayCriticalPoints(CustomList<Route> criticalRoutes, CustomList<Location> criticalLocations,
+                                       CustomList<NetworkVulnerability.CriticalRoute> busiest) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("⚠️ PUNTOS CRÍTICOS DE LA RED\n");
+        sb.append("═".repeat(70)).append("\n\n");
+
+        sb.append("🌉 Rutas sin alternativa (su bloqueo parte la red):\n");
+        if (criticalRoutes.isEmpty()) {
+            sb.append("   Ninguna\n");
+        }
+        for (int i = 0; i < criticalRoutes.size(); i++) {
+            Route route = criticalRoutes.get(i);
+            sb.append(String.format("   %d. %s %s %s (%.2f km)\n", i + 1,
+                    locationName(route.getFromId()), route.isBidirectional() ? "↔" : "→",
+                    locationName(route.getToId()), route.getDistance()));
+        }
+
+        sb.append("\n📍 Ubicaciones de paso obligado (pre-posicionar equipos):\n");
+        if (criticalLocations.isEmpty()) {
+            sb.append("   Ninguna\n");
+        }
+        for (int i = 0; i < criticalLocations.size(); i++) {
+            Location loc = criticalLocations.get(i);
+            sb.append(String.format("   %d. %s (%s)\n", i + 1, loc.getName(), loc.getType()));
+        }
+
+        sb.append("\n🚦 Rutas más transitadas (pares de ubicaciones que las usan):\n");
+        for (int i = 0; i < busiest.size(); i++) {
+            Route route = busiest.get(i).getRoute();
+            sb.append(String.format("   %d. %s → %s: %.1f\n", i + 1,
+                    locationName(route.getFromId()), locationName(route.getToId()),
+                    busiest.get(i).getBetweenness()));
+        }
+
+        routeArea.setText(sb.toString());
+        routeArea.setCaretPosition(0);
+
+        distanceLabel.setText(String.format("Rutas críticas: %d", criticalRoutes.size()));
+        routeStepsLabel.setText(String.format("Ubicaciones críticas: %d", criticalLocations.size()));
+    }
+
+    private String locationName(String id) {
+        Location loc = manager.getLocation(id);
+        return loc != null ? loc.getName() : id;
+    }
+
     /**
      * Mostrar ruta calculada
      */
@@ -1,23 +1,33 @@
 package co.edu.uniquindio.gui;
 
+import co.edu.uniquindio.algorithms.CentralityAnalyzer;
 import co.edu.uniquindio.models.Location;
 import co.edu.uniquindio.models.RescueTeam;
 import co.edu.uniquindio.models.Resource;
 import co.edu.uniquindio.services.DisasterManager;
+import co.edu.uniquindio.services.SystemSnapshot;
 import co.edu.uniquindio.structures.CustomList;
 import co.edu.uniquindio.structures.CustomMap;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 /**
  * Panel de estadísticas y reportes del sistema
  * Muestra información detallada sobre ubicaciones, recursos y equipos
+ *
+ * Cada reporte se construye fuera del EDT a partir de una instantánea del sistema,
+ * así que la interfaz no se bloquea y el texto nunca mezcla estados distintos
  */
 public class StatsPanel extends JPanel {
+    private static final int CENTRALITY_RANKING = 10;
+
     private DisasterManager manager;
     private JTextArea statsArea;
     private JButton currentReportButton;
+    private int renderRequest;
 
     /**
      * Constructor del panel de estadísticas
@@ -129,6 +139,13 @@ public class StatsPanel extends JPanel {
             showTeamsReport();
         });
 
+        JButton centralityBtn = createReportButton("🎯 Centralidad",
+                new Color(26, 188, 156));
+        centralityBtn.addActionListener(e -> {
+            setActiveButton(centralityBtn);
+            showCentralityReport();
+        });
+
         JButton refreshBtn = createReportButton("🔄 Actualizar",
                 new Color(149, 165, 166));
         refreshBtn.addActionListener(e -> refresh());
@@ -138,6 +155,7 @@ public class StatsPanel extends JPanel {
         panel.add(resourcesBtn);
         panel.add(resourcesByLocationBtn);
         panel.add(teamsBtn);
+        panel.add(centralityBtn);
         panel.add(refreshBtn);
 
         // Establecer el botón general como activo inicialmente
@@ -201,6 +219,7 @@ public class StatsPanel extends JPanel {
         if (text.contains("Recursos por Zona")) return new Color(230, 126, 34);
         if (text.contains("Recursos")) return new Color(243, 156, 18);
         if (text.contains("Equipos")) return new Color(155, 89, 182);
+        if (text.contains("Centralidad")) return new Color(26, 188, 156);
         return new Color(149, 165, 166);
     }
 
@@ -215,24 +234,91 @@ public class StatsPanel extends JPanel {
             else if (text.contains("Recursos por Zona")) showResourcesByLocationReport();
             else if (text.contains("Recursos")) showResourcesReport();
             else if (text.contains("Equipos")) showTeamsReport();
+            else if (text.contains("Centralidad")) showCentralityReport();
             else showGeneralReport();
         } else {
             showGeneralReport();
         }
     }
 
+    /**
+     * Construir un reporte en segundo plano y mostrarlo al terminar
+     * Si mientras tanto se pidió otro reporte, el resultado se descarta
+     */
+    private void render(Function<SystemSnapshot, String> builder) {
+        int request = ++renderRequest;
+
+        new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                return builder.apply(manager.getSnapshot());
+            }
+
+            @Override
+            protected void done() {
+                if (request != renderRequest) {
+                    return;
+                }
+                try {
+                    statsArea.setText(get());
+                    statsArea.setCaretPosition(0);
+                } catch (InterruptedException | ExecutionException e) {
+                    e.printStackTrace();
+                }
+            }
+        }.execute();
+    }
+
     private void showResourcesByLocationReport() {
+        render(this::buildResourcesByLocationReport);
+    }
+
+    /**
+     * Mostrar reporte general
+     */
+    private void showGeneralReport() {
+        render(this::buildGeneralReport);
+    }
+
+    /**
+     * Mostrar reporte de ubicaciones
+     */
+    private void showLocationsReport() {
+        render(this::buildLocationsReport);
+    }
+
+    /**
+     * Mostrar reporte de recursos
+     */
+    private void showResourcesReport() {
+        render(this::buildResourcesReport);
+    }
+
+    /**
+     * Mostrar reporte de equipos
+     */
+    private void showTeamsReport() {
+        render(this::buildTeamsReport);
+    }
+
+    /**
+     * Mostrar reporte de centralidad (ubicación de nuevos centros de ayuda y refugios)
+     */
+    private void showCentralityReport() {
+        render(this::buildCentralityReport);
+    }
+
+    private String buildResourcesByLocationReport(SystemSnapshot snapshot) {
         StringBuilder sb = new StringBuilder();
         sb.append("╔═══════════════════════════════════════════════════════════════════════════╗\n");
         sb.append("║           REPORTE DE RECURSOS ASIGNADOS POR UBICACIÓN                    ║\n");
         sb.append("╚═══════════════════════════════════════════════════════════════════════════╝\n\n");
 
-        CustomList<Location> locations = manager.getAllLocations();
+        int locationCount = snapshot.getLocationCount();
 
-        if (locations.isEmpty()) {
+        if (locationCount == 0) {
             sb.append("No hay ubicaciones registradas en el sistema.\n");
-            statsArea.setText(sb.toString());
-            return;
+            return sb.toString();
         }
 
         // Contador de ubicaciones con recursos
@@ -240,9 +326,9 @@ public class StatsPanel extends JPanel {
         int totalResourcesAssigned = 0;
         int totalUnitsAssigned = 0;
 
-        for (int i = 0; i < locations.size(); i++) {
-            Location loc = locations.get(i);
-            CustomList<Resource> locResources = manager.getLocationResources(loc.getId());
+        for (int i = 0; i < locationCount; i++) {
+            Location loc = snapshot.getLocation(i);
+            CustomList<Resource> locResources = snapshot.getAssignedResources(i);
 
             if (locResources.size() > 0) {
                 locationsWithResources++;
@@ -310,11 +396,10 @@ public class StatsPanel extends JPanel {
         sb.append("─".repeat(75)).append("\n");
 
         int locationsWithoutResources = 0;
-        for (int i = 0; i < locations.size(); i++) {
-            Location loc = locations.get(i);
-            CustomList<Resource> locResources = manager.getLocationResources(loc.getId());
+        for (int i = 0; i < locationCount; i++) {
+            Location loc = snapshot.getLocation(i);
 
-            if (locResources.isEmpty()) {
+            if (snapshot.getAssignedResourceCount(i) == 0) {
                 locationsWithoutResources++;
                 sb.append(String.format("   • %s (Urgencia: %d/5) %s\n",
                         loc.getName(),
@@ -333,65 +418,52 @@ public class StatsPanel extends JPanel {
         sb.append("═".repeat(75)).append("\n");
         sb.append("📊 RESUMEN GENERAL\n");
         sb.append("─".repeat(75)).append("\n");
-        sb.append(String.format("   Total de ubicaciones: %d\n", locations.size()));
+        sb.append(String.format("   Total de ubicaciones: %d\n", locationCount));
         sb.append(String.format("   Ubicaciones con recursos: %d (%.1f%%)\n",
                 locationsWithResources,
-                locations.size() > 0 ? (locationsWithResources * 100.0) / locations.size() : 0));
+                (locationsWithResources * 100.0) / locationCount));
         sb.append(String.format("   Ubicaciones sin recursos: %d (%.1f%%)\n",
                 locationsWithoutResources,
-                locations.size() > 0 ? (locationsWithoutResources * 100.0) / locations.size() : 0));
+                (locationsWithoutResources * 100.0) / locationCount));
         sb.append(String.format("   Total de asignaciones: %d\n", totalResourcesAssigned));
         sb.append(String.format("   Total de unidades distribuidas: %,d\n", totalUnitsAssigned));
 
-        statsArea.setText(sb.toString());
-        statsArea.setCaretPosition(0);
+        return sb.toString();
     }
 
-    /**
-     * Mostrar reporte general
-     */
-    private void showGeneralReport() {
+    private String buildGeneralReport(SystemSnapshot snapshot) {
         StringBuilder sb = new StringBuilder();
         sb.append("╔═══════════════════════════════════════════════════════════════════════════╗\n");
         sb.append("║             REPORTE GENERAL DEL SISTEMA DE DESASTRES                      ║\n");
         sb.append("╚═══════════════════════════════════════════════════════════════════════════╝\n\n");
 
         // Estadísticas generales
-        CustomList<Location> locations = manager.getAllLocations();
-        CustomList<Resource> resources = manager.getAllResources();
-        CustomList<RescueTeam> teams = manager.getAllRescueTeams();
+        int locationCount = snapshot.getLocationCount();
+        CustomList<Resource> resources = snapshot.getResources();
+        CustomList<RescueTeam> teams = snapshot.getTeams();
 
         sb.append("RESUMEN EJECUTIVO\n");
         sb.append("─".repeat(75)).append("\n");
-        sb.append(String.format("%-40s %,d\n", "Total de ubicaciones registradas:", locations.size()));
+        sb.append(String.format("%-40s %,d\n", "Total de ubicaciones registradas:", locationCount));
         sb.append(String.format("%-40s %,d personas\n", "Población total afectada:",
-                manager.getTotalPopulation()));
+                snapshot.getTotalPopulation()));
         sb.append(String.format("%-40s %,d unidades\n", "Recursos disponibles:",
-                manager.getTotalResourceQuantity()));
+                snapshot.getTotalResourceQuantity()));
         sb.append(String.format("%-40s %d\n", "Equipos de rescate totales:", teams.size()));
         sb.append(String.format("%-40s %d\n", "Equipos desplegados:",
-                manager.getDeployedTeamsCount()));
+                snapshot.getDeployedTeamsCount()));
         sb.append(String.format("%-40s %d\n", "Equipos disponibles:",
-                teams.size() - manager.getDeployedTeamsCount()));
-        sb.append(String.format("%-40s %d\n\n", "Total de rutas:", manager.getTotalRoutes()));
+                teams.size() - snapshot.getDeployedTeamsCount()));
+        sb.append(String.format("%-40s %d\n\n", "Total de rutas:", snapshot.getTotalRoutes()));
 
         // Distribución por urgencia
         sb.append("DISTRIBUCIÓN POR NIVEL DE URGENCIA\n");
         sb.append("─".repeat(75)).append("\n");
-        int[] urgencyCount = new int[6];
-        int totalPopByUrgency[] = new int[6];
-
-        for (int i = 0; i < locations.size(); i++) {
-            int urgency = locations.get(i).getUrgencyLevel();
-            urgencyCount[urgency]++;
-            totalPopByUrgency[urgency] += locations.get(i).getPopulation();
-        }
-
         for (int i = 5; i >= 1; i--) {
             String urgencyName = getUrgencyName(i);
-            String bar = getBar(urgencyCount[i], locations.size(), 30);
+            String bar = getBar(snapshot.getUrgencyCount(i), locationCount, 30);
             sb.append(String.format("Nivel %d (%s):%s%d ubicaciones (%,d personas)\n",
-                    i, urgencyName, bar, urgencyCount[i], totalPopByUrgency[i]));
+                    i, urgencyName, bar, snapshot.getUrgencyCount(i), snapshot.getPopulationByUrgency(i)));
         }
         sb.append("\n");
 
@@ -400,8 +472,8 @@ public class StatsPanel extends JPanel {
         sb.append("─".repeat(75)).append("\n");
         CustomMap<Location.LocationType, Integer> typeCount = new CustomMap<>();
 
-        for (int i = 0; i < locations.size(); i++) {
-            Location.LocationType type = locations.get(i).getType();
+        for (int i = 0; i < locationCount; i++) {
+            Location.LocationType type = snapshot.getLocation(i).getType();
             Integer count = typeCount.get(type);
             typeCount.put(type, count == null ? 1 : count + 1);
         }
@@ -451,33 +523,28 @@ public class StatsPanel extends JPanel {
             }
         }
 
-        statsArea.setText(sb.toString());
-        statsArea.setCaretPosition(0);
+        return sb.toString();
     }
 
-    /**
-     * Mostrar reporte de ubicaciones
-     */
-    private void showLocationsReport() {
+    private String buildLocationsReport(SystemSnapshot snapshot) {
         StringBuilder sb = new StringBuilder();
         sb.append("╔═══════════════════════════════════════════════════════════════════════════╗\n");
         sb.append("║              REPORTE DETALLADO DE UBICACIONES                             ║\n");
         sb.append("╚═══════════════════════════════════════════════════════════════════════════╝\n\n");
 
-        CustomList<Location> prioritized = manager.prioritizeEvacuations();
+        int locationCount = snapshot.getLocationCount();
 
-        if (prioritized.isEmpty()) {
+        if (locationCount == 0) {
             sb.append("No hay ubicaciones registradas en el sistema.\n");
-            statsArea.setText(sb.toString());
-            return;
+            return sb.toString();
         }
 
         sb.append(String.format("%-4s %-25s %-18s %-12s %-10s\n",
                 "Pos", "Nombre", "Tipo", "Población", "Urgencia"));
         sb.append("─".repeat(75)).append("\n");
 
-        for (int i = 0; i < prioritized.size(); i++) {
-            Location loc = prioritized.get(i);
+        for (int i = 0; i < locationCount; i++) {
+            Location loc = snapshot.getLocation(i);
             sb.append(String.format("%-4d %-25s %-18s %,-12d %-10s\n",
                     i + 1,
                     truncate(loc.getName(), 25),
@@ -487,7 +554,7 @@ public class StatsPanel extends JPanel {
             ));
 
             // Mostrar recursos asignados
-            CustomList<Resource> locResources = manager.getLocationResources(loc.getId());
+            CustomList<Resource> locResources = snapshot.getAssignedResources(i);
             if (locResources.size() > 0) {
                 sb.append("      Recursos: ");
                 int resCount = Math.min(3, locResources.size());
@@ -502,7 +569,7 @@ public class StatsPanel extends JPanel {
             }
 
             // Mostrar equipos asignados
-            CustomList<RescueTeam> locTeams = manager.getTeamsAtLocation(loc.getId());
+            CustomList<RescueTeam> locTeams = snapshot.getTeamsAtLocation(loc.getId());
             if (locTeams.size() > 0) {
                 sb.append("      Equipos: ");
                 for (int j = 0; j < locTeams.size(); j++) {
@@ -515,25 +582,20 @@ public class StatsPanel extends JPanel {
             sb.append("\n");
         }
 
-        statsArea.setText(sb.toString());
-        statsArea.setCaretPosition(0);
+        return sb.toString();
     }
 
-    /**
-     * Mostrar reporte de recursos
-     */
-    private void showResourcesReport() {
+    private String buildResourcesReport(SystemSnapshot snapshot) {
         StringBuilder sb = new StringBuilder();
         sb.append("╔═══════════════════════════════════════════════════════════════════════════╗\n");
         sb.append("║              REPORTE DE RECURSOS DISPONIBLES                              ║\n");
         sb.append("╚═══════════════════════════════════════════════════════════════════════════╝\n\n");
 
-        CustomList<Resource> resources = manager.getAllResources();
+        CustomList<Resource> resources = snapshot.getResources();
 
         if (resources.isEmpty()) {
             sb.append("No hay recursos registrados en el sistema.\n");
-            statsArea.setText(sb.toString());
-            return;
+            return sb.toString();
         }
 
         // Agrupar por tipo
@@ -578,7 +640,7 @@ public class StatsPanel extends JPanel {
         }
 
         // Recursos con stock bajo
-        CustomList<Resource> lowStock = manager.getLowStockResources();
+        CustomList<Resource> lowStock = snapshot.getLowStockResources();
         if (lowStock.size() > 0) {
             sb.append("\n⚠️ RECURSOS CON STOCK BAJO\n");
             sb.append("─".repeat(75)).append("\n");
@@ -589,25 +651,20 @@ public class StatsPanel extends JPanel {
             }
         }
 
-        statsArea.setText(sb.toString());
-        statsArea.setCaretPosition(0);
+        return sb.toString();
     }
 
-    /**
-     * Mostrar reporte de equipos
-     */
-    private void showTeamsReport() {
+    private String buildTeamsReport(SystemSnapshot snapshot) {
         StringBuilder sb = new StringBuilder();
         sb.append("╔═══════════════════════════════════════════════════════════════════════════╗\n");
         sb.append("║              REPORTE DE EQUIPOS DE RESCATE                                ║\n");
         sb.append("╚═══════════════════════════════════════════════════════════════════════════╝\n\n");
 
-        CustomList<RescueTeam> teams = manager.getAllRescueTeams();
+        CustomList<RescueTeam> teams = snapshot.getTeams();
 
         if (teams.isEmpty()) {
             sb.append("No hay equipos registrados en el sistema.\n");
-            statsArea.setText(sb.toString());
-            return;
+            return sb.toString();
         }
 
         // Estadísticas por tipo
@@ -648,7 +705,7 @@ public class StatsPanel extends JPanel {
             ));
 
             if (t.hasAssignment()) {
-                Location loc = manager.getLocation(t.getAssignedLocationId());
+                Location loc = snapshot.findLocation(t.getAssignedLocationId());
                 if (loc != null) {
                     sb.append(String.format("      Asignado a: %s\n", loc.getName()));
                 }
@@ -656,16 +713,64 @@ public class StatsPanel extends JPanel {
         }
 
         // Equipos disponibles
-        CustomList<RescueTeam> available = manager.getAvailableTeams();
         sb.append(String.format("\n✅ Equipos disponibles: %d de %d\n",
-                available.size(), teams.size()));
+                snapshot.getAvailableTeamsCount(), teams.size()));
 
-        statsArea.setText(sb.toString());
-        statsArea.setCaretPosition(0);
+        return sb.toString();
     }
 
     // ========== MÉTODOS AUXILIARES ==========
 
+    private String buildCentralityReport(SystemSnapshot snapshot) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("╔═══════════════════════════════════════════════════════════════════════════╗\n");
+        sb.append("║           CENTRALIDAD DE LA RED Y UBICACIÓN DE DEPÓSITOS                  ║\n");
+        sb.append("╚═══════════════════════════════════════════════════════════════════════════╝\n\n");
+
+        if (snapshot.getLocationCount() == 0) {
+            sb.append("No hay ubicaciones registradas en el sistema.\n");
+            return sb.toString();
+        }
+
+        CentralityAnalyzer.Result centrality = manager.getCentrality();
+        if (centrality.isExact()) {
+            sb.append("Cálculo exacto sobre todas las ubicaciones.\n\n");
+        } else {
+            sb.append(String.format("Estimación con %,d orígenes de muestra sobre %,d ubicaciones.\n\n",
+                    centrality.getSampleSize(), snapshot.getLocationCount()));
+        }
+
+        sb.append("CANDIDATAS PARA NUEVOS CENTROS DE AYUDA O REFUGIOS (mayor cercanía)\n");
+        sb.append("─".repeat(75)).append("\n");
+        appendScores(sb, centrality.topByCloseness(CENTRALITY_RANKING,
+                Location.LocationType.AID_CENTER, Location.LocationType.SHELTER), "%.4f /km");
+
+        sb.append("\nUBICACIONES MEJOR CONECTADAS (cercanía, incluye depósitos existentes)\n");
+        sb.append("─".repeat(75)).append("\n");
+        appendScores(sb, centrality.topByCloseness(CENTRALITY_RANKING), "%.4f /km");
+
+        sb.append("\nPUNTOS DE PASO DE LA RED (intermediación: pares de ubicaciones)\n");
+        sb.append("─".repeat(75)).append("\n");
+        appendScores(sb, centrality.topByBetweenness(CENTRALITY_RANKING), "%,.1f");
+
+        return sb.toString();
+    }
+
+    private void appendScores(StringBuilder sb, CustomList<CentralityAnalyzer.Score> scores, String format) {
+        if (scores.isEmpty()) {
+            sb.append("Sin datos: agregue rutas entre las ubicaciones.\n");
+            return;
+        }
+        for (int i = 0; i < scores.size(); i++) {
+            Location loc = scores.get(i).getLocation();
+            sb.append(String.format("%-4d %-25s %-18s %s\n",
+                    i + 1,
+                    truncate(loc.getName(), 25),
+                    truncate(loc.getType().toString(), 18),
+                    String.format(format, scores.get(i).getValue())));
+        }
+    }
+
     private String getUrgencyName(int level) {
         switch (level) {
             case 5: return "CRÍTICO";
@@ -231,6 +231,14 @@ public class RescueTeam {
         this.lastDeploymentDate = lastDeploymentDate != null ? lastDeploymentDate : "";
     }
 
+    /**
+     * Establecer el número de misiones exitosas
+     * Usado al restaurar el estado persistido del sistema
+     */
+    public void setSuccessfulMissions(int successfulMissions) {
+        this.successfulMissions = Math.max(0, successfulMissions);
+    }
+
     /**
      * Establecer el tipo de equipo
      */
@@ -1,14 +1,24 @@
 package co.edu.uniquindio.models;
 
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
 /**
  * Modelo para representar recursos de emergencia
  * Incluye diferentes tipos de recursos necesarios en situaciones de desastre
+ *
+ * La existencia se guarda en un único long que combina la cantidad disponible
+ * (32 bits altos) y la reservada (32 bits bajos); todas las operaciones de cantidad
+ * lo actualizan con compare-and-set, así que son atómicas sin cerrojos y nunca
+ * dejan la cantidad disponible por debajo de cero
  */
 public class Resource {
+    private static final AtomicLongFieldUpdater<Resource> STOCK =
+            AtomicLongFieldUpdater.newUpdater(Resource.class, "stock");
+
     private String id;
     private String name;
     private ResourceType type;
-    private int quantity;
+    private volatile long stock; // [disponible | reservado]
     private String unit;
     private int minimumStock;
     private String supplier;
@@ -68,7 +78,7 @@ public class Resource {
         this.id = id;
         this.name = name;
         this.type = type;
-        this.quantity = Math.max(0, quantity);
+        this.stock = pack(Math.max(0, quantity), 0);
         this.unit = unit;
         this.minimumStock = 0;
         this.supplier = "";
@@ -115,7 +125,22 @@ public class Resource {
      * Obtener la cantidad disponible
      */
     public int getQuantity() {
-        return quantity;
+        return available(stock);
+    }
+
+    /**
+     * Obtener la cantidad reservada pendiente de confirmar
+     */
+    public int getReservedQuantity() {
+        return reserved(stock);
+    }
+
+    /**
+     * Obtener la existencia física: disponible más reservada, leídas a la vez
+     */
+    public long getOnHandQuantity() {
+        long current = stock;
+        return (long) available(current) + reserved(current);
     }
 
     /**
@@ -169,7 +194,11 @@ public class Resource {
      * No permite valores negativos
      */
     public void setQuantity(int quantity) {
-        this.quantity = Math.max(0, quantity);
+        int value = Math.max(0, quantity);
+        long current;
+        do {
+            current = stock;
+        } while (!STOCK.compareAndSet(this, current, pack(value, reserved(current))));
     }
 
     /**
@@ -227,25 +256,117 @@ public class Resource {
      * @return true si se agregó exitosamente
      */
     public boolean addQuantity(int amount) {
-        if (amount > 0) {
-            this.quantity += amount;
-            return true;
+        if (amount <= 0) {
+            return false;
         }
-        return false;
+
+        long current;
+        do {
+            current = stock;
+            if ((long) available(current) + amount > Integer.MAX_VALUE) {
+                return false;
+            }
+        } while (!STOCK.compareAndSet(this, current, current + ((long) amount << 32)));
+        return true;
     }
 
     /**
      * Reducir cantidad del recurso
+     * Complejidad: O(1) (reintenta solo si otro hilo cambió la cantidad entre tanto)
      *
      * @param amount Cantidad a reducir
      * @return true si había suficiente cantidad, false si no
      */
     public boolean reduceQuantity(int amount) {
-        if (amount > 0 && amount <= quantity) {
-            quantity -= amount;
-            return true;
+        if (amount <= 0) {
+            return false;
         }
-        return false;
+
+        long current;
+        do {
+            current = stock;
+            if (available(current) < amount) {
+                return false;
+            }
+        } while (!STOCK.compareAndSet(this, current, current - ((long) amount << 32)));
+        return true;
+    }
+
+    // ==================== RESERVAS ====================
+
+    /**
+     * Reservar cantidad: pasa de disponible a reservada en un solo paso atómico
+     *
+     * @param amount Cantidad a reservar
+     * @return true si había suficiente cantidad disponible
+     */
+    public boolean reserve(int amount) {
+        if (amount <= 0) {
+            return false;
+        }
+
+        long current;
+        do {
+            current = stock;
+            if (available(current) < amount || (long) reserved(current) + amount > Integer.MAX_VALUE) {
+                return false;
+            }
+        } while (!STOCK.compareAndSet(this, current, pack(available(current) - amount, reserved(current) + amount)));
+        return true;
+    }
+
+    /**
+     * Confirmar una reserva: la cantidad reservada sale definitivamente del recurso
+     *
+     * @param amount Cantidad reservada a confirmar
+     * @return true si había al menos esa cantidad reservada
+     */
+    public boolean commitReserved(int amount) {
+        if (amount <= 0) {
+            return false;
+        }
+
+        long current;
+        do {
+            current = stock;
+            if (reserved(current) < amount) {
+                return false;
+            }
+        } while (!STOCK.compareAndSet(this, current, current - amount));
+        return true;
+    }
+
+    /**
+     * Liberar una reserva: la cantidad reservada vuelve a estar disponible
+     *
+     * @param amount Cantidad reservada a liberar
+     * @return true si había al menos esa cantidad reservada
+     */
+    public boolean releaseReserved(int amount) {
+        if (amount <= 0) {
+            return false;
+        }
+
+        long current;
+        do {
+            current = stock;
+            if (reserved(current) < amount) {
+                return false;
+            }
+        } while (!STOCK.compareAndSet(this, current, pack(available(current) + amount, reserved(current) - amount)));
+        return true;
+    }
+
+    private static long pack(int available, int reserved) {
+        return ((long) available << 32) | (reserved & 0xFFFFFFFFL);
+    }
+
+    private static int available(long stock) {
+        return (int) (stock >>> 32);
+    }
+
+    private static int reserved(long stock) {
+        return (int) stock;
     }
 
     /**
@@ -274,7 +395,7 @@ public class Resource {
      * @return true si hay suficiente
      */
     public boolean hasEnough(int required) {
-        return quantity >= required;
+        return getQuantity() >= required;
     }
 
     /**
@@ -286,7 +407,7 @@ public class Resource {
         if (minimumStock == 0) {
             return 100.0;
         }
-        return (quantity * 100.0) / minimumStock;
+        return (getQuantity() * 100.0) / minimumStock;
     }
 
     // ==================== MÉTODOS DE VERIFICACIÓN ====================
@@ -295,35 +416,35 @@ public class Resource {
      * Verificar si el stock está bajo (menor que el mínimo)
      */
     public boolean isLowStock() {
-        return quantity < minimumStock;
+        return getQuantity() < minimumStock;
     }
 
     /**
      * Verificar si el stock está crítico (menor al 50% del mínimo)
      */
     public boolean isCriticalStock() {
-        return quantity < (minimumStock * 0.5);
+        return getQuantity() < (minimumStock * 0.5);
     }
 
     /**
      * Verificar si el recurso está agotado
      */
     public boolean isDepleted() {
-        return quantity == 0;
+        return getQuantity() == 0;
     }
 
     /**
      * Verificar si el recurso está disponible
      */
     public boolean isAvailable() {
-        return quantity > 0;
+        return getQuantity() > 0;
     }
 
     /**
      * Obtener cantidad necesaria para alcanzar el stock mínimo
      */
     public int getQuantityNeeded() {
-        return Math.max(0, minimumStock - quantity);
+        return Math.max(0, minimumStock - getQuantity());
     }
 
     /**
@@ -370,7 +491,7 @@ public class Resource {
         sb.append("=== ").append(name).append(" ===\n");
         sb.append("ID: ").append(id).append("\n");
         sb.append("Tipo: ").append(type).append("\n");
-        sb.append("Cantidad: ").append(quantity).append(" ").append(unit).append("\n");
+        sb.append("Cantidad: ").append(getQuantity()).append(" ").append(unit).append("\n");
         sb.append("Stock mínimo: ").append(minimumStock).append(" ").append(unit).append("\n");
         sb.append("Estado: ").append(getStockStatus()).append("\n");
         sb.append("Prioridad reabastecimiento: ").append(getRestockPriority()).append("/5\n");
@@ -396,7 +517,7 @@ public class Resource {
      */
     @Override
     public String toString() {
-        return name + " - " + quantity + " " + unit + " [" + getStockStatus() + "]";
+        return name + " - " + getQuantity() + " " + unit + " [" + getStockStatus() + "]";
     }
 
     /**
@@ -422,8 +543,10 @@ public class Resource {
      * Crear una copia del recurso
      */
     public Resource copy() {
-        return new Resource(id, name, type, quantity, unit, minimumStock,
+        Resource copy = new Resource(id, name, type, 0, unit, minimumStock,
                 supplier, isPerishable, expirationDate);
+        copy.stock = stock;
+        return copy;
     }
 
     /**
@@ -439,7 +562,7 @@ public class Resource {
         }
 
         Resource merged = r1.copy();
-        merged.quantity += r2.quantity;
+        merged.addQuantity(r2.getQuantity());
         return merged;
     }
 }
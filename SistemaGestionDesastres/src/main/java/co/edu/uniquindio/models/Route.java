@@ -0,0 +1,85 @@
+package co.edu.uniquindio.models;
+
+/**
+ * Modelo para representar una ruta (arista) entre dos ubicaciones
+ * Se usa para cargas masivas de rutas, donde cada ruta es un dato independiente
+ */
+public class Route {
+    private String fromId;
+    private String toId;
+    private double distance;
+    private boolean bidirectional;
+
+    /**
+     * Constructor para una ruta dirigida
+     *
+     * @param fromId ID de la ubicación origen
+     * @param toId ID de la ubicación destino
+     * @param distance Distancia en kilómetros
+     */
+    public Route(String fromId, String toId, double distance) {
+        this(fromId, toId, distance, false);
+    }
+
+    /**
+     * Constructor completo
+     *
+     * @param bidirectional true si la ruta se puede recorrer en ambos sentidos
+     */
+    public Route(String fromId, String toId, double distance, boolean bidirectional) {
+        if (fromId == null || fromId.isEmpty()) {
+            throw new IllegalArgumentException("Origin ID cannot be null or empty");
+        }
+        if (toId == null || toId.isEmpty()) {
+            throw new IllegalArgumentException("Destination ID cannot be null or empty");
+        }
+        if (distance < 0 || Double.isNaN(distance)) {
+            throw new IllegalArgumentException("Distance cannot be negative");
+        }
+
+        this.fromId = fromId;
+        this.toId = toId;
+        this.distance = distance;
+        this.bidirectional = bidirectional;
+    }
+
+    // ==================== GETTERS ====================
+
+    /**
+     * Obtener el ID de la ubicación origen
+     */
+    public String getFromId() {
+        return fromId;
+    }
+
+    /**
+     * Obtener el ID de la ubicación destino
+     */
+    public String getToId() {
+        return toId;
+    }
+
+    /**
+     * Obtener la distancia en kilómetros
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    /**
+     * Verificar si la ruta es bidireccional
+     */
+    public boolean isBidirectional() {
+        return bidirectional;
+    }
+
+    // ==================== MÉTODOS SOBRESCRITOS ====================
+
+    /**
+     * Representación en String de la ruta
+     */
+    @Override
+    public String toString() {
+        return fromId + (bidirectional ? " <-> " : " -> ") + toId + " (" + distance + " km)";
+    }
+}
@@ -1,7 +1,7 @@
 package co.edu.uniquindio.services;
 
 import co.edu.uniquindio.models.User;
-import co.edu.uniquindio.structures.CustomMap;
+import co.edu.uniquindio.structures.ConcurrentCustomMap;
 import co.edu.uniquindio.structures.CustomList;
 
 /**
@@ -9,21 +9,21 @@ import co.edu.uniquindio.structures.CustomList;
  * Gestiona el registro, login, logout y permisos de usuarios
  */
 public class AuthenticationService {
-    private CustomMap<String, User> users;
-    private User currentUser;
-    private CustomMap<String, Integer> loginAttempts;
+    private ConcurrentCustomMap<String, User> users;
+    private volatile User currentUser;
+    private ConcurrentCustomMap<String, Integer> loginAttempts;
     private static final int MAX_ATTEMPTS = 3;
     private static final long LOCKOUT_DURATION = 300000; // 5 minutos en ms
-    private CustomMap<String, Long> lockoutTimes;
+    private ConcurrentCustomMap<String, Long> lockoutTimes;
 
     /**
      * Constructor: Inicializa el servicio y carga usuarios por defecto
      */
     public AuthenticationService() {
-        this.users = new CustomMap<>();
+        this.users = new ConcurrentCustomMap<>();
         this.currentUser = null;
-        this.loginAttempts = new CustomMap<>();
-        this.lockoutTimes = new CustomMap<>();
+        this.loginAttempts = new ConcurrentCustomMap<>();
+        this.lockoutTimes = new ConcurrentCustomMap<>();
         initializeDefaultUsers();
     }
 
@@ -132,11 +132,10 @@ public class AuthenticationService {
 
         String username = user.getUsername().toLowerCase().trim();
 
-        if (users.containsKey(username)) {
+        if (users.putIfAbsent(username, user) != null) {
             return false; // Usuario ya existe
         }
 
-        users.put(username, user);
         loginAttempts.put(username, 0);
         return true;
     }
@@ -165,8 +164,7 @@ public class AuthenticationService {
             return false;
         }
 
-        if (users.containsKey(username)) {
-            users.remove(username);
+        if (users.remove(username) != null) {
             loginAttempts.remove(username);
             lockoutTimes.remove(username);
             return true;
@@ -231,12 +229,7 @@ public class AuthenticationService {
 
         username = username.toLowerCase().trim();
 
-        if (users.containsKey(username)) {
-            users.put(username, updatedUser);
-            return true;
-        }
-
-        return false;
+        return users.replace(username, updatedUser);
     }
     
     // ==================== AUTENTICACIÓN ====================
@@ -296,9 +289,8 @@ public class AuthenticationService {
      * Registrar un intento de login fallido
      */
     private void recordFailedAttempt(String username) {
-        Integer attempts = loginAttempts.get(username);
-        attempts = (attempts == null) ? 1 : attempts + 1;
-        loginAttempts.put(username, attempts);
+        int attempts = loginAttempts.compute(username,
+                (name, current) -> current == null ? 1 : current + 1);
 
         if (attempts >= MAX_ATTEMPTS) {
             // Bloquear temporalmente
@@ -0,0 +1,747 @@
+package co.edu.uniquindio.services;
+
+import co.edu.uniquindio.models.*;
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.CustomMap;
+import co.edu.uniquindio.structures.GeoPoints;
+import co.edu.uniquindio.structures.MappedGraph;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Importador masivo de ubicaciones, rutas, recursos y equipos desde CSV o GeoJSON
+ * Los archivos se leen en streaming, cada fila se valida por separado y las filas válidas
+ * se insertan por lotes usando la API masiva de DisasterManager
+ *
+ * CSV: la primera fila es el encabezado; las columnas se identifican por nombre
+ *   ubicaciones: id, name, type, population, urgency [, latitude, longitude, description]
+ *   rutas:       from, to, distance [, bidirectional]
+ *   recursos:    id, name, type, quantity, unit [, minimumStock, supplier, perishable, expirationDate]
+ *   equipos:     id, name, type, members [, experience, contact]
+ *
+ * GeoJSON (FeatureCollection):
+ *   Point       -> ubicación (propiedades como en el CSV; coordenadas [longitud, latitud])
+ *   LineString  -> ruta (propiedades from, to y opcionalmente distance y bidirectional)
+ *   sin geometría, con propiedad "entity" = "resource" o "team" -> recurso o equipo
+ *
+ * Instantánea binaria (MappedGraph, .sgdg): ubicaciones y rutas ya validadas
+ */
+public class BulkImporter {
+    public static final int DEFAULT_BATCH_SIZE = 10_000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final DisasterManager manager;
+    private final int batchSize;
+    private char separator;
+
+    /**
+     * Constructor con el tamaño de lote por defecto
+     *
+     * @param manager Gestor donde se insertan los datos
+     */
+    public BulkImporter(DisasterManager manager) {
+        this(manager, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor con tamaño de lote personalizado
+     */
+    public BulkImporter(DisasterManager manager, int batchSize) {
+        if (manager == null) {
+            throw new IllegalArgumentException("Manager cannot be null");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be >= 1");
+        }
+
+        this.manager = manager;
+        this.batchSize = batchSize;
+        this.separator = ',';
+    }
+
+    /**
+     * Cambiar el separador de campos de los archivos CSV
+     */
+    public void setSeparator(char separator) {
+        this.separator = separator;
+    }
+
+    // ==================== CSV ====================
+
+    /**
+     * Importar ubicaciones desde un archivo CSV
+     * Complejidad: O(n) en el número de filas
+     */
+    public ImportResult importLocationsCsv(String filePath) throws IOException {
+        return importLocationsCsv(open(filePath));
+    }
+
+    /**
+     * Importar ubicaciones desde un origen CSV (el origen se cierra al terminar)
+     */
+    public ImportResult importLocationsCsv(Reader source) throws IOException {
+        ImportResult result = new ImportResult();
+        CustomList<Location> batch = new CustomList<>();
+        CustomList<String> positions = new CustomList<>();
+
+        try (CsvReader csv = new CsvReader(source, separator)) {
+            Header header = readHeader(csv, "id", "name", "type", "population", "urgency");
+            if (header == null) {
+                result.reject(0, "Encabezado vacío o incompleto");
+                return result;
+            }
+
+            while (csv.next()) {
+                try {
+                    batch.add(new Location(
+                            header.get(csv, "id"),
+                            header.get(csv, "name"),
+                            parseEnum(Location.LocationType.class, header.get(csv, "type")),
+                            parseInt(header.get(csv, "population"), 0),
+                            parseInt(header.get(csv, "urgency"), 1),
+                            parseDouble(header.get(csv, "latitude"), 0.0),
+                            parseDouble(header.get(csv, "longitude"), 0.0),
+                            header.get(csv, "description")));
+                } catch (IllegalArgumentException e) {
+                    result.reject(csv.getLineNumber(), e.getMessage());
+                    continue;
+                }
+                positions.add(row(csv.getLineNumber()));
+
+                if (batch.size() >= batchSize) {
+                    flushLocations(batch, positions, result);
+                }
+            }
+        }
+
+        flushLocations(batch, positions, result);
+        return result;
+    }
+
+    /**
+     * Importar rutas desde un archivo CSV
+     * Las ubicaciones de origen y destino deben existir previamente
+     * Complejidad: O(n) en el número de filas
+     */
+    public ImportResult importRoutesCsv(String filePath) throws IOException {
+        return importRoutesCsv(open(filePath));
+    }
+
+    /**
+     * Importar rutas desde un origen CSV (el origen se cierra al terminar)
+     */
+    public ImportResult importRoutesCsv(Reader source) throws IOException {
+        ImportResult result = new ImportResult();
+        CustomList<Route> batch = new CustomList<>();
+
+        try (CsvReader csv = new CsvReader(source, separator)) {
+            Header header = readHeader(csv, "from", "to", "distance");
+            if (header == null) {
+                result.reject(0, "Encabezado vacío o incompleto");
+                return result;
+            }
+
+            while (csv.next()) {
+                Route route;
+                try {
+                    route = new Route(
+                            header.get(csv, "from"),
+                            header.get(csv, "to"),
+                            parseDouble(header.get(csv, "distance"), -1),
+                            parseBoolean(header.get(csv, "bidirectional")));
+                } catch (IllegalArgumentException e) {
+                    result.reject(csv.getLineNumber(), e.getMessage());
+                    continue;
+                }
+
+                if (acceptRoute(route, row(csv.getLineNumber()), result)) {
+                    batch.add(route);
+                    if (batch.size() >= batchSize) {
+                        flushRoutes(batch, result);
+                    }
+                }
+            }
+        }
+
+        flushRoutes(batch, result);
+        return result;
+    }
+
+    /**
+     * Importar recursos desde un archivo CSV
+     * Complejidad: O(n) en el número de filas
+     */
+    public ImportResult importResourcesCsv(String filePath) throws IOException {
+        return importResourcesCsv(open(filePath));
+    }
+
+    /**
+     * Importar recursos desde un origen CSV (el origen se cierra al terminar)
+     */
+    public ImportResult importResourcesCsv(Reader source) throws IOException {
+        ImportResult result = new ImportResult();
+        CustomList<Resource> batch = new CustomList<>();
+
+        try (CsvReader csv = new CsvReader(source, separator)) {
+            Header header = readHeader(csv, "id", "name", "type", "quantity", "unit");
+            if (header == null) {
+                result.reject(0, "Encabezado vacío o incompleto");
+                return result;
+            }
+
+            while (csv.next()) {
+                try {
+                    batch.add(new Resource(
+                            header.get(csv, "id"),
+                            header.get(csv, "name"),
+                            parseEnum(Resource.ResourceType.class, header.get(csv, "type")),
+                            parseInt(header.get(csv, "quantity"), 0),
+                            header.get(csv, "unit"),
+                            parseInt(header.get(csv, "minimumstock"), 0),
+                            header.get(csv, "supplier"),
+                            parseBoolean(header.get(csv, "perishable")),
+                            header.get(csv, "expirationdate")));
+                } catch (IllegalArgumentException e) {
+                    result.reject(csv.getLineNumber(), e.getMessage());
+                    continue;
+                }
+
+                if (batch.size() >= batchSize) {
+                    flushResources(batch, result);
+                }
+            }
+        }
+
+        flushResources(batch, result);
+        return result;
+    }
+
+    /**
+     * Importar equipos de rescate desde un archivo CSV
+     * Complejidad: O(n) en el número de filas
+     */
+    public ImportResult importTeamsCsv(String filePath) throws IOException {
+        return importTeamsCsv(open(filePath));
+    }
+
+    /**
+     * Importar equipos de rescate desde un origen CSV (el origen se cierra al terminar)
+     */
+    public ImportResult importTeamsCsv(Reader source) throws IOException {
+        ImportResult result = new ImportResult();
+        CustomList<RescueTeam> batch = new CustomList<>();
+
+        try (CsvReader csv = new CsvReader(source, separator)) {
+            Header header = readHeader(csv, "id", "name", "type", "members");
+            if (header == null) {
+                result.reject(0, "Encabezado vacío o incompleto");
+                return result;
+            }
+
+            while (csv.next()) {
+                try {
+                    batch.add(new RescueTeam(
+                            header.get(csv, "id"),
+                            header.get(csv, "name"),
+                            parseEnum(RescueTeam.TeamType.class, header.get(csv, "type")),
+                            parseInt(header.get(csv, "members"), 0),
+                            parseInt(header.get(csv, "experience"), 3),
+                            header.get(csv, "contact")));
+                } catch (IllegalArgumentException e) {
+                    result.reject(csv.getLineNumber(), e.getMessage());
+                    continue;
+                }
+
+                if (batch.size() >= batchSize) {
+                    flushTeams(batch, result);
+                }
+            }
+        }
+
+        flushTeams(batch, result);
+        return result;
+    }
+
+    // ==================== GEOJSON ====================
+
+    /**
+     * Importar un FeatureCollection GeoJSON
+     * Las rutas se insertan al final, cuando todas las ubicaciones del archivo ya existen
+     * Complejidad: O(n) en el número de features
+     */
+    public ImportResult importGeoJson(String filePath) throws IOException {
+        return importGeoJson(open(filePath));
+    }
+
+    /**
+     * Importar un FeatureCollection GeoJSON desde un origen (el origen se cierra al terminar)
+     */
+    public ImportResult importGeoJson(Reader source) throws IOException {
+        ImportResult result = new ImportResult();
+        CustomList<Location> locations = new CustomList<>();
+        CustomList<String> locationFeatures = new CustomList<>();
+        CustomList<Resource> resources = new CustomList<>();
+        CustomList<RescueTeam> teams = new CustomList<>();
+        CustomList<Route> routes = new CustomList<>();
+        CustomList<String> routeFeatures = new CustomList<>();
+
+        try (JsonStreamReader json = new JsonStreamReader(source)) {
+            json.beginObject();
+            while (json.hasNext()) {
+                if (!json.nextName().equals("features")) {
+                    json.skipValue();
+                    continue;
+                }
+
+                json.beginArray();
+                long index = 0;
+                while (json.hasNext()) {
+                    index++;
+                    int locationCount = locations.size();
+                    int routeCount = routes.size();
+                    readFeature(json, index, result, locations, resources, teams, routes);
+                    if (locations.size() > locationCount) {
+                        locationFeatures.add(feature(index));
+                    }
+                    if (routes.size() > routeCount) {
+                        routeFeatures.add(feature(index));
+                    }
+
+                    if (locations.size() >= batchSize) {
+                        flushLocations(locations, locationFeatures, result);
+                    }
+                    if (resources.size() >= batchSize) {
+                        flushResources(resources, result);
+                    }
+                    if (teams.size() >= batchSize) {
+                        flushTeams(teams, result);
+                    }
+                }
+                json.endArray();
+            }
+            json.endObject();
+        }
+
+        flushLocations(locations, locationFeatures, result);
+        flushResources(resources, result);
+        flushTeams(teams, result);
+
+        // Las rutas pueden referirse a ubicaciones que aparecen después en el archivo
+        CustomList<Route> batch = new CustomList<>();
+        for (int i = 0; i < routes.size(); i++) {
+            Route route = routes.get(i);
+            if (acceptRoute(route, routeFeatures.get(i), result)) {
+                batch.add(route);
+                if (batch.size() >= batchSize) {
+                    flushRoutes(batch, result);
+                }
+            }
+        }
+        flushRoutes(batch, result);
+
+        return result;
+    }
+
+    /**
+     * Leer un Feature y clasificarlo según su geometría
+     */
+    @SuppressWarnings("unchecked")
+    private void readFeature(JsonStreamReader json, long index, ImportResult result,
+                             CustomList<Location> locations, CustomList<Resource> resources,
+                             CustomList<RescueTeam> teams, CustomList<Route> routes) throws IOException {
+        Object value = json.readValue();
+        if (!(value instanceof CustomMap)) {
+            result.reject(feature(index), "Feature inválido");
+            return;
+        }
+
+        CustomMap<String, Object> feature = (CustomMap<String, Object>) value;
+        Object rawProperties = feature.get("properties");
+        CustomMap<String, Object> properties = rawProperties instanceof CustomMap
+                ? (CustomMap<String, Object>) rawProperties : new CustomMap<>();
+        Object rawGeometry = feature.get("geometry");
+
+        try {
+            if (rawGeometry instanceof CustomMap) {
+                CustomMap<String, Object> geometry = (CustomMap<String, Object>) rawGeometry;
+                String geometryType = String.valueOf(geometry.get("type"));
+                Object coordinates = geometry.get("coordinates");
+
+                if (geometryType.equals("Point")) {
+                    locations.add(toLocation(properties, (CustomList<Object>) coordinates));
+                } else if (geometryType.equals("LineString")) {
+                    routes.add(toRoute(properties, (CustomList<Object>) coordinates));
+                } else {
+                    result.reject(feature(index), "Geometría no soportada: " + geometryType);
+                }
+                return;
+            }
+
+            String entity = property(properties, "entity");
+            if (entity.equalsIgnoreCase("resource")) {
+                resources.add(new Resource(
+                        property(properties, "id"),
+                        property(properties, "name"),
+                        parseEnum(Resource.ResourceType.class, property(properties, "type")),
+                        parseInt(property(properties, "quantity"), 0),
+                        property(properties, "unit"),
+                        parseInt(property(properties, "minimumStock"), 0),
+                        property(properties, "supplier"),
+                        parseBoolean(property(properties, "perishable")),
+                        property(properties, "expirationDate")));
+            } else if (entity.equalsIgnoreCase("team")) {
+                teams.add(new RescueTeam(
+                        property(properties, "id"),
+                        property(properties, "name"),
+                        parseEnum(RescueTeam.TeamType.class, property(properties, "type")),
+                        parseInt(property(properties, "members"), 0),
+                        parseInt(property(properties, "experience"), 3),
+                        property(properties, "contact")));
+            } else {
+                result.reject(feature(index), "Feature sin geometría ni entidad reconocida");
+            }
+        } catch (IllegalArgumentException | ClassCastException | IndexOutOfBoundsException e) {
+            result.reject(feature(index), e.getMessage() != null ? e.getMessage() : "Feature inválido");
+        }
+    }
+
+    private Location toLocation(CustomMap<String, Object> properties, CustomList<Object> coordinates) {
+        // GeoJSON usa el orden [longitud, latitud]
+        double longitude = ((Number) coordinates.get(0)).doubleValue();
+        double latitude = ((Number) coordinates.get(1)).doubleValue();
+
+        return new Location(
+                property(properties, "id"),
+                property(properties, "name"),
+                parseEnum(Location.LocationType.class, property(properties, "type")),
+                parseInt(property(properties, "population"), 0),
+                parseInt(property(properties, "urgency"), 1),
+                latitude,
+                longitude,
+                property(properties, "description"));
+    }
+
+    private Route toRoute(CustomMap<String, Object> properties, CustomList<Object> coordinates) {
+        String from = property(properties, "from");
+        String to = property(properties, "to");
+        double distance = parseDouble(property(properties, "distance"), -1);
+
+        // Sin distancia explícita: longitud de la polilínea
+        if (distance < 0) {
+            distance = 0;
+            for (int i = 1; i < coordinates.size(); i++) {
+                CustomList<?> a = (CustomList<?>) coordinates.get(i - 1);
+                CustomList<?> b = (CustomList<?>) coordinates.get(i);
+                distance += GeoPoints.haversine(((Number) a.get(1)).doubleValue(), ((Number) a.get(0)).doubleValue(),
+                        ((Number) b.get(1)).doubleValue(), ((Number) b.get(0)).doubleValue());
+            }
+        }
+
+        return new Route(from, to, distance, parseBoolean(property(properties, "bidirectional")));
+    }
+
+    private static String property(CustomMap<String, Object> properties, String name) {
+        Object value = properties.get(name);
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Double) {
+            double number = (Double) value;
+            if (number == Math.rint(number) && !Double.isInfinite(number)) {
+                return Long.toString((long) number);
+            }
+        }
+        return String.valueOf(value).trim();
+    }
+
+    // ==================== INSTANTÁNEA BINARIA ====================
+
+    /**
+     * Importar ubicaciones y rutas desde una instantánea binaria (MappedGraph)
+     * Cada arista del archivo entra como una ruta en un solo sentido; las ubicaciones
+     * se materializan por lotes desde el archivo mapeado, sin analizar texto.
+     * El archivo se genera con DisasterManager.exportGraphSnapshot()
+     * Complejidad: O(V + E)
+     */
+    public ImportResult importGraphSnapshot(String filePath) throws IOException {
+        ImportResult result = new ImportResult();
+
+        try (MappedGraph snapshot = MappedGraph.open(Paths.get(filePath))) {
+            CustomList<Location> locations = new CustomList<>();
+            for (int i = 0; i < snapshot.getVertexCount(); i++) {
+                locations.add(snapshot.getLocation(i));
+                if (locations.size() >= batchSize) {
+                    flushLocations(locations, null, result);
+                }
+            }
+            flushLocations(locations, null, result);
+
+            CustomList<Route> routes = new CustomList<>();
+            for (int i = 0; i < snapshot.getVertexCount(); i++) {
+                String fromId = snapshot.getId(i);
+                int end = snapshot.getEdgeEnd(i);
+                for (int e = snapshot.getEdgeStart(i); e < end; e++) {
+                    routes.add(new Route(fromId, snapshot.getId(snapshot.getEdgeTarget(e)),
+                            snapshot.getEdgeWeight(e)));
+                    if (routes.size() >= batchSize) {
+                        flushRoutes(routes, result);
+                    }
+                }
+            }
+            flushRoutes(routes, result);
+        }
+
+        return result;
+    }
+
+    // ==================== INSERCIÓN POR LOTES ====================
+
+    /**
+     * Insertar un lote de ubicaciones y rechazar, una por una, las que se omitieron por ID repetido
+     * Una ubicación se omitió si el gestor guarda otro objeto con su ID (existía antes o
+     * aparece repetida dentro del lote)
+     *
+     * @param positions Posición de cada ubicación en el origen (fila o feature), o null
+     */
+    private void flushLocations(CustomList<Location> batch, CustomList<String> positions, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        int added = manager.addLocations(batch);
+        result.accept(added);
+        if (added < batch.size()) {
+            for (int i = 0; i < batch.size(); i++) {
+                Location location = batch.get(i);
+                if (manager.getLocation(location.getId()) != location) {
+                    result.reject(positions != null ? positions.get(i) : null,
+                            "ID repetido omitido: " + location.getId());
+                }
+            }
+        }
+        batch.clear();
+        if (positions != null) {
+            positions.clear();
+        }
+    }
+
+    private void flushRoutes(CustomList<Route> batch, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        manager.addRoutes(batch);
+        result.accept(batch.size());
+        batch.clear();
+    }
+
+    private void flushResources(CustomList<Resource> batch, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        result.accept(manager.addResources(batch));
+        batch.clear();
+    }
+
+    private void flushTeams(CustomList<RescueTeam> batch, ImportResult result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        result.accept(manager.addTeams(batch));
+        batch.clear();
+    }
+
+    /**
+     * Validar que los extremos de una ruta existan en el gestor
+     */
+    private boolean acceptRoute(Route route, String position, ImportResult result) {
+        if (manager.getLocation(route.getFromId()) == null) {
+            result.reject(position, "Origen inexistente: " + route.getFromId());
+            return false;
+        }
+        if (manager.getLocation(route.getToId()) == null) {
+            result.reject(position, "Destino inexistente: " + route.getToId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Posición de un registro CSV en los mensajes de error
+     */
+    private static String row(long line) {
+        return "Fila " + line;
+    }
+
+    /**
+     * Posición de un Feature GeoJSON (1 = primero del arreglo "features") en los mensajes de error
+     */
+    private static String feature(long index) {
+        return "Feature " + index;
+    }
+
+    // ==================== ANÁLISIS DE CAMPOS ====================
+
+    private static Reader open(String filePath) throws IOException {
+        return Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Leer el encabezado y verificar las columnas obligatorias
+     *
+     * @return Encabezado, o null si falta alguna columna obligatoria
+     */
+    private static Header readHeader(CsvReader csv, String... required) throws IOException {
+        if (!csv.next()) {
+            return null;
+        }
+
+        Header header = new Header();
+        for (int i = 0; i < csv.size(); i++) {
+            String name = csv.get(i).toLowerCase();
+            // Ignorar la marca BOM de archivos exportados desde hojas de cálculo
+            if (i == 0 && !name.isEmpty() && name.charAt(0) == '\uFEFF') {
+                name = name.substring(1);
+            }
+            header.columns.put(name, i);
+        }
+
+        for (String column : required) {
+            if (!header.columns.containsKey(column)) {
+                return null;
+            }
+        }
+        return header;
+    }
+
+    /**
+     * Índice de columnas por nombre (en minúsculas)
+     */
+    private static class Header {
+        private final CustomMap<String, Integer> columns = new CustomMap<>();
+
+        String get(CsvReader csv, String column) {
+            Integer index = columns.get(column);
+            return index != null ? csv.get(index) : "";
+        }
+    }
+
+    /**
+     * Convertir un texto en valor de enum, aceptando el nombre de la constante
+     * (sin distinguir mayúsculas, con espacios o guiones) o el nombre para mostrar
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> enumType, String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Type cannot be null");
+        }
+
+        String normalized = value.trim().toUpperCase().replace(' ', '_').replace('-', '_');
+        E[] constants = enumType.getEnumConstants();
+        for (E constant : constants) {
+            if (constant.name().equals(normalized) || constant.toString().equalsIgnoreCase(value.trim())) {
+                return constant;
+            }
+        }
+
+        throw new IllegalArgumentException("Unknown " + enumType.getSimpleName() + ": " + value);
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer: " + value);
+        }
+    }
+
+    private static double parseDouble(String value, double defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number: " + value);
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        if (value == null) {
+            return false;
+        }
+        String normalized = value.trim().toLowerCase();
+        return normalized.equals("true") || normalized.equals("1")
+                || normalized.equals("si") || normalized.equals("sí") || normalized.equals("yes");
+    }
+
+    // ==================== RESULTADO ====================
+
+    /**
+     * Resultado de una importación: filas aceptadas, rechazadas y los primeros errores
+     */
+    public static class ImportResult {
+        private int accepted;
+        private int rejected;
+        private final CustomList<String> errors;
+
+        public ImportResult() {
+            this.accepted = 0;
+            this.rejected = 0;
+            this.errors = new CustomList<>();
+        }
+
+        void accept(int count) {
+            accepted += count;
+        }
+
+        void reject(long line, String message) {
+            reject(line > 0 ? row(line) : null, message);
+        }
+
+        /**
+         * Rechazar un registro indicando su posición en el origen (null si no aplica)
+         */
+        void reject(String position, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(position != null ? position + ": " + message : message);
+            }
+        }
+
+        /**
+         * Acumular el resultado de otra importación
+         */
+        public void merge(ImportResult other) {
+            accepted += other.accepted;
+            rejected += other.rejected;
+            for (int i = 0; i < other.errors.size() && errors.size() < MAX_REPORTED_ERRORS; i++) {
+                errors.add(other.errors.get(i));
+            }
+        }
+
+        public int getAccepted() {
+            return accepted;
+        }
+
+        public int getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Primeros errores encontrados (como máximo 100)
+         */
+        public CustomList<String> getErrors() {
+            return errors;
+        }
+
+        @Override
+        public String toString() {
+            return "Importación: " + accepted + " aceptados, " + rejected + " rechazados";
+        }
+    }
+}
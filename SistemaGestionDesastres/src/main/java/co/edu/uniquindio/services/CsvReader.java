@@ -0,0 +1,189 @@
+package co.edu.uniquindio.services;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lector de CSV en streaming
+ * Lee el origen por bloques en un buffer de caracteres reutilizable y deja los campos
+ * del registro actual en un arreglo que también se reutiliza entre registros
+ *
+ * Soporta campos entre comillas dobles (con comillas escapadas como "" y saltos de línea
+ * dentro del campo), separador configurable y finales de línea LF o CRLF
+ */
+final class CsvReader implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char separator;
+    private final char[] buffer;
+    private final StringBuilder field;
+    private int position;
+    private int limit;
+    private String[] fields;
+    private int fieldCount;
+    private long lineNumber;
+    private long recordLine;
+
+    /**
+     * Constructor
+     *
+     * @param reader Origen de los datos
+     * @param separator Separador de campos (normalmente ',' o ';')
+     */
+    CsvReader(Reader reader, char separator) {
+        this.reader = reader;
+        this.separator = separator;
+        this.buffer = new char[BUFFER_SIZE];
+        this.field = new StringBuilder(64);
+        this.position = 0;
+        this.limit = 0;
+        this.fields = new String[16];
+        this.fieldCount = 0;
+        this.lineNumber = 1;
+        this.recordLine = 1;
+    }
+
+    /**
+     * Leer el siguiente registro
+     * Las líneas vacías se omiten
+     *
+     * @return false si se llegó al final del origen
+     */
+    boolean next() throws IOException {
+        while (true) {
+            fieldCount = 0;
+            recordLine = lineNumber;
+
+            int c = read();
+            if (c == -1) {
+                return false;
+            }
+            if (c == '\n') {
+                continue; // Línea vacía
+            }
+            if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                }
+                continue;
+            }
+
+            parseRecord(c);
+            return true;
+        }
+    }
+
+    /**
+     * Leer los campos de un registro a partir de su primer carácter
+     */
+    private void parseRecord(int c) throws IOException {
+        field.setLength(0);
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            if (c == -1) {
+                addField();
+                return;
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == separator) {
+                addField();
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                addField();
+                return;
+            } else {
+                field.append((char) c);
+            }
+
+            fieldStart = false;
+            c = read();
+        }
+    }
+
+    private void addField() {
+        if (fieldCount == fields.length) {
+            String[] larger = new String[fields.length * 2];
+            System.arraycopy(fields, 0, larger, 0, fieldCount);
+            fields = larger;
+        }
+        fields[fieldCount++] = field.toString().trim();
+        field.setLength(0);
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            lineNumber++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    /**
+     * Número de campos del registro actual
+     */
+    int size() {
+        return fieldCount;
+    }
+
+    /**
+     * Obtener un campo del registro actual
+     *
+     * @return Valor del campo, o cadena vacía si el registro tiene menos campos
+     */
+    String get(int index) {
+        return index >= 0 && index < fieldCount ? fields[index] : "";
+    }
+
+    /**
+     * Línea del origen donde empieza el registro actual
+     */
+    long getLineNumber() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
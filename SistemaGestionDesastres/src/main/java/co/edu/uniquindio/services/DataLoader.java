@@ -2,6 +2,9 @@ package co.edu.uniquindio.services;
 
 import co.edu.uniquindio.models.*;
 
+import java.io.File;
+import java.io.IOException;
+
 /**
  * Clase para cargar datos de prueba en el sistema
  */
@@ -17,6 +20,86 @@ public class DataLoader {
         loadRescueTeams(manager);
     }
 
+    /**
+     * Cargar datos reales desde un directorio con archivos CSV, GeoJSON y/o una instantánea binaria
+     * Se buscan network.sgdg (MappedGraph), locations.csv, routes.csv, resources.csv, teams.csv
+     * y cualquier *.geojson; las ubicaciones se cargan antes que las rutas
+     *
+     * @param manager Gestor donde se cargan los datos
+     * @param directory Directorio de datos
+     * @return Resultado acumulado, o null si el directorio no contiene archivos reconocidos
+     */
+    public static BulkImporter.ImportResult loadFromDirectory(DisasterManager manager, String directory)
+            throws IOException {
+        File dir = new File(directory);
+        if (!dir.isDirectory()) {
+            return null;
+        }
+
+        BulkImporter importer = new BulkImporter(manager);
+        BulkImporter.ImportResult total = new BulkImporter.ImportResult();
+        boolean found = false;
+
+        File network = new File(dir, "network.sgdg");
+        if (network.isFile()) {
+            total.merge(importer.importGraphSnapshot(network.getPath()));
+            found = true;
+        }
+
+        File locations = new File(dir, "locations.csv");
+        if (locations.isFile()) {
+            total.merge(importer.importLocationsCsv(locations.getPath()));
+            found = true;
+        }
+
+        File[] geoJsonFiles = dir.listFiles((d, name) -> name.toLowerCase().endsWith(".geojson"));
+        if (geoJsonFiles != null) {
+            for (File file : geoJsonFiles) {
+                total.merge(importer.importGeoJson(file.getPath()));
+                found = true;
+            }
+        }
+
+        File routes = new File(dir, "routes.csv");
+        if (routes.isFile()) {
+            total.merge(importer.importRoutesCsv(routes.getPath()));
+            found = true;
+        }
+
+        File resources = new File(dir, "resources.csv");
+        if (resources.isFile()) {
+            total.merge(importer.importResourcesCsv(resources.getPath()));
+            found = true;
+        }
+
+        File teams = new File(dir, "teams.csv");
+        if (teams.isFile()) {
+            total.merge(importer.importTeamsCsv(teams.getPath()));
+            found = true;
+        }
+
+        return found ? total : null;
+    }
+
+    /**
+     * Exportar la red actual como network.sgdg dentro de un directorio de datos
+     * Crea el directorio si no existe; loadFromDirectory() la carga después
+     *
+     * @param manager Gestor cuya red se exporta
+     * @param directory Directorio de datos
+     * @return Archivo escrito
+     */
+    public static File exportNetwork(DisasterManager manager, String directory) throws IOException {
+        File dir = new File(directory);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create data directory: " + directory);
+        }
+
+        File network = new File(dir, "network.sgdg");
+        manager.exportGraphSnapshot(network.getPath());
+        return network;
+    }
+
     /**
      * Cargar ubicaciones de prueba
      */
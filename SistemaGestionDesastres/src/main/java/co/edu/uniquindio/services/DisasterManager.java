@@ -2,32 +2,109 @@ package co.edu.uniquindio.services;
 
 import co.edu.uniquindio.models.*;
 import co.edu.uniquindio.structures.*;
+import co.edu.uniquindio.algorithms.AStarAlgorithm;
+import co.edu.uniquindio.algorithms.CentralityAnalyzer;
+import co.edu.uniquindio.algorithms.ConvoyPlanner;
 import co.edu.uniquindio.algorithms.DijkstraAlgorithm;
+import co.edu.uniquindio.algorithms.EvacuationFlow;
+import co.edu.uniquindio.algorithms.KShortestPaths;
+import co.edu.uniquindio.algorithms.LandmarkIndex;
+import co.edu.uniquindio.algorithms.MultiCriteriaRouter;
+import co.edu.uniquindio.algorithms.NetworkVulnerability;
+import co.edu.uniquindio.algorithms.ProximityGraphBuilder;
+import co.edu.uniquindio.algorithms.ResourceAllocator;
+import co.edu.uniquindio.algorithms.TeamDispatcher;
+import co.edu.uniquindio.algorithms.TimeDependentRouter;
 import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Gestor principal del sistema de gestión de desastres
  * Coordina todas las operaciones del sistema: ubicaciones, recursos, equipos y rutas
+ *
+ * Concurrencia: cada colección tiene su propio cerrojo de lectura/escritura
+ * (ubicaciones con rutas y árbol de distribución, inventario, equipos). Agregar o quitar
+ * elementos toma el cerrojo de escritura de su colección; las operaciones sobre una
+ * entidad concreta (distribuir un recurso, asignar un equipo) toman solo el de lectura
+ * más el cerrojo de la entidad, así que pueden ejecutarse en paralelo entre sí.
+ * Orden de adquisición: ubicaciones, recursos, equipos y después los cerrojos por entidad
+ * (ubicación, equipo). Para una vista consistente de todo el sistema se usa getSnapshot(),
+ * que copia el estado dentro de beginConsistentRead() y la reutiliza mientras no haya cambios
+ *
+ * El inventario y los equipos se guardan en ConcurrentCustomMap, así que las consultas
+ * por ID y los listados de recursos y equipos no toman cerrojos. Las cantidades de cada
+ * recurso se actualizan con compare-and-set (ver Resource e InventoryLedger), sin cerrojo
+ * por recurso
  */
 public class DisasterManager {
+    // Fracción máxima de distancia que una ruta alternativa comparte con las anteriores
+    public static final double ALTERNATIVE_ROUTE_OVERLAP = 0.8;
+    // Hasta este número de ubicaciones la centralidad es exacta; por encima se muestrea
+    public static final int EXACT_CENTRALITY_LIMIT = 5000;
+    public static final int CENTRALITY_SAMPLES = 512;
+    // Velocidad de los convoyes en rutas sin tiempo de recorrido asignado (km/h)
+    public static final double CONVOY_SPEED_KMH = 40.0;
+    // Árboles de caminos más cortos guardados y total de vértices entre todos ellos
+    public static final int ROUTE_CACHE_ENTRIES = 256;
+    public static final long ROUTE_CACHE_MAX_VERTICES = 2_000_000L;
+    private static final String SHORTEST_PATH_TREE = "dijkstra";
+
     private Graph locationGraph;
-    private CustomMap<String, Resource> resources;
-    private CustomMap<String, RescueTeam> rescueTeams;
+    private final SpatialGrid spatialIndex;
+    private ConcurrentCustomMap<String, Resource> resources;
+    private ConcurrentCustomMap<String, RescueTeam> rescueTeams;
     private DistributionTree distributionTree;
     private User currentUser;
-    private CustomList<String> operationLog;
+    private OperationLog operationLog;
+    private OperationLogSink operationLogSink;
+    private EventJournal journal;
+    private final InventoryLedger inventoryLedger;
+    private final ResourceAllocator resourceAllocator;
+    private final TeamDispatcher teamDispatcher;
+    private final KShortestPaths alternativeRoutes;
+
+    // Cerrojos por colección y por entidad
+    private final ReentrantReadWriteLock locationLock;
+    private final ReentrantReadWriteLock resourceLock;
+    private final ReentrantReadWriteLock teamLock;
+    private final StripedLock locationStripes;  // Recursos asignados a cada ubicación
+    private final StripedLock teamStripes;      // Estado y asignación de cada equipo
+
+    // Versión del estado: aumenta con cada modificación
+    private final AtomicLong version;
+    private final AtomicReference<SystemSnapshot> snapshot;
+    private volatile CentralityAnalyzer.Result centrality;
+    private final RouteCache<DijkstraAlgorithm.DijkstraResult> routeCache;
+    private final ConcurrentCustomMap<LandmarkIndex.Metric, LandmarkIndex> landmarkIndexes;
 
     /**
      * Constructor: Inicializa todas las estructuras del sistema
      */
     public DisasterManager() {
         this.locationGraph = new Graph();
-        this.resources = new CustomMap<>();
-        this.rescueTeams = new CustomMap<>();
+        this.spatialIndex = new SpatialGrid();
+        this.resources = new ConcurrentCustomMap<>();
+        this.rescueTeams = new ConcurrentCustomMap<>();
         this.distributionTree = null;
         this.currentUser = null;
-        this.operationLog = new CustomList<>();
-        logOperation("Sistema de Gestión de Desastres iniciado");
+        this.operationLog = new OperationLog();
+        this.operationLogSink = null;
+        this.locationLock = new ReentrantReadWriteLock();
+        this.resourceLock = new ReentrantReadWriteLock();
+        this.teamLock = new ReentrantReadWriteLock();
+        this.locationStripes = new StripedLock();
+        this.teamStripes = new StripedLock();
+        this.version = new AtomicLong(0);
+        this.snapshot = new AtomicReference<>();
+        this.inventoryLedger = new InventoryLedger(resources, this::markModified);
+        this.resourceAllocator = new ResourceAllocator();
+        this.teamDispatcher = new TeamDispatcher();
+        this.alternativeRoutes = new KShortestPaths(ALTERNATIVE_ROUTE_OVERLAP);
+        this.routeCache = new RouteCache<>(ROUTE_CACHE_ENTRIES, ROUTE_CACHE_MAX_VERTICES);
+        this.landmarkIndexes = new ConcurrentCustomMap<>();
+        operationLog.record(OperationLog.OperationType.SYSTEM_STARTED);
     }
 
     // ==================== GESTIÓN DE UBICACIONES ====================
@@ -39,25 +116,43 @@ public class DisasterManager {
      * @return true si se agregó exitosamente
      */
     public boolean addLocation(Location location) {
-        if (location == null) {
-            return false;
-        }
-
+        locationLock.writeLock().lock();
         try {
-            locationGraph.addVertex(location);
+            if (location == null) {
+                return false;
+            }
 
-            // Inicializar árbol de distribución con la primera ubicación
-            if (distributionTree == null) {
-                distributionTree = new DistributionTree(location.getId());
-            } else {
-                // Agregar al árbol de distribución (como hijo de la raíz por defecto)
-                distributionTree.addChild(distributionTree.getRootLocationId(), location.getId());
+            try {
+                insertLocation(location);
+                markModified();
+
+                operationLog.record(OperationLog.OperationType.LOCATION_ADDED, location.getId());
+                if (journal != null) {
+                    journal.recordAddLocation(location);
+                }
+                return true;
+            } catch (Exception e) {
+                return false;
             }
+        } finally {
+            locationLock.writeLock().unlock();
+        }
+    }
 
-            logOperation("Ubicación agregada: " + location.getName());
-            return true;
-        } catch (Exception e) {
-            return false;
+    /**
+     * Insertar una ubicación en el grafo y en el árbol de distribución
+     * No registra la operación: lo hacen los métodos públicos
+     */
+    private void insertLocation(Location location) {
+        locationGraph.addVertex(location);
+        spatialIndex.put(locationGraph.getVertex(location.getId()));
+
+        // Inicializar árbol de distribución con la primera ubicación
+        if (distributionTree == null) {
+            distributionTree = new DistributionTree(location.getId());
+        } else {
+            // Agregar al árbol de distribución (como hijo de la raíz por defecto)
+            distributionTree.addChild(distributionTree.getRootLocationId(), location.getId());
         }
     }
 
@@ -68,19 +163,29 @@ public class DisasterManager {
      * @return true si se removió exitosamente
      */
     public boolean removeLocation(String locationId) {
-        if (locationId == null || !locationGraph.containsVertex(locationId)) {
-            return false;
-        }
+        locationLock.writeLock().lock();
+        try {
+            if (locationId == null || !locationGraph.containsVertex(locationId)) {
+                return false;
+            }
 
-        Location location = locationGraph.getVertex(locationId);
-        locationGraph.removeVertex(locationId);
+            Location location = locationGraph.getVertex(locationId);
+            locationGraph.removeVertex(locationId);
+            spatialIndex.remove(locationId);
 
-        if (distributionTree != null) {
-            distributionTree.removeLocation(locationId);
-        }
+            if (distributionTree != null) {
+                distributionTree.removeLocation(locationId);
+            }
+            markModified();
 
-        logOperation("Ubicación removida: " + location.getName());
-        return true;
+            operationLog.record(OperationLog.OperationType.LOCATION_REMOVED, location.getId());
+            if (journal != null) {
+                journal.recordRemoveLocation(locationId);
+            }
+            return true;
+        } finally {
+            locationLock.writeLock().unlock();
+        }
     }
 
     /**
@@ -91,18 +196,59 @@ public class DisasterManager {
      * @return true si se actualizó exitosamente
      */
     public boolean updateLocation(String locationId, Location updatedLocation) {
-        if (locationId == null || updatedLocation == null) {
+        locationLock.writeLock().lock();
+        try {
+            if (locationId == null || updatedLocation == null) {
+                return false;
+            }
+
+            if (locationGraph.containsVertex(locationId)) {
+                removeLocation(locationId);
+                addLocation(updatedLocation);
+                operationLog.record(OperationLog.OperationType.LOCATION_UPDATED, locationId);
+                return true;
+            }
+
             return false;
+        } finally {
+            locationLock.writeLock().unlock();
         }
+    }
 
-        if (locationGraph.containsVertex(locationId)) {
-            removeLocation(locationId);
-            addLocation(updatedLocation);
-            logOperation("Ubicación actualizada: " + updatedLocation.getName());
-            return true;
+    /**
+     * Cambiar las coordenadas de una ubicación y moverla en el índice espacial
+     * Las coordenadas de una ubicación del sistema deben cambiarse por aquí y no con
+     * Location.setCoordinates(), que no actualiza el índice
+     *
+     * @param locationId ID de la ubicación
+     * @param latitude Nueva latitud
+     * @param longitude Nueva longitud
+     * @return true si la ubicación existe
+     */
+    public boolean updateLocationCoordinates(String locationId, double latitude, double longitude) {
+        if (Double.isNaN(latitude) || Double.isNaN(longitude)) {
+            return false;
         }
 
-        return false;
+        locationLock.writeLock().lock();
+        try {
+            Location location = locationId != null ? locationGraph.getVertex(locationId) : null;
+            if (location == null) {
+                return false;
+            }
+
+            location.setCoordinates(latitude, longitude);
+            spatialIndex.put(location);
+            markModified();
+
+            operationLog.record(OperationLog.OperationType.LOCATION_UPDATED, locationId);
+            if (journal != null) {
+                journal.recordSetLocationCoordinates(locationId, latitude, longitude);
+            }
+            return true;
+        } finally {
+            locationLock.writeLock().unlock();
+        }
     }
 
     /**
@@ -112,7 +258,12 @@ public class DisasterManager {
      * @return Ubicación encontrada o null
      */
     public Location getLocation(String id) {
-        return locationGraph.getVertex(id);
+        locationLock.readLock().lock();
+        try {
+            return locationGraph.getVertex(id);
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
@@ -121,7 +272,12 @@ public class DisasterManager {
      * @return Lista de ubicaciones
      */
     public CustomList<Location> getAllLocations() {
-        return locationGraph.getAllVertices();
+        locationLock.readLock().lock();
+        try {
+            return locationGraph.getAllVertices();
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
@@ -131,17 +287,22 @@ public class DisasterManager {
      * @return Lista de ubicaciones del tipo especificado
      */
     public CustomList<Location> getLocationsByType(Location.LocationType type) {
-        CustomList<Location> filtered = new CustomList<>();
-        CustomList<Location> all = getAllLocations();
-
-        for (int i = 0; i < all.size(); i++) {
-            Location loc = all.get(i);
-            if (loc.getType() == type) {
-                filtered.add(loc);
+        locationLock.readLock().lock();
+        try {
+            CustomList<Location> filtered = new CustomList<>();
+            CustomList<Location> all = getAllLocations();
+
+            for (int i = 0; i < all.size(); i++) {
+                Location loc = all.get(i);
+                if (loc.getType() == type) {
+                    filtered.add(loc);
+                }
             }
-        }
 
-        return filtered;
+            return filtered;
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
@@ -151,34 +312,102 @@ public class DisasterManager {
      * @return Lista de ubicaciones con ese nivel de urgencia
      */
     public CustomList<Location> getLocationsByUrgency(int urgencyLevel) {
-        CustomList<Location> filtered = new CustomList<>();
-        CustomList<Location> all = getAllLocations();
-
-        for (int i = 0; i < all.size(); i++) {
-            Location loc = all.get(i);
-            if (loc.getUrgencyLevel() == urgencyLevel) {
-                filtered.add(loc);
+        locationLock.readLock().lock();
+        try {
+            CustomList<Location> filtered = new CustomList<>();
+            CustomList<Location> all = getAllLocations();
+
+            for (int i = 0; i < all.size(); i++) {
+                Location loc = all.get(i);
+                if (loc.getUrgencyLevel() == urgencyLevel) {
+                    filtered.add(loc);
+                }
             }
-        }
 
-        return filtered;
+            return filtered;
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
      * Obtener ubicaciones en crisis (urgencia >= 4)
      */
     public CustomList<Location> getCriticalLocations() {
-        CustomList<Location> critical = new CustomList<>();
-        CustomList<Location> all = getAllLocations();
-
-        for (int i = 0; i < all.size(); i++) {
-            Location loc = all.get(i);
-            if (loc.isInCrisis()) {
-                critical.add(loc);
+        locationLock.readLock().lock();
+        try {
+            CustomList<Location> critical = new CustomList<>();
+            CustomList<Location> all = getAllLocations();
+
+            for (int i = 0; i < all.size(); i++) {
+                Location loc = all.get(i);
+                if (loc.isInCrisis()) {
+                    critical.add(loc);
+                }
             }
+
+            return critical;
+        } finally {
+            locationLock.readLock().unlock();
         }
+    }
+
+    // ==================== CONSULTAS ESPACIALES ====================
 
-        return critical;
+    /**
+     * Ubicaciones a menos de una distancia de un punto, de la más cercana a la más lejana
+     *
+     * @param latitude Latitud del punto
+     * @param longitude Longitud del punto
+     * @param radiusKm Radio en km
+     * @return Ubicaciones dentro del radio
+     */
+    public CustomList<Location> findLocationsWithinRadius(double latitude, double longitude, double radiusKm) {
+        locationLock.readLock().lock();
+        try {
+            return spatialIndex.withinRadius(latitude, longitude, radiusKm);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ubicaciones dentro de un rectángulo de coordenadas
+     */
+    public CustomList<Location> findLocationsInArea(double minLatitude, double minLongitude,
+                                                    double maxLatitude, double maxLongitude) {
+        locationLock.readLock().lock();
+        try {
+            return spatialIndex.withinBounds(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Las k ubicaciones más cercanas a un punto
+     */
+    public CustomList<Location> findNearestLocations(double latitude, double longitude, int k) {
+        locationLock.readLock().lock();
+        try {
+            return spatialIndex.nearest(latitude, longitude, k);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ubicación más cercana a unas coordenadas (por ejemplo, para ubicar un reporte de campo)
+     *
+     * @return Ubicación más cercana, o null si no hay ubicaciones
+     */
+    public Location findNearestLocation(double latitude, double longitude) {
+        locationLock.readLock().lock();
+        try {
+            return spatialIndex.nearest(latitude, longitude);
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     // ==================== GESTIÓN DE RUTAS ====================
@@ -192,21 +421,27 @@ public class DisasterManager {
      * @return true si se agregó exitosamente
      */
     public boolean addRoute(String fromId, String toId, double distance) {
-        if (fromId == null || toId == null || distance < 0) {
-            return false;
-        }
+        locationLock.writeLock().lock();
+        try {
+            if (fromId == null || toId == null || distance < 0) {
+                return false;
+            }
 
-        if (locationGraph.containsVertex(fromId) && locationGraph.containsVertex(toId)) {
-            locationGraph.addEdge(fromId, toId, distance);
+            if (locationGraph.containsVertex(fromId) && locationGraph.containsVertex(toId)) {
+                locationGraph.addEdge(fromId, toId, distance);
+                markModified();
 
-            Location from = locationGraph.getVertex(fromId);
-            Location to = locationGraph.getVertex(toId);
-            logOperation("Ruta agregada: " + from.getName() + " -> " + to.getName() +
-                    " (" + distance + " km)");
-            return true;
-        }
+                operationLog.record(OperationLog.OperationType.ROUTE_ADDED, fromId, toId, null, distance);
+                if (journal != null) {
+                    journal.recordAddRoute(fromId, toId, distance);
+                }
+                return true;
+            }
 
-        return false;
+            return false;
+        } finally {
+            locationLock.writeLock().unlock();
+        }
     }
 
     /**
@@ -218,9 +453,14 @@ public class DisasterManager {
      * @return true si se agregó exitosamente
      */
     public boolean addBidirectionalRoute(String location1Id, String location2Id, double distance) {
-        boolean success1 = addRoute(location1Id, location2Id, distance);
-        boolean success2 = addRoute(location2Id, location1Id, distance);
-        return success1 && success2;
+        locationLock.writeLock().lock();
+        try {
+            boolean success1 = addRoute(location1Id, location2Id, distance);
+            boolean success2 = addRoute(location2Id, location1Id, distance);
+            return success1 && success2;
+        } finally {
+            locationLock.writeLock().unlock();
+        }
     }
 
     /**
@@ -231,12 +471,65 @@ public class DisasterManager {
      * @return true si se removió exitosamente
      */
     public boolean removeRoute(String fromId, String toId) {
-        if (locationGraph.hasEdge(fromId, toId)) {
-            locationGraph.removeEdge(fromId, toId);
-            logOperation("Ruta removida: " + fromId + " -> " + toId);
+        locationLock.writeLock().lock();
+        try {
+            if (locationGraph.hasEdge(fromId, toId)) {
+                locationGraph.removeEdge(fromId, toId);
+                markModified();
+                operationLog.record(OperationLog.OperationType.ROUTE_REMOVED, fromId, toId);
+                if (journal != null) {
+                    journal.recordRemoveRoute(fromId, toId);
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            locationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Asignar la capacidad de una ruta existente
+     *
+     * @param fromId ID de ubicación origen
+     * @param toId ID de ubicación destino
+     * @param capacity Personas o unidades por hora; Graph.UNLIMITED_CAPACITY quita el límite
+     * @return true si la ruta existe
+     */
+    public boolean setRouteCapacity(String fromId, String toId, double capacity) {
+        if (capacity < 0 || Double.isNaN(capacity)) {
+            return false;
+        }
+
+        locationLock.writeLock().lock();
+        try {
+            if (!locationGraph.setEdgeCapacity(fromId, toId, capacity)) {
+                return false;
+            }
+            markModified();
+
+            operationLog.record(OperationLog.OperationType.ROUTE_CAPACITY_SET, fromId, toId, null, capacity);
+            if (journal != null) {
+                journal.recordSetRouteCapacity(fromId, toId, capacity);
+            }
             return true;
+        } finally {
+            locationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtener la capacidad de una ruta
+     *
+     * @return Capacidad, Graph.UNLIMITED_CAPACITY si no tiene límite, o 0 si no existe
+     */
+    public double getRouteCapacity(String fromId, String toId) {
+        locationLock.readLock().lock();
+        try {
+            return locationGraph.getEdgeCapacity(fromId, toId);
+        } finally {
+            locationLock.readLock().unlock();
         }
-        return false;
     }
 
     /**
@@ -246,47 +539,383 @@ public class DisasterManager {
      * @return Lista de IDs de ubicaciones vecinas
      */
     public CustomList<String> getNeighborLocations(String locationId) {
-        return locationGraph.getNeighbors(locationId);
+        locationLock.readLock().lock();
+        try {
+            return locationGraph.getNeighbors(locationId);
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
      * Verificar si existe una ruta entre dos ubicaciones
      */
     public boolean hasRoute(String fromId, String toId) {
-        return locationGraph.hasEdge(fromId, toId);
+        locationLock.readLock().lock();
+        try {
+            return locationGraph.hasEdge(fromId, toId);
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
      * Obtener distancia de una ruta específica
      */
     public double getRouteDistance(String fromId, String toId) {
-        DijkstraAlgorithm.DijkstraResult result =
-                DijkstraAlgorithm.findShortestPaths(locationGraph, fromId);
-        return result.getDistance(toId);
+        locationLock.readLock().lock();
+        try {
+            if (!locationGraph.hasPath(fromId, toId)) {
+                return Double.POSITIVE_INFINITY;
+            }
+            return shortestPathTree(fromId).getDistance(toId);
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     // ==================== ALGORITMOS DE RUTAS ====================
 
     /**
      * Encontrar la ruta más corta entre dos ubicaciones
-     * Usa el algoritmo de Dijkstra
+     * Usa el algoritmo de Dijkstra; si el índice de alcanzabilidad dice que no hay camino
+     * responde sin ejecutarlo, y si el árbol del origen está en la caché no lo recalcula
      *
      * @param fromId Ubicación origen
      * @param toId Ubicación destino
      * @return Lista de IDs de ubicaciones en la ruta más corta
      */
     public CustomList<String> findShortestRoute(String fromId, String toId) {
-        return DijkstraAlgorithm.findShortestPath(locationGraph, fromId, toId);
+        locationLock.readLock().lock();
+        try {
+            if (!locationGraph.hasPath(fromId, toId)) {
+                return new CustomList<>();
+            }
+            return shortestPathTree(fromId).getPath(toId);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Verificar si existe algún camino dirigido entre dos ubicaciones
+     * Complejidad: O(1) mientras la red de rutas no cambie
+     */
+    public boolean canReach(String fromId, String toId) {
+        locationLock.readLock().lock();
+        try {
+            return locationGraph.hasPath(fromId, toId);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ubicaciones aisladas: las que ningún centro de ayuda puede alcanzar por las rutas
+     * Sin centros de ayuda, todas las demás ubicaciones quedan aisladas
+     * Complejidad: O(V + E) con el índice de alcanzabilidad construido
+     *
+     * @return Ubicaciones aisladas, ordenadas por urgencia descendente
+     */
+    public CustomList<Location> getCutOffLocations() {
+        locationLock.readLock().lock();
+        try {
+            ReachabilityIndex index = locationGraph.getReachabilityIndex();
+            IndexedGraph indexed = index.getIndexedGraph();
+
+            CustomList<String> centers = new CustomList<>();
+            for (int v = 0; v < indexed.getVertexCount(); v++) {
+                if (indexed.getLocation(v).getType() == Location.LocationType.AID_CENTER) {
+                    centers.add(indexed.getId(v));
+                }
+            }
+            boolean[] reached = index.reachableFrom(centers);
+
+            PriorityQueue<Location> byUrgency = new PriorityQueue<>(
+                    Comparator.comparingInt(Location::getUrgencyLevel).reversed());
+            for (int v = 0; v < indexed.getVertexCount(); v++) {
+                Location location = indexed.getLocation(v);
+                if (!reached[v] && location.getType() != Location.LocationType.AID_CENTER) {
+                    byUrgency.offer(location);
+                }
+            }
+
+            CustomList<Location> cutOff = new CustomList<>();
+            while (!byUrgency.isEmpty()) {
+                cutOff.add(byUrgency.poll());
+            }
+            return cutOff;
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Encontrar rutas alternativas entre dos ubicaciones
+     * La primera es la más corta; las demás evitan en buena parte sus tramos, de modo que
+     * sirven de respaldo si una vía de la ruta principal queda bloqueada
+     *
+     * @param fromId Ubicación origen
+     * @param toId Ubicación destino
+     * @param k Número máximo de rutas
+     * @return Rutas de la más corta a la más larga
+     */
+    public CustomList<KShortestPaths.Path> findAlternativeRoutes(String fromId, String toId, int k) {
+        locationLock.readLock().lock();
+        try {
+            return alternativeRoutes.find(locationGraph.getIndexedGraph(), fromId, toId, k);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rutas que equilibran distancia, riesgo (urgencia de las ubicaciones por las que se
+     * pasa) y capacidad: ninguna es peor que otra en los tres criterios a la vez
+     * Complejidad: acotada por MultiCriteriaRouter.DEFAULT_MAX_LABELS etiquetas
+     *
+     * @return Frente de Pareto ordenado por distancia (vacío si no hay ruta), marcado como
+     *         incompleto si la búsqueda alcanzó el límite de etiquetas
+     */
+    public MultiCriteriaRouter.ParetoFront findParetoRoutes(String fromId, String toId) {
+        locationLock.readLock().lock();
+        try {
+            IndexedGraph indexed = locationGraph.getIndexedGraph();
+            return MultiCriteriaRouter.findParetoRoutes(indexed, fromId, toId,
+                    MultiCriteriaRouter.urgencyHazard(indexed), MultiCriteriaRouter.DEFAULT_MAX_LABELS);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ruta que minimiza distancia + riskFactor × riesgo con capacidad mínima (modo rápido)
+     * Complejidad: O((V + E) log V)
+     *
+     * @param riskFactor Kilómetros que se aceptan de más por cada unidad de riesgo evitada
+     * @param minCapacity Capacidad mínima de cada ruta (0 para no filtrar)
+     * @return Ruta, o null si no hay ninguna
+     */
+    public MultiCriteriaRouter.ParetoRoute findWeightedRoute(String fromId, String toId, double riskFactor,
+                                                             double minCapacity) {
+        locationLock.readLock().lock();
+        try {
+            IndexedGraph indexed = locationGraph.getIndexedGraph();
+            return MultiCriteriaRouter.findWeightedRoute(indexed, fromId, toId,
+                    MultiCriteriaRouter.urgencyHazard(indexed), riskFactor, minCapacity);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ruta de menor costo según una métrica (kilómetros, horas de recorrido o riesgo) con A*
+     * y cotas de landmarks, válidas aunque los costos no sean distancias geográficas.
+     * El índice de landmarks de cada métrica se reutiliza mientras la red no cambie.
+     * Complejidad: O((V + E) log V) en el peor caso, más O(k · (V + E) log V) si hay que
+     * reconstruir el índice
+     *
+     * @return Ruta con su costo, o null si no hay ninguna
+     */
+    public AStarAlgorithm.PathResult findLowestCostRoute(String fromId, String toId, LandmarkIndex.Metric metric) {
+        locationLock.readLock().lock();
+        try {
+            return AStarAlgorithm.findShortestPath(getLandmarkIndex(metric), fromId, toId);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Índice de landmarks de una métrica para la versión actual de la red
+     * Solo el de tiempo de recorrido depende de los tiempos asignados a las rutas; los
+     * demás sobreviven a los cambios de capacidades y tiempos.
+     * Quien llama debe tener el cerrojo de ubicaciones. Dos lectores pueden construir el
+     * mismo índice a la vez; ambos son iguales.
+     */
+    private LandmarkIndex getLandmarkIndex(LandmarkIndex.Metric metric) {
+        IndexedGraph indexed = locationGraph.getIndexedGraph();
+        LandmarkIndex cached = landmarkIndexes.get(metric);
+        if (cached != null && cached.getIndexedGraph().getVersion() == indexed.getVersion()
+                && (metric != LandmarkIndex.Metric.TRAVEL_TIME
+                || cached.getIndexedGraph().getAttributeVersion() == indexed.getAttributeVersion())) {
+            return cached;
+        }
+        double[] costs = LandmarkIndex.edgeCosts(indexed, metric, CONVOY_SPEED_KMH);
+        cached = LandmarkIndex.build(indexed, costs, LandmarkIndex.DEFAULT_LANDMARKS,
+                LandmarkIndex.Selection.AVOID, indexed.getVersion(), true);
+        landmarkIndexes.put(metric, cached);
+        return cached;
+    }
+
+    /**
+     * Asignar el tiempo de recorrido de una ruta según la hora de salida (pronóstico de
+     * inundación, tráfico, cierres); null vuelve a distancia / CONVOY_SPEED_KMH
+     *
+     * @return true si la ruta existe
+     */
+    public boolean setRouteTravelTime(String fromId, String toId, TravelTimeFunction travelTime) {
+        locationLock.writeLock().lock();
+        try {
+            if (!locationGraph.setEdgeTravelTime(fromId, toId, travelTime)) {
+                return false;
+            }
+            markModified();
+
+            operationLog.record(OperationLog.OperationType.ROUTE_TRAVEL_TIME_SET, fromId, toId, null,
+                    travelTime != null ? travelTime.getMinTravelTime() : Double.NaN);
+            if (journal != null) {
+                journal.recordSetRouteTravelTime(fromId, toId, travelTime);
+            }
+            return true;
+        } finally {
+            locationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ruta de llegada más temprana saliendo a una hora, con los tiempos de recorrido
+     * asignados a las rutas (espera donde una ruta cortada se reabre antes de que
+     * convenga rodear)
+     * Complejidad: O((V + E) log V)
+     *
+     * @param departureHour Hora de salida, en horas desde el inicio de la planificación
+     * @return Ruta con sus horas, o null si no se puede llegar
+     */
+    public TimeDependentRouter.TimedRoute findTimedRoute(String fromId, String toId, double departureHour) {
+        locationLock.readLock().lock();
+        try {
+            return TimeDependentRouter.findEarliestArrival(locationGraph.getIndexedGraph(), fromId, toId,
+                    departureHour, CONVOY_SPEED_KMH);
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
      * Calcular todas las rutas más cortas desde una ubicación
+     * El resultado puede estar compartido con la caché de rutas (es de solo lectura)
      *
      * @param fromId Ubicación origen
      * @return Resultado con todas las distancias y caminos
      */
     public DijkstraAlgorithm.DijkstraResult calculateAllRoutes(String fromId) {
-        return DijkstraAlgorithm.findShortestPaths(locationGraph, fromId);
+        locationLock.readLock().lock();
+        try {
+            return shortestPathTree(fromId);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Caché de árboles de caminos más cortos por origen (para consultar aciertos y tamaño)
+     */
+    public RouteCache<DijkstraAlgorithm.DijkstraResult> getRouteCache() {
+        return routeCache;
+    }
+
+    /**
+     * Árbol de caminos más cortos desde un origen, desde la caché si la red no cambió
+     * Quien llama debe tener el cerrojo de ubicaciones, así la versión no cambia mientras
+     * se calcula. Dos lectores pueden calcular el mismo árbol a la vez; ambos son iguales.
+     * Complejidad: O(1) promedio si está en la caché, O((V + E) log V) si no
+     */
+    private DijkstraAlgorithm.DijkstraResult shortestPathTree(String fromId) {
+        long graphVersion = locationGraph.getVersion();
+        DijkstraAlgorithm.DijkstraResult tree = routeCache.get(graphVersion, fromId, null, SHORTEST_PATH_TREE);
+        if (tree == null) {
+            tree = DijkstraAlgorithm.findShortestPaths(locationGraph, fromId);
+            routeCache.put(graphVersion, fromId, null, SHORTEST_PATH_TREE, tree, locationGraph.getVertexCount());
+        }
+        return tree;
+    }
+
+    /**
+     * Calcular cuántas personas por hora pueden llegar de las zonas afectadas a los refugios
+     * según la capacidad de las rutas (flujo máximo de costo mínimo, ver EvacuationFlow)
+     * Complejidad: O(F · E log V)
+     *
+     * @return Caudal máximo, su reparto por rutas y los cuellos de botella
+     */
+    public EvacuationFlow.Result computeEvacuationThroughput() {
+        locationLock.readLock().lock();
+        try {
+            return EvacuationFlow.computeThroughput(locationGraph.getIndexedGraph());
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rutas críticas: las que al cortarse (en ambos sentidos) parten la red
+     * Complejidad: O(V + E)
+     */
+    public CustomList<Route> findCriticalRoutes() {
+        locationLock.readLock().lock();
+        try {
+            return NetworkVulnerability.findBridges(locationGraph);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ubicaciones críticas: las que al quedar inaccesibles parten la red
+     * Complejidad: O(V + E)
+     */
+    public CustomList<Location> findCriticalLocations() {
+        locationLock.readLock().lock();
+        try {
+            CustomList<String> ids = NetworkVulnerability.findArticulationPoints(locationGraph);
+            CustomList<Location> critical = new CustomList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                critical.add(locationGraph.getVertex(ids.get(i)));
+            }
+            return critical;
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rutas por las que pasan más rutas más cortas entre pares de ubicaciones
+     * (intermediación de aristas), candidatas a reforzarse aunque no sean críticas
+     * Complejidad: O(V · (V + E) log V), repartido entre varios hilos
+     *
+     * @param limit Número máximo de rutas
+     */
+    public CustomList<NetworkVulnerability.CriticalRoute> rankRoutesByTraffic(int limit) {
+        locationLock.readLock().lock();
+        try {
+            return NetworkVulnerability.rankRoutesByBetweenness(locationGraph, limit, true);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Centralidad de cercanía e intermediación de todas las ubicaciones
+     * Exacta hasta EXACT_CENTRALITY_LIMIT ubicaciones; por encima se estima con
+     * CENTRALITY_SAMPLES orígenes. Se reutiliza mientras la red de rutas no cambie.
+     * Complejidad: O(S · (V + E) log V) repartido entre varios hilos, O(1) si no hubo cambios
+     */
+    public CentralityAnalyzer.Result getCentrality() {
+        locationLock.readLock().lock();
+        try {
+            IndexedGraph indexed = locationGraph.getIndexedGraph();
+            CentralityAnalyzer.Result cached = centrality;
+            if (cached != null && cached.getIndexedGraph().getVersion() == indexed.getVersion()) {
+                return cached; // Solo depende de los pesos, no de capacidades ni tiempos
+            }
+            int samples = indexed.getVertexCount() <= EXACT_CENTRALITY_LIMIT
+                    ? Math.max(1, indexed.getVertexCount()) : CENTRALITY_SAMPLES;
+            cached = CentralityAnalyzer.compute(indexed, samples, indexed.getVersion(), true);
+            centrality = cached;
+            return cached;
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
@@ -297,28 +926,33 @@ public class DisasterManager {
      * @return ID de la ubicación más cercana o null
      */
     public String findNearestLocationOfType(String fromId, Location.LocationType type) {
-        CustomList<Location> locations = getLocationsByType(type);
+        locationLock.readLock().lock();
+        try {
+            CustomList<Location> locations = getLocationsByType(type);
 
-        if (locations.isEmpty()) {
-            return null;
-        }
+            if (locations.isEmpty()) {
+                return null;
+            }
 
-        DijkstraAlgorithm.DijkstraResult routes = calculateAllRoutes(fromId);
+            DijkstraAlgorithm.DijkstraResult routes = calculateAllRoutes(fromId);
 
-        String nearest = null;
-        double minDistance = Double.POSITIVE_INFINITY;
+            String nearest = null;
+            double minDistance = Double.POSITIVE_INFINITY;
 
-        for (int i = 0; i < locations.size(); i++) {
-            String locId = locations.get(i).getId();
-            double distance = routes.getDistance(locId);
+            for (int i = 0; i < locations.size(); i++) {
+                String locId = locations.get(i).getId();
+                double distance = routes.getDistance(locId);
 
-            if (distance < minDistance) {
-                minDistance = distance;
-                nearest = locId;
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    nearest = locId;
+                }
             }
-        }
 
-        return nearest;
+            return nearest;
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     // ==================== GESTIÓN DE RECURSOS ====================
@@ -330,14 +964,23 @@ public class DisasterManager {
      * @return true si se agregó exitosamente
      */
     public boolean addResource(Resource resource) {
-        if (resource == null) {
-            return false;
-        }
+        resourceLock.writeLock().lock();
+        try {
+            if (resource == null) {
+                return false;
+            }
 
-        resources.put(resource.getId(), resource);
-        logOperation("Recurso agregado: " + resource.getName() + " (" +
-                resource.getQuantity() + " " + resource.getUnit() + ")");
-        return true;
+            resources.put(resource.getId(), resource);
+            markModified();
+            operationLog.record(OperationLog.OperationType.RESOURCE_ADDED,
+                    resource.getId(), resource.getUnit(), null, resource.getQuantity());
+            if (journal != null) {
+                journal.recordAddResource(resource);
+            }
+            return true;
+        } finally {
+            resourceLock.writeLock().unlock();
+        }
     }
 
     /**
@@ -347,16 +990,25 @@ public class DisasterManager {
      * @return true si se removió exitosamente
      */
     public boolean removeResource(String resourceId) {
-        if (resourceId == null) {
-            return false;
-        }
+        resourceLock.writeLock().lock();
+        try {
+            if (resourceId == null) {
+                return false;
+            }
 
-        Resource resource = resources.remove(resourceId);
-        if (resource != null) {
-            logOperation("Recurso removido: " + resource.getName());
-            return true;
+            Resource resource = resources.remove(resourceId);
+            if (resource != null) {
+                markModified();
+                operationLog.record(OperationLog.OperationType.RESOURCE_REMOVED, resource.getId());
+                if (journal != null) {
+                    journal.recordRemoveResource(resourceId);
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            resourceLock.writeLock().unlock();
         }
-        return false;
     }
 
     /**
@@ -402,55 +1054,202 @@ public class DisasterManager {
      * Obtener recursos con stock bajo
      */
     public CustomList<Resource> getLowStockResources() {
-        CustomList<Resource> lowStock = new CustomList<>();
-        CustomList<Resource> all = getAllResources();
+        resourceLock.readLock().lock();
+        try {
+            CustomList<Resource> lowStock = new CustomList<>();
+            CustomList<Resource> all = getAllResources();
+
+            for (int i = 0; i < all.size(); i++) {
+                Resource res = all.get(i);
+                if (res.isLowStock()) {
+                    lowStock.add(res);
+                }
+            }
 
-        for (int i = 0; i < all.size(); i++) {
-            Resource res = all.get(i);
-            if (res.isLowStock()) {
-                lowStock.add(res);
+            return lowStock;
+        } finally {
+            resourceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Distribuir un recurso a una ubicación
+     *
+     * @param resourceId ID del recurso
+     * @param locationId ID de la ubicación
+     * @param quantity Cantidad a distribuir
+     * @return true si se distribuyó exitosamente
+     */
+    public boolean distributeResource(String resourceId, String locationId, int quantity) {
+        locationLock.readLock().lock();
+        resourceLock.readLock().lock();
+        try {
+            Resource resource = resources.get(resourceId);
+
+            if (resource == null || !locationGraph.containsVertex(locationId)) {
+                return false;
+            }
+
+            // El descuento es atómico por sí mismo; el cerrojo de la ubicación hace que
+            // el descuento y la asignación se observen juntos
+            locationStripes.lock(locationId);
+            try {
+                if (!resource.reduceQuantity(quantity)) {
+                    return false;
+                }
+
+                // Crear copia del recurso para la ubicación
+                Resource distributed = new Resource(
+                        resourceId + "_" + locationId,
+                        resource.getName(),
+                        resource.getType(),
+                        quantity,
+                        resource.getUnit()
+                );
+
+                if (distributionTree != null) {
+                    distributionTree.assignResources(locationId, distributed);
+                }
+                markModified();
+
+                Location location = locationGraph.getVertex(locationId);
+                operationLog.record(OperationLog.OperationType.RESOURCE_DISTRIBUTED,
+                        resource.getId(), resource.getUnit(), location.getId(), quantity);
+                if (journal != null) {
+                    journal.recordDistributeResource(resourceId, locationId, quantity);
+                }
+                return true;
+            } finally {
+                locationStripes.unlock(locationId);
             }
+        } finally {
+            resourceLock.readLock().unlock();
+            locationLock.readLock().unlock();
         }
+    }
 
-        return lowStock;
+    /**
+     * Distribuir a una ubicación la cantidad apartada en una reserva
+     * Confirma la reserva y la asigna a la ubicación en un solo paso; si la ubicación
+     * no existe la reserva sigue pendiente
+     *
+     * @param reservation Reserva obtenida de getInventoryLedger()
+     * @param locationId ID de la ubicación
+     * @return true si se distribuyó exitosamente
+     */
+    public boolean distributeReservation(InventoryLedger.Reservation reservation, String locationId) {
+        if (reservation == null) {
+            return false;
+        }
+
+        locationLock.readLock().lock();
+        resourceLock.readLock().lock();
+        try {
+            if (!locationGraph.containsVertex(locationId)) {
+                return false;
+            }
+
+            locationStripes.lock(locationId);
+            try {
+                Resource resource = inventoryLedger.commit(reservation);
+                if (resource == null) {
+                    return false;
+                }
+
+                String resourceId = reservation.getResourceId();
+                int quantity = reservation.getAmount();
+                Resource distributed = new Resource(
+                        resourceId + "_" + locationId,
+                        resource.getName(),
+                        resource.getType(),
+                        quantity,
+                        resource.getUnit()
+                );
+
+                if (distributionTree != null) {
+                    distributionTree.assignResources(locationId, distributed);
+                }
+                markModified();
+
+                Location location = locationGraph.getVertex(locationId);
+                operationLog.record(OperationLog.OperationType.RESOURCE_DISTRIBUTED,
+                        resource.getId(), resource.getUnit(), location.getId(), quantity);
+                if (journal != null) {
+                    journal.recordDistributeResource(resourceId, locationId, quantity);
+                }
+                return true;
+            } finally {
+                locationStripes.unlock(locationId);
+            }
+        } finally {
+            resourceLock.readLock().unlock();
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
-     * Distribuir un recurso a una ubicación
+     * Calcular un plan de distribución del inventario disponible entre todas las ubicaciones
+     * según su población, urgencia y distancia a los centros de ayuda (ver ResourceAllocator)
+     * Complejidad: O(L log L) por cada tipo de recurso que cambió desde el plan anterior
      *
-     * @param resourceId ID del recurso
-     * @param locationId ID de la ubicación
-     * @param quantity Cantidad a distribuir
-     * @return true si se distribuyó exitosamente
+     * @return Plan de distribución; no modifica el inventario
      */
-    public boolean distributeResource(String resourceId, String locationId, int quantity) {
-        Resource resource = resources.get(resourceId);
-
-        if (resource == null || !locationGraph.containsVertex(locationId)) {
-            return false;
+    public ResourceAllocator.AllocationPlan planResourceAllocation() {
+        beginConsistentRead();
+        try {
+            return resourceAllocator.plan(locationGraph, resources.values(), distributionTree);
+        } finally {
+            endConsistentRead();
         }
+    }
 
-        if (resource.reduceQuantity(quantity)) {
-            // Crear copia del recurso para la ubicación
-            Resource distributed = new Resource(
-                    resourceId + "_" + locationId,
-                    resource.getName(),
-                    resource.getType(),
-                    quantity,
-                    resource.getUnit()
-            );
-
-            if (distributionTree != null) {
-                distributionTree.assignResources(locationId, distributed);
+    /**
+     * Ejecutar un plan de distribución
+     * Primero reserva todas las cantidades del plan: si alguna ya no está disponible
+     * (el inventario cambió después de planificar) se liberan y no se distribuye nada.
+     * Después distribuye cada reserva con distributeReservation()
+     *
+     * @param plan Plan calculado con planResourceAllocation()
+     * @return Número de asignaciones distribuidas, o -1 si el plan ya no era válido
+     */
+    public int executeAllocationPlan(ResourceAllocator.AllocationPlan plan) {
+        CustomList<ResourceAllocator.Allocation> allocations = plan.getAllocations();
+        CustomList<InventoryLedger.Reservation> reservations = new CustomList<>();
+
+        for (int i = 0; i < allocations.size(); i++) {
+            ResourceAllocator.Allocation allocation = allocations.get(i);
+            InventoryLedger.Reservation reservation =
+                    inventoryLedger.reserve(allocation.getResourceId(), allocation.getQuantity());
+            if (reservation == null) {
+                inventoryLedger.releaseAll(reservations);
+                return -1;
             }
+            reservations.add(reservation);
+        }
 
-            Location location = locationGraph.getVertex(locationId);
-            logOperation("Recurso distribuido: " + resource.getName() + " (" + quantity + " " +
-                    resource.getUnit() + ") a " + location.getName());
-            return true;
+        int distributed = 0;
+        for (int i = 0; i < reservations.size(); i++) {
+            if (distributeReservation(reservations.get(i), allocations.get(i).getLocationId())) {
+                distributed++;
+            } else {
+                inventoryLedger.release(reservations.get(i));
+            }
         }
+        return distributed;
+    }
+
+    /**
+     * Obtener el motor de asignación (para ajustar la demanda por persona)
+     */
+    public ResourceAllocator getResourceAllocator() {
+        return resourceAllocator;
+    }
 
-        return false;
+    /**
+     * Obtener el libro de reservas del inventario
+     */
+    public InventoryLedger getInventoryLedger() {
+        return inventoryLedger;
     }
 
     /**
@@ -460,10 +1259,21 @@ public class DisasterManager {
      * @return Lista de recursos asignados
      */
     public CustomList<Resource> getLocationResources(String locationId) {
-        if (distributionTree == null) {
-            return new CustomList<>();
+        locationLock.readLock().lock();
+        locationStripes.lock(locationId);
+        try {
+            CustomList<Resource> copy = new CustomList<>();
+            if (distributionTree != null) {
+                CustomList<Resource> assigned = distributionTree.getResources(locationId);
+                for (int i = 0; i < assigned.size(); i++) {
+                    copy.add(assigned.get(i));
+                }
+            }
+            return copy;
+        } finally {
+            locationStripes.unlock(locationId);
+            locationLock.readLock().unlock();
         }
-        return distributionTree.getResources(locationId);
     }
 
     // ==================== GESTIÓN DE EQUIPOS DE RESCATE ====================
@@ -475,13 +1285,22 @@ public class DisasterManager {
      * @return true si se agregó exitosamente
      */
     public boolean addRescueTeam(RescueTeam team) {
-        if (team == null) {
-            return false;
-        }
+        teamLock.writeLock().lock();
+        try {
+            if (team == null) {
+                return false;
+            }
 
-        rescueTeams.put(team.getId(), team);
-        logOperation("Equipo agregado: " + team.getName() + " (" + team.getType() + ")");
-        return true;
+            rescueTeams.put(team.getId(), team);
+            markModified();
+            operationLog.record(OperationLog.OperationType.TEAM_ADDED, team.getId(), team.getType());
+            if (journal != null) {
+                journal.recordAddTeam(team);
+            }
+            return true;
+        } finally {
+            teamLock.writeLock().unlock();
+        }
     }
 
     /**
@@ -491,16 +1310,25 @@ public class DisasterManager {
      * @return true si se removió exitosamente
      */
     public boolean removeRescueTeam(String teamId) {
-        if (teamId == null) {
-            return false;
-        }
+        teamLock.writeLock().lock();
+        try {
+            if (teamId == null) {
+                return false;
+            }
 
-        RescueTeam team = rescueTeams.remove(teamId);
-        if (team != null) {
-            logOperation("Equipo removido: " + team.getName());
-            return true;
+            RescueTeam team = rescueTeams.remove(teamId);
+            if (team != null) {
+                markModified();
+                operationLog.record(OperationLog.OperationType.TEAM_REMOVED, team.getId());
+                if (journal != null) {
+                    journal.recordRemoveTeam(teamId);
+                }
+                return true;
+            }
+            return false;
+        } finally {
+            teamLock.writeLock().unlock();
         }
-        return false;
     }
 
     /**
@@ -548,17 +1376,24 @@ public class DisasterManager {
      * @return Lista de equipos disponibles
      */
     public CustomList<RescueTeam> getAvailableTeams() {
-        CustomList<RescueTeam> available = new CustomList<>();
-        CustomList<RescueTeam> all = getAllRescueTeams();
-
-        for (int i = 0; i < all.size(); i++) {
-            RescueTeam team = all.get(i);
-            if (team.isAvailable()) {
-                available.add(team);
+        teamLock.readLock().lock();
+        teamStripes.lockAll();
+        try {
+            CustomList<RescueTeam> available = new CustomList<>();
+            CustomList<RescueTeam> all = getAllRescueTeams();
+
+            for (int i = 0; i < all.size(); i++) {
+                RescueTeam team = all.get(i);
+                if (team.isAvailable()) {
+                    available.add(team);
+                }
             }
-        }
 
-        return available;
+            return available;
+        } finally {
+            teamStripes.unlockAll();
+            teamLock.readLock().unlock();
+        }
     }
 
     /**
@@ -569,19 +1404,32 @@ public class DisasterManager {
      * @return true si se asignó exitosamente
      */
     public boolean assignTeamToLocation(String teamId, String locationId) {
-        RescueTeam team = rescueTeams.get(teamId);
+        locationLock.readLock().lock();
+        teamLock.readLock().lock();
+        teamStripes.lock(teamId);
+        try {
+            RescueTeam team = rescueTeams.get(teamId);
 
-        if (team == null || !locationGraph.containsVertex(locationId)) {
-            return false;
-        }
+            if (team == null || !locationGraph.containsVertex(locationId)) {
+                return false;
+            }
 
-        if (team.assignToLocation(locationId)) {
-            Location location = locationGraph.getVertex(locationId);
-            logOperation("Equipo asignado: " + team.getName() + " a " + location.getName());
-            return true;
-        }
+            if (team.assignToLocation(locationId)) {
+                markModified();
+                Location location = locationGraph.getVertex(locationId);
+                operationLog.record(OperationLog.OperationType.TEAM_ASSIGNED, team.getId(), location.getId());
+                if (journal != null) {
+                    journal.recordAssignTeam(teamId, locationId);
+                }
+                return true;
+            }
 
-        return false;
+            return false;
+        } finally {
+            teamStripes.unlock(teamId);
+            teamLock.readLock().unlock();
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
@@ -591,16 +1439,101 @@ public class DisasterManager {
      * @return true si se desasignó exitosamente
      */
     public boolean unassignTeam(String teamId) {
-        RescueTeam team = rescueTeams.get(teamId);
+        teamLock.readLock().lock();
+        teamStripes.lock(teamId);
+        try {
+            RescueTeam team = rescueTeams.get(teamId);
+
+            if (team != null && team.hasAssignment()) {
+                String locationId = team.getAssignedLocationId();
+                team.unassign();
+                teamDispatcher.reportPosition(teamId, locationId); // El equipo queda donde estaba
+                markModified();
+                operationLog.record(OperationLog.OperationType.TEAM_UNASSIGNED, team.getId());
+                if (journal != null) {
+                    journal.recordUnassignTeam(teamId);
+                }
+                return true;
+            }
 
-        if (team != null && team.hasAssignment()) {
-            String locationId = team.getAssignedLocationId();
-            team.unassign();
-            logOperation("Equipo desasignado: " + team.getName());
-            return true;
+            return false;
+        } finally {
+            teamStripes.unlock(teamId);
+            teamLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Calcular el despacho óptimo de los equipos libres a las ubicaciones críticas
+     * (algoritmo húngaro, ver TeamDispatcher); no modifica ningún equipo
+     *
+     * @return Asignaciones propuestas
+     */
+    public CustomList<TeamDispatcher.Dispatch> planTeamDispatch() {
+        beginConsistentRead();
+        try {
+            return teamDispatcher.plan(locationGraph, rescueTeams.values(), getCriticalLocations());
+        } finally {
+            endConsistentRead();
+        }
+    }
+
+    /**
+     * Despachar todos los equipos libres a las ubicaciones críticas
+     * Cada asignación del plan se aplica con assignTeamToLocation(); si otro hilo tomó
+     * el equipo entre tanto, esa asignación se omite. Al liberarse equipos basta con
+     * volver a llamar: solo se consideran equipos libres y puestos sin cubrir
+     *
+     * @return Asignaciones aplicadas
+     */
+    public CustomList<TeamDispatcher.Dispatch> dispatchTeams() {
+        CustomList<TeamDispatcher.Dispatch> plan = planTeamDispatch();
+        CustomList<TeamDispatcher.Dispatch> applied = new CustomList<>();
+
+        for (int i = 0; i < plan.size(); i++) {
+            TeamDispatcher.Dispatch dispatch = plan.get(i);
+            if (assignTeamToLocation(dispatch.getTeamId(), dispatch.getLocationId())) {
+                applied.add(dispatch);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Obtener el despachador de equipos (para informar posiciones conocidas)
+     */
+    public TeamDispatcher getTeamDispatcher() {
+        return teamDispatcher;
+    }
+
+    /**
+     * Planificar recorridos de convoyes desde un centro de ayuda
+     * El grafo indexado es inmutable, así que solo se toma el candado para obtenerlo y la
+     * búsqueda corre sin bloquear a los demás hilos
+     *
+     * @param depotId Ubicación de donde salen los convoyes
+     * @param demands Unidades a entregar por ID de ubicación
+     * @param vehicleCapacities Capacidad de cada vehículo
+     * @return Recorridos por vehículo
+     */
+    public ConvoyPlanner.ConvoyPlan planConvoys(String depotId, CustomMap<String, Integer> demands,
+                                                int[] vehicleCapacities) {
+        IndexedGraph indexed;
+        locationLock.readLock().lock();
+        try {
+            indexed = locationGraph.getIndexedGraph();
+        } finally {
+            locationLock.readLock().unlock();
         }
+        return new ConvoyPlanner().plan(indexed, depotId, demands, vehicleCapacities);
+    }
 
-        return false;
+    /**
+     * Planificar los convoyes que entregan un plan de asignación de recursos
+     */
+    public ConvoyPlanner.ConvoyPlan planConvoys(String depotId, ResourceAllocator.AllocationPlan plan,
+                                                int[] vehicleCapacities) {
+        return planConvoys(depotId, ConvoyPlanner.demandsOf(plan), vehicleCapacities);
     }
 
     /**
@@ -610,17 +1543,269 @@ public class DisasterManager {
      * @return Lista de equipos asignados
      */
     public CustomList<RescueTeam> getTeamsAtLocation(String locationId) {
-        CustomList<RescueTeam> teamsAtLocation = new CustomList<>();
-        CustomList<RescueTeam> all = getAllRescueTeams();
+        teamLock.readLock().lock();
+        teamStripes.lockAll();
+        try {
+            CustomList<RescueTeam> teamsAtLocation = new CustomList<>();
+            CustomList<RescueTeam> all = getAllRescueTeams();
+
+            for (int i = 0; i < all.size(); i++) {
+                RescueTeam team = all.get(i);
+                if (team.hasAssignment() && team.getAssignedLocationId().equals(locationId)) {
+                    teamsAtLocation.add(team);
+                }
+            }
 
-        for (int i = 0; i < all.size(); i++) {
-            RescueTeam team = all.get(i);
-            if (team.hasAssignment() && team.getAssignedLocationId().equals(locationId)) {
-                teamsAtLocation.add(team);
+            return teamsAtLocation;
+        } finally {
+            teamStripes.unlockAll();
+            teamLock.readLock().unlock();
+        }
+    }
+
+    // ==================== CARGA MASIVA ====================
+
+    /**
+     * Agregar un lote de ubicaciones
+     * Reserva espacio en el grafo una sola vez, enlaza todas las ubicaciones al árbol
+     * de distribución en una sola pasada y registra un único resumen en el log
+     * Las ubicaciones nulas o con ID repetido se omiten
+     * Complejidad: O(m) promedio, donde m es el tamaño del lote
+     *
+     * @param batch Ubicaciones a agregar
+     * @return Número de ubicaciones agregadas
+     */
+    public int addLocations(CustomList<Location> batch) {
+        locationLock.writeLock().lock();
+        try {
+            if (batch == null || batch.isEmpty()) {
+                return 0;
+            }
+
+            locationGraph.ensureCapacity(batch.size());
+
+            CustomList<String> treeChildren = new CustomList<>();
+            int added = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                Location location = batch.get(i);
+                if (location == null || locationGraph.containsVertex(location.getId())) {
+                    continue;
+                }
+
+                locationGraph.addVertex(location);
+                spatialIndex.put(location);
+                if (distributionTree == null) {
+                    distributionTree = new DistributionTree(location.getId());
+                } else {
+                    treeChildren.add(location.getId());
+                }
+
+                if (journal != null) {
+                    journal.recordAddLocation(location);
+                }
+                added++;
+            }
+
+            if (!treeChildren.isEmpty()) {
+                distributionTree.addChildren(distributionTree.getRootLocationId(), treeChildren);
+            }
+
+            if (added > 0) {
+                markModified();
+            }
+            operationLog.record(OperationLog.OperationType.BULK_LOADED, "ubicaciones", null, null, added);
+            return added;
+        } finally {
+            locationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agregar un lote de rutas
+     * Las rutas bidireccionales agregan las dos aristas dirigidas
+     * Las rutas cuyo origen o destino no existe se omiten
+     *
+     * @param batch Rutas a agregar
+     * @return Número de aristas dirigidas agregadas
+     */
+    public int addRoutes(CustomList<Route> batch) {
+        locationLock.writeLock().lock();
+        try {
+            if (batch == null || batch.isEmpty()) {
+                return 0;
+            }
+
+            int added = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                Route route = batch.get(i);
+                if (route == null || !locationGraph.containsVertex(route.getFromId())
+                        || !locationGraph.containsVertex(route.getToId())) {
+                    continue;
+                }
+
+                insertRoute(route.getFromId(), route.getToId(), route.getDistance());
+                added++;
+                if (route.isBidirectional()) {
+                    insertRoute(route.getToId(), route.getFromId(), route.getDistance());
+                    added++;
+                }
+            }
+
+            if (added > 0) {
+                markModified();
+            }
+            operationLog.record(OperationLog.OperationType.BULK_LOADED, "rutas", null, null, added);
+            return added;
+        } finally {
+            locationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Generar rutas por proximidad geográfica para ubicaciones sin vías digitalizadas
+     * Cada ubicación indicada se conecta en ambos sentidos con sus k vecinas más cercanas
+     * (entre todas las del sistema), con la distancia en línea recta como peso. Los pares
+     * que ya tienen alguna ruta se respetan. Las rutas entran por addRoutes()
+     *
+     * @param locationIds Ubicaciones a conectar (null para todas)
+     * @param k Vecinas por ubicación
+     * @param maxDistanceKm Distancia máxima de una ruta generada
+     * @return Número de aristas dirigidas agregadas
+     */
+    public int generateProximityRoutes(CustomList<String> locationIds, int k, double maxDistanceKm) {
+        locationLock.writeLock().lock();
+        try {
+            CustomList<Location> sources;
+            if (locationIds == null) {
+                sources = locationGraph.getAllVertices();
+            } else {
+                sources = new CustomList<>();
+                for (int i = 0; i < locationIds.size(); i++) {
+                    Location location = locationGraph.getVertex(locationIds.get(i));
+                    if (location != null) {
+                        sources.add(location);
+                    }
+                }
+            }
+
+            CustomList<Route> generated = ProximityGraphBuilder.build(spatialIndex, sources, k, maxDistanceKm, true);
+            CustomList<Route> batch = new CustomList<>();
+            for (int i = 0; i < generated.size(); i++) {
+                Route route = generated.get(i);
+                if (!locationGraph.hasEdge(route.getFromId(), route.getToId())
+                        && !locationGraph.hasEdge(route.getToId(), route.getFromId())) {
+                    batch.add(route);
+                }
+            }
+            return batch.isEmpty() ? 0 : addRoutes(batch);
+        } finally {
+            locationLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insertar una arista ya validada, registrándola en el diario
+     */
+    private void insertRoute(String fromId, String toId, double distance) {
+        locationGraph.addEdge(fromId, toId, distance);
+        if (journal != null) {
+            journal.recordAddRoute(fromId, toId, distance);
+        }
+    }
+
+    /**
+     * Agregar un lote de recursos al inventario
+     *
+     * @param batch Recursos a agregar
+     * @return Número de recursos agregados
+     */
+    public int addResources(CustomList<Resource> batch) {
+        resourceLock.writeLock().lock();
+        try {
+            if (batch == null || batch.isEmpty()) {
+                return 0;
+            }
+
+            resources.ensureCapacity(resources.size() + batch.size());
+
+            int added = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                Resource resource = batch.get(i);
+                if (resource == null) {
+                    continue;
+                }
+
+                resources.put(resource.getId(), resource);
+                if (journal != null) {
+                    journal.recordAddResource(resource);
+                }
+                added++;
+            }
+
+            if (added > 0) {
+                markModified();
+            }
+            operationLog.record(OperationLog.OperationType.BULK_LOADED, "recursos", null, null, added);
+            return added;
+        } finally {
+            resourceLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agregar un lote de equipos de rescate
+     *
+     * @param batch Equipos a agregar
+     * @return Número de equipos agregados
+     */
+    public int addTeams(CustomList<RescueTeam> batch) {
+        teamLock.writeLock().lock();
+        try {
+            if (batch == null || batch.isEmpty()) {
+                return 0;
+            }
+
+            rescueTeams.ensureCapacity(rescueTeams.size() + batch.size());
+
+            int added = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                RescueTeam team = batch.get(i);
+                if (team == null) {
+                    continue;
+                }
+
+                rescueTeams.put(team.getId(), team);
+                if (journal != null) {
+                    journal.recordAddTeam(team);
+                }
+                added++;
             }
+
+            if (added > 0) {
+                markModified();
+            }
+            operationLog.record(OperationLog.OperationType.BULK_LOADED, "equipos", null, null, added);
+            return added;
+        } finally {
+            teamLock.writeLock().unlock();
         }
+    }
 
-        return teamsAtLocation;
+    /**
+     * Exportar ubicaciones y rutas a una instantánea binaria (MappedGraph)
+     * El archivo se vuelve a cargar con BulkImporter.importGraphSnapshot(); solo
+     * guarda distancias, no capacidades ni tiempos de recorrido
+     * Complejidad: O(V + E)
+     *
+     * @param filePath Archivo destino (se sobrescribe)
+     */
+    public void exportGraphSnapshot(String filePath) throws java.io.IOException {
+        locationLock.readLock().lock();
+        try {
+            MappedGraph.write(locationGraph, java.nio.file.Paths.get(filePath));
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     // ==================== PLANIFICACIÓN DE EVACUACIONES ====================
@@ -632,24 +1817,29 @@ public class DisasterManager {
      * @return Lista ordenada de ubicaciones para evacuar
      */
     public CustomList<Location> prioritizeEvacuations() {
-        CustomList<Location> allLocations = getAllLocations();
+        locationLock.readLock().lock();
+        try {
+            CustomList<Location> allLocations = getAllLocations();
 
-        // Usar cola de prioridad para ordenar por urgencia (descendente)
-        PriorityQueue<Location> pq = new PriorityQueue<>(
-                Comparator.comparingInt((Location loc) -> -loc.getUrgencyLevel())
-                        .thenComparingInt(Location::getPopulation)
-        );
+            // Usar cola de prioridad para ordenar por urgencia (descendente)
+            PriorityQueue<Location> pq = new PriorityQueue<>(
+                    Comparator.comparingInt((Location loc) -> -loc.getUrgencyLevel())
+                            .thenComparingInt(Location::getPopulation)
+            );
 
-        for (int i = 0; i < allLocations.size(); i++) {
-            pq.offer(allLocations.get(i));
-        }
+            for (int i = 0; i < allLocations.size(); i++) {
+                pq.offer(allLocations.get(i));
+            }
 
-        CustomList<Location> prioritized = new CustomList<>();
-        while (!pq.isEmpty()) {
-            prioritized.add(pq.poll());
-        }
+            CustomList<Location> prioritized = new CustomList<>();
+            while (!pq.isEmpty()) {
+                prioritized.add(pq.poll());
+            }
 
-        return prioritized;
+            return prioritized;
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
@@ -663,57 +1853,197 @@ public class DisasterManager {
         return findNearestLocationOfType(locationId, Location.LocationType.SHELTER);
     }
 
+    /**
+     * Plan de evacuación con los tiempos de recorrido que cambian con la hora: el refugio
+     * al que se llega antes saliendo a la hora indicada, evitando las rutas que estarán
+     * cortadas cuando el convoy pase por ellas
+     * Complejidad: O((V + E) log V)
+     *
+     * @param locationId ID de la ubicación a evacuar
+     * @param departureHour Hora de salida, en horas desde el inicio de la planificación
+     * @return Ruta al refugio con sus horas, o null si ningún refugio es alcanzable
+     */
+    public TimeDependentRouter.TimedRoute generateTimedEvacuationPlan(String locationId, double departureHour) {
+        locationLock.readLock().lock();
+        try {
+            IndexedGraph indexed = locationGraph.getIndexedGraph();
+            double[] arrivals = TimeDependentRouter.earliestArrivals(indexed, locationId, departureHour,
+                    CONVOY_SPEED_KMH);
+
+            int best = -1;
+            for (int v = 0; v < arrivals.length; v++) {
+                if (indexed.getLocation(v).getType() == Location.LocationType.SHELTER
+                        && arrivals[v] < Double.POSITIVE_INFINITY
+                        && (best < 0 || arrivals[v] < arrivals[best])) {
+                    best = v;
+                }
+            }
+            return best < 0 ? null : TimeDependentRouter.findEarliestArrival(indexed, locationId,
+                    indexed.getId(best), departureHour, CONVOY_SPEED_KMH);
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
     // ==================== ESTADÍSTICAS ====================
 
     /**
      * Obtener población total afectada
      */
     public int getTotalPopulation() {
-        CustomList<Location> locations = getAllLocations();
-        int total = 0;
+        locationLock.readLock().lock();
+        try {
+            CustomList<Location> locations = getAllLocations();
+            int total = 0;
 
-        for (int i = 0; i < locations.size(); i++) {
-            total += locations.get(i).getPopulation();
-        }
+            for (int i = 0; i < locations.size(); i++) {
+                total += locations.get(i).getPopulation();
+            }
 
-        return total;
+            return total;
+        } finally {
+            locationLock.readLock().unlock();
+        }
     }
 
     /**
      * Obtener cantidad total de recursos disponibles
      */
     public int getTotalResourceQuantity() {
-        CustomList<Resource> allResources = getAllResources();
-        int total = 0;
+        resourceLock.readLock().lock();
+        try {
+            CustomList<Resource> allResources = getAllResources();
+            int total = 0;
 
-        for (int i = 0; i < allResources.size(); i++) {
-            total += allResources.get(i).getQuantity();
-        }
+            for (int i = 0; i < allResources.size(); i++) {
+                total += allResources.get(i).getQuantity();
+            }
 
-        return total;
+            return total;
+        } finally {
+            resourceLock.readLock().unlock();
+        }
     }
 
     /**
      * Obtener número de equipos desplegados
      */
     public int getDeployedTeamsCount() {
-        CustomList<RescueTeam> all = getAllRescueTeams();
-        int count = 0;
+        teamLock.readLock().lock();
+        teamStripes.lockAll();
+        try {
+            CustomList<RescueTeam> all = getAllRescueTeams();
+            int count = 0;
 
-        for (int i = 0; i < all.size(); i++) {
-            if (all.get(i).isDeployed()) {
-                count++;
+            for (int i = 0; i < all.size(); i++) {
+                if (all.get(i).isDeployed()) {
+                    count++;
+                }
             }
-        }
 
-        return count;
+            return count;
+        } finally {
+            teamStripes.unlockAll();
+            teamLock.readLock().unlock();
+        }
     }
 
     /**
      * Obtener número total de rutas en el sistema
      */
     public int getTotalRoutes() {
-        return locationGraph.getEdgeCount();
+        locationLock.readLock().lock();
+        try {
+            return locationGraph.getEdgeCount();
+        } finally {
+            locationLock.readLock().unlock();
+        }
+    }
+
+    // ==================== INSTANTÁNEAS ====================
+
+    /**
+     * Obtener una instantánea consistente del estado del sistema
+     * Dentro de beginConsistentRead() solo se copia el estado (nunca se observa una
+     * modificación a medias); el orden de prioridad y los agregados se calculan sobre
+     * la copia después de liberar los cerrojos. Mientras el estado no cambie se devuelve
+     * la misma instantánea sin tomar ningún cerrojo
+     * Complejidad: O(1) si no hubo cambios; O(n + r + t) con los cerrojos tomados
+     * más O(n log n) sin cerrojos al capturar
+     *
+     * @return Instantánea inmutable del estado actual
+     */
+    public SystemSnapshot getSnapshot() {
+        SystemSnapshot current = snapshot.get();
+        if (current != null && current.getVersion() == version.get()) {
+            return current;
+        }
+
+        SystemSnapshot.Capture raw;
+        beginConsistentRead();
+        try {
+            current = snapshot.get();
+            long stable = version.get();
+            if (current != null && current.getVersion() == stable) {
+                return current;
+            }
+            raw = SystemSnapshot.capture(stable, locationGraph, distributionTree,
+                    resources.values(), rescueTeams.values());
+        } finally {
+            endConsistentRead();
+        }
+
+        current = new SystemSnapshot(raw);
+        // Otro hilo pudo publicar una instantánea más reciente mientras se ordenaba esta
+        SystemSnapshot published = snapshot.get();
+        while ((published == null || published.getVersion() < current.getVersion())
+                && !snapshot.compareAndSet(published, current)) {
+            published = snapshot.get();
+        }
+        return current;
+    }
+
+    /**
+     * Versión actual del estado (aumenta con cada modificación)
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Bloquear todas las modificaciones para leer las estructuras internas de forma consistente
+     * Toma los cerrojos de lectura de las tres colecciones y todos los cerrojos por entidad;
+     * las demás lecturas siguen ejecutándose. Debe cerrarse con endConsistentRead() en un finally
+     * Complejidad: O(s) donde s es el número de franjas
+     */
+    public void beginConsistentRead() {
+        locationLock.readLock().lock();
+        resourceLock.readLock().lock();
+        teamLock.readLock().lock();
+        locationStripes.lockAll();
+        teamStripes.lockAll();
+    }
+
+    /**
+     * Liberar los cerrojos tomados por beginConsistentRead()
+     */
+    public void endConsistentRead() {
+        teamStripes.unlockAll();
+        locationStripes.unlockAll();
+        teamLock.readLock().unlock();
+        resourceLock.readLock().unlock();
+        locationLock.readLock().unlock();
+    }
+
+    /**
+     * Registrar que el estado cambió; las instantáneas anteriores quedan obsoletas
+     * Debe llamarse después de que la modificación sea visible: con el cerrojo que la
+     * protege todavía tomado o, para los cambios sin cerrojo del inventario, justo después
+     * del compare-and-set (InventoryLedger). getSnapshot() lee la versión antes de copiar,
+     * así que una instantánea nunca queda marcada con una versión que no refleje un cambio
+     */
+    private void markModified() {
+        version.incrementAndGet();
     }
 
     // ==================== USUARIO ACTUAL ====================
@@ -726,7 +2056,7 @@ public class DisasterManager {
     public void setCurrentUser(User user) {
         this.currentUser = user;
         if (user != null) {
-            logOperation("Usuario conectado: " + user.getFullName());
+            operationLog.record(OperationLog.OperationType.USER_CONNECTED, user.getUsername());
         }
     }
 
@@ -743,6 +2073,8 @@ public class DisasterManager {
 
     /**
      * Obtener el grafo de ubicaciones
+     * El grafo no es seguro para hilos: si puede haber modificaciones concurrentes,
+     * usarlo entre beginConsistentRead() y endConsistentRead()
      */
     public Graph getGraph() {
         return locationGraph;
@@ -750,46 +2082,44 @@ public class DisasterManager {
 
     /**
      * Obtener el árbol de distribución
+     * Mismas condiciones de uso que getGraph()
      */
     public DistributionTree getDistributionTree() {
         return distributionTree;
     }
 
-    // ==================== REGISTRO DE OPERACIONES ====================
+    // ==================== PERSISTENCIA ====================
 
     /**
-     * Registrar una operación en el log
+     * Adjuntar (o quitar, con null) el diario de eventos
+     * Con un diario adjunto, cada operación que modifica el estado queda registrada
      */
-    private void logOperation(String operation) {
-        String timestamp = java.time.LocalDateTime.now().toString();
-        String logEntry = "[" + timestamp + "] " + operation;
-        operationLog.add(logEntry);
+    public void setJournal(EventJournal journal) {
+        this.journal = journal;
+    }
 
-        // Mantener solo las últimas 1000 operaciones
-        if (operationLog.size() > 1000) {
-            operationLog.remove(0);
-        }
+    /**
+     * Obtener el diario de eventos adjunto, o null si no hay
+     */
+    public EventJournal getJournal() {
+        return journal;
     }
 
+    // ==================== REGISTRO DE OPERACIONES ====================
+
     /**
-     * Obtener el registro de operaciones
+     * Obtener el registro de operaciones retenidas
      */
     public CustomList<String> getOperationLog() {
-        return operationLog;
+        return operationLog.getAll();
     }
 
     /**
      * Obtener las últimas N operaciones
+     * Solo se formatean las operaciones solicitadas
      */
     public CustomList<String> getRecentOperations(int count) {
-        CustomList<String> recent = new CustomList<>();
-        int start = Math.max(0, operationLog.size() - count);
-
-        for (int i = start; i < operationLog.size(); i++) {
-            recent.add(operationLog.get(i));
-        }
-
-        return recent;
+        return operationLog.getRecent(count);
     }
 
     /**
@@ -797,6 +2127,27 @@ public class DisasterManager {
      */
     public void clearOperationLog() {
         operationLog.clear();
-        logOperation("Log de operaciones limpiado");
+        operationLog.record(OperationLog.OperationType.LOG_CLEARED);
+    }
+
+    /**
+     * Iniciar el volcado asíncrono del log a un archivo
+     * Si ya había un volcado activo, se cierra antes de iniciar el nuevo
+     *
+     * @param filePath Archivo destino
+     */
+    public void startOperationLogSink(String filePath) throws java.io.IOException {
+        stopOperationLogSink();
+        operationLogSink = new OperationLogSink(operationLog, filePath);
+    }
+
+    /**
+     * Detener el volcado asíncrono del log (vuelca lo pendiente)
+     */
+    public void stopOperationLogSink() {
+        if (operationLogSink != null) {
+            operationLogSink.close();
+            operationLogSink = null;
+        }
     }
 }
@@ -0,0 +1,600 @@
+package co.edu.uniquindio.services;
+
+import co.edu.uniquindio.models.Location;
+import co.edu.uniquindio.models.RescueTeam;
+import co.edu.uniquindio.models.Resource;
+import co.edu.uniquindio.structures.TravelTimeFunction;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Diario de eventos de solo escritura al final (write-ahead log)
+ * Registra cada operación que modifica el estado de DisasterManager en un formato binario
+ * compacto, escrito secuencialmente con un FileChannel
+ *
+ * Formato de cada registro:
+ *   [int longitud][int crc32][long secuencia][byte tipo][datos del evento]
+ * La longitud y el CRC cubren secuencia, tipo y datos; un registro incompleto al final
+ * del archivo (por una caída) se detecta y se descarta al reproducir
+ *
+ * Las escrituras se agrupan en memoria y un hilo en segundo plano las lleva a disco
+ * con un único fsync por grupo (group commit)
+ */
+public class EventJournal implements AutoCloseable {
+    private static final int HEADER_BYTES = 8;
+    private static final int FLUSH_THRESHOLD = 256 * 1024;
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 50;
+
+    // Tipos de evento
+    static final byte ADD_LOCATION = 1;
+    static final byte REMOVE_LOCATION = 2;
+    static final byte ADD_ROUTE = 3;
+    static final byte REMOVE_ROUTE = 4;
+    static final byte ADD_RESOURCE = 5;
+    static final byte REMOVE_RESOURCE = 6;
+    static final byte DISTRIBUTE_RESOURCE = 7;
+    static final byte ADD_TEAM = 8;
+    static final byte REMOVE_TEAM = 9;
+    static final byte ASSIGN_TEAM = 10;
+    static final byte UNASSIGN_TEAM = 11;
+    static final byte SET_ROUTE_CAPACITY = 12;
+    static final byte SET_LOCATION_COORDINATES = 13;
+    static final byte SET_ROUTE_TRAVEL_TIME = 14;
+
+    private final Path file;
+    private FileChannel channel; // Se reemplaza al descartar eventos ya incluidos en una instantánea
+    private final RecordBuffer pending;
+    private final RecordBuffer record;
+    private final DataOutputStream recordOut;
+    private final CRC32 crc;
+    private final long syncIntervalMillis;
+    private final Thread flusher;
+    private volatile boolean running;
+    private long nextSequence;
+    private long eventsSinceTruncate;
+    private Listener listener;
+    private volatile IOException lastError;
+
+    /**
+     * Observador que se notifica después de cada evento agregado
+     * Se ejecuta en el mismo hilo que realizó la operación
+     */
+    public interface Listener {
+        void onAppend(long sequence, long eventsSinceTruncate);
+    }
+
+    /**
+     * Posición del diario al tomar una instantánea: último evento incluido y bytes que ocupa
+     */
+    public static final class Position {
+        private final long sequence;
+        private final long offset;
+
+        Position(long sequence, long offset) {
+            this.sequence = sequence;
+            this.offset = offset;
+        }
+
+        /**
+         * Secuencia del último evento registrado (-1 si no hay ninguno)
+         */
+        public long getSequence() {
+            return sequence;
+        }
+    }
+
+    /**
+     * Buffer de bytes que expone su arreglo interno para evitar copias
+     */
+    private static class RecordBuffer extends ByteArrayOutputStream {
+        RecordBuffer(int size) {
+            super(size);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+
+    /**
+     * Abrir (o crear) un diario para agregar eventos al final
+     *
+     * @param file Archivo del diario
+     * @param nextSequence Secuencia del próximo evento
+     * @param syncIntervalMillis Intervalo del fsync agrupado (0 = fsync en cada evento)
+     */
+    public EventJournal(Path file, long nextSequence, long syncIntervalMillis) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.pending = new RecordBuffer(64 * 1024);
+        this.record = new RecordBuffer(512);
+        this.recordOut = new DataOutputStream(record);
+        this.crc = new CRC32();
+        this.syncIntervalMillis = Math.max(0, syncIntervalMillis);
+        this.nextSequence = nextSequence;
+        this.eventsSinceTruncate = 0;
+        this.running = true;
+
+        if (this.syncIntervalMillis > 0) {
+            this.flusher = new Thread(this::runFlusher, "event-journal-sync");
+            this.flusher.setDaemon(true);
+            this.flusher.start();
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * Establecer el observador de eventos agregados
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // ==================== EVENTOS ====================
+
+    /**
+     * Registrar una ubicación agregada
+     */
+    public void recordAddLocation(Location location) {
+        append(ADD_LOCATION, out -> StateCodec.writeLocation(out, location));
+    }
+
+    /**
+     * Registrar el cambio de coordenadas de una ubicación
+     */
+    public void recordSetLocationCoordinates(String locationId, double latitude, double longitude) {
+        append(SET_LOCATION_COORDINATES, out -> {
+            out.writeUTF(locationId);
+            out.writeDouble(latitude);
+            out.writeDouble(longitude);
+        });
+    }
+
+    /**
+     * Registrar una ubicación removida
+     */
+    public void recordRemoveLocation(String locationId) {
+        append(REMOVE_LOCATION, out -> out.writeUTF(locationId));
+    }
+
+    /**
+     * Registrar una ruta agregada
+     */
+    public void recordAddRoute(String fromId, String toId, double distance) {
+        append(ADD_ROUTE, out -> {
+            out.writeUTF(fromId);
+            out.writeUTF(toId);
+            out.writeDouble(distance);
+        });
+    }
+
+    /**
+     * Registrar una ruta removida
+     */
+    public void recordRemoveRoute(String fromId, String toId) {
+        append(REMOVE_ROUTE, out -> {
+            out.writeUTF(fromId);
+            out.writeUTF(toId);
+        });
+    }
+
+    /**
+     * Registrar la capacidad asignada a una ruta
+     */
+    public void recordSetRouteCapacity(String fromId, String toId, double capacity) {
+        append(SET_ROUTE_CAPACITY, out -> {
+            out.writeUTF(fromId);
+            out.writeUTF(toId);
+            out.writeDouble(capacity);
+        });
+    }
+
+    /**
+     * Registrar la función de tiempo de recorrido de una ruta (null si se quitó)
+     */
+    public void recordSetRouteTravelTime(String fromId, String toId, TravelTimeFunction travelTime) {
+        append(SET_ROUTE_TRAVEL_TIME, out -> {
+            out.writeUTF(fromId);
+            out.writeUTF(toId);
+            StateCodec.writeTravelTime(out, travelTime);
+        });
+    }
+
+    /**
+     * Registrar un recurso agregado al inventario
+     */
+    public void recordAddResource(Resource resource) {
+        append(ADD_RESOURCE, out -> StateCodec.writeResource(out, resource));
+    }
+
+    /**
+     * Registrar un recurso removido del inventario
+     */
+    public void recordRemoveResource(String resourceId) {
+        append(REMOVE_RESOURCE, out -> out.writeUTF(resourceId));
+    }
+
+    /**
+     * Registrar una distribución de recurso a una ubicación
+     */
+    public void recordDistributeResource(String resourceId, String locationId, int quantity) {
+        append(DISTRIBUTE_RESOURCE, out -> {
+            out.writeUTF(resourceId);
+            out.writeUTF(locationId);
+            out.writeInt(quantity);
+        });
+    }
+
+    /**
+     * Registrar un equipo agregado (con su estado operativo)
+     */
+    public void recordAddTeam(RescueTeam team) {
+        append(ADD_TEAM, out -> StateCodec.writeTeam(out, team));
+    }
+
+    /**
+     * Registrar un equipo removido
+     */
+    public void recordRemoveTeam(String teamId) {
+        append(REMOVE_TEAM, out -> out.writeUTF(teamId));
+    }
+
+    /**
+     * Registrar la asignación de un equipo a una ubicación
+     */
+    public void recordAssignTeam(String teamId, String locationId) {
+        append(ASSIGN_TEAM, out -> {
+            out.writeUTF(teamId);
+            out.writeUTF(locationId);
+        });
+    }
+
+    /**
+     * Registrar la desasignación de un equipo
+     */
+    public void recordUnassignTeam(String teamId) {
+        append(UNASSIGN_TEAM, out -> out.writeUTF(teamId));
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Escritor de los datos de un evento
+     */
+    private interface EventWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Agregar un evento al grupo pendiente
+     * El registro completo (cabecera, secuencia, tipo y datos) se arma bajo el monitor
+     *
+     * @param type Tipo de evento
+     * @param writer Escritor de los datos del evento
+     */
+    private void append(byte type, EventWriter writer) {
+        long sequence;
+        long count;
+
+        synchronized (this) {
+            record.reset();
+            try {
+                recordOut.writeLong(nextSequence);
+                recordOut.writeByte(type);
+                writer.write(recordOut);
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+
+            int length = record.size();
+            crc.reset();
+            crc.update(record.array(), 0, length);
+
+            writeInt(pending, length);
+            writeInt(pending, (int) crc.getValue());
+            pending.write(record.array(), 0, length);
+
+            sequence = nextSequence++;
+            count = ++eventsSinceTruncate;
+
+            try {
+                if (syncIntervalMillis == 0) {
+                    flushPending();
+                    channel.force(false);
+                } else if (pending.size() >= FLUSH_THRESHOLD) {
+                    flushPending();
+                }
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+
+        Listener current = listener;
+        if (current != null) {
+            current.onAppend(sequence, count);
+        }
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    /**
+     * Escribir al canal los registros pendientes
+     * Se llama con el monitor tomado
+     */
+    private void flushPending() throws IOException {
+        if (pending.size() == 0) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(pending.array(), 0, pending.size());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        pending.reset();
+    }
+
+    /**
+     * Llevar a disco todo lo registrado hasta ahora
+     * El fsync se hace fuera del monitor para no bloquear a los escritores
+     */
+    public void sync() throws IOException {
+        FileChannel current;
+        synchronized (this) {
+            flushPending();
+            current = channel;
+        }
+        try {
+            current.force(false);
+        } catch (ClosedChannelException e) {
+            // discardThrough() reemplazó el archivo y ya llevó a disco todo lo escrito
+        }
+    }
+
+    /**
+     * Bucle del hilo de fsync agrupado
+     */
+    private void runFlusher() {
+        while (running) {
+            try {
+                Thread.sleep(syncIntervalMillis);
+            } catch (InterruptedException e) {
+                // Se interrumpe al cerrar
+            }
+
+            try {
+                sync();
+            } catch (IOException e) {
+                fail(e);
+            }
+        }
+    }
+
+    private void fail(IOException e) {
+        lastError = e;
+        e.printStackTrace();
+    }
+
+    /**
+     * Posición actual del diario, para marcar hasta dónde llega una instantánea
+     * Debe tomarse mientras ninguna operación del gestor puede agregar eventos
+     */
+    public synchronized Position position() throws IOException {
+        flushPending();
+        return new Position(nextSequence - 1, channel.size());
+    }
+
+    /**
+     * Descartar los eventos hasta una posición, ya incluidos en una instantánea escrita
+     * Los eventos agregados después de la posición se copian a un archivo nuevo que se
+     * sincroniza y reemplaza al diario con un renombrado atómico, así una caída deja el
+     * diario anterior o el nuevo completo. La numeración de secuencias continúa
+     */
+    public synchronized void discardThrough(Position position) throws IOException {
+        flushPending();
+        long size = channel.size();
+        if (position.offset >= size) {
+            channel.truncate(0);
+            channel.force(true);
+        } else {
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+                 FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE,
+                         StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                long copied = 0;
+                while (copied < size - position.offset) {
+                    copied += source.transferTo(position.offset + copied, size - position.offset - copied, target);
+                }
+                target.force(true);
+            }
+            channel.close();
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        eventsSinceTruncate = nextSequence - 1 - position.sequence;
+    }
+
+    /**
+     * Secuencia del último evento registrado (-1 si no hay ninguno)
+     */
+    public synchronized long getLastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Último error de escritura, o null si no ha habido errores
+     */
+    public IOException getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Detener el hilo de fsync, llevar a disco lo pendiente y cerrar el archivo
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        sync();
+        synchronized (this) {
+            channel.close();
+        }
+    }
+
+    // ==================== REPRODUCCIÓN ====================
+
+    /**
+     * Reproducir sobre el gestor los eventos con secuencia mayor a la indicada
+     * Si el final del archivo está incompleto o corrupto se trunca en el último registro válido
+     *
+     * @param file Archivo del diario
+     * @param afterSequence Eventos con secuencia menor o igual ya están en la instantánea
+     * @param manager Gestor sobre el que se aplican los eventos (sin diario adjunto)
+     * @return Secuencia del último evento leído, o afterSequence si no hay eventos
+     */
+    public static long replay(Path file, long afterSequence, DisasterManager manager) throws IOException {
+        if (!Files.exists(file)) {
+            return afterSequence;
+        }
+
+        long lastSequence = afterSequence;
+        long validBytes = 0;
+        CRC32 crc = new CRC32();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             DataInputStream in = new DataInputStream(
+                     new BufferedInputStream(Channels.newInputStream(channel), 256 * 1024))) {
+
+            long fileSize = channel.size();
+            byte[] payload = new byte[512];
+            while (true) {
+                int length;
+                int expectedCrc;
+                try {
+                    length = in.readInt();
+                    expectedCrc = in.readInt();
+                    // Una longitud negativa o mayor que lo que queda del archivo es una cola
+                    // rota: no se reserva memoria para ella
+                    if (length < 9 || length > fileSize - validBytes - HEADER_BYTES) {
+                        break;
+                    }
+                    if (payload.length < length) {
+                        payload = new byte[Math.max(length, payload.length * 2)];
+                    }
+                    in.readFully(payload, 0, length);
+                } catch (EOFException e) {
+                    break;
+                }
+
+                crc.reset();
+                crc.update(payload, 0, length);
+                if ((int) crc.getValue() != expectedCrc) {
+                    break;
+                }
+
+                DataInputStream event = new DataInputStream(new ByteArrayInputStream(payload, 0, length));
+                long sequence = event.readLong();
+                byte type = event.readByte();
+
+                // Solo se aplican eventos nuevos: los de la instantánea y los repetidos se omiten
+                if (sequence > lastSequence) {
+                    apply(type, event, manager);
+                    lastSequence = sequence;
+                }
+                validBytes += HEADER_BYTES + length;
+            }
+        }
+
+        // Descartar la cola incompleta para que los nuevos eventos queden bien alineados
+        if (validBytes < Files.size(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(validBytes);
+                channel.force(true);
+            }
+        }
+
+        return lastSequence;
+    }
+
+    /**
+     * Aplicar un evento sobre el gestor
+     */
+    private static void apply(byte type, DataInputStream in, DisasterManager manager) throws IOException {
+        switch (type) {
+            case ADD_LOCATION:
+                manager.addLocation(StateCodec.readLocation(in));
+                break;
+            case REMOVE_LOCATION:
+                manager.removeLocation(in.readUTF());
+                break;
+            case ADD_ROUTE:
+                manager.addRoute(in.readUTF(), in.readUTF(), in.readDouble());
+                break;
+            case REMOVE_ROUTE:
+                manager.removeRoute(in.readUTF(), in.readUTF());
+                break;
+            case ADD_RESOURCE:
+                manager.addResource(StateCodec.readResource(in));
+                break;
+            case REMOVE_RESOURCE:
+                manager.removeResource(in.readUTF());
+                break;
+            case DISTRIBUTE_RESOURCE:
+                manager.distributeResource(in.readUTF(), in.readUTF(), in.readInt());
+                break;
+            case ADD_TEAM:
+                manager.addRescueTeam(StateCodec.readTeam(in));
+                break;
+            case REMOVE_TEAM:
+                manager.removeRescueTeam(in.readUTF());
+                break;
+            case ASSIGN_TEAM:
+                manager.assignTeamToLocation(in.readUTF(), in.readUTF());
+                break;
+            case UNASSIGN_TEAM:
+                manager.unassignTeam(in.readUTF());
+                break;
+            case SET_ROUTE_CAPACITY:
+                manager.setRouteCapacity(in.readUTF(), in.readUTF(), in.readDouble());
+                break;
+            case SET_LOCATION_COORDINATES:
+                manager.updateLocationCoordinates(in.readUTF(), in.readDouble(), in.readDouble());
+                break;
+            case SET_ROUTE_TRAVEL_TIME:
+                manager.setRouteTravelTime(in.readUTF(), in.readUTF(), StateCodec.readTravelTime(in));
+                break;
+            default:
+                throw new IOException("Unknown journal event type: " + type);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package co.edu.uniquindio.services;
+
+import co.edu.uniquindio.models.Resource;
+import co.edu.uniquindio.structures.ConcurrentCustomMap;
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.CustomMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Libro de reservas del inventario
+ *
+ * Permite apartar cantidad de un recurso antes de decidir su destino: reserve() la pasa
+ * de disponible a reservada, DisasterManager.distributeReservation() la confirma al
+ * entregarla a una ubicación y release() la devuelve al inventario. Cada paso es un
+ * compare-and-set sobre el contador del recurso, así que no toma cerrojos y dos
+ * reservas del mismo recurso nunca pueden apartar más de lo que hay.
+ *
+ * Las reservas viven solo en memoria: al persistir se guarda la existencia física
+ * (disponible más reservada), por lo que una reserva pendiente se deshace al recuperar.
+ */
+public class InventoryLedger {
+    private final ConcurrentCustomMap<String, Resource> resources;
+    private final Runnable onChange;
+    private final AtomicLong nextId;
+
+    /**
+     * Reserva de una cantidad de un recurso
+     * Solo puede pasar una vez de pendiente a confirmada, liberada o inválida. Queda
+     * inválida si al confirmarla o liberarla el recurso ya no es el mismo objeto que se
+     * reservó (se quitó, o se quitó y se volvió a agregar con el mismo ID) o ya no tiene
+     * esa cantidad reservada; en ese caso no se mueve ninguna cantidad
+     */
+    public static final class Reservation {
+        private static final int PENDING = 0;
+        private static final int COMMITTED = 1;
+        private static final int RELEASED = 2;
+        private static final int INVALID = 3;
+
+        private final long id;
+        private final String resourceId;
+        private final Resource resource;
+        private final int amount;
+        private final AtomicInteger state;
+
+        private Reservation(long id, Resource resource, int amount) {
+            this.id = id;
+            this.resourceId = resource.getId();
+            this.resource = resource;
+            this.amount = amount;
+            this.state = new AtomicInteger(PENDING);
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getResourceId() {
+            return resourceId;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public boolean isPending() {
+            return state.get() == PENDING;
+        }
+
+        public boolean isCommitted() {
+            return state.get() == COMMITTED;
+        }
+
+        public boolean isReleased() {
+            return state.get() == RELEASED;
+        }
+
+        public boolean isInvalid() {
+            return state.get() == INVALID;
+        }
+
+        @Override
+        public String toString() {
+            String status = isPending() ? "PENDIENTE" : isCommitted() ? "CONFIRMADA"
+                    : isReleased() ? "LIBERADA" : "INVÁLIDA";
+            return "Reserva #" + id + ": " + amount + " de " + resourceId + " [" + status + "]";
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param resources Inventario del gestor
+     * @param onChange Acción a ejecutar cuando cambia la cantidad disponible; se ejecuta sin
+     *                 cerrojos, después del compare-and-set que hizo visible el cambio
+     */
+    InventoryLedger(ConcurrentCustomMap<String, Resource> resources, Runnable onChange) {
+        this.resources = resources;
+        this.onChange = onChange;
+        this.nextId = new AtomicLong(0);
+    }
+
+    // ==================== RESERVAS ====================
+
+    /**
+     * Reservar cantidad de un recurso
+     * Complejidad: O(1) promedio
+     *
+     * @param resourceId ID del recurso
+     * @param amount Cantidad a reservar
+     * @return Reserva pendiente, o null si el recurso no existe o no hay suficiente
+     */
+    public Reservation reserve(String resourceId, int amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Reservation amount must be positive");
+        }
+
+        Resource resource = resources.get(resourceId);
+        if (resource == null || !resource.reserve(amount)) {
+            return null;
+        }
+
+        onChange.run();
+        return new Reservation(nextId.incrementAndGet(), resource, amount);
+    }
+
+    /**
+     * Reservar varios recursos a la vez: o se reservan todos o ninguno
+     * Si alguno no alcanza, las reservas ya hechas se liberan antes de volver
+     * Complejidad: O(k) donde k es el número de recursos pedidos
+     *
+     * @param amounts Cantidad pedida por ID de recurso
+     * @return Reservas pendientes, o null si alguna no pudo hacerse
+     */
+    public CustomList<Reservation> reserveAll(CustomMap<String, Integer> amounts) {
+        CustomList<Reservation> reserved = new CustomList<>();
+        CustomList<String> ids = amounts.keys();
+
+        for (int i = 0; i < ids.size(); i++) {
+            String resourceId = ids.get(i);
+            Integer amount = amounts.get(resourceId);
+            Reservation reservation = amount != null && amount > 0 ? reserve(resourceId, amount) : null;
+
+            if (reservation == null) {
+                for (int j = reserved.size() - 1; j >= 0; j--) {
+                    release(reserved.get(j));
+                }
+                return null;
+            }
+            reserved.add(reservation);
+        }
+
+        return reserved;
+    }
+
+    /**
+     * Liberar una reserva pendiente; la cantidad vuelve a estar disponible
+     * Si el recurso reservado ya no está en el inventario la reserva queda inválida
+     * Complejidad: O(1) promedio
+     *
+     * @return true si la reserva estaba pendiente y la cantidad volvió al inventario
+     */
+    public boolean release(Reservation reservation) {
+        if (reservation == null
+                || !reservation.state.compareAndSet(Reservation.PENDING, Reservation.RELEASED)) {
+            return false;
+        }
+
+        if (resources.get(reservation.resourceId) != reservation.resource
+                || !reservation.resource.releaseReserved(reservation.amount)) {
+            reservation.state.set(Reservation.INVALID);
+            return false;
+        }
+        onChange.run();
+        return true;
+    }
+
+    /**
+     * Liberar todas las reservas pendientes de una lista
+     * Complejidad: O(k)
+     *
+     * @return Número de reservas liberadas
+     */
+    public int releaseAll(CustomList<Reservation> reservations) {
+        int released = 0;
+        for (int i = 0; i < reservations.size(); i++) {
+            if (release(reservations.get(i))) {
+                released++;
+            }
+        }
+        return released;
+    }
+
+    /**
+     * Confirmar una reserva: la cantidad sale definitivamente del inventario
+     * Lo usa DisasterManager al distribuirla, con el cerrojo de la ubicación tomado.
+     * Si el recurso del inventario ya no es el que se reservó, o no conserva la cantidad
+     * reservada, la reserva queda inválida y no se confirma nada
+     *
+     * @return Recurso de la reserva, o null si ya no estaba pendiente o no pudo confirmarse
+     */
+    Resource commit(Reservation reservation) {
+        if (reservation == null
+                || !reservation.state.compareAndSet(Reservation.PENDING, Reservation.COMMITTED)) {
+            return null;
+        }
+
+        if (resources.get(reservation.resourceId) != reservation.resource
+                || !reservation.resource.commitReserved(reservation.amount)) {
+            reservation.state.set(Reservation.INVALID);
+            return null;
+        }
+        return reservation.resource;
+    }
+}
@@ -0,0 +1,349 @@
+package co.edu.uniquindio.services;
+
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.CustomMap;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lector de JSON en streaming (pull parser)
+ * Recorre el documento token a token sin construir el árbol completo, de modo que un
+ * FeatureCollection de cientos de miles de elementos se procesa con memoria constante
+ *
+ * Para valores pequeños (por ejemplo las propiedades de un Feature) readValue()
+ * materializa el valor con las estructuras propias del proyecto
+ */
+final class JsonStreamReader implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Contextos de anidamiento
+    private static final int IN_ARRAY = 0;
+    private static final int IN_OBJECT_NAME = 1;
+    private static final int IN_OBJECT_VALUE = 2;
+
+    /**
+     * Tipos de token que puede devolver peek()
+     */
+    enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY,
+        NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private final Reader reader;
+    private final char[] buffer;
+    private final StringBuilder text;
+    private int position;
+    private int limit;
+    private int[] stack;
+    private int depth;
+
+    /**
+     * Constructor
+     *
+     * @param reader Origen del documento
+     */
+    JsonStreamReader(Reader reader) {
+        this.reader = reader;
+        this.buffer = new char[BUFFER_SIZE];
+        this.text = new StringBuilder(64);
+        this.position = 0;
+        this.limit = 0;
+        this.stack = new int[32];
+        this.depth = 0;
+    }
+
+    // ==================== NAVEGACIÓN ====================
+
+    /**
+     * Tipo del siguiente token sin consumirlo
+     * Las comas y los dos puntos se tratan como separadores
+     */
+    Token peek() throws IOException {
+        int c = skipSeparators();
+        switch (c) {
+            case -1: return Token.END_DOCUMENT;
+            case '{': return Token.BEGIN_OBJECT;
+            case '}': return Token.END_OBJECT;
+            case '[': return Token.BEGIN_ARRAY;
+            case ']': return Token.END_ARRAY;
+            case '"': return depth > 0 && stack[depth - 1] == IN_OBJECT_NAME ? Token.NAME : Token.STRING;
+            case 't':
+            case 'f': return Token.BOOLEAN;
+            case 'n': return Token.NULL;
+            default: return Token.NUMBER;
+        }
+    }
+
+    /**
+     * Verificar si el objeto o arreglo actual tiene más elementos
+     */
+    boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    void beginObject() throws IOException {
+        expect('{');
+        push(IN_OBJECT_NAME);
+    }
+
+    void endObject() throws IOException {
+        expect('}');
+        depth--;
+        valueConsumed();
+    }
+
+    void beginArray() throws IOException {
+        expect('[');
+        push(IN_ARRAY);
+    }
+
+    void endArray() throws IOException {
+        expect(']');
+        depth--;
+        valueConsumed();
+    }
+
+    /**
+     * Leer el nombre de la siguiente propiedad del objeto actual
+     */
+    String nextName() throws IOException {
+        if (peek() != Token.NAME) {
+            throw new IOException("Expected property name at offset " + position);
+        }
+        String name = readString();
+        stack[depth - 1] = IN_OBJECT_VALUE;
+        return name;
+    }
+
+    String nextString() throws IOException {
+        Token token = peek();
+        String value;
+        if (token == Token.STRING) {
+            value = readString();
+        } else if (token == Token.NUMBER) {
+            value = readLiteral();
+        } else {
+            throw new IOException("Expected string but found " + token);
+        }
+        valueConsumed();
+        return value;
+    }
+
+    double nextDouble() throws IOException {
+        Token token = peek();
+        String literal;
+        if (token == Token.NUMBER) {
+            literal = readLiteral();
+        } else if (token == Token.STRING) {
+            literal = readString();
+        } else {
+            throw new IOException("Expected number but found " + token);
+        }
+        valueConsumed();
+        try {
+            return Double.parseDouble(literal);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid number: " + literal);
+        }
+    }
+
+    boolean nextBoolean() throws IOException {
+        if (peek() != Token.BOOLEAN) {
+            throw new IOException("Expected boolean");
+        }
+        String literal = readLiteral();
+        valueConsumed();
+        if (literal.equals("true")) {
+            return true;
+        }
+        if (literal.equals("false")) {
+            return false;
+        }
+        throw new IOException("Invalid literal: " + literal);
+    }
+
+    void nextNull() throws IOException {
+        if (peek() != Token.NULL || !readLiteral().equals("null")) {
+            throw new IOException("Expected null");
+        }
+        valueConsumed();
+    }
+
+    /**
+     * Saltar el siguiente valor completo (incluyendo objetos y arreglos anidados)
+     */
+    void skipValue() throws IOException {
+        readValue();
+    }
+
+    /**
+     * Materializar el siguiente valor
+     * Objetos -> CustomMap, arreglos -> CustomList, números -> Double,
+     * cadenas -> String, booleanos -> Boolean, null -> null
+     */
+    Object readValue() throws IOException {
+        switch (peek()) {
+            case BEGIN_OBJECT: {
+                CustomMap<String, Object> map = new CustomMap<>();
+                beginObject();
+                while (hasNext()) {
+                    String name = nextName();
+                    map.put(name, readValue());
+                }
+                endObject();
+                return map;
+            }
+            case BEGIN_ARRAY: {
+                CustomList<Object> list = new CustomList<>();
+                beginArray();
+                while (hasNext()) {
+                    list.add(readValue());
+                }
+                endArray();
+                return list;
+            }
+            case STRING: return nextString();
+            case NUMBER: return nextDouble();
+            case BOOLEAN: return nextBoolean();
+            case NULL: nextNull(); return null;
+            default: throw new IOException("Unexpected token " + peek());
+        }
+    }
+
+    // ==================== LECTURA DE BAJO NIVEL ====================
+
+    private void push(int context) {
+        if (depth == stack.length) {
+            int[] larger = new int[stack.length * 2];
+            System.arraycopy(stack, 0, larger, 0, depth);
+            stack = larger;
+        }
+        stack[depth++] = context;
+    }
+
+    /**
+     * Tras consumir un valor dentro de un objeto, lo siguiente es otro nombre
+     */
+    private void valueConsumed() {
+        if (depth > 0 && stack[depth - 1] == IN_OBJECT_VALUE) {
+            stack[depth - 1] = IN_OBJECT_NAME;
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = skipSeparators();
+        if (c != expected) {
+            throw new IOException("Expected '" + expected + "' at offset " + position);
+        }
+        position++;
+    }
+
+    /**
+     * Avanzar sobre espacios, comas y dos puntos
+     *
+     * @return Siguiente carácter significativo sin consumirlo, o -1 al final
+     */
+    private int skipSeparators() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[position];
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == ',' || c == ':') {
+                position++;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Leer una cadena entre comillas, resolviendo las secuencias de escape
+     */
+    private String readString() throws IOException {
+        position++; // Comilla inicial
+        text.setLength(0);
+
+        while (true) {
+            if (position == limit && !fill()) {
+                throw new IOException("Unterminated string");
+            }
+            char c = buffer[position++];
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c != '\\') {
+                text.append(c);
+                continue;
+            }
+
+            char escaped = nextChar();
+            switch (escaped) {
+                case 'n': text.append('\n'); break;
+                case 't': text.append('\t'); break;
+                case 'r': text.append('\r'); break;
+                case 'b': text.append('\b'); break;
+                case 'f': text.append('\f'); break;
+                case 'u': {
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(nextChar(), 16);
+                        if (digit < 0) {
+                            throw new IOException("Invalid unicode escape");
+                        }
+                        code = (code << 4) | digit;
+                    }
+                    text.append((char) code);
+                    break;
+                }
+                default: text.append(escaped); // \" \\ \/
+            }
+        }
+    }
+
+    /**
+     * Leer un literal sin comillas (número, true, false o null)
+     */
+    private String readLiteral() throws IOException {
+        text.setLength(0);
+
+        while (true) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            char c = buffer[position];
+            if (c == ',' || c == '}' || c == ']' || c == ':' || c == ' '
+                    || c == '\n' || c == '\r' || c == '\t') {
+                break;
+            }
+            text.append(c);
+            position++;
+        }
+
+        return text.toString();
+    }
+
+    private char nextChar() throws IOException {
+        if (position == limit && !fill()) {
+            throw new IOException("Unexpected end of document");
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,326 @@
+package co.edu.uniquindio.services;
+
+import co.edu.uniquindio.structures.CustomList;
+
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Registro de operaciones basado en un buffer circular de capacidad fija
+ * Cada operación se guarda como un registro estructurado (instante, tipo e IDs de las
+ * entidades afectadas) y el texto solo se construye cuando alguien lo lee
+ *
+ * Los escritores reservan su secuencia con un contador atómico, sin bloqueos.
+ * Cada posición tiene un número de secuencia publicado que permite a los lectores
+ * descartar registros que se están escribiendo o que ya fueron sobrescritos (seqlock):
+ * el escritor toma la posición cambiando con CAS la secuencia de la vuelta anterior
+ * (sequence - capacity) por -1, así dos escritores separados por una vuelta completa
+ * nunca mezclan sus campos; el segundo espera a que el primero publique. Una barrera de
+ * liberación impide que los campos se escriban antes de esa marca; el lector copia los
+ * campos y una barrera de adquisición impide que la segunda lectura de la secuencia se
+ * adelante a la copia.
+ */
+public class OperationLog {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // Base para convertir System.nanoTime() en nanosegundos desde la época
+    private static final long EPOCH_NANOS_BASE = System.currentTimeMillis() * 1_000_000L;
+    private static final long NANO_TIME_BASE = System.nanoTime();
+
+    private final int capacity;
+    private final int mask;
+    private final long[] timestamps;
+    private final OperationType[] types;
+    private final Object[] firstArgs;
+    private final Object[] secondArgs;
+    private final Object[] thirdArgs;
+    private final double[] values;
+    private final AtomicLongArray published;
+    private final AtomicLong nextSequence;
+    private volatile long firstVisibleSequence;
+
+    /**
+     * Tipos de operación registrados por el sistema
+     * Cada tipo sabe cómo convertir sus argumentos en el mensaje final
+     */
+    public enum OperationType {
+        SYSTEM_STARTED,
+        LOCATION_ADDED,
+        LOCATION_REMOVED,
+        LOCATION_UPDATED,
+        ROUTE_ADDED,
+        ROUTE_REMOVED,
+        ROUTE_CAPACITY_SET,
+        ROUTE_TRAVEL_TIME_SET,
+        RESOURCE_ADDED,
+        RESOURCE_REMOVED,
+        RESOURCE_DISTRIBUTED,
+        TEAM_ADDED,
+        TEAM_REMOVED,
+        TEAM_ASSIGNED,
+        TEAM_UNASSIGNED,
+        USER_CONNECTED,
+        LOG_CLEARED,
+        BULK_LOADED,
+        MESSAGE;
+
+        /**
+         * Construir el mensaje legible de la operación
+         */
+        String format(Object a, Object b, Object c, double value) {
+            switch (this) {
+                case SYSTEM_STARTED: return "Sistema de Gestión de Desastres iniciado";
+                case LOCATION_ADDED: return "Ubicación agregada: " + a;
+                case LOCATION_REMOVED: return "Ubicación removida: " + a;
+                case LOCATION_UPDATED: return "Ubicación actualizada: " + a;
+                case ROUTE_ADDED: return "Ruta agregada: " + a + " -> " + b + " (" + value + " km)";
+                case ROUTE_REMOVED: return "Ruta removida: " + a + " -> " + b;
+                case ROUTE_CAPACITY_SET:
+                    return "Capacidad de ruta: " + a + " -> " + b + " ("
+                            + (Double.isInfinite(value) ? "sin límite" : (long) value + " por hora") + ")";
+                case ROUTE_TRAVEL_TIME_SET:
+                    return "Tiempo de recorrido de ruta: " + a + " -> " + b + " ("
+                            + (Double.isNaN(value) ? "sin función" : String.format("mínimo %.2f h", value)) + ")";
+                case RESOURCE_ADDED: return "Recurso agregado: " + a + " (" + (long) value + " " + b + ")";
+                case RESOURCE_REMOVED: return "Recurso removido: " + a;
+                case RESOURCE_DISTRIBUTED:
+                    return "Recurso distribuido: " + a + " (" + (long) value + " " + b + ") a " + c;
+                case TEAM_ADDED: return "Equipo agregado: " + a + " (" + b + ")";
+                case TEAM_REMOVED: return "Equipo removido: " + a;
+                case TEAM_ASSIGNED: return "Equipo asignado: " + a + " a " + b;
+                case TEAM_UNASSIGNED: return "Equipo desasignado: " + a;
+                case USER_CONNECTED: return "Usuario conectado: " + a;
+                case LOG_CLEARED: return "Log de operaciones limpiado";
+                case BULK_LOADED: return "Carga masiva: " + (long) value + " " + a;
+                default: return String.valueOf(a);
+            }
+        }
+    }
+
+    /**
+     * Constructor con la capacidad por defecto
+     */
+    public OperationLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor con capacidad personalizada
+     * La capacidad se redondea a la siguiente potencia de dos
+     */
+    public OperationLog(int requestedCapacity) {
+        if (requestedCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be >= 1");
+        }
+
+        int cap = Integer.highestOneBit(requestedCapacity);
+        if (cap < requestedCapacity) {
+            cap <<= 1;
+        }
+
+        this.capacity = cap;
+        this.mask = cap - 1;
+        this.timestamps = new long[cap];
+        this.types = new OperationType[cap];
+        this.firstArgs = new Object[cap];
+        this.secondArgs = new Object[cap];
+        this.thirdArgs = new Object[cap];
+        this.values = new double[cap];
+        this.published = new AtomicLongArray(cap);
+        for (int i = 0; i < cap; i++) {
+            published.set(i, -1L);
+        }
+        this.nextSequence = new AtomicLong(0);
+        this.firstVisibleSequence = 0;
+    }
+
+    /**
+     * Registrar una operación sin argumentos
+     * Complejidad: O(1)
+     */
+    public void record(OperationType type) {
+        record(type, null, null, null, 0);
+    }
+
+    /**
+     * Registrar una operación con un argumento
+     * Complejidad: O(1)
+     */
+    public void record(OperationType type, Object a) {
+        record(type, a, null, null, 0);
+    }
+
+    /**
+     * Registrar una operación con dos argumentos
+     * Complejidad: O(1)
+     */
+    public void record(OperationType type, Object a, Object b) {
+        record(type, a, b, null, 0);
+    }
+
+    /**
+     * Registrar una operación estructurada
+     * No se construye ningún String: solo se guardan referencias y el instante
+     * Complejidad: O(1), sin bloqueos salvo si otro escritor, una vuelta completa atrás,
+     * todavía no publicó en la misma posición
+     */
+    public void record(OperationType type, Object a, Object b, Object c, double value) {
+        long sequence = nextSequence.getAndIncrement();
+        int slot = (int) (sequence & mask);
+
+        // Tomar la posición marcándola como "en escritura": solo se puede cuando ya está
+        // publicada la vuelta anterior (en la primera vuelta la posición sigue en -1). La
+        // barrera impide que las escrituras siguientes se reordenen antes de la marca
+        long previous = sequence >= capacity ? sequence - capacity : -1L;
+        while (!published.compareAndSet(slot, previous, -1L)) {
+            Thread.onSpinWait();
+        }
+        VarHandle.releaseFence();
+        timestamps[slot] = EPOCH_NANOS_BASE + (System.nanoTime() - NANO_TIME_BASE);
+        types[slot] = type;
+        firstArgs[slot] = a;
+        secondArgs[slot] = b;
+        thirdArgs[slot] = c;
+        values[slot] = value;
+        // Publicar: la escritura volátil ordena los campos anteriores
+        published.set(slot, sequence);
+    }
+
+    /**
+     * Leer y formatear el registro con la secuencia indicada
+     *
+     * @return Línea formateada, o null si el registro ya no está disponible
+     */
+    private String read(long sequence) {
+        int slot = (int) (sequence & mask);
+        if (published.get(slot) != sequence) {
+            return null;
+        }
+
+        long timestamp = timestamps[slot];
+        OperationType type = types[slot];
+        Object a = firstArgs[slot];
+        Object b = secondArgs[slot];
+        Object c = thirdArgs[slot];
+        double value = values[slot];
+
+        // Verificar que nadie sobrescribió la posición mientras se leía
+        VarHandle.acquireFence();
+        if (published.get(slot) != sequence || type == null) {
+            return null;
+        }
+
+        return "[" + formatTimestamp(timestamp) + "] " + type.format(a, b, c, value);
+    }
+
+    /**
+     * Convertir nanosegundos desde la época a fecha local legible
+     */
+    private static String formatTimestamp(long epochNanos) {
+        Instant instant = Instant.ofEpochSecond(0, epochNanos);
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault()).toString();
+    }
+
+    /**
+     * Obtener las últimas N operaciones en orden cronológico
+     * Complejidad: O(N) — solo se formatean los registros devueltos
+     */
+    public CustomList<String> getRecent(int count) {
+        CustomList<String> recent = new CustomList<>();
+        long end = nextSequence.get();
+        long start = Math.max(Math.max(0, end - count), oldestAvailable(end));
+
+        for (long seq = start; seq < end; seq++) {
+            String line = read(seq);
+            if (line != null) {
+                recent.add(line);
+            }
+        }
+
+        return recent;
+    }
+
+    /**
+     * Obtener todas las operaciones retenidas en el buffer
+     * Complejidad: O(capacidad)
+     */
+    public CustomList<String> getAll() {
+        return getRecent(capacity);
+    }
+
+    /**
+     * Copiar a un consumidor los registros desde una secuencia dada
+     * Usado por el volcado asíncrono a archivo
+     *
+     * @param fromSequence Primera secuencia pendiente
+     * @param consumer Destino de las líneas formateadas
+     * @return Siguiente secuencia pendiente
+     */
+    public long drainTo(long fromSequence, LineConsumer consumer) throws java.io.IOException {
+        long end = nextSequence.get();
+        long start = Math.max(fromSequence, end - capacity);
+
+        if (start > fromSequence) {
+            consumer.accept("[... " + (start - fromSequence) + " operaciones no volcadas ...]");
+        }
+
+        for (long seq = start; seq < end; seq++) {
+            String line = read(seq);
+            if (line == null) {
+                // Registro aún en escritura: reintentar en el próximo volcado
+                return seq;
+            }
+            consumer.accept(line);
+        }
+
+        return end;
+    }
+
+    /**
+     * Destino de líneas para drainTo
+     */
+    public interface LineConsumer {
+        void accept(String line) throws java.io.IOException;
+    }
+
+    /**
+     * Secuencia más antigua que sigue visible
+     */
+    private long oldestAvailable(long end) {
+        return Math.max(end - capacity, firstVisibleSequence);
+    }
+
+    /**
+     * Ocultar todos los registros actuales
+     * Complejidad: O(1)
+     */
+    public void clear() {
+        firstVisibleSequence = nextSequence.get();
+    }
+
+    /**
+     * Número de operaciones visibles
+     */
+    public int size() {
+        long end = nextSequence.get();
+        return (int) (end - oldestAvailable(end));
+    }
+
+    /**
+     * Siguiente secuencia que se asignará
+     */
+    public long getNextSequence() {
+        return nextSequence.get();
+    }
+
+    /**
+     * Capacidad del buffer circular
+     */
+    public int capacity() {
+        return capacity;
+    }
+}
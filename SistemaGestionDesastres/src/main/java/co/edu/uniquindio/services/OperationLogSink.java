@@ -0,0 +1,102 @@
+package co.edu.uniquindio.services;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Volcado asíncrono del registro de operaciones a un archivo
+ * Un hilo en segundo plano copia periódicamente los registros nuevos del buffer circular,
+ * de modo que las operaciones del sistema nunca esperan por la escritura en disco
+ */
+public class OperationLogSink implements AutoCloseable {
+    private static final long DEFAULT_INTERVAL_MILLIS = 250;
+
+    private final OperationLog log;
+    private final BufferedWriter writer;
+    private final long intervalMillis;
+    private final Thread worker;
+    private volatile boolean running;
+    private long nextSequence;
+
+    /**
+     * Constructor con intervalo de volcado por defecto
+     *
+     * @param log Registro de operaciones a volcar
+     * @param filePath Archivo destino (se agrega al final si ya existe)
+     */
+    public OperationLogSink(OperationLog log, String filePath) throws IOException {
+        this(log, filePath, DEFAULT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructor con intervalo de volcado personalizado
+     */
+    public OperationLogSink(OperationLog log, String filePath, long intervalMillis) throws IOException {
+        if (log == null) {
+            throw new IllegalArgumentException("Log cannot be null");
+        }
+        if (filePath == null || filePath.isEmpty()) {
+            throw new IllegalArgumentException("File path cannot be null or empty");
+        }
+
+        this.log = log;
+        this.writer = new BufferedWriter(new FileWriter(filePath, true));
+        this.intervalMillis = Math.max(1, intervalMillis);
+        this.nextSequence = log.getNextSequence();
+        this.running = true;
+        this.worker = new Thread(this::run, "operation-log-sink");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Bucle del hilo de volcado
+     */
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                // Se interrumpe al cerrar: se hace un último volcado
+            }
+            drain();
+        }
+    }
+
+    /**
+     * Copiar al archivo los registros pendientes
+     */
+    private synchronized void drain() {
+        try {
+            nextSequence = log.drainTo(nextSequence, line -> {
+                writer.write(line);
+                writer.newLine();
+            });
+            writer.flush();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Detener el hilo, volcar lo pendiente y cerrar el archivo
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        drain();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
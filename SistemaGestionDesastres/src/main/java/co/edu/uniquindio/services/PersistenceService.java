@@ -0,0 +1,246 @@
+package co.edu.uniquindio.services;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Servicio de persistencia del estado de DisasterManager
+ * Combina el diario de eventos (cada operación queda registrada) con instantáneas periódicas
+ * (para que la recuperación no tenga que reproducir todo el historial)
+ *
+ * Arranque:  recover() -> (cargar datos iniciales si no había estado) -> start()
+ * Operación: cada evento se agrega al diario; tras cierto número de eventos o de tiempo
+ *            se escribe una instantánea y se vacía el diario
+ *
+ * Las instantáneas automáticas se escriben en un hilo propio: el hilo que agrega el evento
+ * todavía tiene tomados los cerrojos del gestor y no puede esperar a una lectura consistente
+ */
+public class PersistenceService implements AutoCloseable, EventJournal.Listener {
+    private static final String SNAPSHOT_FILE = "state.snapshot";
+    private static final String JOURNAL_FILE = "state.journal";
+    private static final long DEFAULT_CHECKPOINT_EVENTS = 50_000;
+    private static final long DEFAULT_CHECKPOINT_MILLIS = 5 * 60 * 1000;
+
+    private final DisasterManager manager;
+    private final Path snapshotFile;
+    private final Path journalFile;
+    private final long checkpointEvents;
+    private final long checkpointMillis;
+    private EventJournal journal;
+    private long lastSequence;
+    private volatile long lastCheckpointTime;
+    private volatile boolean checkpointing;
+    private volatile ExecutorService checkpointExecutor;
+    private final AtomicBoolean checkpointPending;
+    private Thread shutdownHook;
+
+    /**
+     * Constructor con la política de instantáneas por defecto
+     *
+     * @param manager Gestor cuyo estado se persiste
+     * @param directory Directorio de datos (se crea si no existe)
+     */
+    public PersistenceService(DisasterManager manager, String directory) throws IOException {
+        this(manager, directory, DEFAULT_CHECKPOINT_EVENTS, DEFAULT_CHECKPOINT_MILLIS);
+    }
+
+    /**
+     * Constructor con política de instantáneas personalizada
+     *
+     * @param checkpointEvents Eventos en el diario que disparan una instantánea
+     * @param checkpointMillis Tiempo máximo entre instantáneas mientras haya eventos
+     */
+    public PersistenceService(DisasterManager manager, String directory,
+                              long checkpointEvents, long checkpointMillis) throws IOException {
+        if (manager == null) {
+            throw new IllegalArgumentException("Manager cannot be null");
+        }
+
+        Path dir = Paths.get(directory);
+        Files.createDirectories(dir);
+
+        this.manager = manager;
+        this.snapshotFile = dir.resolve(SNAPSHOT_FILE);
+        this.journalFile = dir.resolve(JOURNAL_FILE);
+        this.checkpointEvents = Math.max(1, checkpointEvents);
+        this.checkpointMillis = Math.max(1, checkpointMillis);
+        this.lastSequence = -1;
+        this.journal = null;
+        this.checkpointExecutor = null;
+        this.checkpointPending = new AtomicBoolean(false);
+    }
+
+    /**
+     * Recuperar el estado persistido: instantánea más reciente + eventos posteriores del diario
+     * Debe llamarse sobre un gestor vacío y antes de start()
+     *
+     * @return true si se recuperó algún estado
+     */
+    public boolean recover() throws IOException {
+        if (journal != null) {
+            throw new IllegalStateException("Recovery must happen before start()");
+        }
+
+        long snapshotSequence = SnapshotStore.read(snapshotFile, manager);
+        lastSequence = EventJournal.replay(journalFile, snapshotSequence, manager);
+
+        return Files.exists(snapshotFile) || lastSequence > snapshotSequence;
+    }
+
+    /**
+     * Adjuntar el diario al gestor y escribir una instantánea inicial
+     * A partir de aquí cada operación del gestor queda registrada
+     */
+    public void start() throws IOException {
+        if (journal != null) {
+            return;
+        }
+
+        journal = new EventJournal(journalFile, lastSequence + 1,
+                EventJournal.DEFAULT_SYNC_INTERVAL_MILLIS);
+        journal.setListener(this);
+        checkpoint();
+        checkpointExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "persistence-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        manager.setJournal(journal);
+
+        shutdownHook = new Thread(this::closeQuietly, "persistence-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /**
+     * Política de instantáneas: se evalúa en el hilo que realizó la operación y, si toca,
+     * se encarga la instantánea al hilo de checkpoints (como mucho una pendiente a la vez)
+     */
+    @Override
+    public void onAppend(long sequence, long eventsSinceTruncate) {
+        ExecutorService executor = checkpointExecutor;
+        if (checkpointing || executor == null) {
+            return;
+        }
+
+        boolean tooManyEvents = eventsSinceTruncate >= checkpointEvents;
+        boolean tooOld = System.currentTimeMillis() - lastCheckpointTime >= checkpointMillis;
+
+        if ((tooManyEvents || tooOld) && checkpointPending.compareAndSet(false, true)) {
+            executor.execute(this::runPendingCheckpoint);
+        }
+    }
+
+    /**
+     * Tarea del hilo de checkpoints
+     */
+    private void runPendingCheckpoint() {
+        try {
+            synchronized (this) {
+                if (journal != null) {
+                    checkpoint();
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            checkpointPending.set(false);
+        }
+    }
+
+    /**
+     * Escribir una instantánea y descartar del diario los eventos que ya incluye
+     * Las modificaciones del gestor solo esperan mientras se marca la posición del diario y
+     * se codifica el estado en memoria; la escritura y el fsync de la instantánea se hacen
+     * después. Los eventos que llegan mientras tanto quedan en el diario, y la secuencia
+     * guardada en la instantánea evita aplicarlos dos veces al recuperar
+     * Complejidad: O(tamaño del estado)
+     */
+    public synchronized void checkpoint() throws IOException {
+        if (journal == null) {
+            throw new IllegalStateException("Persistence service not started");
+        }
+
+        checkpointing = true;
+        try {
+            EventJournal.Position position;
+            byte[] state;
+            manager.beginConsistentRead();
+            try {
+                position = journal.position();
+                state = SnapshotStore.capture(manager, position.getSequence());
+            } finally {
+                manager.endConsistentRead();
+            }
+
+            SnapshotStore.write(snapshotFile, state);
+            journal.discardThrough(position);
+            lastCheckpointTime = System.currentTimeMillis();
+        } finally {
+            checkpointing = false;
+        }
+    }
+
+    /**
+     * Llevar a disco los eventos pendientes del diario
+     */
+    public void sync() throws IOException {
+        if (journal != null) {
+            journal.sync();
+        }
+    }
+
+    /**
+     * Desadjuntar el diario y cerrarlo (los eventos pendientes se llevan a disco)
+     */
+    @Override
+    public void close() throws IOException {
+        // Esperar la instantánea en curso fuera del monitor, que la tarea necesita
+        ExecutorService executor = checkpointExecutor;
+        checkpointExecutor = null;
+        if (executor != null) {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (this) {
+            closeJournal();
+        }
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal == null) {
+            return;
+        }
+
+        manager.setJournal(null);
+        journal.close();
+        journal = null;
+
+        if (shutdownHook != null && Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // La JVM ya se está cerrando
+            }
+        }
+        shutdownHook = null;
+    }
+
+    private void closeQuietly() {
+        try {
+            close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
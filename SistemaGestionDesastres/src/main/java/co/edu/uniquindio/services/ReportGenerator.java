@@ -3,162 +3,316 @@ package co.edu.uniquindio.services;
 import co.edu.uniquindio.models.*;
 import co.edu.uniquindio.structures.*;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Formatter;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Generador de informes del sistema en formato TXT
+ * Generador de informes del sistema en formato TXT, CSV o JSON (opcionalmente comprimidos con gzip)
  * Solo disponible para usuarios administradores
+ *
+ * El estado del sistema se captura una sola vez al inicio; después cada sección (y cada bloque
+ * de ubicaciones) se genera en paralelo en su propio buffer y los buffers se escriben en orden
  */
 public class ReportGenerator {
+    private static final int LOCATIONS_PER_CHUNK = 2_000;
+    private static final int WRITE_BUFFER_SIZE = 256 * 1024;
+    private static final String DOUBLE_LINE = "=".repeat(90);
+    private static final String SINGLE_LINE = "-".repeat(90);
+
     private DisasterManager manager;
     private User currentUser;
 
+    /**
+     * Formatos de salida disponibles
+     */
+    public enum ReportFormat {
+        TXT("txt"),
+        CSV("csv"),
+        JSON("json");
+
+        private final String extension;
+
+        ReportFormat(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Deducir el formato a partir del nombre de archivo (ignorando un sufijo .gz)
+         * Si la extensión no se reconoce se usa TXT
+         */
+        public static ReportFormat fromFileName(String fileName) {
+            String name = fileName.toLowerCase();
+            if (name.endsWith(".gz")) {
+                name = name.substring(0, name.length() - 3);
+            }
+            for (ReportFormat format : values()) {
+                if (name.endsWith("." + format.extension)) {
+                    return format;
+                }
+            }
+            return TXT;
+        }
+    }
+
+    /**
+     * Generador de una sección del informe en su propio buffer
+     */
+    private interface SectionRenderer {
+        void render(StringBuilder out);
+    }
+
     public ReportGenerator(DisasterManager manager, User currentUser) {
         this.manager = manager;
         this.currentUser = currentUser;
     }
 
     /**
-     * Generar informe completo del sistema
+     * Generar informe completo del sistema en texto plano
      * @param filePath Ruta donde guardar el archivo (si es null, usa ruta por defecto)
      * @return true si se generó exitosamente
      */
     public boolean generateCompleteReport(String filePath) {
+        return generateReport(filePath, ReportFormat.TXT, false);
+    }
+
+    /**
+     * Generar informe completo del sistema en el formato indicado
+     * Complejidad: O(n log n) para ordenar las ubicaciones + O(n) repartido entre los núcleos
+     *
+     * @param filePath Ruta donde guardar el archivo (si es null, usa ruta por defecto)
+     * @param format Formato de salida
+     * @param gzip true para comprimir la salida con gzip
+     * @return true si se generó exitosamente
+     */
+    public boolean generateReport(String filePath, ReportFormat format, boolean gzip) {
         if (!currentUser.isAdministrator()) {
             return false; // Solo administradores pueden generar informes
         }
+        if (format == null) {
+            format = ReportFormat.TXT;
+        }
 
-        try {
-            // Si no se especifica ruta, usar una por defecto
-            if (filePath == null || filePath.isEmpty()) {
-                String timestamp = LocalDateTime.now()
-                        .format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-                filePath = "Informe_Sistema_" + timestamp + ".txt";
+        // Si no se especifica ruta, usar una por defecto
+        if (filePath == null || filePath.isEmpty()) {
+            String timestamp = LocalDateTime.now()
+                    .format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+            filePath = "Informe_Sistema_" + timestamp + "." + format.getExtension() + (gzip ? ".gz" : "");
+        }
+
+        Path path = Paths.get(filePath);
+        SystemSnapshot data = manager.getSnapshot();
+        CustomList<SectionRenderer> sections = buildSections(data, format);
+
+        boolean success = false;
+        try (ReportWriter writer = new ReportWriter(path, gzip)) {
+            renderInOrder(sections, WorkerPool.parallelism() * 2, writer);
+            success = true;
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (IllegalStateException e) {
+            // Una sección falló o se interrumpió la espera (la marca de interrupción se conserva)
+            e.printStackTrace();
+        }
+
+        if (!success) {
+            // No dejar un informe a medias
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                e.printStackTrace();
             }
+        }
+        return success;
+    }
 
-            // Crear el archivo
-            File file = new File(filePath);
-            FileWriter writer = new FileWriter(file);
-            BufferedWriter bw = new BufferedWriter(writer);
+    /**
+     * Generar las secciones en paralelo y escribirlas en orden
+     * Como mucho hay "window" secciones generadas esperando escritura, de modo que
+     * la memoria no crece con el tamaño del informe
+     */
+    private void renderInOrder(CustomList<SectionRenderer> sections, int window, ReportWriter writer)
+            throws IOException {
+        CustomList<Future<StringBuilder>> pending = new CustomList<>();
+        int next = 0;
 
-            // Generar el contenido del informe
-            writeHeader(bw);
-            writeSystemOverview(bw);
-            writeLocationDetails(bw);
-            writeResourcesDistribution(bw);
-            writeFooter(bw);
+        try {
+            while (next < sections.size() || !pending.isEmpty()) {
+                while (next < sections.size() && pending.size() < window) {
+                    SectionRenderer section = sections.get(next++);
+                    pending.add(WorkerPool.submit(() -> {
+                        StringBuilder out = new StringBuilder(16 * 1024);
+                        section.render(out);
+                        return out;
+                    }));
+                }
 
-            bw.close();
-            return true;
+                writer.write(WorkerPool.await(pending.remove(0), "Report rendering"));
+            }
+        } finally {
+            WorkerPool.cancelAll(pending); // Si algo falló, no seguir generando secciones
+        }
+    }
 
-        } catch (IOException e) {
-            e.printStackTrace();
-            return false;
+    /**
+     * Construir la lista ordenada de secciones para un formato
+     */
+    private CustomList<SectionRenderer> buildSections(SystemSnapshot data, ReportFormat format) {
+        CustomList<SectionRenderer> sections = new CustomList<>();
+        int count = data.getLocationCount();
+
+        switch (format) {
+            case CSV:
+                sections.add(out -> writeCsvSummary(out, data));
+                sections.add(out -> out.append("\nid,name,type,population,urgency,latitude,longitude,")
+                        .append("connections,assigned_resources\n"));
+                for (int start = 0; start < count; start += LOCATIONS_PER_CHUNK) {
+                    int from = start;
+                    int to = Math.min(count, start + LOCATIONS_PER_CHUNK);
+                    sections.add(out -> writeCsvLocations(out, data, from, to));
+                }
+                sections.add(out -> writeCsvResources(out, data));
+                break;
+
+            case JSON:
+                sections.add(out -> writeJsonHead(out, data));
+                for (int start = 0; start < count; start += LOCATIONS_PER_CHUNK) {
+                    int from = start;
+                    int to = Math.min(count, start + LOCATIONS_PER_CHUNK);
+                    sections.add(out -> writeJsonLocations(out, data, from, to));
+                }
+                sections.add(out -> writeJsonTail(out, data));
+                break;
+
+            default:
+                sections.add(out -> writeHeader(out, data));
+                sections.add(out -> writeSystemOverview(out, data));
+                sections.add(out -> writeLocationDetailsTitle(out, data));
+                for (int start = 0; start < count; start += LOCATIONS_PER_CHUNK) {
+                    int from = start;
+                    int to = Math.min(count, start + LOCATIONS_PER_CHUNK);
+                    sections.add(out -> writeLocationDetails(out, data, from, to));
+                }
+                sections.add(out -> writeResourcesDistribution(out, data));
+                sections.add(this::writeFooter);
+                break;
         }
+
+        return sections;
     }
 
+    // ==================== TXT ====================
+
     /**
      * Escribir encabezado del informe
      */
-    private void writeHeader(BufferedWriter bw) throws IOException {
+    private void writeHeader(StringBuilder out, SystemSnapshot data) {
         String line = "=".repeat(90);
-        bw.write(line + "\n");
-        bw.write(centerText("SISTEMA DE GESTIÓN DE DESASTRES NATURALES", 90) + "\n");
-        bw.write(centerText("INFORME GENERAL DEL ESTADO DEL SISTEMA", 90) + "\n");
-        bw.write(line + "\n\n");
+        out.append(line).append("\n");
+        out.append(centerText("SISTEMA DE GESTIÓN DE DESASTRES NATURALES", 90)).append("\n");
+        out.append(centerText("INFORME GENERAL DEL ESTADO DEL SISTEMA", 90)).append("\n");
+        out.append(line).append("\n\n");
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss");
-        String dateTime = LocalDateTime.now().format(formatter);
+        String dateTime = data.getCapturedAt().format(formatter);
 
-        bw.write("Fecha y hora del informe: " + dateTime + "\n");
-        bw.write("Generado por: " + currentUser.getFullName() +
-                " (" + currentUser.getUsername() + ")\n");
-        bw.write("Rol: " + currentUser.getRole() + "\n\n");
-        bw.write(line + "\n\n");
+        out.append("Fecha y hora del informe: ").append(dateTime).append("\n");
+        out.append("Generado por: ").append(currentUser.getFullName())
+                .append(" (").append(currentUser.getUsername()).append(")\n");
+        out.append("Rol: ").append(currentUser.getRole()).append("\n\n");
+        out.append(line).append("\n\n");
     }
 
     /**
      * Escribir resumen general del sistema
      */
-    private void writeSystemOverview(BufferedWriter bw) throws IOException {
-        bw.write("╔══════════════════════════════════════════════════════════════════════════════════╗\n");
-        bw.write("║                           RESUMEN GENERAL DEL SISTEMA                            ║\n");
-        bw.write("╚══════════════════════════════════════════════════════════════════════════════════╝\n\n");
+    private void writeSystemOverview(StringBuilder out, SystemSnapshot data) {
+        out.append("╔══════════════════════════════════════════════════════════════════════════════════╗\n");
+        out.append("║                           RESUMEN GENERAL DEL SISTEMA                            ║\n");
+        out.append("╚══════════════════════════════════════════════════════════════════════════════════╝\n\n");
 
-        CustomList<Location> locations = manager.getAllLocations();
+        Formatter f = new Formatter(out);
+        int total = data.getLocationCount();
 
-        bw.write(String.format("%-50s %,d\n", "Total de ubicaciones registradas:", locations.size()));
-        bw.write(String.format("%-50s %,d personas\n", "Población total afectada:",
-                manager.getTotalPopulation()));
-        bw.write(String.format("%-50s %,d unidades\n", "Recursos disponibles en inventario:",
-                manager.getTotalResourceQuantity()));
+        f.format("%-50s %,d\n", "Total de ubicaciones registradas:", total);
+        f.format("%-50s %,d personas\n", "Población total afectada:", data.getTotalPopulation());
+        f.format("%-50s %,d unidades\n", "Recursos disponibles en inventario:", data.getTotalResourceQuantity());
 
         // Distribución por urgencia
-        bw.write("DISTRIBUCIÓN POR NIVEL DE URGENCIA:\n");
-        bw.write("-".repeat(90) + "\n");
-
-        int[] urgencyCount = new int[6];
-        int[] populationByUrgency = new int[6];
-
-        for (int i = 0; i < locations.size(); i++) {
-            Location loc = locations.get(i);
-            urgencyCount[loc.getUrgencyLevel()]++;
-            populationByUrgency[loc.getUrgencyLevel()] += loc.getPopulation();
-        }
+        out.append("DISTRIBUCIÓN POR NIVEL DE URGENCIA:\n");
+        out.append("-".repeat(90)).append("\n");
 
         for (int i = 5; i >= 1; i--) {
             String urgencyName = getUrgencyName(i);
-            double percentage = locations.size() > 0 ?
-                    (urgencyCount[i] * 100.0 / locations.size()) : 0;
+            double percentage = total > 0 ? (data.getUrgencyCount(i) * 100.0 / total) : 0;
 
-            bw.write(String.format("  Nivel %d (%s):%s %d ubicaciones (%.1f%%) - %,d personas\n",
+            f.format("  Nivel %d (%s):%s %d ubicaciones (%.1f%%) - %,d personas\n",
                     i, urgencyName,
                     " ".repeat(Math.max(1, 15 - urgencyName.length())),
-                    urgencyCount[i], percentage, populationByUrgency[i]));
+                    data.getUrgencyCount(i), percentage, data.getPopulationByUrgency(i));
         }
 
-        bw.write("\n");
+        out.append("\n");
     }
 
     /**
-     * Escribir detalles de ubicaciones con recursos asignados
+     * Escribir título de la sección de ubicaciones
      */
-    private void writeLocationDetails(BufferedWriter bw) throws IOException {
-        bw.write("╔══════════════════════════════════════════════════════════════════════════════════╗\n");
-        bw.write("║                     ESTADO DETALLADO DE UBICACIONES                              ║\n");
-        bw.write("╚══════════════════════════════════════════════════════════════════════════════════╝\n\n");
+    private void writeLocationDetailsTitle(StringBuilder out, SystemSnapshot data) {
+        out.append("╔══════════════════════════════════════════════════════════════════════════════════╗\n");
+        out.append("║                     ESTADO DETALLADO DE UBICACIONES                              ║\n");
+        out.append("╚══════════════════════════════════════════════════════════════════════════════════╝\n\n");
 
-        CustomList<Location> locations = manager.prioritizeEvacuations();
-
-        if (locations.isEmpty()) {
-            bw.write("No hay ubicaciones registradas en el sistema.\n\n");
-            return;
+        if (data.getLocationCount() == 0) {
+            out.append("No hay ubicaciones registradas en el sistema.\n\n");
         }
+    }
 
-        for (int i = 0; i < locations.size(); i++) {
-            Location loc = locations.get(i);
+    /**
+     * Escribir detalles de un bloque de ubicaciones con recursos asignados
+     */
+    private void writeLocationDetails(StringBuilder out, SystemSnapshot data, int from, int to) {
+        Formatter f = new Formatter(out);
 
-            bw.write("=".repeat(90) + "\n");
-            bw.write(String.format("[%d] %s (ID: %s)\n", i + 1, loc.getName(), loc.getId()));
-            bw.write("-".repeat(90) + "\n");
-            bw.write(String.format("  Tipo de ubicación:        %s\n", loc.getType()));
-            bw.write(String.format("  Población afectada:       %,d personas\n", loc.getPopulation()));
-            bw.write(String.format("  Nivel de urgencia:        %d/5 (%s)\n",
-                    loc.getUrgencyLevel(), getUrgencyName(loc.getUrgencyLevel())));
+        for (int i = from; i < to; i++) {
+            Location loc = data.getLocation(i);
+
+            out.append(DOUBLE_LINE).append("\n");
+            f.format("[%d] %s (ID: %s)\n", i + 1, loc.getName(), loc.getId());
+            out.append(SINGLE_LINE).append("\n");
+            f.format("  Tipo de ubicación:        %s\n", loc.getType());
+            f.format("  Población afectada:       %,d personas\n", loc.getPopulation());
+            f.format("  Nivel de urgencia:        %d/5 (%s)\n",
+                    loc.getUrgencyLevel(), getUrgencyName(loc.getUrgencyLevel()));
 
             // Información de conexiones
-            CustomList<String> neighbors = manager.getNeighborLocations(loc.getId());
-            bw.write(String.format("  Conexiones directas:      %d ubicaciones\n", neighbors.size()));
+            f.format("  Conexiones directas:      %d ubicaciones\n", data.getOutDegree(i));
 
             // Recursos asignados
-            CustomList<Resource> locResources = manager.getLocationResources(loc.getId());
-            bw.write(String.format("\n  RECURSOS ASIGNADOS: %d\n", locResources.size()));
+            CustomList<Resource> locResources = data.getAssignedResources(i);
+            f.format("\n  RECURSOS ASIGNADOS: %d\n", locResources.size());
 
             if (locResources.isEmpty()) {
-                bw.write("    ⚠ No hay recursos asignados a esta ubicación\n");
+                out.append("    ⚠ No hay recursos asignados a esta ubicación\n");
             } else {
-                bw.write("  " + "-".repeat(84) + "\n");
+                out.append("  ").append("-".repeat(84)).append("\n");
 
                 // Agrupar por tipo
                 CustomMap<Resource.ResourceType, CustomList<Resource>> byType = new CustomMap<>();
@@ -175,75 +329,221 @@ public class ReportGenerator {
                 for (Resource.ResourceType type : Resource.ResourceType.values()) {
                     CustomList<Resource> typeResources = byType.get(type);
                     if (typeResources != null && typeResources.size() > 0) {
-                        bw.write(String.format("    %s:\n", type));
+                        f.format("    %s:\n", type);
                         for (int k = 0; k < typeResources.size(); k++) {
                             Resource res = typeResources.get(k);
                             String warning = res.isLowStock() ? " [STOCK BAJO]" : "";
-                            bw.write(String.format("      - %-40s %,8d %s%s\n",
-                                    res.getName(), res.getQuantity(), res.getUnit(), warning));
+                            f.format("      - %-40s %,8d %s%s\n",
+                                    res.getName(), res.getQuantity(), res.getUnit(), warning);
                         }
                     }
                 }
             }
 
-            bw.write("\n");
+            out.append("\n");
         }
     }
 
     /**
      * Escribir resumen de distribución de recursos
      */
-    private void writeResourcesDistribution(BufferedWriter bw) throws IOException {
-        bw.write("╔══════════════════════════════════════════════════════════════════════════════════╗\n");
-        bw.write("║                        DISTRIBUCIÓN DE RECURSOS                                  ║\n");
-        bw.write("╚══════════════════════════════════════════════════════════════════════════════════╝\n\n");
+    private void writeResourcesDistribution(StringBuilder out, SystemSnapshot data) {
+        out.append("╔══════════════════════════════════════════════════════════════════════════════════╗\n");
+        out.append("║                        DISTRIBUCIÓN DE RECURSOS                                  ║\n");
+        out.append("╚══════════════════════════════════════════════════════════════════════════════════╝\n\n");
 
-        CustomList<Resource> resources = manager.getAllResources();
+        Formatter f = new Formatter(out);
+        CustomList<Resource> resources = data.getResources();
+        CustomList<Resource> lowStock = data.getLowStockResources();
 
-        bw.write("INVENTARIO GENERAL:\n");
-        bw.write("-".repeat(90) + "\n");
-        bw.write(String.format("%-15s %-35s %-15s %15s\n",
-                "ID", "Nombre", "Tipo", "Cantidad"));
-        bw.write("-".repeat(90) + "\n");
+        out.append("INVENTARIO GENERAL:\n");
+        out.append("-".repeat(90)).append("\n");
+        f.format("%-15s %-35s %-15s %15s\n", "ID", "Nombre", "Tipo", "Cantidad");
+        out.append("-".repeat(90)).append("\n");
 
         for (int i = 0; i < resources.size(); i++) {
             Resource res = resources.get(i);
             String warning = res.isLowStock() ? " [!]" : "";
-            bw.write(String.format("%-15s %-35s %-15s %,10d %s%s\n",
+            f.format("%-15s %-35s %-15s %,10d %s%s\n",
                     truncate(res.getId(), 15),
                     truncate(res.getName(), 35),
                     res.getType(),
                     res.getQuantity(),
                     res.getUnit(),
-                    warning));
+                    warning);
         }
 
         // Alertas de stock bajo
-        CustomList<Resource> lowStock = manager.getLowStockResources();
         if (lowStock.size() > 0) {
-            bw.write("\n⚠ ALERTAS DE STOCK BAJO:\n");
-            bw.write("-".repeat(90) + "\n");
+            out.append("\n⚠ ALERTAS DE STOCK BAJO:\n");
+            out.append("-".repeat(90)).append("\n");
             for (int i = 0; i < lowStock.size(); i++) {
                 Resource res = lowStock.get(i);
-                bw.write(String.format("  - %s: %,d %s (Requiere reabastecimiento urgente)\n",
-                        res.getName(), res.getQuantity(), res.getUnit()));
+                f.format("  - %s: %,d %s (Requiere reabastecimiento urgente)\n",
+                        res.getName(), res.getQuantity(), res.getUnit());
             }
         }
 
-        bw.write("\n");
+        out.append("\n");
     }
 
     /**
      * Escribir pie del informe
      */
-    private void writeFooter(BufferedWriter bw) throws IOException {
+    private void writeFooter(StringBuilder out) {
         String line = "=".repeat(90);
-        bw.write("\n" + line + "\n");
-        bw.write(centerText("FIN DEL INFORME", 90) + "\n");
-        bw.write(line + "\n");
+        out.append("\n").append(line).append("\n");
+        out.append(centerText("FIN DEL INFORME", 90)).append("\n");
+        out.append(line).append("\n");
+
+        out.append("\nEste informe es confidencial y solo debe ser accedido por personal autorizado.\n");
+        out.append("Sistema de Gestión de Desastres Naturales v1.0\n");
+    }
+
+    // ==================== CSV ====================
+
+    /**
+     * Bloque de métricas generales (metric,value)
+     */
+    private void writeCsvSummary(StringBuilder out, SystemSnapshot data) {
+        out.append("metric,value\n");
+        out.append("generated_at,").append(data.getCapturedAt()).append("\n");
+        out.append("generated_by,").append(csv(currentUser.getUsername())).append("\n");
+        out.append("total_locations,").append(data.getLocationCount()).append("\n");
+        out.append("total_population,").append(data.getTotalPopulation()).append("\n");
+        out.append("total_resource_quantity,").append(data.getTotalResourceQuantity()).append("\n");
+        for (int i = 5; i >= 1; i--) {
+            out.append("urgency_").append(i).append("_locations,").append(data.getUrgencyCount(i)).append("\n");
+            out.append("urgency_").append(i).append("_population,").append(data.getPopulationByUrgency(i)).append("\n");
+        }
+    }
 
-        bw.write("\nEste informe es confidencial y solo debe ser accedido por personal autorizado.\n");
-        bw.write("Sistema de Gestión de Desastres Naturales v1.0\n");
+    /**
+     * Filas de un bloque de ubicaciones
+     */
+    private void writeCsvLocations(StringBuilder out, SystemSnapshot data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Location loc = data.getLocation(i);
+            out.append(csv(loc.getId())).append(',')
+                    .append(csv(loc.getName())).append(',')
+                    .append(loc.getType().name()).append(',')
+                    .append(loc.getPopulation()).append(',')
+                    .append(loc.getUrgencyLevel()).append(',')
+                    .append(loc.getLatitude()).append(',')
+                    .append(loc.getLongitude()).append(',')
+                    .append(data.getOutDegree(i)).append(',')
+                    .append(data.getAssignedResourceCount(i)).append('\n');
+        }
+    }
+
+    /**
+     * Bloque del inventario general
+     */
+    private void writeCsvResources(StringBuilder out, SystemSnapshot data) {
+        out.append("\nid,name,type,quantity,unit,minimumStock,low_stock\n");
+        CustomList<Resource> resources = data.getResources();
+        for (int i = 0; i < resources.size(); i++) {
+            Resource res = resources.get(i);
+            out.append(csv(res.getId())).append(',')
+                    .append(csv(res.getName())).append(',')
+                    .append(res.getType().name()).append(',')
+                    .append(res.getQuantity()).append(',')
+                    .append(csv(res.getUnit())).append(',')
+                    .append(res.getMinimumStock()).append(',')
+                    .append(res.isLowStock()).append('\n');
+        }
+    }
+
+    // ==================== JSON ====================
+
+    /**
+     * Metadatos, resumen y apertura del arreglo de ubicaciones
+     */
+    private void writeJsonHead(StringBuilder out, SystemSnapshot data) {
+        out.append("{\n");
+        out.append("  \"generatedAt\": ").append(json(data.getCapturedAt().toString())).append(",\n");
+        out.append("  \"generatedBy\": {\"username\": ").append(json(currentUser.getUsername()))
+                .append(", \"fullName\": ").append(json(currentUser.getFullName()))
+                .append(", \"role\": ").append(json(currentUser.getRole().name())).append("},\n");
+        out.append("  \"summary\": {\n");
+        out.append("    \"totalLocations\": ").append(data.getLocationCount()).append(",\n");
+        out.append("    \"totalPopulation\": ").append(data.getTotalPopulation()).append(",\n");
+        out.append("    \"totalResourceQuantity\": ").append(data.getTotalResourceQuantity()).append(",\n");
+        out.append("    \"byUrgency\": [");
+        for (int i = 5; i >= 1; i--) {
+            out.append("{\"level\": ").append(i)
+                    .append(", \"locations\": ").append(data.getUrgencyCount(i))
+                    .append(", \"population\": ").append(data.getPopulationByUrgency(i)).append('}');
+            if (i > 1) {
+                out.append(", ");
+            }
+        }
+        out.append("]\n");
+        out.append("  },\n");
+        out.append("  \"locations\": [");
+    }
+
+    /**
+     * Elementos de un bloque de ubicaciones
+     * Cada elemento va precedido de coma salvo el primero del arreglo
+     */
+    private void writeJsonLocations(StringBuilder out, SystemSnapshot data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            Location loc = data.getLocation(i);
+            out.append(i == 0 ? "\n    " : ",\n    ");
+            out.append("{\"id\": ").append(json(loc.getId()))
+                    .append(", \"name\": ").append(json(loc.getName()))
+                    .append(", \"type\": ").append(json(loc.getType().name()))
+                    .append(", \"population\": ").append(loc.getPopulation())
+                    .append(", \"urgency\": ").append(loc.getUrgencyLevel())
+                    .append(", \"latitude\": ").append(loc.getLatitude())
+                    .append(", \"longitude\": ").append(loc.getLongitude())
+                    .append(", \"connections\": ").append(data.getOutDegree(i))
+                    .append(", \"assignedResources\": [");
+
+            CustomList<Resource> assigned = data.getAssignedResources(i);
+            for (int j = 0; j < assigned.size(); j++) {
+                if (j > 0) {
+                    out.append(", ");
+                }
+                writeJsonResource(out, assigned.get(j));
+            }
+            out.append("]}");
+        }
+    }
+
+    /**
+     * Cierre de ubicaciones, inventario y alertas
+     */
+    private void writeJsonTail(StringBuilder out, SystemSnapshot data) {
+        out.append(data.getLocationCount() == 0 ? "],\n" : "\n  ],\n");
+        CustomList<Resource> resources = data.getResources();
+        CustomList<Resource> lowStock = data.getLowStockResources();
+
+        out.append("  \"resources\": [");
+        for (int i = 0; i < resources.size(); i++) {
+            out.append(i == 0 ? "\n    " : ",\n    ");
+            writeJsonResource(out, resources.get(i));
+        }
+        out.append(resources.isEmpty() ? "],\n" : "\n  ],\n");
+
+        out.append("  \"lowStock\": [");
+        for (int i = 0; i < lowStock.size(); i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(json(lowStock.get(i).getId()));
+        }
+        out.append("]\n}\n");
+    }
+
+    private void writeJsonResource(StringBuilder out, Resource res) {
+        out.append("{\"id\": ").append(json(res.getId()))
+                .append(", \"name\": ").append(json(res.getName()))
+                .append(", \"type\": ").append(json(res.getType().name()))
+                .append(", \"quantity\": ").append(res.getQuantity())
+                .append(", \"unit\": ").append(json(res.getUnit()))
+                .append(", \"lowStock\": ").append(res.isLowStock()).append('}');
     }
 
     // ========== MÉTODOS AUXILIARES ==========
@@ -270,4 +570,111 @@ public class ReportGenerator {
         }
         return str.substring(0, maxLength - 3) + "...";
     }
+
+    /**
+     * Escapar un campo CSV (comillas dobles si contiene separador, comillas o saltos de línea)
+     */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return needsQuotes ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    /**
+     * Convertir un texto en literal JSON
+     */
+    private static String json(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Escritor con buffer sobre un FileChannel
+     * Codifica en UTF-8 directamente a un ByteBuffer reutilizable y, si se pide,
+     * comprime con gzip antes de llegar al canal
+     */
+    private static class ReportWriter implements Closeable {
+        private final FileChannel channel;
+        private final GZIPOutputStream gzip;
+        private final CharsetEncoder encoder;
+        private final ByteBuffer buffer;
+
+        ReportWriter(Path path, boolean compress) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.gzip = compress
+                    ? new GZIPOutputStream(Channels.newOutputStream(channel), WRITE_BUFFER_SIZE)
+                    : null;
+            this.encoder = StandardCharsets.UTF_8.newEncoder();
+            this.buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        }
+
+        void write(CharSequence text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            while (true) {
+                CoderResult result = encoder.encode(chars, buffer, false);
+                if (result.isOverflow()) {
+                    flushBuffer();
+                } else if (result.isUnderflow()) {
+                    return;
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            buffer.flip();
+            if (gzip != null) {
+                gzip.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            } else {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                encoder.encode(CharBuffer.allocate(0), buffer, true);
+                encoder.flush(buffer);
+                flushBuffer();
+                if (gzip != null) {
+                    gzip.finish();
+                }
+            } finally {
+                channel.close();
+            }
+        }
+    }
 }
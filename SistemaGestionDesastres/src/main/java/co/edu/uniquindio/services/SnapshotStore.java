@@ -0,0 +1,320 @@
+package co.edu.uniquindio.services;
+
+import co.edu.uniquindio.models.Location;
+import co.edu.uniquindio.models.RescueTeam;
+import co.edu.uniquindio.models.Resource;
+import co.edu.uniquindio.models.Route;
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.CustomMap;
+import co.edu.uniquindio.structures.DistributionTree;
+import co.edu.uniquindio.structures.Graph;
+import co.edu.uniquindio.structures.TravelTimeFunction;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Instantáneas binarias del estado completo de DisasterManager
+ * Una instantánea guarda ubicaciones, rutas, recursos distribuidos, inventario y equipos,
+ * junto con la secuencia del último evento del diario que ya incluye
+ *
+ * La escritura se hace en un archivo temporal que se sincroniza y luego se renombra,
+ * por lo que una caída nunca deja una instantánea a medio escribir. capture() codifica el
+ * estado en memoria (rápido, bajo el cerrojo de lectura consistente) y write() hace la
+ * escritura y el fsync después, sin bloquear a las operaciones del gestor
+ */
+public class SnapshotStore {
+    private static final int MAGIC = 0x53474453; // "SGDS"
+    private static final int VERSION = 3; // 2: capacidades de las rutas; 3: tiempos de recorrido
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private SnapshotStore() {
+    }
+
+    /**
+     * Escribir una instantánea del estado actual
+     * Complejidad: O(V + E + R + T)
+     *
+     * @param file Archivo destino
+     * @param manager Gestor cuyo estado se guarda
+     * @param lastSequence Secuencia del último evento incluido
+     */
+    public static void write(Path file, DisasterManager manager, long lastSequence) throws IOException {
+        write(file, capture(manager, lastSequence));
+    }
+
+    /**
+     * Escribir una instantánea ya codificada con capture()
+     * Complejidad: O(tamaño de la instantánea)
+     */
+    public static void write(Path file, byte[] encoded) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(encoded);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Codificar en memoria el estado actual
+     * Debe llamarse dentro de una lectura consistente del gestor
+     * Complejidad: O(V + E + R + T)
+     *
+     * @param lastSequence Secuencia del último evento incluido
+     * @return Instantánea codificada, lista para write()
+     */
+    public static byte[] capture(DisasterManager manager, long lastSequence) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(bytes, BUFFER_SIZE));
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(lastSequence);
+
+        writeLocations(out, manager);
+        writeRoutes(out, manager.getGraph());
+        writeRouteCapacities(out, manager.getGraph());
+        writeRouteTravelTimes(out, manager.getGraph());
+        writeDistributedResources(out, manager.getDistributionTree());
+
+        CustomList<Resource> resources = manager.getAllResources();
+        out.writeInt(resources.size());
+        for (int i = 0; i < resources.size(); i++) {
+            StateCodec.writeResource(out, resources.get(i));
+        }
+
+        CustomList<RescueTeam> teams = manager.getAllRescueTeams();
+        out.writeInt(teams.size());
+        for (int i = 0; i < teams.size(); i++) {
+            StateCodec.writeTeam(out, teams.get(i));
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Escribir las ubicaciones, empezando por la raíz del árbol de distribución
+     * Así, al restaurar, la raíz vuelve a ser la primera ubicación agregada
+     */
+    private static void writeLocations(DataOutputStream out, DisasterManager manager) throws IOException {
+        CustomList<Location> locations = manager.getAllLocations();
+        DistributionTree tree = manager.getDistributionTree();
+        String rootId = tree != null ? tree.getRootLocationId() : null;
+        Location root = rootId != null ? manager.getLocation(rootId) : null;
+
+        out.writeInt(locations.size());
+        if (root != null) {
+            StateCodec.writeLocation(out, root);
+        }
+        for (int i = 0; i < locations.size(); i++) {
+            Location location = locations.get(i);
+            if (location != root) {
+                StateCodec.writeLocation(out, location);
+            }
+        }
+    }
+
+    /**
+     * Escribir todas las aristas del grafo
+     */
+    private static void writeRoutes(DataOutputStream out, Graph graph) throws IOException {
+        out.writeInt(graph.getEdgeCount());
+
+        CustomList<String> vertexIds = graph.getVertexIds();
+        for (int i = 0; i < vertexIds.size(); i++) {
+            String fromId = vertexIds.get(i);
+            CustomList<CustomMap.MapEntry<String, Double>> edges =
+                    graph.getNeighborsWithWeights(fromId).entrySet();
+            for (int j = 0; j < edges.size(); j++) {
+                out.writeUTF(fromId);
+                out.writeUTF(edges.get(j).getKey());
+                out.writeDouble(edges.get(j).getValue());
+            }
+        }
+    }
+
+    /**
+     * Escribir las rutas que tienen una capacidad asignada
+     */
+    private static void writeRouteCapacities(DataOutputStream out, Graph graph) throws IOException {
+        CustomList<String> fromIds = new CustomList<>();
+        CustomList<String> toIds = new CustomList<>();
+
+        CustomList<String> vertexIds = graph.getVertexIds();
+        for (int i = 0; i < vertexIds.size(); i++) {
+            String fromId = vertexIds.get(i);
+            CustomList<String> neighbors = graph.getNeighbors(fromId);
+            for (int j = 0; j < neighbors.size(); j++) {
+                if (graph.hasEdgeCapacity(fromId, neighbors.get(j))) {
+                    fromIds.add(fromId);
+                    toIds.add(neighbors.get(j));
+                }
+            }
+        }
+
+        out.writeInt(fromIds.size());
+        for (int i = 0; i < fromIds.size(); i++) {
+            out.writeUTF(fromIds.get(i));
+            out.writeUTF(toIds.get(i));
+            out.writeDouble(graph.getEdgeCapacity(fromIds.get(i), toIds.get(i)));
+        }
+    }
+
+    /**
+     * Escribir las rutas que tienen una función de tiempo de recorrido, con sus puntos de quiebre
+     */
+    private static void writeRouteTravelTimes(DataOutputStream out, Graph graph) throws IOException {
+        CustomList<String> fromIds = new CustomList<>();
+        CustomList<String> toIds = new CustomList<>();
+        CustomList<TravelTimeFunction> functions = new CustomList<>();
+
+        CustomList<String> vertexIds = graph.getVertexIds();
+        for (int i = 0; i < vertexIds.size(); i++) {
+            String fromId = vertexIds.get(i);
+            CustomList<String> neighbors = graph.getNeighbors(fromId);
+            for (int j = 0; j < neighbors.size(); j++) {
+                TravelTimeFunction travelTime = graph.getEdgeTravelTime(fromId, neighbors.get(j));
+                if (travelTime != null) {
+                    fromIds.add(fromId);
+                    toIds.add(neighbors.get(j));
+                    functions.add(travelTime);
+                }
+            }
+        }
+
+        out.writeInt(fromIds.size());
+        for (int i = 0; i < fromIds.size(); i++) {
+            out.writeUTF(fromIds.get(i));
+            out.writeUTF(toIds.get(i));
+            StateCodec.writeTravelTime(out, functions.get(i));
+        }
+    }
+
+    /**
+     * Escribir los recursos asignados a cada ubicación del árbol de distribución
+     */
+    private static void writeDistributedResources(DataOutputStream out, DistributionTree tree) throws IOException {
+        if (tree == null) {
+            out.writeInt(0);
+            return;
+        }
+
+        CustomList<String> locationIds = tree.getAllLocations();
+        out.writeInt(locationIds.size());
+        for (int i = 0; i < locationIds.size(); i++) {
+            CustomList<Resource> assigned = tree.getResources(locationIds.get(i));
+            out.writeUTF(locationIds.get(i));
+            out.writeInt(assigned.size());
+            for (int j = 0; j < assigned.size(); j++) {
+                StateCodec.writeResource(out, assigned.get(j));
+            }
+        }
+    }
+
+    /**
+     * Restaurar una instantánea sobre un gestor vacío
+     * El gestor no debe tener un diario adjunto mientras se restaura
+     *
+     * @return Secuencia del último evento incluido en la instantánea, o -1 si no existe
+     */
+    public static long read(Path file, DisasterManager manager) throws IOException {
+        if (!Files.exists(file)) {
+            return -1;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a system snapshot: " + file);
+            }
+            int version = in.readInt();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported snapshot version: " + version);
+            }
+            long lastSequence = in.readLong();
+
+            // Se reconstruye con la API por lotes: un solo dimensionamiento y un resumen en el log
+            int locationCount = in.readInt();
+            CustomList<Location> locations = new CustomList<>();
+            for (int i = 0; i < locationCount; i++) {
+                locations.add(StateCodec.readLocation(in));
+            }
+            manager.addLocations(locations);
+
+            int routeCount = in.readInt();
+            CustomList<Route> routes = new CustomList<>();
+            for (int i = 0; i < routeCount; i++) {
+                routes.add(new Route(in.readUTF(), in.readUTF(), in.readDouble()));
+            }
+            manager.addRoutes(routes);
+
+            // Las instantáneas de la versión 1 no tienen capacidades
+            if (version >= 2) {
+                int capacityCount = in.readInt();
+                Graph graph = manager.getGraph();
+                for (int i = 0; i < capacityCount; i++) {
+                    graph.setEdgeCapacity(in.readUTF(), in.readUTF(), in.readDouble());
+                }
+            }
+
+            // Ni las de la versión 1 ni las de la 2 tienen tiempos de recorrido
+            if (version >= 3) {
+                int travelTimeCount = in.readInt();
+                Graph graph = manager.getGraph();
+                for (int i = 0; i < travelTimeCount; i++) {
+                    graph.setEdgeTravelTime(in.readUTF(), in.readUTF(), StateCodec.readTravelTime(in));
+                }
+            }
+
+            int treeNodes = in.readInt();
+            DistributionTree tree = manager.getDistributionTree();
+            for (int i = 0; i < treeNodes; i++) {
+                String locationId = in.readUTF();
+                int assignedCount = in.readInt();
+                for (int j = 0; j < assignedCount; j++) {
+                    Resource assigned = StateCodec.readResource(in);
+                    if (tree != null) {
+                        tree.assignResources(locationId, assigned);
+                    }
+                }
+            }
+
+            int resourceCount = in.readInt();
+            CustomList<Resource> inventory = new CustomList<>();
+            for (int i = 0; i < resourceCount; i++) {
+                inventory.add(StateCodec.readResource(in));
+            }
+            manager.addResources(inventory);
+
+            int teamCount = in.readInt();
+            CustomList<RescueTeam> teams = new CustomList<>();
+            for (int i = 0; i < teamCount; i++) {
+                teams.add(StateCodec.readTeam(in));
+            }
+            manager.addTeams(teams);
+
+            return lastSequence;
+        }
+    }
+}
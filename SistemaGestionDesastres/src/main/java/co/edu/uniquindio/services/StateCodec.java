@@ -0,0 +1,196 @@
+package co.edu.uniquindio.services;
+
+import co.edu.uniquindio.models.Location;
+import co.edu.uniquindio.models.RescueTeam;
+import co.edu.uniquindio.models.Resource;
+import co.edu.uniquindio.structures.TravelTimeFunction;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Codificación binaria compacta de los modelos del sistema
+ * Compartida por el diario de eventos y las instantáneas, para que ambos
+ * formatos representen ubicaciones, recursos y equipos exactamente igual
+ */
+final class StateCodec {
+
+    private StateCodec() {
+    }
+
+    // ==================== TEXTO ====================
+
+    /**
+     * Escribir un texto que puede ser null
+     */
+    static void writeNullableString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    /**
+     * Leer un texto que puede ser null
+     */
+    static String readNullableString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    // ==================== UBICACIONES ====================
+
+    /**
+     * Escribir una ubicación completa
+     */
+    static void writeLocation(DataOutput out, Location location) throws IOException {
+        out.writeUTF(location.getId());
+        out.writeUTF(location.getName());
+        out.writeByte(location.getType().ordinal());
+        out.writeInt(location.getPopulation());
+        out.writeByte(location.getUrgencyLevel());
+        out.writeDouble(location.getLatitude());
+        out.writeDouble(location.getLongitude());
+        out.writeUTF(location.getDescription());
+        out.writeBoolean(location.isEvacuated());
+    }
+
+    /**
+     * Leer una ubicación completa
+     */
+    static Location readLocation(DataInput in) throws IOException {
+        String id = in.readUTF();
+        String name = in.readUTF();
+        Location.LocationType type = Location.LocationType.values()[in.readByte()];
+        int population = in.readInt();
+        int urgency = in.readByte();
+        double latitude = in.readDouble();
+        double longitude = in.readDouble();
+        String description = in.readUTF();
+
+        Location location = new Location(id, name, type, population, urgency,
+                latitude, longitude, description);
+        location.setEvacuated(in.readBoolean());
+        return location;
+    }
+
+    // ==================== TIEMPOS DE RECORRIDO ====================
+
+    /**
+     * Escribir la función de tiempo de recorrido de una ruta (null si no tiene)
+     */
+    static void writeTravelTime(DataOutput out, TravelTimeFunction travelTime) throws IOException {
+        if (travelTime == null) {
+            out.writeInt(0);
+            return;
+        }
+        out.writeInt(travelTime.getBreakpointCount());
+        for (int i = 0; i < travelTime.getBreakpointCount(); i++) {
+            out.writeDouble(travelTime.getBreakpointTime(i));
+            out.writeDouble(travelTime.getBreakpointDuration(i));
+        }
+    }
+
+    /**
+     * Leer la función de tiempo de recorrido de una ruta
+     *
+     * @return Función, o null si la ruta no tiene
+     */
+    static TravelTimeFunction readTravelTime(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Invalid breakpoint count: " + count);
+        }
+        if (count == 0) {
+            return null;
+        }
+        double[] times = new double[count];
+        double[] durations = new double[count];
+        for (int i = 0; i < count; i++) {
+            times[i] = in.readDouble();
+            durations[i] = in.readDouble();
+        }
+        try {
+            return new TravelTimeFunction(times, durations);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid travel time function: " + e.getMessage(), e);
+        }
+    }
+
+    // ==================== RECURSOS ====================
+
+    /**
+     * Escribir un recurso completo
+     */
+    static void writeResource(DataOutput out, Resource resource) throws IOException {
+        out.writeUTF(resource.getId());
+        out.writeUTF(resource.getName());
+        out.writeByte(resource.getType().ordinal());
+        // Existencia física: las reservas pendientes no se persisten
+        out.writeInt((int) Math.min(Integer.MAX_VALUE, resource.getOnHandQuantity()));
+        out.writeUTF(resource.getUnit());
+        out.writeInt(resource.getMinimumStock());
+        out.writeUTF(resource.getSupplier());
+        out.writeBoolean(resource.isPerishable());
+        out.writeUTF(resource.getExpirationDate());
+    }
+
+    /**
+     * Leer un recurso completo
+     */
+    static Resource readResource(DataInput in) throws IOException {
+        String id = in.readUTF();
+        String name = in.readUTF();
+        Resource.ResourceType type = Resource.ResourceType.values()[in.readByte()];
+        int quantity = in.readInt();
+        String unit = in.readUTF();
+        int minimumStock = in.readInt();
+        String supplier = in.readUTF();
+        boolean perishable = in.readBoolean();
+        String expiration = in.readUTF();
+
+        return new Resource(id, name, type, quantity, unit, minimumStock,
+                supplier, perishable, expiration);
+    }
+
+    // ==================== EQUIPOS ====================
+
+    /**
+     * Escribir un equipo de rescate con su estado operativo
+     */
+    static void writeTeam(DataOutput out, RescueTeam team) throws IOException {
+        out.writeUTF(team.getId());
+        out.writeUTF(team.getName());
+        out.writeByte(team.getType().ordinal());
+        out.writeInt(team.getMembers());
+        out.writeByte(team.getExperienceLevel());
+        out.writeUTF(team.getContactNumber());
+        out.writeByte(team.getStatus().ordinal());
+        writeNullableString(out, team.getAssignedLocationId());
+        out.writeUTF(team.getLastDeploymentDate());
+        out.writeInt(team.getSuccessfulMissions());
+    }
+
+    /**
+     * Leer un equipo de rescate con su estado operativo
+     */
+    static RescueTeam readTeam(DataInput in) throws IOException {
+        String id = in.readUTF();
+        String name = in.readUTF();
+        RescueTeam.TeamType type = RescueTeam.TeamType.values()[in.readByte()];
+        int members = in.readInt();
+        int experience = in.readByte();
+        String contact = in.readUTF();
+        RescueTeam.TeamStatus status = RescueTeam.TeamStatus.values()[in.readByte()];
+        String assignedLocationId = readNullableString(in);
+
+        RescueTeam team = new RescueTeam(id, name, type, members, experience, contact);
+        if (assignedLocationId != null) {
+            team.assignToLocation(assignedLocationId);
+        }
+        team.setStatus(status);
+        team.setLastDeploymentDate(in.readUTF());
+        team.setSuccessfulMissions(in.readInt());
+        return team;
+    }
+}
@@ -0,0 +1,392 @@
+package co.edu.uniquindio.services;
+
+import co.edu.uniquindio.models.Location;
+import co.edu.uniquindio.models.RescueTeam;
+import co.edu.uniquindio.models.Resource;
+import co.edu.uniquindio.structures.CustomList;
+import co.edu.uniquindio.structures.CustomMap;
+import co.edu.uniquindio.structures.DistributionTree;
+import co.edu.uniquindio.structures.Graph;
+import co.edu.uniquindio.structures.PriorityQueue;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Instantánea inmutable del estado de DisasterManager en un instante dado
+ *
+ * Se obtiene con DisasterManager.getSnapshot() y contiene copias de todas las ubicaciones,
+ * recursos y equipos, junto con los agregados que usan los paneles y los informes.
+ * Se construye en dos fases: capture() solo copia, con los cerrojos del gestor tomados,
+ * y el constructor ordena por prioridad y calcula los agregados sobre esa copia, ya sin
+ * cerrojos, para que las modificaciones esperen lo menos posible.
+ * Como nada de lo que contiene se comparte con el gestor, puede leerse desde cualquier hilo
+ * y durante el tiempo que haga falta sin bloquear ni observar modificaciones a medias.
+ *
+ * Las listas devueltas son copias; los objetos del modelo que contienen no deben modificarse
+ * porque la misma instantánea se reutiliza mientras el estado no cambie.
+ */
+public final class SystemSnapshot {
+    private final long version;
+    private final LocalDateTime capturedAt;
+
+    // Ubicaciones en orden de prioridad de evacuación; los arreglos paralelos usan el mismo índice
+    private final Location[] locations;
+    private final int[] outDegrees;
+    private final Resource[][] assignedResources;
+    private final CustomMap<String, Integer> locationIndex;
+
+    private final Resource[] resources;
+    private final Resource[] lowStockResources;
+    private final RescueTeam[] teams;
+    private final CustomMap<String, CustomList<RescueTeam>> teamsByLocation;
+
+    private final long totalPopulation;
+    private final long totalResourceQuantity;
+    private final int deployedTeams;
+    private final int availableTeams;
+    private final int totalRoutes;
+    private final int[] urgencyCount;
+    private final long[] populationByUrgency;
+
+    /**
+     * Estado copiado mientras el gestor mantiene sus cerrojos, todavía sin ordenar
+     * ni agregar. Solo contiene copias, así que puede procesarse sin cerrojos
+     */
+    static final class Capture {
+        private final long version;
+        private final LocalDateTime capturedAt;
+        private final Location[] locations;
+        private final int[] outDegrees;
+        private final Resource[][] assignedResources;
+        private final int totalRoutes;
+        private final Resource[] resources;
+        private final RescueTeam[] teams;
+
+        private Capture(long version, Location[] locations, int[] outDegrees,
+                        Resource[][] assignedResources, int totalRoutes,
+                        Resource[] resources, RescueTeam[] teams) {
+            this.version = version;
+            this.capturedAt = LocalDateTime.now();
+            this.locations = locations;
+            this.outDegrees = outDegrees;
+            this.assignedResources = assignedResources;
+            this.totalRoutes = totalRoutes;
+            this.resources = resources;
+            this.teams = teams;
+        }
+    }
+
+    /**
+     * Copiar el estado; el gestor garantiza que no hay modificaciones en curso
+     * Solo copia en el orden en que están las colecciones: el orden de prioridad y los
+     * agregados se calculan después, en el constructor, ya sin cerrojos
+     * Complejidad: O(n + r + t + a) donde a es el número de recursos distribuidos
+     */
+    static Capture capture(long version, Graph graph, DistributionTree tree,
+                           CustomList<Resource> liveResources, CustomList<RescueTeam> liveTeams) {
+        CustomList<Location> live = graph.getAllVertices();
+        int count = live.size();
+        Location[] locations = new Location[count];
+        int[] outDegrees = new int[count];
+        Resource[][] assignedResources = new Resource[count][];
+        for (int i = 0; i < count; i++) {
+            Location copy = live.get(i).copy();
+            locations[i] = copy;
+            outDegrees[i] = graph.getOutDegree(copy.getId());
+
+            CustomList<Resource> assigned = tree != null ? tree.getResources(copy.getId()) : null;
+            Resource[] assignedCopy = new Resource[assigned != null ? assigned.size() : 0];
+            for (int j = 0; j < assignedCopy.length; j++) {
+                assignedCopy[j] = assigned.get(j).copy();
+            }
+            assignedResources[i] = assignedCopy;
+        }
+
+        Resource[] resources = new Resource[liveResources.size()];
+        for (int i = 0; i < resources.length; i++) {
+            resources[i] = liveResources.get(i).copy();
+        }
+
+        RescueTeam[] teams = new RescueTeam[liveTeams.size()];
+        for (int i = 0; i < teams.length; i++) {
+            teams[i] = liveTeams.get(i).copy();
+        }
+
+        return new Capture(version, locations, outDegrees, assignedResources,
+                graph.getEdgeCount(), resources, teams);
+    }
+
+    /**
+     * Construir la instantánea a partir de una copia; no toma cerrojos
+     * Complejidad: O(n log n) por el orden de prioridad + O(r + t)
+     */
+    SystemSnapshot(Capture raw) {
+        this.version = raw.version;
+        this.capturedAt = raw.capturedAt;
+
+        // Ubicaciones priorizadas (misma regla que DisasterManager.prioritizeEvacuations)
+        int count = raw.locations.length;
+        PriorityQueue<Integer> pq = new PriorityQueue<>(count + 1,
+                Comparator.comparingInt((Integer i) -> -raw.locations[i].getUrgencyLevel())
+                        .thenComparingInt(i -> raw.locations[i].getPopulation()));
+        for (int i = 0; i < count; i++) {
+            pq.offer(i);
+        }
+
+        locations = new Location[count];
+        outDegrees = new int[count];
+        assignedResources = new Resource[count][];
+        locationIndex = new CustomMap<>();
+        locationIndex.ensureCapacity(count);
+        urgencyCount = new int[6];
+        populationByUrgency = new long[6];
+
+        long population = 0;
+        for (int i = 0; i < count; i++) {
+            int original = pq.poll();
+            Location location = raw.locations[original];
+            locations[i] = location;
+            outDegrees[i] = raw.outDegrees[original];
+            assignedResources[i] = raw.assignedResources[original];
+            locationIndex.put(location.getId(), i);
+
+            population += location.getPopulation();
+            urgencyCount[location.getUrgencyLevel()]++;
+            populationByUrgency[location.getUrgencyLevel()] += location.getPopulation();
+        }
+        totalPopulation = population;
+        totalRoutes = raw.totalRoutes;
+
+        // Inventario
+        resources = raw.resources;
+        CustomList<Resource> lowStock = new CustomList<>();
+        long quantity = 0;
+        for (int i = 0; i < resources.length; i++) {
+            quantity += resources[i].getQuantity();
+            if (resources[i].isLowStock()) {
+                lowStock.add(resources[i]);
+            }
+        }
+        totalResourceQuantity = quantity;
+        lowStockResources = new Resource[lowStock.size()];
+        for (int i = 0; i < lowStockResources.length; i++) {
+            lowStockResources[i] = lowStock.get(i);
+        }
+
+        // Equipos
+        teams = raw.teams;
+        teamsByLocation = new CustomMap<>();
+        int deployed = 0;
+        int available = 0;
+        for (int i = 0; i < teams.length; i++) {
+            RescueTeam team = teams[i];
+            if (team.isDeployed()) {
+                deployed++;
+            }
+            if (team.isAvailable()) {
+                available++;
+            }
+            if (team.hasAssignment()) {
+                CustomList<RescueTeam> atLocation = teamsByLocation.get(team.getAssignedLocationId());
+                if (atLocation == null) {
+                    atLocation = new CustomList<>();
+                    teamsByLocation.put(team.getAssignedLocationId(), atLocation);
+                }
+                atLocation.add(team);
+            }
+        }
+        deployedTeams = deployed;
+        availableTeams = available;
+    }
+
+    // ==================== METADATOS ====================
+
+    /**
+     * Versión del estado capturado (aumenta con cada modificación del gestor)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Momento de la captura
+     */
+    public LocalDateTime getCapturedAt() {
+        return capturedAt;
+    }
+
+    // ==================== UBICACIONES ====================
+
+    /**
+     * Número de ubicaciones
+     */
+    public int getLocationCount() {
+        return locations.length;
+    }
+
+    /**
+     * Ubicación en la posición indicada del orden de prioridad (0 = más urgente)
+     * Complejidad: O(1)
+     */
+    public Location getLocation(int index) {
+        return locations[index];
+    }
+
+    /**
+     * Buscar una ubicación por ID
+     * Complejidad: O(1) promedio
+     *
+     * @return Ubicación, o null si no existía al capturar
+     */
+    public Location findLocation(String id) {
+        Integer index = locationIndex.get(id);
+        return index != null ? locations[index] : null;
+    }
+
+    /**
+     * Ubicaciones en orden de prioridad de evacuación
+     * Complejidad: O(n)
+     */
+    public CustomList<Location> getPrioritizedLocations() {
+        CustomList<Location> list = new CustomList<>();
+        for (int i = 0; i < locations.length; i++) {
+            list.add(locations[i]);
+        }
+        return list;
+    }
+
+    /**
+     * Ubicaciones en estado crítico (urgencia >= 4), en orden de prioridad
+     * Complejidad: O(n)
+     */
+    public CustomList<Location> getCriticalLocations() {
+        CustomList<Location> critical = new CustomList<>();
+        for (int i = 0; i < locations.length; i++) {
+            if (locations[i].isInCrisis()) {
+                critical.add(locations[i]);
+            }
+        }
+        return critical;
+    }
+
+    /**
+     * Número de rutas salientes de la ubicación en la posición indicada
+     */
+    public int getOutDegree(int index) {
+        return outDegrees[index];
+    }
+
+    /**
+     * Recursos distribuidos a la ubicación en la posición indicada
+     * Complejidad: O(r) donde r es el número de recursos asignados
+     */
+    public CustomList<Resource> getAssignedResources(int index) {
+        CustomList<Resource> list = new CustomList<>();
+        Resource[] assigned = assignedResources[index];
+        for (int i = 0; i < assigned.length; i++) {
+            list.add(assigned[i]);
+        }
+        return list;
+    }
+
+    /**
+     * Número de recursos distribuidos a la ubicación en la posición indicada
+     */
+    public int getAssignedResourceCount(int index) {
+        return assignedResources[index].length;
+    }
+
+    // ==================== RECURSOS ====================
+
+    /**
+     * Inventario general
+     * Complejidad: O(r)
+     */
+    public CustomList<Resource> getResources() {
+        return toList(resources);
+    }
+
+    /**
+     * Recursos con stock bajo
+     * Complejidad: O(r)
+     */
+    public CustomList<Resource> getLowStockResources() {
+        return toList(lowStockResources);
+    }
+
+    // ==================== EQUIPOS ====================
+
+    /**
+     * Todos los equipos de rescate
+     * Complejidad: O(t)
+     */
+    public CustomList<RescueTeam> getTeams() {
+        return toList(teams);
+    }
+
+    /**
+     * Equipos asignados a una ubicación
+     * Complejidad: O(k) donde k es el número de equipos en la ubicación
+     */
+    public CustomList<RescueTeam> getTeamsAtLocation(String locationId) {
+        CustomList<RescueTeam> list = new CustomList<>();
+        CustomList<RescueTeam> atLocation = teamsByLocation.get(locationId);
+        if (atLocation != null) {
+            for (int i = 0; i < atLocation.size(); i++) {
+                list.add(atLocation.get(i));
+            }
+        }
+        return list;
+    }
+
+    // ==================== AGREGADOS ====================
+
+    public long getTotalPopulation() {
+        return totalPopulation;
+    }
+
+    public long getTotalResourceQuantity() {
+        return totalResourceQuantity;
+    }
+
+    public int getTeamCount() {
+        return teams.length;
+    }
+
+    public int getDeployedTeamsCount() {
+        return deployedTeams;
+    }
+
+    public int getAvailableTeamsCount() {
+        return availableTeams;
+    }
+
+    public int getTotalRoutes() {
+        return totalRoutes;
+    }
+
+    /**
+     * Número de ubicaciones con el nivel de urgencia indicado (1-5)
+     */
+    public int getUrgencyCount(int level) {
+        return level >= 0 && level < urgencyCount.length ? urgencyCount[level] : 0;
+    }
+
+    /**
+     * Población en ubicaciones con el nivel de urgencia indicado (1-5)
+     */
+    public long getPopulationByUrgency(int level) {
+        return level >= 0 && level < populationByUrgency.length ? populationByUrgency[level] : 0;
+    }
+
+    // ==================== AUXILIARES ====================
+
+    private static <T> CustomList<T> toList(T[] items) {
+        CustomList<T> list = new CustomList<>();
+        for (int i = 0; i < items.length; i++) {
+            list.add(items[i]);
+        }
+        return list;
+    }
+}
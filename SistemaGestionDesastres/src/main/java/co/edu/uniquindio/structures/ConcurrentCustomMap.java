@@ -0,0 +1,519 @@
+package co.edu.uniquindio.structures;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+
+/**
+ * Variante concurrente de CustomMap (mismos métodos públicos)
+ * La tabla se divide en segmentos independientes, cada uno con su propio cerrojo,
+ * su propia tabla de cubetas y su propio contador:
+ *
+ * - Las escrituras (put, remove, clear...) solo bloquean el segmento de la clave,
+ *   así que escritores sobre claves de segmentos distintos no compiten
+ * - Las lecturas (get, containsKey, values...) no toman ningún cerrojo: las cadenas
+ *   de cada cubeta son inmutables salvo el valor (volátil), y quitar una entrada
+ *   copia los nodos anteriores en lugar de modificar la cadena existente
+ * - Cada segmento crece por su cuenta: redimensionar uno no detiene a los demás ni
+ *   a los lectores, que siguen usando la tabla anterior hasta que se publica la nueva
+ *
+ * size(), keys(), values() y entrySet() son débilmente consistentes: reflejan el
+ * estado de cada segmento en el momento de recorrerlo
+ */
+public class ConcurrentCustomMap<K, V> {
+    private static final int DEFAULT_SEGMENTS = 16;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentShift;
+    private final int segmentMask;
+
+    /**
+     * Nodo de una cadena; solo el valor puede cambiar después de publicarlo
+     */
+    private static final class Node<K, V> {
+        final int hash;
+        final K key;
+        volatile V value;
+        final Node<K, V> next;
+
+        Node(int hash, K key, V value, Node<K, V> next) {
+            this.hash = hash;
+            this.key = key;
+            this.value = value;
+            this.next = next;
+        }
+
+        boolean matches(int h, Object k) {
+            return hash == h && (key == null ? k == null : key.equals(k));
+        }
+    }
+
+    /**
+     * Segmento: una pequeña tabla hash protegida por su propio cerrojo
+     */
+    private static final class Segment<K, V> {
+        private final ReentrantLock lock;
+        volatile AtomicReferenceArray<Node<K, V>> table;
+        volatile int count;
+        int threshold;
+
+        Segment(int capacity) {
+            this.lock = new ReentrantLock();
+            setTable(new AtomicReferenceArray<>(capacity));
+        }
+
+        void lock() {
+            lock.lock();
+        }
+
+        void unlock() {
+            lock.unlock();
+        }
+
+        void setTable(AtomicReferenceArray<Node<K, V>> newTable) {
+            threshold = (int) (newTable.length() * LOAD_FACTOR);
+            table = newTable;
+        }
+
+        Node<K, V> find(int hash, Object key) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            Node<K, V> node = tab.get(hash & (tab.length() - 1));
+            while (node != null && !node.matches(hash, key)) {
+                node = node.next;
+            }
+            return node;
+        }
+
+        /**
+         * Insertar o actualizar (con el cerrojo tomado)
+         *
+         * @param onlyIfAbsent Si es true, no reemplaza un valor existente
+         * @return Nodo existente, o null si se insertó uno nuevo
+         */
+        Node<K, V> putLocked(int hash, K key, V value, boolean onlyIfAbsent) {
+            Node<K, V> existing = find(hash, key);
+            if (existing != null) {
+                if (!onlyIfAbsent) {
+                    existing.value = value;
+                }
+                return existing;
+            }
+
+            if (count >= threshold) {
+                rehash(table.length() * 2);
+            }
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int index = hash & (tab.length() - 1);
+            tab.set(index, new Node<>(hash, key, value, tab.get(index)));
+            count = count + 1;
+            return null;
+        }
+
+        /**
+         * Quitar una clave (con el cerrojo tomado)
+         * Los nodos anteriores al quitado se copian para no modificar la cadena que
+         * puede estar recorriendo un lector
+         *
+         * @return Nodo quitado, o null si no existía
+         */
+        Node<K, V> removeLocked(int hash, Object key) {
+            AtomicReferenceArray<Node<K, V>> tab = table;
+            int index = hash & (tab.length() - 1);
+            Node<K, V> head = tab.get(index);
+
+            Node<K, V> target = head;
+            while (target != null && !target.matches(hash, key)) {
+                target = target.next;
+            }
+            if (target == null) {
+                return null;
+            }
+
+            Node<K, V> newHead = target.next;
+            for (Node<K, V> node = head; node != target; node = node.next) {
+                newHead = new Node<>(node.hash, node.key, node.value, newHead);
+            }
+            tab.set(index, newHead);
+            count = count - 1;
+            return target;
+        }
+
+        /**
+         * Reconstruir la tabla del segmento con una nueva capacidad (con el cerrojo tomado)
+         * Se crean nodos nuevos: la tabla anterior queda intacta para los lectores en curso
+         * Complejidad: O(n) del segmento
+         */
+        void rehash(int newCapacity) {
+            AtomicReferenceArray<Node<K, V>> oldTable = table;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(newCapacity);
+            int mask = newCapacity - 1;
+
+            for (int i = 0; i < oldTable.length(); i++) {
+                for (Node<K, V> node = oldTable.get(i); node != null; node = node.next) {
+                    int index = node.hash & mask;
+                    newTable.set(index, new Node<>(node.hash, node.key, node.value, newTable.get(index)));
+                }
+            }
+            setTable(newTable);
+        }
+    }
+
+    /**
+     * Constructor: Inicializa el mapa con el número de segmentos por defecto
+     */
+    public ConcurrentCustomMap() {
+        this(INITIAL_CAPACITY * DEFAULT_SEGMENTS, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Constructor con capacidad inicial personalizada
+     */
+    public ConcurrentCustomMap(int initialCapacity) {
+        this(initialCapacity, DEFAULT_SEGMENTS);
+    }
+
+    /**
+     * Constructor con capacidad inicial y número de segmentos
+     *
+     * @param initialCapacity Capacidad total inicial
+     * @param concurrencyLevel Número estimado de escritores simultáneos (se redondea a potencia de dos)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentCustomMap(int initialCapacity, int concurrencyLevel) {
+        if (initialCapacity < 0 || concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("Invalid capacity or concurrency level");
+        }
+
+        int segmentCount = 1;
+        int shift = 0;
+        while (segmentCount < concurrencyLevel) {
+            segmentCount <<= 1;
+            shift++;
+        }
+
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 32 - shift;
+        this.segmentMask = segmentCount - 1;
+
+        int perSegment = tableSizeFor(Math.max(2, (initialCapacity + segmentCount - 1) / segmentCount));
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    /**
+     * Función hash: los bits altos eligen el segmento y los bajos la cubeta
+     * Complejidad: O(1)
+     */
+    private static int hash(Object key) {
+        if (key == null) return 0;
+        int h = key.hashCode();
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+        return h * 0x9E3779B9;
+    }
+
+    private Segment<K, V> segmentFor(int hash) {
+        return segments[segmentMask == 0 ? 0 : (hash >>> segmentShift) & segmentMask];
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        return size;
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Agregar o actualizar un par clave-valor
+     * Complejidad: O(1) promedio, O(n) peor caso
+     */
+    public void put(K key, V value) {
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            segment.putLocked(h, key, value, false);
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Agregar un par solo si la clave no existe, de forma atómica
+     * Complejidad: O(1) promedio
+     *
+     * @return Valor existente, o null si se agregó
+     */
+    public V putIfAbsent(K key, V value) {
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Node<K, V> existing = segment.putLocked(h, key, value, true);
+            return existing != null ? existing.value : null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Reemplazar el valor solo si la clave existe, de forma atómica
+     * Complejidad: O(1) promedio
+     *
+     * @return true si la clave existía
+     */
+    public boolean replace(K key, V value) {
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Node<K, V> existing = segment.find(h, key);
+            if (existing == null) {
+                return false;
+            }
+            existing.value = value;
+            return true;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Calcular un nuevo valor a partir del actual, de forma atómica
+     * La función recibe la clave y el valor actual (null si no existe); si devuelve null,
+     * la entrada se quita. Se ejecuta con el segmento bloqueado, así que debe ser breve
+     * y no acceder al mapa
+     * Complejidad: O(1) promedio
+     *
+     * @return Nuevo valor asociado, o null si la entrada se quitó
+     */
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> function) {
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Node<K, V> existing = segment.find(h, key);
+            V newValue = function.apply(key, existing != null ? existing.value : null);
+            if (newValue == null) {
+                if (existing != null) {
+                    segment.removeLocked(h, key);
+                }
+            } else if (existing != null) {
+                existing.value = newValue;
+            } else {
+                segment.putLocked(h, key, newValue, false);
+            }
+            return newValue;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    /**
+     * Remover una entrada
+     * Complejidad: O(1) promedio, O(n) peor caso
+     */
+    public V remove(K key) {
+        int h = hash(key);
+        Segment<K, V> segment = segmentFor(h);
+        segment.lock();
+        try {
+            Node<K, V> removed = segment.removeLocked(h, key);
+            return removed != null ? removed.value : null;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+    // ==================== LECTURA (SIN CERROJOS) ====================
+
+    /**
+     * Obtener el valor asociado a una clave
+     * Complejidad: O(1) promedio, O(n) peor caso
+     */
+    public V get(K key) {
+        int h = hash(key);
+        Node<K, V> node = segmentFor(h).find(h, key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Verificar si contiene una clave
+     * Complejidad: O(1) promedio
+     */
+    public boolean containsKey(K key) {
+        int h = hash(key);
+        return segmentFor(h).find(h, key) != null;
+    }
+
+    /**
+     * Obtener todas las claves
+     * Complejidad: O(n)
+     */
+    public CustomList<K> keys() {
+        CustomList<K> keyList = new CustomList<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Node<K, V>> tab = segment.table;
+            for (int i = 0; i < tab.length(); i++) {
+                for (Node<K, V> node = tab.get(i); node != null; node = node.next) {
+                    keyList.add(node.key);
+                }
+            }
+        }
+        return keyList;
+    }
+
+    /**
+     * Obtener todos los valores
+     * Complejidad: O(n)
+     */
+    public CustomList<V> values() {
+        CustomList<V> valueList = new CustomList<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Node<K, V>> tab = segment.table;
+            for (int i = 0; i < tab.length(); i++) {
+                for (Node<K, V> node = tab.get(i); node != null; node = node.next) {
+                    valueList.add(node.value);
+                }
+            }
+        }
+        return valueList;
+    }
+
+    /**
+     * Obtener todos los pares clave-valor
+     * Complejidad: O(n)
+     */
+    public CustomList<CustomMap.MapEntry<K, V>> entrySet() {
+        CustomList<CustomMap.MapEntry<K, V>> entries = new CustomList<>();
+        for (Segment<K, V> segment : segments) {
+            AtomicReferenceArray<Node<K, V>> tab = segment.table;
+            for (int i = 0; i < tab.length(); i++) {
+                for (Node<K, V> node = tab.get(i); node != null; node = node.next) {
+                    entries.add(new CustomMap.MapEntry<>(node.key, node.value));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Obtener el tamaño del mapa
+     * Complejidad: O(s) donde s es el número de segmentos
+     */
+    public int size() {
+        int total = 0;
+        for (Segment<K, V> segment : segments) {
+            total += segment.count;
+        }
+        return total;
+    }
+
+    /**
+     * Verificar si el mapa está vacío
+     * Complejidad: O(s)
+     */
+    public boolean isEmpty() {
+        for (Segment<K, V> segment : segments) {
+            if (segment.count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ==================== CAPACIDAD ====================
+
+    /**
+     * Reservar espacio para un número esperado de entradas
+     * Cada segmento crece por separado hasta su parte proporcional
+     * Complejidad: O(n) si redimensiona, O(s) si ya hay espacio
+     *
+     * @param expectedSize Número total de entradas que se espera almacenar
+     */
+    public void ensureCapacity(int expectedSize) {
+        int perSegment = (expectedSize + segments.length - 1) / segments.length;
+        for (Segment<K, V> segment : segments) {
+            segment.lock();
+            try {
+                if (perSegment > segment.threshold) {
+                    int newCapacity = segment.table.length();
+                    while ((int) (newCapacity * LOAD_FACTOR) < perSegment) {
+                        newCapacity *= 2;
+                    }
+                    segment.rehash(newCapacity);
+                }
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    /**
+     * Limpiar el mapa
+     * Complejidad: O(s)
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock();
+            try {
+                segment.setTable(new AtomicReferenceArray<>(tableSizeFor(INITIAL_CAPACITY)));
+                segment.count = 0;
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+    /**
+     * Representación en String del mapa
+     */
+    @Override
+    public String toString() {
+        CustomList<CustomMap.MapEntry<K, V>> entries = entrySet();
+        if (entries.isEmpty()) {
+            return "{}";
+        }
+
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < entries.size(); i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(entries.get(i).getKey()).append("=").append(entries.get(i).getValue());
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+
+    /**
+     * Obtener la capacidad actual (suma de las tablas de todos los segmentos)
+     */
+    public int capacity() {
+        int total = 0;
+        for (Segment<K, V> segment : segments) {
+            total += segment.table.length();
+        }
+        return total;
+    }
+
+    /**
+     * Obtener el factor de carga actual
+     */
+    public double loadFactor() {
+        return (double) size() / capacity();
+    }
+
+    /**
+     * Número de segmentos
+     */
+    public int segmentCount() {
+        return segments.length;
+    }
+}
@@ -107,16 +107,10 @@ public class CustomMap<K, V> {
 
     /**
      * Verificar si contiene una clave
+     * Recorre la cadena una sola vez, de modo que también detecta claves con valor null
      * Complejidad: O(1) promedio
      */
     public boolean containsKey(K key) {
-        return get(key) != null || (get(key) == null && containsKeyWithNullValue(key));
-    }
-
-    /**
-     * Verificar si existe una clave con valor null
-     */
-    private boolean containsKeyWithNullValue(K key) {
         int index = hash(key);
         Entry<K, V> entry = table[index];
 
@@ -235,24 +229,53 @@ public class CustomMap<K, V> {
         return size == 0;
     }
 
+    /**
+     * Reservar espacio para un número esperado de entradas
+     * Evita redimensionamientos sucesivos durante cargas masivas
+     * Complejidad: O(n) si redimensiona, O(1) si ya hay espacio
+     *
+     * @param expectedSize Número total de entradas que se espera almacenar
+     */
+    public void ensureCapacity(int expectedSize) {
+        if (expectedSize <= threshold) {
+            return;
+        }
+
+        int newCapacity = table.length;
+        while ((int) (newCapacity * LOAD_FACTOR) < expectedSize) {
+            newCapacity *= 2;
+        }
+        rehash(newCapacity);
+    }
+
     /**
      * Redimensionar la tabla cuando se alcanza el factor de carga
      * Complejidad: O(n)
      */
-    @SuppressWarnings("unchecked")
     private void resize() {
+        rehash(table.length * 2);
+    }
+
+    /**
+     * Reconstruir la tabla con una nueva capacidad
+     * Las entradas existentes se reenlazan en su nueva posición: no se crean nodos
+     * nuevos ni se vuelve a comprobar si cada clave ya existe
+     * Complejidad: O(n)
+     */
+    @SuppressWarnings("unchecked")
+    private void rehash(int newCapacity) {
         Entry<K, V>[] oldTable = table;
-        int newCapacity = oldTable.length * 2;
         table = new Entry[newCapacity];
         threshold = (int) (newCapacity * LOAD_FACTOR);
-        size = 0;
 
-        // Reinsertar todas las entradas
-        for (Entry<K, V> entry : oldTable) {
-            Entry<K, V> current = entry;
+        for (int i = 0; i < oldTable.length; i++) {
+            Entry<K, V> current = oldTable[i];
             while (current != null) {
-                put(current.key, current.value);
-                current = current.next;
+                Entry<K, V> next = current.next;
+                int index = hash(current.key);
+                current.next = table[index];
+                table[index] = current;
+                current = next;
             }
         }
     }
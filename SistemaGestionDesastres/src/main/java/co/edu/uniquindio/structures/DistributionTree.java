@@ -9,6 +9,7 @@ import co.edu.uniquindio.models.Resource;
  */
 public class DistributionTree {
     private TreeNode root;
+    private CustomMap<String, TreeNode> nodeIndex; // Acceso directo a cada nodo por ID
 
     /**
      * Clase interna para representar nodos del árbol
@@ -39,11 +40,13 @@ public class DistributionTree {
             throw new IllegalArgumentException("Root location ID cannot be null or empty");
         }
         this.root = new TreeNode(rootLocationId);
+        this.nodeIndex = new CustomMap<>();
+        this.nodeIndex.put(rootLocationId, root);
     }
 
     /**
      * Agregar una ubicación hija a un padre específico
-     * Complejidad: O(n) donde n es el número de nodos
+     * Complejidad: O(1) promedio
      *
      * @param parentLocationId ID de la ubicación padre
      * @param childLocationId ID de la ubicación hija
@@ -54,42 +57,91 @@ public class DistributionTree {
             throw new IllegalArgumentException("Child location ID cannot be null or empty");
         }
 
-        TreeNode parent = findNode(root, parentLocationId);
+        TreeNode parent = findNode(parentLocationId);
         if (parent != null) {
             // Verificar que el hijo no exista ya
-            if (findNode(root, childLocationId) != null) {
+            if (nodeIndex.containsKey(childLocationId)) {
                 return false; // Ya existe
             }
 
-            TreeNode child = new TreeNode(childLocationId);
-            child.parent = parent;
-            child.depth = parent.depth + 1;
-            parent.children.add(child);
+            link(parent, childLocationId);
             return true;
         }
         return false;
     }
 
+    /**
+     * Agregar varias ubicaciones hijas a un mismo padre en una sola pasada
+     * El padre se busca una vez y el índice se dimensiona antes de insertar
+     * Complejidad: O(m) promedio, donde m es el número de hijos
+     *
+     * @param parentLocationId ID de la ubicación padre
+     * @param childLocationIds IDs de las ubicaciones hijas
+     * @return Número de hijos agregados (los nulos, vacíos o ya existentes se omiten)
+     */
+    public int addChildren(String parentLocationId, CustomList<String> childLocationIds) {
+        TreeNode parent = findNode(parentLocationId);
+        if (parent == null || childLocationIds == null) {
+            return 0;
+        }
+
+        nodeIndex.ensureCapacity(nodeIndex.size() + childLocationIds.size());
+
+        int added = 0;
+        for (int i = 0; i < childLocationIds.size(); i++) {
+            String childId = childLocationIds.get(i);
+            if (childId == null || childId.isEmpty() || nodeIndex.containsKey(childId)) {
+                continue;
+            }
+
+            link(parent, childId);
+            added++;
+        }
+        return added;
+    }
+
+    /**
+     * Crear el nodo hijo, enlazarlo al padre y registrarlo en el índice
+     */
+    private void link(TreeNode parent, String childLocationId) {
+        TreeNode child = new TreeNode(childLocationId);
+        child.parent = parent;
+        child.depth = parent.depth + 1;
+        parent.children.add(child);
+        nodeIndex.put(childLocationId, child);
+    }
+
     /**
      * Remover una ubicación y todos sus descendientes
-     * Complejidad: O(n)
+     * Complejidad: O(k + d) donde k es el número de hermanos y d el de descendientes
      */
     public boolean removeLocation(String locationId) {
         if (locationId.equals(root.locationId)) {
             return false; // No se puede remover la raíz
         }
 
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         if (node != null && node.parent != null) {
             node.parent.children.remove(node);
+            unindex(node);
             return true;
         }
         return false;
     }
 
+    /**
+     * Quitar del índice un nodo y todo su subárbol
+     */
+    private void unindex(TreeNode node) {
+        nodeIndex.remove(node.locationId);
+        for (int i = 0; i < node.children.size(); i++) {
+            unindex(node.children.get(i));
+        }
+    }
+
     /**
      * Asignar recursos a una ubicación
-     * Complejidad: O(n) para buscar + O(1) para agregar
+     * Complejidad: O(1) promedio
      *
      * @param locationId ID de la ubicación
      * @param resource Recurso a asignar
@@ -99,7 +151,7 @@ public class DistributionTree {
             throw new IllegalArgumentException("Resource cannot be null");
         }
 
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         if (node != null) {
             node.resources.add(resource);
             return true;
@@ -109,10 +161,10 @@ public class DistributionTree {
 
     /**
      * Asignar múltiples recursos a una ubicación
-     * Complejidad: O(n + m) donde m es el número de recursos
+     * Complejidad: O(m) donde m es el número de recursos
      */
     public boolean assignMultipleResources(String locationId, CustomList<Resource> resources) {
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         if (node != null) {
             for (int i = 0; i < resources.size(); i++) {
                 node.resources.add(resources.get(i));
@@ -124,10 +176,10 @@ public class DistributionTree {
 
     /**
      * Remover un recurso específico de una ubicación
-     * Complejidad: O(n + r) donde r es el número de recursos
+     * Complejidad: O(r) donde r es el número de recursos
      */
     public boolean removeResource(String locationId, String resourceId) {
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         if (node != null) {
             for (int i = 0; i < node.resources.size(); i++) {
                 if (node.resources.get(i).getId().equals(resourceId)) {
@@ -141,12 +193,12 @@ public class DistributionTree {
 
     /**
      * Obtener recursos de una ubicación
-     * Complejidad: O(n)
+     * Complejidad: O(1) promedio
      *
      * @return Lista de recursos, o lista vacía si no existe
      */
     public CustomList<Resource> getResources(String locationId) {
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         if (node != null) {
             return node.resources;
         }
@@ -155,10 +207,10 @@ public class DistributionTree {
 
     /**
      * Obtener todos los recursos del árbol (incluyendo descendientes)
-     * Complejidad: O(n * r) donde r es el promedio de recursos por nodo
+     * Complejidad: O(d * r) donde d es el número de descendientes y r el promedio de recursos por nodo
      */
     public CustomList<Resource> getAllResources(String locationId) {
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         if (node == null) {
             return new CustomList<>();
         }
@@ -189,10 +241,10 @@ public class DistributionTree {
 
     /**
      * Obtener todos los IDs de ubicaciones hijas directas
-     * Complejidad: O(n)
+     * Complejidad: O(k) donde k es el número de hijos
      */
     public CustomList<String> getChildren(String locationId) {
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         CustomList<String> childIds = new CustomList<>();
 
         if (node != null) {
@@ -206,10 +258,10 @@ public class DistributionTree {
 
     /**
      * Obtener todos los descendientes de una ubicación
-     * Complejidad: O(n)
+     * Complejidad: O(d) donde d es el número de descendientes
      */
     public CustomList<String> getAllDescendants(String locationId) {
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         CustomList<String> descendants = new CustomList<>();
 
         if (node != null) {
@@ -232,10 +284,10 @@ public class DistributionTree {
 
     /**
      * Obtener el padre de una ubicación
-     * Complejidad: O(n)
+     * Complejidad: O(1) promedio
      */
     public String getParent(String locationId) {
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         if (node != null && node.parent != null) {
             return node.parent.locationId;
         }
@@ -244,45 +296,32 @@ public class DistributionTree {
 
     /**
      * Buscar un nodo en el árbol
-     * Complejidad: O(n)
+     * Complejidad: O(1) promedio gracias al índice
      */
-    private TreeNode findNode(TreeNode current, String locationId) {
-        if (current == null) {
+    private TreeNode findNode(String locationId) {
+        if (locationId == null) {
             return null;
         }
-
-        if (current.locationId.equals(locationId)) {
-            return current;
-        }
-
-        // Búsqueda en profundidad
-        for (int i = 0; i < current.children.size(); i++) {
-            TreeNode found = findNode(current.children.get(i), locationId);
-            if (found != null) {
-                return found;
-            }
-        }
-
-        return null;
+        return nodeIndex.get(locationId);
     }
 
     /**
      * Obtener el nivel/profundidad de una ubicación en el árbol
-     * Complejidad: O(n)
+     * Complejidad: O(1) promedio
      *
      * @return El nivel (0 para raíz), o -1 si no existe
      */
     public int getLevel(String locationId) {
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         return node != null ? node.depth : -1;
     }
 
     /**
      * Obtener la altura del árbol desde un nodo
-     * Complejidad: O(n)
+     * Complejidad: O(d) donde d es el número de descendientes
      */
     public int getHeight(String locationId) {
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         return node != null ? calculateHeight(node) : -1;
     }
 
@@ -338,34 +377,18 @@ public class DistributionTree {
 
     /**
      * Verificar si una ubicación existe en el árbol
-     * Complejidad: O(n)
+     * Complejidad: O(1) promedio
      */
     public boolean contains(String locationId) {
-        return findNode(root, locationId) != null;
+        return findNode(locationId) != null;
     }
 
     /**
      * Obtener el número de nodos en el árbol
-     * Complejidad: O(n)
+     * Complejidad: O(1)
      */
     public int size() {
-        return countNodes(root);
-    }
-
-    /**
-     * Contar nodos recursivamente
-     */
-    private int countNodes(TreeNode node) {
-        if (node == null) {
-            return 0;
-        }
-
-        int count = 1;
-        for (int i = 0; i < node.children.size(); i++) {
-            count += countNodes(node.children.get(i));
-        }
-
-        return count;
+        return nodeIndex.size();
     }
 
     /**
@@ -378,10 +401,10 @@ public class DistributionTree {
 
     /**
      * Obtener si un nodo es hoja (no tiene hijos)
-     * Complejidad: O(n)
+     * Complejidad: O(1) promedio
      */
     public boolean isLeaf(String locationId) {
-        TreeNode node = findNode(root, locationId);
+        TreeNode node = findNode(locationId);
         return node != null && node.children.isEmpty();
     }
 
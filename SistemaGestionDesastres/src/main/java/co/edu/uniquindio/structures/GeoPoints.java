@@ -0,0 +1,265 @@
+package co.edu.uniquindio.structures;
+
+import co.edu.uniquindio.models.Location;
+
+import java.util.Arrays;
+
+/**
+ * Coordenadas en estructura de arreglos y cálculo masivo de distancias de Haversine
+ *
+ * Cada punto se guarda una sola vez como vector unitario (x, y, z) sobre la esfera, en
+ * tres arreglos paralelos. La distancia de Haversine entre dos puntos es
+ * 2R · asin(c / 2), donde c es la cuerda entre sus vectores, así que cada par cuesta
+ * tres restas, tres productos, una raíz y un asin, sin conversiones a radianes ni
+ * senos/cosenos por par.
+ *
+ * El cálculo de las cuerdas de uno a muchos usa la Vector API (GeoVectorKernels) cuando
+ * la aplicación se ejecuta con --add-modules jdk.incubator.vector (el pom lo pasa al
+ * compilar); sin el módulo se usa un bucle escalar sobre arreglos de primitivos que el
+ * JIT puede vectorizar por su cuenta. Ambos caminos dan los mismos resultados. La matriz
+ * de muchos a muchos (distanceMatrix) es una pasada de uno a muchos por fila.
+ *
+ * Las comparaciones contra un radio no necesitan ni la raíz ni el asin: se compara la
+ * cuerda al cuadrado (squaredChordsFrom) contra un umbral calculado una vez (chordThreshold).
+ *
+ * Usos: SpatialGrid guarda un GeoPoints por celda y revisa cada celda con una sola llamada
+ * masiva; ProximityGraphBuilder calcula con distanceMatrix las vecinas de los conjuntos
+ * pequeños; TimeDependentRouter toma los puntos de los vértices (of(IndexedGraph)) para la
+ * velocidad aparente de la red y las distancias en línea recta al destino de su búsqueda A*.
+ */
+public class GeoPoints {
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    private static final boolean VECTORIZED =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private double[] x;
+    private double[] y;
+    private double[] z;
+    private int size;
+
+    /**
+     * Constructor
+     *
+     * @param capacity Número de puntos esperado
+     */
+    public GeoPoints(int capacity) {
+        int initial = Math.max(1, capacity);
+        this.x = new double[initial];
+        this.y = new double[initial];
+        this.z = new double[initial];
+        this.size = 0;
+    }
+
+    /**
+     * Puntos de una lista de ubicaciones, en el mismo orden
+     * Complejidad: O(n)
+     */
+    public static GeoPoints of(CustomList<Location> locations) {
+        GeoPoints points = new GeoPoints(locations.size());
+        for (int i = 0; i < locations.size(); i++) {
+            points.add(locations.get(i).getLatitude(), locations.get(i).getLongitude());
+        }
+        return points;
+    }
+
+    /**
+     * Puntos de los vértices de un grafo indexado, con el mismo índice y las coordenadas actuales
+     * Complejidad: O(V)
+     */
+    public static GeoPoints of(IndexedGraph graph) {
+        GeoPoints points = new GeoPoints(graph.getVertexCount());
+        for (int v = 0; v < graph.getVertexCount(); v++) {
+            Location location = graph.getLocation(v);
+            points.add(location.getLatitude(), location.getLongitude());
+        }
+        return points;
+    }
+
+    /**
+     * Agregar un punto
+     * Complejidad: O(1) amortizado
+     *
+     * @return Índice del punto
+     */
+    public int add(double latitude, double longitude) {
+        if (size == x.length) {
+            int capacity = size * 2;
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            z = Arrays.copyOf(z, capacity);
+        }
+        set(size, latitude, longitude);
+        return size++;
+    }
+
+    /**
+     * Quitar un punto moviendo el último a su posición (el orden no se conserva)
+     * Complejidad: O(1)
+     */
+    public void removeSwap(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        size--;
+        x[index] = x[size];
+        y[index] = y[size];
+        z[index] = z[size];
+    }
+
+    /**
+     * Guardar el vector unitario de unas coordenadas en la posición indicada
+     */
+    private void set(int index, double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        x[index] = cosPhi * Math.cos(lambda);
+        y[index] = cosPhi * Math.sin(lambda);
+        z[index] = Math.sin(phi);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getLatitude(int index) {
+        return Math.toDegrees(Math.asin(Math.max(-1.0, Math.min(1.0, z[index]))));
+    }
+
+    public double getLongitude(int index) {
+        return Math.toDegrees(Math.atan2(y[index], x[index]));
+    }
+
+    /**
+     * true si los cálculos de uno a muchos usan la Vector API
+     */
+    public static boolean isVectorized() {
+        return VECTORIZED;
+    }
+
+    // ==================== KERNELS ====================
+
+    /**
+     * Distancia entre dos puntos del conjunto
+     * Complejidad: O(1)
+     */
+    public double distance(int i, int j) {
+        double dx = x[i] - x[j];
+        double dy = y[i] - y[j];
+        double dz = z[i] - z[j];
+        return chordToKm(dx * dx + dy * dy + dz * dz);
+    }
+
+    /**
+     * Distancias de un punto del conjunto a todos los demás (uno a muchos)
+     * Complejidad: O(n)
+     *
+     * @param out Arreglo de salida de al menos size() posiciones
+     */
+    public void distancesFrom(int index, double[] out) {
+        distancesFrom(x[index], y[index], z[index], out);
+    }
+
+    /**
+     * Distancias de unas coordenadas a todos los puntos (uno a muchos)
+     * Complejidad: O(n)
+     *
+     * @param out Arreglo de salida de al menos size() posiciones
+     */
+    public void distancesFrom(double latitude, double longitude, double[] out) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        distancesFrom(cosPhi * Math.cos(lambda), cosPhi * Math.sin(lambda), Math.sin(phi), out);
+    }
+
+    private void distancesFrom(double px, double py, double pz, double[] out) {
+        // Primero las cuerdas al cuadrado (aritmética pura, vectorizable), luego la conversión
+        squaredChordsFrom(px, py, pz, out);
+        for (int i = 0; i < size; i++) {
+            out[i] = chordToKm(out[i]);
+        }
+    }
+
+    /**
+     * Cuerdas al cuadrado de un vector unitario (ver unitVector) a todos los puntos
+     * Sirve para filtrar por radio contra chordThreshold sin raíces ni asin
+     * Complejidad: O(n)
+     *
+     * @param out Arreglo de salida de al menos size() posiciones
+     */
+    public void squaredChordsFrom(double[] unit, double[] out) {
+        squaredChordsFrom(unit[0], unit[1], unit[2], out);
+    }
+
+    private void squaredChordsFrom(double px, double py, double pz, double[] out) {
+        if (VECTORIZED) {
+            GeoVectorKernels.squaredChords(x, y, z, size, px, py, pz, out);
+        } else {
+            for (int i = 0; i < size; i++) {
+                double dx = x[i] - px;
+                double dy = y[i] - py;
+                double dz = z[i] - pz;
+                out[i] = dx * dx + dy * dy + dz * dz;
+            }
+        }
+    }
+
+    /**
+     * Matriz de distancias entre todos los puntos de este conjunto y los de otro (muchos a muchos)
+     * Cada fila es una pasada de uno a muchos sobre targets
+     * Complejidad: O(n · m)
+     *
+     * @return Matriz [i][j] = distancia del punto i de este conjunto al punto j de targets
+     */
+    public double[][] distanceMatrix(GeoPoints targets) {
+        double[][] matrix = new double[size][targets.size];
+        for (int i = 0; i < size; i++) {
+            targets.distancesFrom(x[i], y[i], z[i], matrix[i]);
+        }
+        return matrix;
+    }
+
+    // ==================== CONVERSIONES ====================
+
+    /**
+     * Vector unitario (x, y, z) de unas coordenadas en grados, el mismo que se guarda por punto
+     */
+    public static double[] unitVector(double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        return new double[]{cosPhi * Math.cos(lambda), cosPhi * Math.sin(lambda), Math.sin(phi)};
+    }
+
+    /**
+     * Distancia en km correspondiente a una cuerda al cuadrado sobre la esfera unitaria
+     */
+    public static double chordToKm(double squaredChord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(squaredChord) / 2));
+    }
+
+    /**
+     * Cuerda al cuadrado que corresponde a una distancia en km (inversa de chordToKm)
+     */
+    public static double chordThreshold(double radiusKm) {
+        if (radiusKm >= Math.PI * EARTH_RADIUS_KM) {
+            return 4.0;
+        }
+        double half = Math.sin(radiusKm / (2 * EARTH_RADIUS_KM));
+        return 4 * half * half;
+    }
+
+    /**
+     * Distancia de Haversine en km entre dos pares de coordenadas en grados
+     * Complejidad: O(1)
+     */
+    public static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double sinLat = Math.sin((phi2 - phi1) / 2);
+        double sinLon = Math.sin(Math.toRadians(lon2 - lon1) / 2);
+        double a = sinLat * sinLat + Math.cos(phi1) * Math.cos(phi2) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
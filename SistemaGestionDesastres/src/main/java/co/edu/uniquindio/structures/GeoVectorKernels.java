@@ -0,0 +1,41 @@
+package co.edu.uniquindio.structures;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Cuerdas al cuadrado con la Vector API (jdk.incubator.vector)
+ *
+ * Solo la usa GeoPoints, y solo cuando el módulo está disponible en tiempo de ejecución
+ * (--add-modules jdk.incubator.vector); si no, esta clase nunca se carga y GeoPoints usa
+ * su bucle escalar. Las operaciones se hacen en el mismo orden que en el bucle escalar,
+ * así que ambos caminos dan exactamente los mismos resultados.
+ */
+final class GeoVectorKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private GeoVectorKernels() {
+    }
+
+    /**
+     * Cuerda al cuadrado entre (px, py, pz) y cada uno de los primeros size puntos
+     * Complejidad: O(n / ancho del vector)
+     */
+    static void squaredChords(double[] x, double[] y, double[] z, int size,
+                              double px, double py, double pz, double[] out) {
+        int bound = SPECIES.loopBound(size);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, x, i).sub(px);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, y, i).sub(py);
+            DoubleVector dz = DoubleVector.fromArray(SPECIES, z, i).sub(pz);
+            dx.mul(dx).add(dy.mul(dy)).add(dz.mul(dz)).intoArray(out, i);
+        }
+        for (; i < size; i++) {
+            double dx = x[i] - px;
+            double dy = y[i] - py;
+            double dz = z[i] - pz;
+            out[i] = dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
@@ -8,8 +8,19 @@ import co.edu.uniquindio.models.Location;
  * Utiliza lista de adyacencia para almacenar las conexiones
  */
 public class Graph {
+    // Capacidad de las aristas sin capacidad asignada
+    public static final double UNLIMITED_CAPACITY = Double.POSITIVE_INFINITY;
+
     private CustomMap<String, Location> vertices;
     private CustomMap<String, CustomMap<String, Double>> adjacencyList;
+    private CustomMap<String, CustomMap<String, Double>> capacities; // Solo las asignadas
+    private CustomMap<String, CustomMap<String, TravelTimeFunction>> travelTimes; // Solo las asignadas
+    private long version; // Aumenta con cada cambio de vértices, aristas o pesos
+    private long attributeVersion; // Aumenta con cada cambio de capacidades o tiempos de recorrido
+    private long removalVersion; // Versión del último cambio que pudo quitar caminos
+    private volatile IndexedGraph indexed;
+    private volatile ReachabilityIndex reachability;
+    private volatile UnionFind connectivity; // Componentes débilmente conexas; null si hay que recalcular
 
     /**
      * Constructor: Inicializa el grafo vacío
@@ -17,6 +28,9 @@ public class Graph {
     public Graph() {
         this.vertices = new CustomMap<>();
         this.adjacencyList = new CustomMap<>();
+        this.capacities = new CustomMap<>();
+        this.travelTimes = new CustomMap<>();
+        this.connectivity = new UnionFind();
     }
 
     /**
@@ -33,6 +47,10 @@ public class Graph {
         if (!vertices.containsKey(location.getId())) {
             vertices.put(location.getId(), location);
             adjacencyList.put(location.getId(), new CustomMap<>());
+            version++;
+            if (connectivity != null) {
+                connectivity.add(location.getId());
+            }
         }
     }
 
@@ -46,6 +64,18 @@ public class Graph {
         }
     }
 
+    /**
+     * Reservar espacio para un número de vértices adicionales
+     * Complejidad: O(V) si redimensiona
+     *
+     * @param additionalVertices Vértices que se van a agregar
+     */
+    public void ensureCapacity(int additionalVertices) {
+        int expected = vertices.size() + Math.max(0, additionalVertices);
+        vertices.ensureCapacity(expected);
+        adjacencyList.ensureCapacity(expected);
+    }
+
     /**
      * Remover una ubicación del grafo
      * También remueve todas las aristas asociadas
@@ -59,12 +89,25 @@ public class Graph {
         // Remover el vértice
         vertices.remove(vertexId);
         adjacencyList.remove(vertexId);
+        capacities.remove(vertexId);
+        travelTimes.remove(vertexId);
+        version++;
+        removalVersion = version;
+        connectivity = null; // Quitar aristas puede separar componentes
 
         // Remover todas las aristas que apuntan a este vértice
         CustomList<String> allVertices = vertices.keys();
         for (int i = 0; i < allVertices.size(); i++) {
             String v = allVertices.get(i);
             adjacencyList.get(v).remove(vertexId);
+            CustomMap<String, Double> caps = capacities.get(v);
+            if (caps != null) {
+                caps.remove(vertexId);
+            }
+            CustomMap<String, TravelTimeFunction> profiles = travelTimes.get(v);
+            if (profiles != null) {
+                profiles.remove(vertexId);
+            }
         }
     }
 
@@ -84,6 +127,10 @@ public class Graph {
         if (vertices.containsKey(fromId) && vertices.containsKey(toId)) {
             CustomMap<String, Double> edges = adjacencyList.get(fromId);
             edges.put(toId, weight);
+            version++;
+            if (connectivity != null) {
+                connectivity.union(fromId, toId);
+            }
         }
     }
 
@@ -101,9 +148,117 @@ public class Graph {
      * Complejidad: O(1) promedio
      */
     public void removeEdge(String fromId, String toId) {
-        if (adjacencyList.containsKey(fromId)) {
-            adjacencyList.get(fromId).remove(toId);
+        if (adjacencyList.containsKey(fromId) && adjacencyList.get(fromId).remove(toId) != null) {
+            CustomMap<String, Double> caps = capacities.get(fromId);
+            if (caps != null) {
+                caps.remove(toId);
+            }
+            CustomMap<String, TravelTimeFunction> profiles = travelTimes.get(fromId);
+            if (profiles != null) {
+                profiles.remove(toId);
+            }
+            version++;
+            removalVersion = version;
+            connectivity = null;
+        }
+    }
+
+    /**
+     * Asignar la capacidad de una arista existente (unidades por hora: personas, vehículos...)
+     * Complejidad: O(1) promedio
+     *
+     * @param capacity Capacidad, o UNLIMITED_CAPACITY para quitar el límite
+     * @return true si la arista existe
+     */
+    public boolean setEdgeCapacity(String fromId, String toId, double capacity) {
+        if (capacity < 0 || Double.isNaN(capacity)) {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+
+        if (!hasEdge(fromId, toId)) {
+            return false;
+        }
+
+        CustomMap<String, Double> caps = capacities.get(fromId);
+        if (Double.isInfinite(capacity)) {
+            if (caps != null) {
+                caps.remove(toId);
+            }
+        } else {
+            if (caps == null) {
+                caps = new CustomMap<>();
+                capacities.put(fromId, caps);
+            }
+            caps.put(toId, capacity);
         }
+        attributeVersion++;
+        return true;
+    }
+
+    /**
+     * Obtener la capacidad de una arista
+     * Complejidad: O(1) promedio
+     *
+     * @return Capacidad asignada, UNLIMITED_CAPACITY si no tiene, o 0 si la arista no existe
+     */
+    public double getEdgeCapacity(String fromId, String toId) {
+        if (!hasEdge(fromId, toId)) {
+            return 0.0;
+        }
+
+        CustomMap<String, Double> caps = capacities.get(fromId);
+        Double capacity = caps != null ? caps.get(toId) : null;
+        return capacity != null ? capacity : UNLIMITED_CAPACITY;
+    }
+
+    /**
+     * Verificar si una arista tiene una capacidad asignada
+     * Complejidad: O(1) promedio
+     */
+    public boolean hasEdgeCapacity(String fromId, String toId) {
+        CustomMap<String, Double> caps = capacities.get(fromId);
+        return caps != null && caps.containsKey(toId);
+    }
+
+    /**
+     * Asignar el tiempo de recorrido dependiente de la hora de una arista existente
+     * El peso estático (distancia) no cambia; los algoritmos por hora de llegada usan esta
+     * función en lugar de distancia / velocidad
+     * Complejidad: O(1) promedio
+     *
+     * @param travelTime Función de tiempo de recorrido, o null para quitarla
+     * @return true si la arista existe
+     */
+    public boolean setEdgeTravelTime(String fromId, String toId, TravelTimeFunction travelTime) {
+        if (!hasEdge(fromId, toId)) {
+            return false;
+        }
+
+        CustomMap<String, TravelTimeFunction> profiles = travelTimes.get(fromId);
+        if (travelTime == null) {
+            if (profiles != null) {
+                profiles.remove(toId);
+            }
+        } else {
+            if (profiles == null) {
+                profiles = new CustomMap<>();
+                travelTimes.put(fromId, profiles);
+            }
+            profiles.put(toId, travelTime);
+        }
+        attributeVersion++;
+        return true;
+    }
+
+    /**
+     * Obtener el tiempo de recorrido dependiente de la hora de una arista
+     * Complejidad: O(1) promedio
+     *
+     * @return Función asignada, o null si la arista no tiene (o no existe)
+     */
+    public TravelTimeFunction getEdgeTravelTime(String fromId, String toId) {
+        CustomMap<String, TravelTimeFunction> profiles = travelTimes.get(fromId);
+        return profiles != null && hasEdge(fromId, toId) ? profiles.get(toId) : null;
     }
 
     /**
@@ -266,6 +421,102 @@ public class Graph {
     public void clear() {
         vertices.clear();
         adjacencyList.clear();
+        capacities.clear();
+        travelTimes.clear();
+        version++;
+        attributeVersion++;
+        removalVersion = version;
+        connectivity = new UnionFind();
+    }
+
+    /**
+     * Versión de la estructura del grafo
+     * Aumenta cada vez que cambian los vértices, las aristas o sus pesos, así que sirve
+     * para saber si un resultado calculado sobre el grafo sigue siendo válido. Las
+     * capacidades y los tiempos de recorrido no la cambian (ver getAttributeVersion())
+     * Complejidad: O(1)
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Versión de las capacidades y tiempos de recorrido de las aristas
+     * Solo la necesitan los resultados que dependen de esos datos (flujos, tiempos por hora)
+     * Complejidad: O(1)
+     */
+    public long getAttributeVersion() {
+        return attributeVersion;
+    }
+
+    /**
+     * Obtener la forma indexada (CSR) del grafo
+     * Se construye la primera vez y se reutiliza mientras no cambien la versión del grafo
+     * ni la de sus capacidades y tiempos de recorrido. Puede llamarse desde varios lectores a la vez: en el peor caso dos la construyen
+     * y se queda la última
+     * Complejidad: O(1) si el grafo no cambió, O(V + E) al reconstruir
+     */
+    public IndexedGraph getIndexedGraph() {
+        IndexedGraph current = indexed;
+        if (current == null || current.getVersion() != version
+                || current.getAttributeVersion() != attributeVersion) {
+            current = new IndexedGraph(this);
+            indexed = current;
+        }
+        return current;
+    }
+
+    /**
+     * Obtener el índice de alcanzabilidad (componentes fuertemente conexas)
+     * Se reutiliza mientras no cambie la versión del grafo; los cambios de capacidades o
+     * tiempos de recorrido no lo invalidan
+     * Complejidad: O(1) si el grafo no cambió, O(V + E) al reconstruir
+     */
+    public ReachabilityIndex getReachabilityIndex() {
+        ReachabilityIndex index = reachability;
+        if (index == null || index.getVersion() != version) {
+            IndexedGraph current = getIndexedGraph();
+            index = new ReachabilityIndex(current);
+            reachability = index;
+        }
+        return index;
+    }
+
+    /**
+     * Verificar si dos vértices están conectados ignorando el sentido de las aristas
+     * Las aristas nuevas se incorporan a la unión de conjuntos al agregarlas; tras quitar
+     * aristas o vértices se recalcula en la siguiente consulta
+     * Complejidad: O(log V), O(V + E) si hay que recalcular
+     */
+    public boolean areConnected(String aId, String bId) {
+        return getConnectivity().connected(aId, bId);
+    }
+
+    /**
+     * Número de componentes débilmente conexas (grupos sin ninguna ruta entre sí)
+     * Complejidad: O(1), O(V + E) si hay que recalcular
+     */
+    public int getConnectedComponentCount() {
+        return getConnectivity().getSetCount();
+    }
+
+    private UnionFind getConnectivity() {
+        UnionFind current = connectivity;
+        if (current == null) {
+            current = new UnionFind();
+            CustomList<String> ids = vertices.keys();
+            for (int i = 0; i < ids.size(); i++) {
+                current.add(ids.get(i));
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                CustomList<String> neighbors = adjacencyList.get(ids.get(i)).keys();
+                for (int j = 0; j < neighbors.size(); j++) {
+                    current.union(ids.get(i), neighbors.get(j));
+                }
+            }
+            connectivity = current;
+        }
+        return current;
     }
 
     /**
@@ -306,8 +557,13 @@ public class Graph {
     }
 
     /**
-     * Verificar si existe un camino entre dos vértices (usando BFS)
-     * Complejidad: O(V + E)
+     * Verificar si existe un camino dirigido entre dos vértices
+     * Primero descarta los vértices sin conexión ni ignorando el sentido (unión de conjuntos,
+     * que se actualiza al agregar aristas). Como agregar aristas no quita caminos, un índice
+     * de alcanzabilidad anterior que ya encontraba el camino sigue valiendo si desde entonces
+     * no se quitó nada; solo en los demás casos se usa (y si hace falta se reconstruye) el
+     * índice de la versión actual
+     * Complejidad: O(log V) con índices vigentes, O(V + E) al reconstruirlos
      */
     public boolean hasPath(String fromId, String toId) {
         if (!containsVertex(fromId) || !containsVertex(toId)) {
@@ -318,30 +574,13 @@ public class Graph {
             return true;
         }
 
-        CustomMap<String, Boolean> visited = new CustomMap<>();
-        CustomList<String> queue = new CustomList<>();
-
-        queue.add(fromId);
-        visited.put(fromId, true);
-
-        while (!queue.isEmpty()) {
-            String current = queue.remove(0);
-            CustomList<String> neighbors = getNeighbors(current);
-
-            for (int i = 0; i < neighbors.size(); i++) {
-                String neighbor = neighbors.get(i);
-
-                if (neighbor.equals(toId)) {
-                    return true;
-                }
-
-                if (visited.get(neighbor) == null) {
-                    visited.put(neighbor, true);
-                    queue.add(neighbor);
-                }
-            }
+        if (!areConnected(fromId, toId)) {
+            return false;
         }
-
-        return false;
+        ReachabilityIndex previous = reachability;
+        if (previous != null && previous.getVersion() >= removalVersion && previous.canReach(fromId, toId)) {
+            return true;
+        }
+        return getReachabilityIndex().canReach(fromId, toId);
     }
 }
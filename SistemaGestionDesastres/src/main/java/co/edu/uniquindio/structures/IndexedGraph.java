@@ -0,0 +1,209 @@
+package co.edu.uniquindio.structures;
+
+import co.edu.uniquindio.models.Location;
+
+/**
+ * Forma indexada e inmutable de un Graph, en formato CSR (compressed sparse row)
+ * Cada vértice recibe un índice 0..V-1 y las aristas salientes del vértice v ocupan
+ * las posiciones rowStart[v] .. rowStart[v + 1] - 1 de los arreglos de destino, peso
+ * y capacidad. Los algoritmos que recorren el grafo muchas veces (flujos, centralidad)
+ * trabajan con arreglos de primitivos en lugar de mapas de cadenas.
+ *
+ * Se obtiene con Graph.getIndexedGraph(), que la reutiliza mientras el grafo no cambie.
+ */
+public final class IndexedGraph {
+    private final long version;
+    private final long attributeVersion;
+    private final String[] ids;
+    private final Location[] locations;
+    private final CustomMap<String, Integer> indexById;
+    private final int[] rowStart;
+    private final int[] targets;
+    private final double[] weights;
+    private final double[] capacities;
+    private final TravelTimeFunction[] travelTimes; // null en las aristas sin función asignada
+
+    /**
+     * Construir a partir del grafo
+     * Complejidad: O(V + E)
+     */
+    IndexedGraph(Graph graph) {
+        this.version = graph.getVersion();
+        this.attributeVersion = graph.getAttributeVersion();
+
+        CustomList<Location> all = graph.getAllVertices();
+        int n = all.size();
+        ids = new String[n];
+        locations = new Location[n];
+        indexById = new CustomMap<>();
+        indexById.ensureCapacity(n);
+        for (int i = 0; i < n; i++) {
+            locations[i] = all.get(i);
+            ids[i] = locations[i].getId();
+            indexById.put(ids[i], i);
+        }
+
+        rowStart = new int[n + 1];
+        CustomList<CustomList<CustomMap.MapEntry<String, Double>>> adjacency = new CustomList<>();
+        for (int i = 0; i < n; i++) {
+            CustomList<CustomMap.MapEntry<String, Double>> edges =
+                    graph.getNeighborsWithWeights(ids[i]).entrySet();
+            adjacency.add(edges);
+            rowStart[i + 1] = rowStart[i] + edges.size();
+        }
+
+        int m = rowStart[n];
+        targets = new int[m];
+        weights = new double[m];
+        capacities = new double[m];
+        travelTimes = new TravelTimeFunction[m];
+        for (int i = 0; i < n; i++) {
+            CustomList<CustomMap.MapEntry<String, Double>> edges = adjacency.get(i);
+            int edge = rowStart[i];
+            for (int j = 0; j < edges.size(); j++, edge++) {
+                String toId = edges.get(j).getKey();
+                targets[edge] = indexById.get(toId);
+                weights[edge] = edges.get(j).getValue();
+                capacities[edge] = graph.getEdgeCapacity(ids[i], toId);
+                travelTimes[edge] = graph.getEdgeTravelTime(ids[i], toId);
+            }
+        }
+    }
+
+    /**
+     * Copia con los mismos vértices e índices y arreglos propios
+     */
+    private IndexedGraph(IndexedGraph source, int[] rowStart, int[] targets, double[] weights, double[] capacities,
+                         TravelTimeFunction[] travelTimes) {
+        this.version = source.version;
+        this.attributeVersion = source.attributeVersion;
+        this.ids = source.ids;
+        this.locations = source.locations;
+        this.indexById = source.indexById;
+        this.rowStart = rowStart;
+        this.targets = targets;
+        this.weights = weights;
+        this.capacities = capacities;
+        this.travelTimes = travelTimes;
+    }
+
+    /**
+     * Grafo transpuesto: mismos vértices e índices, cada arista en sentido contrario
+     * Las distancias desde un vértice en el transpuesto son las distancias hacia él en este
+     * Complejidad: O(V + E)
+     */
+    public IndexedGraph reversed() {
+        int n = ids.length;
+        int m = targets.length;
+        int[] reversedStart = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            reversedStart[targets[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reversedStart[v + 1] += reversedStart[v];
+        }
+
+        int[] fill = new int[n];
+        System.arraycopy(reversedStart, 0, fill, 0, n);
+        int[] reversedTargets = new int[m];
+        double[] reversedWeights = new double[m];
+        double[] reversedCapacities = new double[m];
+        TravelTimeFunction[] reversedTravelTimes = new TravelTimeFunction[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = rowStart[u]; e < rowStart[u + 1]; e++) {
+                int slot = fill[targets[e]]++;
+                reversedTargets[slot] = u;
+                reversedWeights[slot] = weights[e];
+                reversedCapacities[slot] = capacities[e];
+                reversedTravelTimes[slot] = travelTimes[e];
+            }
+        }
+        return new IndexedGraph(this, reversedStart, reversedTargets, reversedWeights, reversedCapacities,
+                reversedTravelTimes);
+    }
+
+    /**
+     * Versión del grafo con la que se construyó
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Versión de capacidades y tiempos de recorrido con la que se construyó
+     */
+    public long getAttributeVersion() {
+        return attributeVersion;
+    }
+
+    public int getVertexCount() {
+        return ids.length;
+    }
+
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Índice de un vértice
+     * Complejidad: O(1) promedio
+     *
+     * @return Índice, o -1 si el vértice no existe
+     */
+    public int indexOf(String id) {
+        Integer index = indexById.get(id);
+        return index != null ? index : -1;
+    }
+
+    public String getId(int vertex) {
+        return ids[vertex];
+    }
+
+    public Location getLocation(int vertex) {
+        return locations[vertex];
+    }
+
+    /**
+     * Primera arista saliente del vértice
+     */
+    public int edgeStart(int vertex) {
+        return rowStart[vertex];
+    }
+
+    /**
+     * Posición siguiente a la última arista saliente del vértice
+     */
+    public int edgeEnd(int vertex) {
+        return rowStart[vertex + 1];
+    }
+
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    public double getWeight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * Capacidad de la arista (Graph.UNLIMITED_CAPACITY si no tiene límite)
+     */
+    public double getCapacity(int edge) {
+        return capacities[edge];
+    }
+
+    /**
+     * Tiempo de recorrido dependiente de la hora (null si la arista no tiene)
+     */
+    public TravelTimeFunction getTravelTime(int edge) {
+        return travelTimes[edge];
+    }
+
+    /**
+     * Grado de salida de un vértice
+     * Complejidad: O(1)
+     */
+    public int getOutDegree(int vertex) {
+        return rowStart[vertex + 1] - rowStart[vertex];
+    }
+}
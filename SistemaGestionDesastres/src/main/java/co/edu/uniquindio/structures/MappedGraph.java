@@ -0,0 +1,528 @@
+package co.edu.uniquindio.structures;
+
+import co.edu.uniquindio.models.Location;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Instantánea binaria del grafo de ubicaciones, leída con memoria mapeada
+ * Es un formato de importación compacto: abrirla no interpreta texto y las consultas
+ * leen directamente del archivo mapeado, pero el sistema la importa completa en el
+ * grafo vivo, así que la carga sigue siendo O(V + E); lo que se ahorra es el análisis
+ * de CSV/GeoJSON. Solo guarda ubicaciones y rutas con su distancia (no capacidades
+ * ni tiempos de recorrido)
+ *
+ * Estructura del archivo (little endian):
+ *   Cabecera       magic, versión, número de vértices y aristas, offsets de cada sección
+ *   Textos         [int longitud][bytes UTF-8] para IDs, nombres y descripciones
+ *   Vértices       registros fijos con coordenadas, población, urgencia, tipo y referencias a textos
+ *   Filas CSR      int[V + 1] con el inicio de las aristas de cada vértice
+ *   Columnas CSR   int[E] con el índice del vértice destino
+ *   Pesos          double[E]
+ *   Índice de IDs  tabla hash de direccionamiento abierto (int[H]) para buscar por ID
+ *
+ * Los offsets son int y el archivo se mapea con una sola llamada a map(), así que una
+ * instantánea no puede pasar de 2 GB (Integer.MAX_VALUE bytes); write() lo rechaza antes
+ * de escribir. Al abrir se valida la cabecera contra el tamaño real del archivo, de modo
+ * que un archivo truncado o corrupto falla con una IOException clara.
+ *
+ * DisasterManager.exportGraphSnapshot() la genera desde el grafo vivo y DataLoader la
+ * carga (network.sgdg) a través de BulkImporter.importGraphSnapshot()
+ */
+public class MappedGraph implements AutoCloseable {
+    private static final int MAGIC = 0x53474447; // "SGDG"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int VERTEX_BYTES = 40;
+
+    // Campos dentro de un registro de vértice
+    private static final int V_LATITUDE = 0;
+    private static final int V_LONGITUDE = 8;
+    private static final int V_POPULATION = 16;
+    private static final int V_URGENCY = 20;
+    private static final int V_TYPE = 21;
+    private static final int V_EVACUATED = 22;
+    private static final int V_ID = 24;
+    private static final int V_NAME = 28;
+    private static final int V_DESCRIPTION = 32;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int vertexCount;
+    private final int edgeCount;
+    private final int stringsOffset;
+    private final int verticesOffset;
+    private final int rowsOffset;
+    private final int columnsOffset;
+    private final int weightsOffset;
+    private final int hashOffset;
+    private final int hashMask;
+    private Location[] materialized;
+
+    /**
+     * Constructor privado: usar open()
+     */
+    private MappedGraph(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a graph snapshot");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported graph snapshot version: " + buffer.getInt(4));
+        }
+
+        this.vertexCount = buffer.getInt(8);
+        this.edgeCount = buffer.getInt(12);
+        this.stringsOffset = buffer.getInt(16);
+        this.verticesOffset = buffer.getInt(20);
+        this.rowsOffset = buffer.getInt(24);
+        this.columnsOffset = buffer.getInt(28);
+        this.weightsOffset = buffer.getInt(32);
+        this.hashOffset = buffer.getInt(36);
+        int hashSlots = buffer.getInt(40);
+        this.hashMask = hashSlots - 1;
+        this.materialized = null;
+
+        validateLayout(buffer.capacity(), hashSlots);
+    }
+
+    /**
+     * Comprobar que las secciones indicadas en la cabecera caben, en orden, dentro del archivo
+     * Los cálculos se hacen en long para que valores corruptos no desborden
+     */
+    private void validateLayout(long fileSize, int hashSlots) throws IOException {
+        if (vertexCount < 0 || edgeCount < 0) {
+            throw corrupt("negative vertex or edge count");
+        }
+        if (hashSlots <= vertexCount || Integer.bitCount(hashSlots) != 1) {
+            throw corrupt("invalid hash table size " + hashSlots);
+        }
+        if (stringsOffset < HEADER_BYTES
+                || verticesOffset < stringsOffset
+                || rowsOffset < (long) verticesOffset + (long) vertexCount * VERTEX_BYTES
+                || columnsOffset < rowsOffset + 4L * (vertexCount + 1)
+                || weightsOffset < (long) columnsOffset + 4L * edgeCount
+                || hashOffset < (long) weightsOffset + 8L * edgeCount
+                || fileSize < (long) hashOffset + 4L * hashSlots) {
+            throw corrupt("sections exceed the file size of " + fileSize + " bytes");
+        }
+        if (buffer.getInt(rowsOffset) != 0 || buffer.getInt(rowsOffset + 4 * vertexCount) != edgeCount) {
+            throw corrupt("CSR rows do not match the edge count");
+        }
+    }
+
+    private static IOException corrupt(String reason) {
+        return new IOException("Corrupt graph snapshot: " + reason);
+    }
+
+    // ==================== ESCRITURA ====================
+
+    /**
+     * Escribir una instantánea del grafo
+     * Complejidad: O(V + E)
+     *
+     * @param graph Grafo a guardar
+     * @param file Archivo destino (se sobrescribe)
+     */
+    public static void write(Graph graph, Path file) throws IOException {
+        CustomList<Location> locations = graph.getAllVertices();
+        int vertexCount = locations.size();
+
+        // Índices de vértices y textos codificados
+        CustomMap<String, Integer> indexById = new CustomMap<>(Math.max(16, vertexCount * 2));
+        byte[][] ids = new byte[vertexCount][];
+        byte[][] names = new byte[vertexCount][];
+        byte[][] descriptions = new byte[vertexCount][];
+        long stringBytes = 0;
+
+        for (int i = 0; i < vertexCount; i++) {
+            Location loc = locations.get(i);
+            indexById.put(loc.getId(), i);
+            ids[i] = loc.getId().getBytes(StandardCharsets.UTF_8);
+            names[i] = loc.getName().getBytes(StandardCharsets.UTF_8);
+            descriptions[i] = loc.getDescription().getBytes(StandardCharsets.UTF_8);
+            stringBytes += 12L + ids[i].length + names[i].length + descriptions[i].length;
+        }
+
+        // Aristas en formato CSR
+        int[] rows = new int[vertexCount + 1];
+        CustomList<CustomList<CustomMap.MapEntry<String, Double>>> adjacency = new CustomList<>();
+        long edgeTotal = 0;
+        for (int i = 0; i < vertexCount; i++) {
+            CustomList<CustomMap.MapEntry<String, Double>> edges =
+                    graph.getNeighborsWithWeights(locations.get(i).getId()).entrySet();
+            adjacency.add(edges);
+            rows[i] = (int) edgeTotal;
+            edgeTotal += edges.size();
+        }
+        if (edgeTotal > Integer.MAX_VALUE) {
+            throw new IOException("Too many edges for a graph snapshot: " + edgeTotal);
+        }
+        rows[vertexCount] = (int) edgeTotal;
+        int edgeCount = (int) edgeTotal;
+
+        int hashSlots = Integer.highestOneBit(Math.max(2, vertexCount * 2 - 1)) << 1;
+
+        // Distribución de secciones
+        long stringsOffset = HEADER_BYTES;
+        long verticesOffset = align8(stringsOffset + stringBytes);
+        long rowsOffset = verticesOffset + (long) vertexCount * VERTEX_BYTES;
+        long columnsOffset = rowsOffset + 4L * (vertexCount + 1);
+        long weightsOffset = align8(columnsOffset + 4L * edgeCount);
+        long hashOffset = weightsOffset + 8L * edgeCount;
+        long totalBytes = hashOffset + 4L * hashSlots;
+
+        if (totalBytes > Integer.MAX_VALUE) {
+            throw new IOException("Graph snapshot exceeds the 2 GB mapping limit");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, totalBytes);
+            out.order(ByteOrder.LITTLE_ENDIAN);
+
+            out.putInt(0, MAGIC);
+            out.putInt(4, VERSION);
+            out.putInt(8, vertexCount);
+            out.putInt(12, edgeCount);
+            out.putInt(16, (int) stringsOffset);
+            out.putInt(20, (int) verticesOffset);
+            out.putInt(24, (int) rowsOffset);
+            out.putInt(28, (int) columnsOffset);
+            out.putInt(32, (int) weightsOffset);
+            out.putInt(36, (int) hashOffset);
+            out.putInt(40, hashSlots);
+
+            int stringPos = (int) stringsOffset;
+            for (int i = 0; i < vertexCount; i++) {
+                Location loc = locations.get(i);
+                int record = (int) verticesOffset + i * VERTEX_BYTES;
+
+                out.putDouble(record + V_LATITUDE, loc.getLatitude());
+                out.putDouble(record + V_LONGITUDE, loc.getLongitude());
+                out.putInt(record + V_POPULATION, loc.getPopulation());
+                out.put(record + V_URGENCY, (byte) loc.getUrgencyLevel());
+                out.put(record + V_TYPE, (byte) loc.getType().ordinal());
+                out.put(record + V_EVACUATED, (byte) (loc.isEvacuated() ? 1 : 0));
+
+                out.putInt(record + V_ID, stringPos - (int) stringsOffset);
+                stringPos = putString(out, stringPos, ids[i]);
+                out.putInt(record + V_NAME, stringPos - (int) stringsOffset);
+                stringPos = putString(out, stringPos, names[i]);
+                out.putInt(record + V_DESCRIPTION, stringPos - (int) stringsOffset);
+                stringPos = putString(out, stringPos, descriptions[i]);
+
+                out.putInt((int) rowsOffset + 4 * i, rows[i]);
+
+                CustomList<CustomMap.MapEntry<String, Double>> edges = adjacency.get(i);
+                for (int j = 0; j < edges.size(); j++) {
+                    int edge = rows[i] + j;
+                    out.putInt((int) columnsOffset + 4 * edge, indexById.get(edges.get(j).getKey()));
+                    out.putDouble((int) weightsOffset + 8 * edge, edges.get(j).getValue());
+                }
+
+                // Índice hash por ID (valor = índice + 1, 0 = vacío)
+                int slot = mix(loc.getId().hashCode()) & (hashSlots - 1);
+                while (out.getInt((int) hashOffset + 4 * slot) != 0) {
+                    slot = (slot + 1) & (hashSlots - 1);
+                }
+                out.putInt((int) hashOffset + 4 * slot, i + 1);
+            }
+            out.putInt((int) rowsOffset + 4 * vertexCount, edgeCount);
+
+            out.force();
+        }
+    }
+
+    private static int putString(MappedByteBuffer out, int position, byte[] bytes) {
+        out.putInt(position, bytes.length);
+        out.put(position + 4, bytes);
+        return position + 4 + bytes.length;
+    }
+
+    private static long align8(long value) {
+        return (value + 7) & ~7L;
+    }
+
+    private static int mix(int h) {
+        h ^= (h >>> 16);
+        h *= 0x45d9f3b;
+        h ^= (h >>> 16);
+        return h;
+    }
+
+    // ==================== LECTURA ====================
+
+    /**
+     * Abrir una instantánea en modo solo lectura
+     * Complejidad: O(1) — solo se mapea el archivo y se valida la cabecera
+     *
+     * @throws IOException Si el archivo no es una instantánea, pasa de 2 GB o está truncado
+     */
+    public static MappedGraph open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < HEADER_BYTES) {
+                throw new IOException("Invalid graph snapshot size: " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedGraph(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Obtener el número de vértices
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Obtener el número de aristas
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Buscar el índice de un vértice por ID
+     * El ID se codifica una vez a UTF-8 y se compara byte a byte con el archivo, sin
+     * materializar los textos guardados
+     * Complejidad: O(1) promedio
+     *
+     * @return Índice del vértice, o -1 si no existe
+     */
+    public int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        int slot = mix(id.hashCode()) & hashMask;
+
+        while (true) {
+            int entry = buffer.getInt(hashOffset + 4 * slot);
+            if (entry == 0) {
+                return -1;
+            }
+            int index = entry - 1;
+            if (stringEquals(vertexInt(index, V_ID), key)) {
+                return index;
+            }
+            slot = (slot + 1) & hashMask;
+        }
+    }
+
+    private boolean stringEquals(int reference, byte[] key) {
+        int position = stringsOffset + reference;
+        if (buffer.getInt(position) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(position + 4 + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString(int reference) {
+        int position = stringsOffset + reference;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int vertexInt(int index, int field) {
+        return buffer.getInt(verticesOffset + index * VERTEX_BYTES + field);
+    }
+
+    private double vertexDouble(int index, int field) {
+        return buffer.getDouble(verticesOffset + index * VERTEX_BYTES + field);
+    }
+
+    private byte vertexByte(int index, int field) {
+        return buffer.get(verticesOffset + index * VERTEX_BYTES + field);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= vertexCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + vertexCount);
+        }
+    }
+
+    /**
+     * Obtener el ID de un vértice
+     */
+    public String getId(int index) {
+        checkIndex(index);
+        return readString(vertexInt(index, V_ID));
+    }
+
+    /**
+     * Obtener el nombre de un vértice
+     */
+    public String getName(int index) {
+        checkIndex(index);
+        return readString(vertexInt(index, V_NAME));
+    }
+
+    /**
+     * Obtener la latitud de un vértice
+     */
+    public double getLatitude(int index) {
+        checkIndex(index);
+        return vertexDouble(index, V_LATITUDE);
+    }
+
+    /**
+     * Obtener la longitud de un vértice
+     */
+    public double getLongitude(int index) {
+        checkIndex(index);
+        return vertexDouble(index, V_LONGITUDE);
+    }
+
+    /**
+     * Obtener la población de un vértice
+     */
+    public int getPopulation(int index) {
+        checkIndex(index);
+        return vertexInt(index, V_POPULATION);
+    }
+
+    /**
+     * Obtener el nivel de urgencia de un vértice
+     */
+    public int getUrgencyLevel(int index) {
+        checkIndex(index);
+        return vertexByte(index, V_URGENCY);
+    }
+
+    /**
+     * Obtener el tipo de ubicación de un vértice
+     */
+    public Location.LocationType getType(int index) {
+        checkIndex(index);
+        return Location.LocationType.values()[vertexByte(index, V_TYPE)];
+    }
+
+    /**
+     * Primera arista (posición CSR) del vértice
+     */
+    public int getEdgeStart(int index) {
+        checkIndex(index);
+        return buffer.getInt(rowsOffset + 4 * index);
+    }
+
+    /**
+     * Posición CSR siguiente a la última arista del vértice
+     */
+    public int getEdgeEnd(int index) {
+        checkIndex(index);
+        return buffer.getInt(rowsOffset + 4 * (index + 1));
+    }
+
+    /**
+     * Grado de salida de un vértice
+     * Complejidad: O(1)
+     */
+    public int getOutDegree(int index) {
+        return getEdgeEnd(index) - getEdgeStart(index);
+    }
+
+    /**
+     * Índice del vértice destino de una arista
+     */
+    public int getEdgeTarget(int edge) {
+        return buffer.getInt(columnsOffset + 4 * edge);
+    }
+
+    /**
+     * Peso de una arista
+     */
+    public double getEdgeWeight(int edge) {
+        return buffer.getDouble(weightsOffset + 8 * edge);
+    }
+
+    /**
+     * Obtener (y crear la primera vez) el objeto Location de un vértice
+     * Complejidad: O(1)
+     */
+    public synchronized Location getLocation(int index) {
+        checkIndex(index);
+        if (materialized == null) {
+            materialized = new Location[vertexCount];
+        }
+
+        Location location = materialized[index];
+        if (location == null) {
+            location = new Location(
+                    getId(index),
+                    getName(index),
+                    getType(index),
+                    getPopulation(index),
+                    getUrgencyLevel(index),
+                    getLatitude(index),
+                    getLongitude(index),
+                    readString(vertexInt(index, V_DESCRIPTION))
+            );
+            location.setEvacuated(vertexByte(index, V_EVACUATED) != 0);
+            materialized[index] = location;
+        }
+        return location;
+    }
+
+    /**
+     * Obtener el objeto Location de un vértice por ID
+     *
+     * @return Ubicación, o null si no existe
+     */
+    public Location getLocation(String id) {
+        int index = indexOf(id);
+        return index >= 0 ? getLocation(index) : null;
+    }
+
+    /**
+     * Reconstruir un grafo completo en memoria a partir de la instantánea
+     * Complejidad: O(V + E)
+     */
+    public Graph toGraph() {
+        Graph graph = new Graph();
+        for (int i = 0; i < vertexCount; i++) {
+            graph.addVertex(getLocation(i));
+        }
+
+        for (int i = 0; i < vertexCount; i++) {
+            String fromId = getLocation(i).getId();
+            int end = getEdgeEnd(i);
+            for (int e = getEdgeStart(i); e < end; e++) {
+                graph.addEdge(fromId, getLocation(getEdgeTarget(e)).getId(), getEdgeWeight(e));
+            }
+        }
+
+        return graph;
+    }
+
+    /**
+     * Cerrar el archivo subyacente
+     * El mapeo se libera cuando el recolector de basura descarta el buffer
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,325 @@
+package co.edu.uniquindio.structures;
+
+import java.util.Arrays;
+
+/**
+ * Índice de alcanzabilidad de un grafo dirigido, inmutable
+ *
+ * Se construye a partir de la forma indexada del grafo:
+ *   1. Componentes fuertemente conexas con el algoritmo de Tarjan, en versión iterativa
+ *      (sin recursión, para no desbordar la pila en grafos grandes). Tarjan numera las
+ *      componentes en orden topológico inverso: toda arista entre componentes va de una
+ *      componente de número mayor a una de número menor.
+ *   2. Grafo condensado (un nodo por componente, sin aristas repetidas).
+ *   3. Si hay como mucho CLOSURE_LIMIT componentes, la clausura transitiva del grafo
+ *      condensado como conjuntos de bits; así canReach() es O(1).
+ * Con más componentes la clausura ocuparía demasiada memoria y canReach() recorre el
+ * grafo condensado, podando las componentes que por el orden topológico no pueden llegar
+ * al destino.
+ *
+ * Se obtiene con Graph.getReachabilityIndex(), que la reutiliza mientras el grafo no cambie.
+ */
+public final class ReachabilityIndex {
+    public static final int CLOSURE_LIMIT = 8192;
+
+    private final IndexedGraph graph;
+    private final int[] component;       // Componente de cada vértice
+    private final int[] componentSize;
+    private final int componentCount;
+    private final int[] dagStart;        // Grafo condensado en formato CSR
+    private final int[] dagTargets;
+    private final long[][] closure;      // Componentes alcanzables desde cada componente, o null
+
+    /**
+     * Construir el índice
+     * Complejidad: O(V + E), más O(C · E' / 64) para la clausura
+     */
+    ReachabilityIndex(IndexedGraph graph) {
+        this.graph = graph;
+        int n = graph.getVertexCount();
+        this.component = new int[n];
+        this.componentCount = tarjan(graph, component);
+
+        this.componentSize = new int[componentCount];
+        for (int v = 0; v < n; v++) {
+            componentSize[component[v]]++;
+        }
+
+        // Grafo condensado sin aristas repetidas: se cuentan las aristas de cada componente
+        // y luego se llenan (lastSeen evita repetir un destino dentro de la misma componente)
+        int[] order = verticesByComponent(n);
+        int[] counts = new int[componentCount + 1];
+        int[] lastSeen = new int[componentCount];
+        Arrays.fill(lastSeen, -1);
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            int c = component[v];
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                int d = component[graph.getTarget(e)];
+                if (d != c && lastSeen[d] != c) {
+                    lastSeen[d] = c;
+                    counts[c + 1]++;
+                }
+            }
+        }
+        for (int c = 0; c < componentCount; c++) {
+            counts[c + 1] += counts[c];
+        }
+        this.dagStart = counts;
+        this.dagTargets = new int[dagStart[componentCount]];
+        int[] fill = Arrays.copyOf(dagStart, componentCount);
+        Arrays.fill(lastSeen, -1);
+        for (int i = 0; i < n; i++) {
+            int v = order[i];
+            int c = component[v];
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                int d = component[graph.getTarget(e)];
+                if (d != c && lastSeen[d] != c) {
+                    lastSeen[d] = c;
+                    dagTargets[fill[c]++] = d;
+                }
+            }
+        }
+
+        this.closure = componentCount <= CLOSURE_LIMIT ? buildClosure() : null;
+    }
+
+    /**
+     * Vértices ordenados por componente, para recorrer cada componente de forma contigua
+     */
+    private int[] verticesByComponent(int n) {
+        int[] start = new int[componentCount + 1];
+        for (int v = 0; v < n; v++) {
+            start[component[v] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            start[c + 1] += start[c];
+        }
+        int[] order = new int[n];
+        for (int v = 0; v < n; v++) {
+            order[start[component[v]]++] = v;
+        }
+        return order;
+    }
+
+    /**
+     * Clausura transitiva: las componentes se procesan desde los sumideros hacia atrás, así
+     * que las sucesoras de cada una ya están completas
+     */
+    private long[][] buildClosure() {
+        int words = (componentCount + 63) >>> 6;
+        long[][] reach = new long[componentCount][words];
+        for (int c = 0; c < componentCount; c++) {
+            reach[c][c >>> 6] |= 1L << (c & 63);
+            for (int i = dagStart[c]; i < dagStart[c + 1]; i++) {
+                long[] successor = reach[dagTargets[i]];
+                long[] own = reach[c];
+                for (int w = 0; w < words; w++) {
+                    own[w] |= successor[w];
+                }
+            }
+        }
+        return reach;
+    }
+
+    // ==================== TARJAN ====================
+
+    /**
+     * Componentes fuertemente conexas, versión iterativa
+     * Complejidad: O(V + E)
+     *
+     * @param component Arreglo de salida con la componente de cada vértice
+     * @return Número de componentes
+     */
+    private static int tarjan(IndexedGraph graph, int[] component) {
+        int n = graph.getVertexCount();
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] nextEdge = new int[n];      // Siguiente arista por explorar de cada vértice
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];         // Pila de Tarjan
+        int[] callStack = new int[n];     // Reemplaza la recursión
+        Arrays.fill(index, -1);
+
+        int counter = 0;
+        int stackSize = 0;
+        int components = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = low[root] = counter++;
+            nextEdge[root] = graph.edgeStart(root);
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int v = callStack[depth - 1];
+
+                if (nextEdge[v] < graph.edgeEnd(v)) {
+                    int w = graph.getTarget(nextEdge[v]++);
+                    if (index[w] == -1) {
+                        // "Llamada recursiva"
+                        index[w] = low[w] = counter++;
+                        nextEdge[w] = graph.edgeStart(w);
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[depth++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+
+                // Todas las aristas de v exploradas: "retorno"
+                if (low[v] == index[v]) {
+                    int w;
+                    do {
+                        w = stack[--stackSize];
+                        onStack[w] = false;
+                        component[w] = components;
+                    } while (w != v);
+                    components++;
+                }
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+        return components;
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Versión del grafo con la que se construyó
+     */
+    public long getVersion() {
+        return graph.getVersion();
+    }
+
+    /**
+     * Verificar si existe un camino dirigido de from a to
+     * Complejidad: O(1) con clausura; si no, O(C + E') en el peor caso
+     */
+    public boolean canReach(String fromId, String toId) {
+        int from = graph.indexOf(fromId);
+        int to = graph.indexOf(toId);
+        if (from < 0 || to < 0) {
+            return false;
+        }
+        return canReachComponent(component[from], component[to]);
+    }
+
+    private boolean canReachComponent(int from, int to) {
+        if (from == to) {
+            return true;
+        }
+        if (from < to) {
+            return false; // Las aristas solo bajan en la numeración de Tarjan
+        }
+        if (closure != null) {
+            return (closure[from][to >>> 6] & (1L << (to & 63))) != 0;
+        }
+
+        // Búsqueda en el grafo condensado, sin bajar de la componente destino
+        boolean[] visited = new boolean[componentCount];
+        int[] pending = new int[componentCount];
+        int size = 0;
+        pending[size++] = from;
+        visited[from] = true;
+        while (size > 0) {
+            int c = pending[--size];
+            for (int i = dagStart[c]; i < dagStart[c + 1]; i++) {
+                int d = dagTargets[i];
+                if (d == to) {
+                    return true;
+                }
+                if (d > to && !visited[d]) {
+                    visited[d] = true;
+                    pending[size++] = d;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Verificar si dos vértices están en la misma componente fuertemente conexa
+     * (se puede ir y volver)
+     */
+    public boolean isStronglyConnected(String aId, String bId) {
+        int a = graph.indexOf(aId);
+        int b = graph.indexOf(bId);
+        return a >= 0 && b >= 0 && component[a] == component[b];
+    }
+
+    /**
+     * Vértices alcanzables desde alguno de los orígenes
+     * Complejidad: O(V + C + E')
+     *
+     * @param sourceIds IDs de los orígenes (los que no existen se ignoran)
+     * @return Marca por índice de vértice del grafo indexado
+     */
+    public boolean[] reachableFrom(CustomList<String> sourceIds) {
+        boolean[] reachedComponent = new boolean[componentCount];
+        int[] pending = new int[componentCount];
+        int size = 0;
+        for (int i = 0; i < sourceIds.size(); i++) {
+            int v = graph.indexOf(sourceIds.get(i));
+            if (v >= 0 && !reachedComponent[component[v]]) {
+                reachedComponent[component[v]] = true;
+                pending[size++] = component[v];
+            }
+        }
+        while (size > 0) {
+            int c = pending[--size];
+            for (int i = dagStart[c]; i < dagStart[c + 1]; i++) {
+                int d = dagTargets[i];
+                if (!reachedComponent[d]) {
+                    reachedComponent[d] = true;
+                    pending[size++] = d;
+                }
+            }
+        }
+
+        boolean[] reached = new boolean[graph.getVertexCount()];
+        for (int v = 0; v < reached.length; v++) {
+            reached[v] = reachedComponent[component[v]];
+        }
+        return reached;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Componente fuertemente conexa de un vértice (-1 si no existe)
+     */
+    public int getComponent(String id) {
+        int v = graph.indexOf(id);
+        return v >= 0 ? component[v] : -1;
+    }
+
+    /**
+     * Número de vértices de la componente de un vértice (0 si no existe)
+     */
+    public int getComponentSize(String id) {
+        int v = graph.indexOf(id);
+        return v >= 0 ? componentSize[component[v]] : 0;
+    }
+
+    /**
+     * Grafo indexado sobre el que se construyó (para traducir índices de reachableFrom)
+     */
+    public IndexedGraph getIndexedGraph() {
+        return graph;
+    }
+}
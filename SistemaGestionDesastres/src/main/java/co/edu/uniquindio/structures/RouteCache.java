@@ -0,0 +1,217 @@
+package co.edu.uniquindio.structures;
+
+/**
+ * Caché LRU acotada de resultados de rutas
+ *
+ * Cada entrada se identifica por (origen, destino, estrategia); el destino es null cuando
+ * el valor es el árbol completo de caminos desde el origen. Se acota por número de
+ * entradas y por peso total (el que indica quien guarda, por ejemplo los vértices del
+ * árbol), descartando primero las menos usadas recientemente.
+ *
+ * La validez se controla con la versión del grafo (Graph.getVersion()): cada consulta
+ * indica la versión actual y, si es distinta de la de los valores guardados, la caché se
+ * vacía antes de responder. Así ningún resultado sobrevive a un cambio de aristas,
+ * vértices o pesos, sin tener que avisar a la caché desde cada modificación.
+ *
+ * Las entradas van en un CustomMap y en una lista doblemente enlazada ordenada por uso;
+ * todas las operaciones son O(1) promedio y están sincronizadas.
+ */
+public class RouteCache<V> {
+    private static final char SEPARATOR = '\u0000';
+
+    /**
+     * Entrada de la lista de uso
+     */
+    private static class Node<V> {
+        final String key;
+        V value;
+        long weight;
+        Node<V> prev;
+        Node<V> next;
+
+        Node(String key, V value, long weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final CustomMap<String, Node<V>> entries;
+    private Node<V> head; // Más reciente
+    private Node<V> tail; // Menos reciente
+    private long totalWeight;
+    private long version;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor
+     *
+     * @param maxEntries Número máximo de entradas
+     * @param maxWeight Peso total máximo
+     */
+    public RouteCache(int maxEntries, long maxWeight) {
+        if (maxEntries < 1 || maxWeight < 1) {
+            throw new IllegalArgumentException("Cache bounds must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.entries = new CustomMap<>();
+        this.version = -1;
+    }
+
+    /**
+     * Obtener un valor guardado
+     * Complejidad: O(1) promedio
+     *
+     * @param graphVersion Versión actual del grafo
+     * @param destination Destino, o null para el árbol completo desde el origen
+     * @return Valor guardado, o null si no está o el grafo cambió
+     */
+    public synchronized V get(long graphVersion, String source, String destination, String strategy) {
+        checkVersion(graphVersion);
+        Node<V> node = entries.get(key(source, destination, strategy));
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        unlink(node);
+        linkFirst(node);
+        return node.value;
+    }
+
+    /**
+     * Guardar un valor calculado con una versión del grafo
+     * Si el grafo ya cambió desde esa versión el valor se descarta; si pesa más que el
+     * máximo no se guarda
+     * Complejidad: O(1) promedio, más las entradas descartadas
+     *
+     * @param graphVersion Versión del grafo con la que se calculó el valor
+     * @param weight Peso de la entrada (al menos 1)
+     */
+    public synchronized void put(long graphVersion, String source, String destination, String strategy,
+                                 V value, long weight) {
+        if (value == null) {
+            throw new IllegalArgumentException("Cached value cannot be null");
+        }
+        if (graphVersion < version) {
+            return;
+        }
+        checkVersion(graphVersion);
+        long entryWeight = Math.max(1, weight);
+        if (entryWeight > maxWeight) {
+            return;
+        }
+
+        String key = key(source, destination, strategy);
+        Node<V> node = entries.get(key);
+        if (node != null) {
+            totalWeight -= node.weight;
+            node.value = value;
+            node.weight = entryWeight;
+            unlink(node);
+        } else {
+            node = new Node<>(key, value, entryWeight);
+            entries.put(key, node);
+        }
+        linkFirst(node);
+        totalWeight += entryWeight;
+
+        while (entries.size() > maxEntries || totalWeight > maxWeight) {
+            evict(tail);
+        }
+    }
+
+    /**
+     * Vaciar la caché
+     * Complejidad: O(n)
+     */
+    public synchronized void clear() {
+        entries.clear();
+        head = null;
+        tail = null;
+        totalWeight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Peso total de las entradas guardadas
+     */
+    public synchronized long getWeight() {
+        return totalWeight;
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Fracción de consultas respondidas desde la caché (0 si no hubo consultas)
+     */
+    public synchronized double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    // ==================== INTERNOS ====================
+
+    private void checkVersion(long graphVersion) {
+        if (graphVersion != version) {
+            clear();
+            version = graphVersion;
+        }
+    }
+
+    private static String key(String source, String destination, String strategy) {
+        StringBuilder key = new StringBuilder();
+        key.append(source).append(SEPARATOR);
+        if (destination != null) {
+            key.append(destination);
+        }
+        key.append(SEPARATOR).append(strategy);
+        return key.toString();
+    }
+
+    private void evict(Node<V> node) {
+        unlink(node);
+        entries.remove(node.key);
+        totalWeight -= node.weight;
+    }
+
+    private void linkFirst(Node<V> node) {
+        node.prev = null;
+        node.next = head;
+        if (head != null) {
+            head.prev = node;
+        }
+        head = node;
+        if (tail == null) {
+            tail = node;
+        }
+    }
+
+    private void unlink(Node<V> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            head = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            tail = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+}
@@ -0,0 +1,460 @@
+package co.edu.uniquindio.structures;
+
+import co.edu.uniquindio.models.Location;
+
+import java.util.Comparator;
+
+/**
+ * Índice espacial de ubicaciones en una cuadrícula uniforme de latitud/longitud
+ *
+ * Cada celda cubre cellDegrees × cellDegrees grados y guarda las ubicaciones cuyas
+ * coordenadas caen en ella. Las consultas solo revisan las celdas que cortan la zona
+ * buscada:
+ *   - Radio: se recorre la caja envolvente exacta del casquete esférico (con el caso de
+ *     los polos y del antimeridiano) y se filtra por distancia de Haversine.
+ *   - Caja: celdas que cortan el rectángulo, con filtro exacto.
+ *   - k más cercanas: anillos de celdas alrededor del punto hasta reunir k candidatas;
+ *     la k-ésima distancia encontrada acota el resultado y una consulta de radio con esa
+ *     distancia da la respuesta exacta.
+ * Si una zona abarca más celdas de las que tienen ubicaciones, se recorren directamente
+ * las celdas ocupadas.
+ *
+ * Cada celda guarda sus coordenadas como vectores unitarios en un GeoPoints, en el mismo
+ * orden que sus entradas, así que revisar una celda es una sola llamada masiva
+ * (squaredChordsFrom) seguida de la comparación contra el umbral de la cuerda.
+ *
+ * Guarda las coordenadas con que se insertó cada ubicación: si cambian, hay que volver
+ * a llamar put(). No es seguro para hilos; DisasterManager lo protege con el cerrojo de
+ * ubicaciones.
+ */
+public class SpatialGrid {
+    public static final double DEFAULT_CELL_DEGREES = 0.1; // ~11 km en latitud
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final CustomMap<Long, Cell> cells;
+    private final CustomMap<String, Entry> entries;
+
+    /**
+     * Ubicación indexada con las coordenadas usadas al insertarla
+     */
+    private static class Entry {
+        final Location location;
+        final double latitude;
+        final double longitude;
+        final long cell;
+
+        Entry(Location location, double latitude, double longitude, long cell) {
+            this.location = location;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell;
+        }
+    }
+
+    /**
+     * Entradas de una celda y sus vectores unitarios, con el mismo índice
+     */
+    private static class Cell {
+        final CustomList<Entry> entries = new CustomList<>();
+        final GeoPoints points = new GeoPoints(4);
+    }
+
+    /**
+     * Ubicación encontrada y su distancia al punto consultado
+     */
+    public static class Neighbor {
+        private final Location location;
+        private final double distance;
+
+        Neighbor(Location location, double distance) {
+            this.location = location;
+            this.distance = distance;
+        }
+
+        public Location getLocation() {
+            return location;
+        }
+
+        /**
+         * Distancia de Haversine en km al punto consultado
+         */
+        public double getDistance() {
+            return distance;
+        }
+    }
+
+    /**
+     * Constructor con celdas de DEFAULT_CELL_DEGREES
+     */
+    public SpatialGrid() {
+        this(DEFAULT_CELL_DEGREES);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param cellDegrees Tamaño de cada celda en grados
+     */
+    public SpatialGrid(double cellDegrees) {
+        if (!(cellDegrees > 0) || cellDegrees > 90) {
+            throw new IllegalArgumentException("Cell size must be between 0 and 90 degrees");
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180.0 / cellDegrees);
+        this.columns = (int) Math.ceil(360.0 / cellDegrees);
+        this.cells = new CustomMap<>();
+        this.entries = new CustomMap<>();
+    }
+
+    // ==================== MANTENIMIENTO ====================
+
+    /**
+     * Insertar una ubicación o moverla a sus coordenadas actuales
+     * Complejidad: O(1) promedio más el tamaño de la celda de origen al moverla
+     */
+    public void put(Location location) {
+        if (location == null) {
+            throw new IllegalArgumentException("Location cannot be null");
+        }
+        remove(location.getId());
+
+        double latitude = clampLatitude(location.getLatitude());
+        double longitude = normalizeLongitude(location.getLongitude());
+        long cell = cellKey(rowOf(latitude), columnOf(longitude));
+        Entry entry = new Entry(location, latitude, longitude, cell);
+
+        Cell bucket = cells.get(cell);
+        if (bucket == null) {
+            bucket = new Cell();
+            cells.put(cell, bucket);
+        }
+        bucket.entries.add(entry);
+        bucket.points.add(latitude, longitude);
+        entries.put(location.getId(), entry);
+    }
+
+    /**
+     * Quitar una ubicación del índice
+     * Complejidad: O(1) promedio más el tamaño de su celda
+     *
+     * @return true si estaba indexada
+     */
+    public boolean remove(String locationId) {
+        Entry entry = entries.remove(locationId);
+        if (entry == null) {
+            return false;
+        }
+
+        Cell bucket = cells.get(entry.cell);
+        CustomList<Entry> cellEntries = bucket.entries;
+        for (int i = 0; i < cellEntries.size(); i++) {
+            if (cellEntries.get(i) == entry) {
+                cellEntries.set(i, cellEntries.get(cellEntries.size() - 1));
+                cellEntries.remove(cellEntries.size() - 1);
+                bucket.points.removeSwap(i);
+                break;
+            }
+        }
+        if (cellEntries.isEmpty()) {
+            cells.remove(entry.cell);
+        }
+        return true;
+    }
+
+    public boolean contains(String locationId) {
+        return entries.containsKey(locationId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        cells.clear();
+        entries.clear();
+    }
+
+    // ==================== CONSULTAS ====================
+
+    /**
+     * Ubicaciones a menos de radiusKm del punto, de la más cercana a la más lejana
+     * Complejidad: O(c + r log r) con c celdas revisadas y r ubicaciones encontradas
+     */
+    public CustomList<Location> withinRadius(double latitude, double longitude, double radiusKm) {
+        return toLocations(radiusMatches(clampLatitude(latitude), normalizeLongitude(longitude), radiusKm), -1);
+    }
+
+    /**
+     * Ubicaciones dentro de un rectángulo de coordenadas
+     * Si minLongitude > maxLongitude la caja cruza el antimeridiano
+     * Complejidad: O(c + r) con c celdas revisadas y r ubicaciones encontradas
+     */
+    public CustomList<Location> withinBounds(double minLatitude, double minLongitude,
+                                             double maxLatitude, double maxLongitude) {
+        if (minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("Minimum latitude exceeds maximum latitude");
+        }
+        double minLat = clampLatitude(minLatitude);
+        double maxLat = clampLatitude(maxLatitude);
+        boolean fullCircle = maxLongitude - minLongitude >= 360.0;
+        double minLon = fullCircle ? -180.0 : normalizeLongitude(minLongitude);
+        double maxLon = fullCircle ? 180.0 : normalizeLongitude(maxLongitude);
+
+        CustomList<Location> result = new CustomList<>();
+        CustomList<Cell> scanned = candidates(minLat, maxLat, minLon, maxLon, fullCircle);
+        for (int c = 0; c < scanned.size(); c++) {
+            CustomList<Entry> cellEntries = scanned.get(c).entries;
+            for (int i = 0; i < cellEntries.size(); i++) {
+                Entry entry = cellEntries.get(i);
+                if (entry.latitude >= minLat && entry.latitude <= maxLat
+                        && (fullCircle || inLongitudeRange(entry.longitude, minLon, maxLon))) {
+                    result.add(entry.location);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Las k ubicaciones más cercanas al punto, de la más cercana a la más lejana
+     * Complejidad: O(c + r log r) con c celdas revisadas y r candidatas
+     */
+    public CustomList<Location> nearest(double latitude, double longitude, int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        if (entries.isEmpty()) {
+            return new CustomList<>();
+        }
+        double lat = clampLatitude(latitude);
+        double lon = normalizeLongitude(longitude);
+        int wanted = Math.min(k, entries.size());
+        return toLocations(radiusMatches(lat, lon, nearestBound(lat, lon, wanted)), wanted);
+    }
+
+    /**
+     * Las k ubicaciones más cercanas al punto que están a lo sumo a maxDistanceKm, con su
+     * distancia, de la más cercana a la más lejana
+     * Cada distancia se calcula una sola vez (por cuerda, con una llamada masiva por celda)
+     * Complejidad: O(c + r log r) con c celdas revisadas y r candidatas
+     *
+     * @param maxDistanceKm Distancia máxima (Double.POSITIVE_INFINITY sin límite)
+     */
+    public CustomList<Neighbor> nearestWithin(double latitude, double longitude, int k, double maxDistanceKm) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        if (maxDistanceKm < 0 || Double.isNaN(maxDistanceKm)) {
+            throw new IllegalArgumentException("Maximum distance cannot be negative");
+        }
+        CustomList<Neighbor> result = new CustomList<>();
+        if (entries.isEmpty()) {
+            return result;
+        }
+        double lat = clampLatitude(latitude);
+        double lon = normalizeLongitude(longitude);
+        int wanted = Math.min(k, entries.size());
+        double bound = Math.min(nearestBound(lat, lon, wanted), maxDistanceKm);
+
+        PriorityQueue<Neighbor> matches = radiusMatches(lat, lon, bound);
+        while (!matches.isEmpty() && result.size() < wanted) {
+            result.add(matches.poll());
+        }
+        return result;
+    }
+
+    /**
+     * Ubicación más cercana al punto
+     *
+     * @return Ubicación, o null si el índice está vacío
+     */
+    public Location nearest(double latitude, double longitude) {
+        CustomList<Location> result = nearest(latitude, longitude, 1);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    // ==================== AUXILIARES ====================
+
+    /**
+     * Distancia que seguro abarca las "wanted" ubicaciones más cercanas al punto
+     * Se recorren anillos de celdas hasta reunir wanted candidatas; la más lejana de
+     * ellas acota la respuesta exacta
+     */
+    private double nearestBound(double lat, double lon, int wanted) {
+        double[] probe = GeoPoints.unitVector(lat, lon);
+        double[] chords = new double[16];
+
+        // Anillos de celdas hasta reunir k candidatas (o recorrer todo el índice)
+        int row = rowOf(lat);
+        int column = columnOf(lon);
+        PriorityQueue<Double> farthest = new PriorityQueue<>(wanted + 1, Comparator.<Double>reverseOrder());
+        int visitedCells = 0;
+        int maxRing = Math.max(rows, columns);
+        for (int ring = 0; ring <= maxRing && farthest.size() < wanted; ring++) {
+            if (visitedCells > cells.size() || 2 * ring + 1 > columns) {
+                CustomList<Cell> all = cells.values();
+                farthest.clear();
+                for (int c = 0; c < all.size(); c++) {
+                    chords = keepSmallest(farthest, probe, all.get(c), chords, wanted);
+                }
+                break;
+            }
+            for (int r = row - ring; r <= row + ring; r++) {
+                if (r < 0 || r >= rows) {
+                    continue;
+                }
+                boolean edgeRow = r == row - ring || r == row + ring;
+                for (int c = column - ring; c <= column + ring; c++) {
+                    if (!edgeRow && c != column - ring && c != column + ring) {
+                        continue; // Solo el borde del anillo
+                    }
+                    visitedCells++;
+                    Cell bucket = cells.get(cellKey(r, Math.floorMod(c, columns)));
+                    if (bucket != null) {
+                        chords = keepSmallest(farthest, probe, bucket, chords, wanted);
+                    }
+                }
+            }
+        }
+
+        // La k-ésima distancia de las candidatas acota la respuesta exacta
+        return farthest.peek() * (1 + 1e-9) + 1e-9;
+    }
+
+    /**
+     * Ubicaciones dentro del radio con su distancia, ordenadas de menor a mayor
+     */
+    private PriorityQueue<Neighbor> radiusMatches(double lat, double lon, double radiusKm) {
+        if (radiusKm < 0 || Double.isNaN(radiusKm)) {
+            throw new IllegalArgumentException("Radius cannot be negative");
+        }
+
+        // Caja envolvente del casquete esférico
+        double angular = radiusKm / GeoPoints.EARTH_RADIUS_KM;
+        double minLat = lat - Math.toDegrees(angular);
+        double maxLat = lat + Math.toDegrees(angular);
+        double minLon = -180.0;
+        double maxLon = 180.0;
+        boolean fullCircle = true;
+        if (minLat > -90.0 && maxLat < 90.0 && angular < Math.PI / 2) {
+            double deltaLon = Math.toDegrees(Math.asin(Math.min(1.0,
+                    Math.sin(angular) / Math.cos(Math.toRadians(lat)))));
+            if (deltaLon < 180.0) {
+                minLon = normalizeLongitude(lon - deltaLon);
+                maxLon = normalizeLongitude(lon + deltaLon);
+                fullCircle = false;
+            }
+        }
+
+        PriorityQueue<Neighbor> matches = new PriorityQueue<>(
+                Comparator.comparingDouble((Neighbor match) -> match.distance));
+        CustomList<Cell> scanned = candidates(clampLatitude(minLat), clampLatitude(maxLat), minLon, maxLon, fullCircle);
+        double[] probe = GeoPoints.unitVector(lat, lon);
+        double threshold = GeoPoints.chordThreshold(radiusKm);
+        double[] chords = new double[16];
+        for (int c = 0; c < scanned.size(); c++) {
+            Cell cell = scanned.get(c);
+            chords = squaredChords(probe, cell, chords);
+            for (int i = 0; i < cell.entries.size(); i++) {
+                if (chords[i] <= threshold) {
+                    matches.offer(new Neighbor(cell.entries.get(i).location, GeoPoints.chordToKm(chords[i])));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Celdas ocupadas que cortan la caja (o todas, si la caja abarca más celdas que las ocupadas)
+     */
+    private CustomList<Cell> candidates(double minLat, double maxLat, double minLon, double maxLon,
+                                         boolean fullCircle) {
+        int firstRow = rowOf(minLat);
+        int lastRow = rowOf(maxLat);
+        int firstColumn = fullCircle ? 0 : columnOf(minLon);
+        int lastColumn = fullCircle ? columns - 1 : columnOf(maxLon);
+        int columnSpan = lastColumn >= firstColumn ? lastColumn - firstColumn + 1
+                : columns - firstColumn + lastColumn + 1; // Cruza el antimeridiano
+        long cellCount = (long) (lastRow - firstRow + 1) * columnSpan;
+
+        if (cellCount > cells.size()) {
+            return cells.values();
+        }
+
+        CustomList<Cell> result = new CustomList<>();
+        for (int r = firstRow; r <= lastRow; r++) {
+            for (int offset = 0; offset < columnSpan; offset++) {
+                Cell bucket = cells.get(cellKey(r, (firstColumn + offset) % columns));
+                if (bucket != null) {
+                    result.add(bucket);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cuerdas al cuadrado del punto a cada entrada de la celda, en el orden de la celda
+     * Devuelve el arreglo de trabajo (el mismo o uno más grande si la celda no cabía); cada
+     * consulta usa el suyo, así que varias consultas pueden ejecutarse en paralelo
+     */
+    private static double[] squaredChords(double[] probe, Cell cell, double[] chords) {
+        int count = cell.points.size();
+        double[] out = chords.length >= count ? chords : new double[Math.max(count, chords.length * 2)];
+        cell.points.squaredChordsFrom(probe, out);
+        return out;
+    }
+
+    /**
+     * Conservar en farthest las "limit" distancias más pequeñas vistas, incluida la celda
+     */
+    private static double[] keepSmallest(PriorityQueue<Double> farthest, double[] probe, Cell cell,
+                                         double[] chords, int limit) {
+        double[] out = squaredChords(probe, cell, chords);
+        for (int i = 0; i < cell.entries.size(); i++) {
+            double distance = GeoPoints.chordToKm(out[i]);
+            if (farthest.size() < limit) {
+                farthest.offer(distance);
+            } else if (distance < farthest.peek()) {
+                farthest.poll();
+                farthest.offer(distance);
+            }
+        }
+        return out;
+    }
+
+    private static CustomList<Location> toLocations(PriorityQueue<Neighbor> matches, int limit) {
+        CustomList<Location> result = new CustomList<>();
+        while (!matches.isEmpty() && (limit < 0 || result.size() < limit)) {
+            result.add(matches.poll().location);
+        }
+        return result;
+    }
+
+    private static boolean inLongitudeRange(double longitude, double min, double max) {
+        return min <= max ? longitude >= min && longitude <= max : longitude >= min || longitude <= max;
+    }
+
+    private int rowOf(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((latitude + 90.0) / cellDegrees));
+    }
+
+    private int columnOf(double longitude) {
+        return Math.min(columns - 1, (int) Math.floor((longitude + 180.0) / cellDegrees));
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | column;
+    }
+
+    private static double clampLatitude(double latitude) {
+        return Math.max(-90.0, Math.min(90.0, latitude));
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        double normalized = ((longitude + 180.0) % 360.0 + 360.0) % 360.0 - 180.0;
+        return normalized == -180.0 && longitude > 0 ? 180.0 : normalized;
+    }
+}
@@ -0,0 +1,100 @@
+package co.edu.uniquindio.structures;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Conjunto fijo de cerrojos repartidos por clave (lock striping)
+ * Cada clave se asocia siempre al mismo cerrojo según su hash, de modo que operaciones
+ * sobre entidades distintas casi nunca compiten, sin crear un cerrojo por entidad
+ *
+ * Para evitar interbloqueos, quien necesite varios cerrojos del conjunto debe usar
+ * lockAll() (que los toma siempre en orden de índice) en lugar de tomarlos uno a uno
+ */
+public class StripedLock {
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    /**
+     * Constructor con el número de franjas por defecto
+     */
+    public StripedLock() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param stripes Número mínimo de franjas (se redondea a potencia de dos)
+     */
+    public StripedLock(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Obtener el cerrojo asociado a una clave
+     * Complejidad: O(1)
+     */
+    public ReentrantLock get(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & mask];
+    }
+
+    /**
+     * Tomar el cerrojo asociado a una clave
+     * Complejidad: O(1)
+     */
+    public void lock(Object key) {
+        get(key).lock();
+    }
+
+    /**
+     * Liberar el cerrojo asociado a una clave
+     * Complejidad: O(1)
+     */
+    public void unlock(Object key) {
+        get(key).unlock();
+    }
+
+    /**
+     * Tomar todos los cerrojos, en orden de índice
+     * Complejidad: O(s) donde s es el número de franjas
+     */
+    public void lockAll() {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i].lock();
+        }
+    }
+
+    /**
+     * Liberar todos los cerrojos, en orden inverso
+     * Complejidad: O(s)
+     */
+    public void unlockAll() {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlock();
+        }
+    }
+
+    /**
+     * Número de franjas
+     */
+    public int size() {
+        return stripes.length;
+    }
+}
@@ -0,0 +1,171 @@
+package co.edu.uniquindio.structures;
+
+import java.util.Arrays;
+
+/**
+ * Tiempo de recorrido de una ruta que cambia con la hora de salida, inmutable
+ *
+ * Función lineal por tramos dada por puntos de quiebre (hora, duración), en horas desde
+ * el inicio de la planificación (la hora del día o el horizonte del pronóstico de
+ * amenaza). Entre dos puntos la duración se interpola linealmente; antes del primero y
+ * después del último se mantiene constante. Una duración POSITIVE_INFINITY marca la ruta
+ * como cortada (inundada, bloqueada): el tramo entre un punto finito y uno infinito queda
+ * cortado salvo en el extremo finito.
+ *
+ * FIFO: salir más tarde nunca hace llegar antes. Se exige al construir:
+ *   - en los tramos finitos la duración no baja más rápido que el reloj (pendiente >= -1)
+ *   - quien encuentra la ruta cortada espera a que se reabra, y esa llegada no puede ser
+ *     anterior a la de quien salió justo antes del corte
+ * Con FIFO, Dijkstra y A* por hora de llegada siguen siendo correctos.
+ *
+ * Los puntos se guardan en dos arreglos de primitivos; evaluar cuesta O(log k).
+ */
+public final class TravelTimeFunction {
+    private final double[] times;
+    private final double[] durations;
+    private final double minDuration;
+
+    /**
+     * Constructor
+     *
+     * @param times Horas de los puntos de quiebre, estrictamente crecientes
+     * @param durations Duración del recorrido al salir a cada hora (horas, o POSITIVE_INFINITY)
+     */
+    public TravelTimeFunction(double[] times, double[] durations) {
+        if (times == null || durations == null || times.length == 0 || times.length != durations.length) {
+            throw new IllegalArgumentException("Breakpoint times and durations must be non-empty and of equal length");
+        }
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < times.length; i++) {
+            if (Double.isNaN(times[i]) || Double.isInfinite(times[i])) {
+                throw new IllegalArgumentException("Breakpoint times must be finite");
+            }
+            if (i > 0 && times[i] <= times[i - 1]) {
+                throw new IllegalArgumentException("Breakpoint times must be strictly increasing");
+            }
+            if (durations[i] < 0 || Double.isNaN(durations[i])) {
+                throw new IllegalArgumentException("Travel time cannot be negative");
+            }
+            min = Math.min(min, durations[i]);
+        }
+        this.times = Arrays.copyOf(times, times.length);
+        this.durations = Arrays.copyOf(durations, durations.length);
+        this.minDuration = min;
+        checkFifo();
+    }
+
+    /**
+     * Duración constante (equivale a un peso estático)
+     */
+    public static TravelTimeFunction constant(double duration) {
+        return new TravelTimeFunction(new double[]{0.0}, new double[]{duration});
+    }
+
+    private void checkFifo() {
+        double lastOpenArrival = Double.NEGATIVE_INFINITY; // Llegada al salir en el último punto abierto
+        for (int i = 0; i < times.length; i++) {
+            if (Double.isInfinite(durations[i])) {
+                continue;
+            }
+            double arrival = times[i] + durations[i];
+            if (arrival < lastOpenArrival) {
+                throw new IllegalArgumentException("Travel time profile violates FIFO at hour " + times[i]);
+            }
+            lastOpenArrival = arrival;
+        }
+    }
+
+    // ==================== EVALUACIÓN ====================
+
+    /**
+     * Duración del recorrido saliendo exactamente a una hora (sin esperar)
+     * Complejidad: O(log k)
+     *
+     * @return Horas de recorrido, o POSITIVE_INFINITY si la ruta está cortada
+     */
+    public double travelTime(double departure) {
+        int last = times.length - 1;
+        if (departure <= times[0]) {
+            return durations[0];
+        }
+        if (departure >= times[last]) {
+            return durations[last];
+        }
+        int i = segmentOf(departure);
+        if (departure == times[i]) {
+            return durations[i];
+        }
+        double a = durations[i];
+        double b = durations[i + 1];
+        if (Double.isInfinite(a) || Double.isInfinite(b)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return a + (b - a) * (departure - times[i]) / (times[i + 1] - times[i]);
+    }
+
+    /**
+     * Primera hora, no anterior a la indicada, a la que se puede tomar la ruta
+     * Complejidad: O(log k)
+     *
+     * @return Hora de salida, o POSITIVE_INFINITY si la ruta no se reabre
+     */
+    public double departureTime(double ready) {
+        if (!Double.isInfinite(travelTime(ready))) {
+            return ready;
+        }
+        // Cortada: se espera al siguiente punto con duración finita
+        int i = ready < times[0] ? 0 : segmentOf(ready) + 1;
+        for (; i < times.length; i++) {
+            if (times[i] >= ready && !Double.isInfinite(durations[i])) {
+                return times[i];
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Hora de llegada al estar listo para salir a una hora, esperando si la ruta está cortada
+     * Es no decreciente en ready (FIFO)
+     * Complejidad: O(log k)
+     */
+    public double arrivalTime(double ready) {
+        double departure = departureTime(ready);
+        return Double.isInfinite(departure) ? Double.POSITIVE_INFINITY : departure + travelTime(departure);
+    }
+
+    /**
+     * Menor duración posible (cota inferior para A*)
+     */
+    public double getMinTravelTime() {
+        return minDuration;
+    }
+
+    public int getBreakpointCount() {
+        return times.length;
+    }
+
+    public double getBreakpointTime(int index) {
+        return times[index];
+    }
+
+    public double getBreakpointDuration(int index) {
+        return durations[index];
+    }
+
+    /**
+     * Índice del tramo [times[i], times[i + 1]) que contiene la hora
+     */
+    private int segmentOf(double time) {
+        int low = 0;
+        int high = times.length - 1;
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] <= time) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,127 @@
+package co.edu.uniquindio.structures;
+
+import java.util.Arrays;
+
+/**
+ * Conjuntos disjuntos (union-find) sobre IDs de vértices
+ *
+ * Unión por tamaño, de modo que la profundidad de los árboles es O(log n) incluso sin
+ * compresión de caminos. La compresión solo se hace al unir: las consultas (find,
+ * connected) no modifican la estructura y pueden hacerse desde varios lectores a la vez.
+ */
+public class UnionFind {
+    private final CustomMap<String, Integer> indexById;
+    private int[] parent;
+    private int[] size;
+    private int elementCount;
+    private int setCount;
+
+    /**
+     * Constructor
+     */
+    public UnionFind() {
+        this.indexById = new CustomMap<>();
+        this.parent = new int[16];
+        this.size = new int[16];
+        this.elementCount = 0;
+        this.setCount = 0;
+    }
+
+    /**
+     * Agregar un elemento en su propio conjunto (si no estaba)
+     * Complejidad: O(1) amortizado
+     */
+    public void add(String id) {
+        if (indexById.containsKey(id)) {
+            return;
+        }
+        if (elementCount == parent.length) {
+            parent = Arrays.copyOf(parent, elementCount * 2);
+            size = Arrays.copyOf(size, elementCount * 2);
+        }
+        parent[elementCount] = elementCount;
+        size[elementCount] = 1;
+        indexById.put(id, elementCount);
+        elementCount++;
+        setCount++;
+    }
+
+    /**
+     * Unir los conjuntos de dos elementos
+     * Complejidad: O(log n)
+     *
+     * @return true si estaban en conjuntos distintos
+     */
+    public boolean union(String a, String b) {
+        Integer ia = indexById.get(a);
+        Integer ib = indexById.get(b);
+        if (ia == null || ib == null) {
+            return false;
+        }
+
+        int ra = compress(ia);
+        int rb = compress(ib);
+        if (ra == rb) {
+            return false;
+        }
+        if (size[ra] < size[rb]) {
+            int tmp = ra;
+            ra = rb;
+            rb = tmp;
+        }
+        parent[rb] = ra;
+        size[ra] += size[rb];
+        setCount--;
+        return true;
+    }
+
+    /**
+     * Verificar si dos elementos están en el mismo conjunto
+     * Complejidad: O(log n)
+     */
+    public boolean connected(String a, String b) {
+        Integer ia = indexById.get(a);
+        Integer ib = indexById.get(b);
+        return ia != null && ib != null && root(ia) == root(ib);
+    }
+
+    /**
+     * Tamaño del conjunto de un elemento (0 si no existe)
+     * Complejidad: O(log n)
+     */
+    public int setSize(String id) {
+        Integer index = indexById.get(id);
+        return index != null ? size[root(index)] : 0;
+    }
+
+    /**
+     * Número de conjuntos disjuntos
+     */
+    public int getSetCount() {
+        return setCount;
+    }
+
+    public int size() {
+        return elementCount;
+    }
+
+    private int root(int i) {
+        while (parent[i] != i) {
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Raíz con compresión de caminos (solo desde operaciones de escritura)
+     */
+    private int compress(int i) {
+        int root = root(i);
+        while (parent[i] != root) {
+            int next = parent[i];
+            parent[i] = root;
+            i = next;
+        }
+        return root;
+    }
+}
@@ -0,0 +1,119 @@
+package co.edu.uniquindio.structures;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Grupo de hilos compartido para los cálculos en paralelo (informes, intermediación,
+ * landmarks, convoyes, grafo de proximidad)
+ *
+ * Se crea una sola vez, con un hilo daemon por núcleo, en lugar de un grupo nuevo por
+ * llamada. Una tarea que ya corre en el grupo y pide más trabajo lo ejecuta en su propio
+ * hilo: así una tarea nunca espera a otra que no tiene hilo libre donde correr.
+ *
+ * Los errores de las tareas se convierten en IllegalStateException con la causa original;
+ * si el hilo que espera se interrumpe, se restaura la marca de interrupción. Cuando una
+ * tarea falla, las pendientes del mismo lote se cancelan.
+ */
+public final class WorkerPool {
+    private static final int THREADS = Math.max(1, Runtime.getRuntime().availableProcessors());
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger(0);
+
+    /**
+     * Hilo del grupo (permite reconocer las llamadas anidadas)
+     */
+    private static final class Worker extends Thread {
+        Worker(Runnable task) {
+            super(task, "worker-" + THREAD_NUMBER.incrementAndGet());
+            setDaemon(true);
+        }
+    }
+
+    /**
+     * El grupo se crea la primera vez que se usa
+     */
+    private static final class Holder {
+        static final ExecutorService POOL = Executors.newFixedThreadPool(THREADS, Worker::new);
+    }
+
+    private WorkerPool() {
+    }
+
+    /**
+     * Número de hilos del grupo (para repartir el trabajo en tramos)
+     */
+    public static int parallelism() {
+        return THREADS;
+    }
+
+    /**
+     * Enviar una tarea al grupo
+     * Desde un hilo del grupo la tarea se ejecuta en el acto y se devuelve ya terminada
+     */
+    public static <T> Future<T> submit(Callable<T> task) {
+        if (Thread.currentThread() instanceof Worker) {
+            FutureTask<T> inline = new FutureTask<>(task);
+            inline.run();
+            return inline;
+        }
+        return Holder.POOL.submit(task);
+    }
+
+    /**
+     * Esperar el resultado de una tarea
+     *
+     * @param operation Nombre de la operación para el mensaje de error (en inglés)
+     * @throws IllegalStateException Si la tarea falló o la espera se interrumpió
+     */
+    public static <T> T await(Future<T> future, String operation) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(operation + " interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(operation + " failed", e.getCause());
+        }
+    }
+
+    /**
+     * Cancelar las tareas de un lote que todavía no terminaron
+     */
+    public static void cancelAll(CustomList<? extends Future<?>> pending) {
+        for (int i = 0; i < pending.size(); i++) {
+            pending.get(i).cancel(true);
+        }
+    }
+
+    /**
+     * Ejecutar un lote de tareas en paralelo y esperar todos los resultados
+     * Complejidad: la de la tarea más lenta, más O(k) para enviarlas
+     *
+     * @param operation Nombre de la operación para el mensaje de error (en inglés)
+     * @return Resultados en el mismo orden que las tareas
+     */
+    public static <T> CustomList<T> invokeAll(CustomList<Callable<T>> tasks, String operation) {
+        CustomList<Future<T>> pending = new CustomList<>();
+        boolean completed = false;
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                pending.add(submit(tasks.get(i)));
+            }
+            CustomList<T> results = new CustomList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                results.add(await(pending.get(i), operation));
+            }
+            completed = true;
+            return results;
+        } finally {
+            if (!completed) {
+                cancelAll(pending);
+            }
+        }
+    }
+}
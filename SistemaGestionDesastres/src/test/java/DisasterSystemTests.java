@@ -1,14 +1,48 @@
+import co.edu.uniquindio.algorithms.AStarAlgorithm;
+import co.edu.uniquindio.algorithms.CentralityAnalyzer;
+import co.edu.uniquindio.algorithms.ConvoyPlanner;
 import co.edu.uniquindio.algorithms.DijkstraAlgorithm;
+import co.edu.uniquindio.algorithms.EvacuationFlow;
+import co.edu.uniquindio.algorithms.HungarianAlgorithm;
+import co.edu.uniquindio.algorithms.KShortestPaths;
+import co.edu.uniquindio.algorithms.LandmarkIndex;
+import co.edu.uniquindio.algorithms.MinCostMaxFlow;
+import co.edu.uniquindio.algorithms.MultiCriteriaRouter;
+import co.edu.uniquindio.algorithms.NetworkVulnerability;
+import co.edu.uniquindio.algorithms.ProximityGraphBuilder;
+import co.edu.uniquindio.algorithms.ResourceAllocator;
+import co.edu.uniquindio.algorithms.TeamDispatcher;
+import co.edu.uniquindio.algorithms.TimeDependentRouter;
 import co.edu.uniquindio.models.Location;
 import co.edu.uniquindio.models.RescueTeam;
 import co.edu.uniquindio.models.Resource;
+import co.edu.uniquindio.models.Route;
 import co.edu.uniquindio.models.User;
 import co.edu.uniquindio.services.AuthenticationService;
+import co.edu.uniquindio.services.BulkImporter;
 import co.edu.uniquindio.services.DisasterManager;
+import co.edu.uniquindio.services.EventJournal;
+import co.edu.uniquindio.services.InventoryLedger;
+import co.edu.uniquindio.services.OperationLog;
+import co.edu.uniquindio.services.PersistenceService;
+import co.edu.uniquindio.services.ReportGenerator;
+import co.edu.uniquindio.services.SystemSnapshot;
+import co.edu.uniquindio.structures.ConcurrentCustomMap;
 import co.edu.uniquindio.structures.CustomList;
 import co.edu.uniquindio.structures.CustomMap;
+import co.edu.uniquindio.structures.GeoPoints;
 import co.edu.uniquindio.structures.Graph;
+import co.edu.uniquindio.structures.IndexedGraph;
+import co.edu.uniquindio.structures.MappedGraph;
 import co.edu.uniquindio.structures.PriorityQueue;
+import co.edu.uniquindio.structures.ReachabilityIndex;
+import co.edu.uniquindio.structures.RouteCache;
+import co.edu.uniquindio.structures.SpatialGrid;
+import co.edu.uniquindio.structures.TravelTimeFunction;
+import co.edu.uniquindio.structures.WorkerPool;
+
+import java.util.Arrays;
+import java.util.Random;
 
 /**
  * Pruebas unitarias para el sistema de gestión de desastres
@@ -31,6 +65,30 @@ public class DisasterSystemTests {
         testDijkstraAlgorithm();
         testDisasterManager();
         testAuthenticationService();
+        testOperationLog();
+        testPersistence();
+        testMappedGraph();
+        testBulkImporter();
+        testReportGenerator();
+        testSystemSnapshot();
+        testConcurrentManager();
+        testConcurrentCustomMap();
+        testInventoryLedger();
+        testResourceAllocator();
+        testEvacuationFlow();
+        testTeamDispatcher();
+        testConvoyPlanner();
+        testAlternativeRoutes();
+        testSpatialIndex();
+        testGeoPoints();
+        testProximityGraph();
+        testReachabilityIndex();
+        testNetworkVulnerability();
+        testCentrality();
+        testTimeDependentRouting();
+        testMultiCriteriaRouting();
+        testRouteCache();
+        testLandmarkRouting();
 
         // Resumen
         System.out.println("\n" + "=".repeat(65));
@@ -326,6 +384,2142 @@ public class DisasterSystemTests {
         }
     }
 
+    // ========== PRUEBA 8: OperationLog ==========
+    private static void testOperationLog() {
+        System.out.println("Prueba 8: OperationLog");
+        System.out.println("-".repeat(65));
+
+        try {
+            OperationLog log = new OperationLog(6);
+            assertCondition(log.capacity() == 8, "Capacidad redondeada a potencia de dos");
+
+            for (int i = 0; i < 20; i++) {
+                log.record(OperationLog.OperationType.LOCATION_ADDED, "Zona " + i);
+            }
+
+            CustomList<String> all = log.getAll();
+            assertCondition(all.size() == 8, "Solo se retienen las últimas operaciones");
+            assertCondition(all.getLast().endsWith("Ubicación agregada: Zona 19"),
+                    "Formato perezoso de la última operación");
+            assertCondition(log.getRecent(3).getFirst().endsWith("Zona 17"),
+                    "Operaciones recientes en orden cronológico");
+
+            log.clear();
+            assertCondition(log.getAll().isEmpty(), "Log limpiado");
+
+            // Escritores a una vuelta de distancia en la misma posición no mezclan campos
+            OperationLog small = new OperationLog(1);
+            Thread[] writers = new Thread[4];
+            for (int t = 0; t < writers.length; t++) {
+                int writer = t;
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < 20_000; i++) {
+                        String id = "W" + writer + "-" + i;
+                        small.record(OperationLog.OperationType.ROUTE_REMOVED, id, id);
+                    }
+                });
+                writers[t].start();
+            }
+            boolean consistent = true;
+            while (consistent && (writers[0].isAlive() || writers[writers.length - 1].isAlive())) {
+                CustomList<String> lines = small.getAll();
+                for (int i = 0; i < lines.size(); i++) {
+                    String[] ids = lines.get(i).substring(lines.get(i).indexOf(": ") + 2).split(" -> ");
+                    consistent &= ids.length == 2 && ids[0].equals(ids[1]);
+                }
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            assertCondition(consistent && small.getNextSequence() == 80_000, "Registros concurrentes sin mezclar");
+
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("L1", "Ciudad", Location.LocationType.CITY, 100, 3));
+            assertCondition(manager.getRecentOperations(1).get(0).endsWith("Ubicación agregada: L1"),
+                    "DisasterManager registra operaciones estructuradas");
+
+            System.out.println("✓ Prueba OperationLog PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba OperationLog FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 9: Persistencia (diario + instantáneas) ==========
+    private static void testPersistence() {
+        System.out.println("Prueba 9: Persistencia");
+        System.out.println("-".repeat(65));
+
+        java.nio.file.Path tempDir = null;
+        try {
+            tempDir = java.nio.file.Files.createTempDirectory("sgd-test");
+            String dir = tempDir.toString();
+
+            DisasterManager manager = new DisasterManager();
+            PersistenceService persistence = new PersistenceService(manager, dir);
+            assertCondition(!persistence.recover(), "Sin estado previo");
+            persistence.start();
+
+            manager.addLocation(new Location("L1", "Ciudad", Location.LocationType.CITY, 5000, 5));
+            manager.addLocation(new Location("L2", "Refugio", Location.LocationType.SHELTER, 0, 2));
+            manager.addRoute("L1", "L2", 4.5);
+            manager.addResource(new Resource("R1", "Agua", Resource.ResourceType.WATER, 1000, "L"));
+            manager.distributeResource("R1", "L2", 300);
+            manager.addRescueTeam(new RescueTeam("T1", "Médicos", RescueTeam.TeamType.MEDICAL, 5));
+            manager.assignTeamToLocation("T1", "L1");
+            persistence.close();
+
+            DisasterManager recovered = new DisasterManager();
+            PersistenceService second = new PersistenceService(recovered, dir);
+            assertCondition(second.recover(), "Estado recuperado desde el diario");
+            assertCondition(recovered.getAllLocations().size() == 2, "Ubicaciones recuperadas");
+            assertCondition(recovered.getGraph().getEdgeWeight("L1", "L2") == 4.5, "Rutas recuperadas");
+            assertCondition(recovered.getResource("R1").getQuantity() == 700,
+                    "Distribución reproducida una sola vez");
+            assertCondition(recovered.getLocationResources("L2").size() == 1,
+                    "Recursos distribuidos recuperados");
+            assertCondition("L1".equals(recovered.getRescueTeam("T1").getAssignedLocationId()),
+                    "Asignación de equipos recuperada");
+
+            // Instantánea + eventos posteriores
+            second.start();
+            recovered.distributeResource("R1", "L1", 100);
+            second.checkpoint();
+            recovered.removeRoute("L1", "L2");
+            second.close();
+
+            DisasterManager third = new DisasterManager();
+            new PersistenceService(third, dir).recover();
+            assertCondition(third.getResource("R1").getQuantity() == 600,
+                    "Instantánea sin eventos duplicados");
+            assertCondition(!third.getGraph().hasEdge("L1", "L2"),
+                    "Eventos posteriores a la instantánea aplicados");
+
+            // Descartar eventos ya incluidos conserva los que llegaron después de la marca
+            java.nio.file.Path journalFile = java.nio.file.Paths.get(dir, "compact.journal");
+            EventJournal journal = new EventJournal(journalFile, 0, 0);
+            journal.recordAddLocation(new Location("A", "A", Location.LocationType.CITY, 0, 1));
+            journal.recordAddLocation(new Location("B", "B", Location.LocationType.CITY, 0, 1));
+            EventJournal.Position mark = journal.position();
+            journal.recordAddRoute("A", "B", 2.5);
+            journal.discardThrough(mark);
+            journal.recordAddRoute("B", "A", 3.5);
+            journal.close();
+            DisasterManager compacted = new DisasterManager();
+            compacted.addLocation(new Location("A", "A", Location.LocationType.CITY, 0, 1));
+            compacted.addLocation(new Location("B", "B", Location.LocationType.CITY, 0, 1));
+            long last = EventJournal.replay(journalFile, mark.getSequence(), compacted);
+            assertCondition(last == 3 && compacted.getGraph().getEdgeWeight("A", "B") == 2.5
+                    && compacted.getGraph().getEdgeWeight("B", "A") == 3.5, "Eventos posteriores a la marca conservados");
+
+            // Una cola con longitud imposible (enorme o negativa) se trunca sin reservar memoria
+            long validSize = java.nio.file.Files.size(journalFile);
+            int[] badLengths = {Integer.MAX_VALUE, -5};
+            for (int i = 0; i < badLengths.length; i++) {
+                try (java.io.DataOutputStream out = new java.io.DataOutputStream(new java.io.FileOutputStream(
+                        journalFile.toFile(), true))) {
+                    out.writeInt(badLengths[i]);
+                    out.writeInt(0);
+                    out.writeLong(99);
+                }
+                DisasterManager torn = new DisasterManager();
+                torn.addLocation(new Location("A", "A", Location.LocationType.CITY, 0, 1));
+                torn.addLocation(new Location("B", "B", Location.LocationType.CITY, 0, 1));
+                assertCondition(EventJournal.replay(journalFile, -1, torn) == 3
+                        && java.nio.file.Files.size(journalFile) == validSize, "Cola corrupta truncada");
+            }
+
+            System.out.println("✓ Prueba Persistencia PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Persistencia FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            deleteRecursively(tempDir);
+        }
+    }
+
+    // ========== PRUEBA 10: MappedGraph ==========
+    private static void testMappedGraph() {
+        System.out.println("Prueba 10: MappedGraph");
+        System.out.println("-".repeat(65));
+
+        java.nio.file.Path file = null;
+        try {
+            Graph graph = new Graph();
+            graph.addVertex(new Location("A", "Ciudad Ñandú", Location.LocationType.CITY, 1200, 5, 4.5, -74.1));
+            graph.addVertex(new Location("B", "Refugio", Location.LocationType.SHELTER, 0, 2, 4.6, -74.0));
+            graph.addVertex(new Location("C", "Hospital", Location.LocationType.HOSPITAL, 0, 3));
+            graph.addEdge("A", "B", 5.0);
+            graph.addEdge("A", "C", 2.5);
+            graph.addEdge("C", "B", 1.0);
+
+            file = java.nio.file.Files.createTempFile("graph", ".sgdg");
+            MappedGraph.write(graph, file);
+
+            try (MappedGraph mapped = MappedGraph.open(file)) {
+                assertCondition(mapped.getVertexCount() == 3, "Número de vértices");
+                assertCondition(mapped.getEdgeCount() == 3, "Número de aristas");
+
+                int a = mapped.indexOf("A");
+                assertCondition(a >= 0 && mapped.getName(a).equals("Ciudad Ñandú"),
+                        "Búsqueda por ID y textos UTF-8");
+                assertCondition(mapped.indexOf("Z") == -1, "ID inexistente");
+                assertCondition(mapped.getOutDegree(a) == 2, "Grado de salida desde CSR");
+                assertCondition(mapped.getLocation("A").getPopulation() == 1200,
+                        "Ubicación materializada bajo demanda");
+
+                Graph restored = mapped.toGraph();
+                assertCondition(restored.getEdgeWeight("C", "B") == 1.0, "Grafo reconstruido");
+                assertCondition(DijkstraAlgorithm.findShortestPaths(restored, "A").getDistance("B") == 3.5,
+                        "Rutas equivalentes tras reconstruir");
+            }
+
+            DisasterManager manager = new DisasterManager();
+            BulkImporter.ImportResult imported = new BulkImporter(manager).importGraphSnapshot(file.toString());
+            assertCondition(imported.getAccepted() == 6 && manager.getRouteDistance("A", "B") == 3.5,
+                    "Instantánea cargada en el gestor");
+
+            manager.exportGraphSnapshot(file.toString());
+            DisasterManager reloaded = new DisasterManager();
+            BulkImporter.ImportResult reimported = new BulkImporter(reloaded).importGraphSnapshot(file.toString());
+            assertCondition(reimported.getAccepted() == 6 && reloaded.getRouteDistance("A", "B") == 3.5
+                            && reloaded.getLocation("A").getName().equals("Ciudad Ñandú"),
+                    "Red exportada desde el gestor y vuelta a cargar");
+
+            long fullSize = java.nio.file.Files.size(file);
+            try (java.nio.channels.FileChannel channel = java.nio.channels.FileChannel.open(file,
+                    java.nio.file.StandardOpenOption.WRITE)) {
+                channel.truncate(fullSize - 8);
+            }
+            boolean rejected = false;
+            try (MappedGraph truncated = MappedGraph.open(file)) {
+                truncated.getVertexCount();
+            } catch (java.io.IOException e) {
+                rejected = e.getMessage().startsWith("Corrupt graph snapshot");
+            }
+            assertCondition(rejected, "Archivo truncado rechazado al abrir");
+
+            System.out.println("✓ Prueba MappedGraph PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba MappedGraph FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            if (file != null) {
+                try {
+                    java.nio.file.Files.deleteIfExists(file);
+                } catch (java.io.IOException e) {
+                    System.out.println("  ! No se pudo borrar " + file + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // ========== PRUEBA 11: BulkImporter ==========
+    private static void testBulkImporter() {
+        System.out.println("Prueba 11: BulkImporter");
+        System.out.println("-".repeat(65));
+
+        try {
+            DisasterManager manager = new DisasterManager();
+            BulkImporter importer = new BulkImporter(manager, 2);
+
+            String locationsCsv = "id,name,type,population,urgency,latitude,longitude\n"
+                    + "L1,\"Centro, Norte\",CITY,1000,5,4.5,-74.1\n"
+                    + "L2,Refugio,Refugio,0,2,4.6,-74.0\n"
+                    + "L3,Sin tipo,VOLCAN,10,1,0,0\n"
+                    + "L1,Duplicada,CITY,1,1,0,0\n";
+            BulkImporter.ImportResult locations = importer.importLocationsCsv(new java.io.StringReader(locationsCsv));
+            assertCondition(locations.getAccepted() == 2, "Ubicaciones aceptadas");
+            assertCondition(locations.getRejected() == 2, "Tipo inválido e ID repetido rechazados");
+            assertCondition(locations.getErrors().get(1).equals("Fila 5: ID repetido omitido: L1"),
+                    "Cada ID repetido se rechaza con su fila");
+            assertCondition(manager.getLocation("L1").getName().equals("Centro, Norte"),
+                    "Campo entre comillas con separador");
+
+            String routesCsv = "from,to,distance,bidirectional\nL1,L2,3.5,true\nL1,L9,1,false\n";
+            BulkImporter.ImportResult routes = importer.importRoutesCsv(new java.io.StringReader(routesCsv));
+            assertCondition(routes.getAccepted() == 1 && routes.getRejected() == 1, "Rutas validadas");
+            assertCondition(manager.getRouteDistance("L2", "L1") == 3.5, "Ruta bidireccional cargada");
+
+            String geoJson = "{\"type\":\"FeatureCollection\",\"features\":["
+                    + "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[-74.2,4.7]},"
+                    + "\"properties\":{\"id\":\"G1\",\"name\":\"Hospital \\\"Sur\\\"\",\"type\":\"HOSPITAL\","
+                    + "\"population\":0,\"urgency\":3}},"
+                    + "{\"type\":\"Feature\",\"geometry\":{\"type\":\"LineString\","
+                    + "\"coordinates\":[[-74.1,4.5],[-74.2,4.7]]},\"properties\":{\"from\":\"L1\",\"to\":\"G1\"}},"
+                    + "{\"type\":\"Feature\",\"geometry\":null,\"properties\":{\"entity\":\"resource\","
+                    + "\"id\":\"R1\",\"name\":\"Agua\",\"type\":\"WATER\",\"quantity\":500,\"unit\":\"litros\"}}"
+                    + "]}";
+            BulkImporter.ImportResult features = importer.importGeoJson(new java.io.StringReader(geoJson));
+            assertCondition(features.getAccepted() == 3 && features.getRejected() == 0, "Features GeoJSON importados");
+            assertCondition(manager.getLocation("G1").getLatitude() == 4.7, "Coordenadas [longitud, latitud]");
+            assertCondition(manager.getLocation("G1").getName().equals("Hospital \"Sur\""), "Escapes JSON");
+            assertCondition(manager.getResource("R1").getQuantity() == 500, "Recurso sin geometría");
+            assertCondition(manager.getRouteDistance("L1", "G1") > 20, "Ruta con distancia calculada");
+
+            String badGeoJson = "{\"type\":\"FeatureCollection\",\"features\":["
+                    + "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[-74.0,4.0]},"
+                    + "\"properties\":{\"id\":\"G1\",\"name\":\"Otra\",\"type\":\"CITY\"}},"
+                    + "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Polygon\",\"coordinates\":[]},"
+                    + "\"properties\":{}}"
+                    + "]}";
+            BulkImporter.ImportResult badFeatures = importer.importGeoJson(new java.io.StringReader(badGeoJson));
+            assertCondition(badFeatures.getRejected() == 2
+                            && badFeatures.getErrors().get(0).equals("Feature 2: Geometría no soportada: Polygon")
+                            && badFeatures.getErrors().get(1).equals("Feature 1: ID repetido omitido: G1"),
+                    "Errores GeoJSON con índice de feature");
+
+            System.out.println("✓ Prueba BulkImporter PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba BulkImporter FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 12: ReportGenerator ==========
+    private static void testReportGenerator() {
+        System.out.println("Prueba 12: ReportGenerator");
+        System.out.println("-".repeat(65));
+
+        java.nio.file.Path dir = null;
+        try {
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("L1", "Zona \"Norte\", sector 1",
+                    Location.LocationType.AFFECTED_ZONE, 800, 5));
+            manager.addLocation(new Location("L2", "Refugio", Location.LocationType.SHELTER, 100, 2));
+            manager.addResource(new Resource("R1", "Agua", Resource.ResourceType.WATER, 300, "litros"));
+            manager.distributeResource("R1", "L1", 100);
+
+            User admin = new User("admin", "admin123", "Administrador", User.UserRole.ADMINISTRATOR);
+            User viewer = new User("viewer", "viewer123", "Observador", User.UserRole.VIEWER);
+            dir = java.nio.file.Files.createTempDirectory("sgd-report");
+
+            ReportGenerator generator = new ReportGenerator(manager, admin);
+            java.nio.file.Path txt = dir.resolve("informe.txt");
+            assertCondition(generator.generateCompleteReport(txt.toString()), "Informe TXT generado");
+            String text = new String(java.nio.file.Files.readAllBytes(txt), "UTF-8");
+            assertCondition(text.indexOf("[1] Zona \"Norte\", sector 1") > 0
+                            && text.indexOf("[2] Refugio") > text.indexOf("[1] Zona"),
+                    "Ubicaciones en orden de prioridad");
+            assertCondition(text.endsWith("Sistema de Gestión de Desastres Naturales v1.0\n"), "Pie del informe");
+
+            java.nio.file.Path csv = dir.resolve("informe.csv");
+            assertCondition(generator.generateReport(csv.toString(), ReportGenerator.ReportFormat.CSV, false),
+                    "Informe CSV generado");
+            String csvText = new String(java.nio.file.Files.readAllBytes(csv), "UTF-8");
+            assertCondition(csvText.contains("L1,\"Zona \"\"Norte\"\", sector 1\",AFFECTED_ZONE,800,5"),
+                    "Campos CSV escapados");
+
+            java.nio.file.Path json = dir.resolve("informe.json.gz");
+            assertCondition(generator.generateReport(json.toString(), ReportGenerator.ReportFormat.JSON, true),
+                    "Informe JSON comprimido generado");
+            String jsonText;
+            try (java.io.InputStream in = new java.util.zip.GZIPInputStream(
+                    java.nio.file.Files.newInputStream(json))) {
+                jsonText = new String(in.readAllBytes(), "UTF-8");
+            }
+            assertCondition(jsonText.contains("\"name\": \"Zona \\\"Norte\\\", sector 1\"")
+                            && jsonText.contains("\"assignedResources\": [{\"id\": \"R1_L1\"")
+                            && jsonText.trim().endsWith("}"),
+                    "JSON escapado y completo");
+
+            assertCondition(!new ReportGenerator(manager, viewer).generateCompleteReport(
+                    dir.resolve("denegado.txt").toString()), "Solo administradores generan informes");
+
+            System.out.println("✓ Prueba ReportGenerator PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba ReportGenerator FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            deleteRecursively(dir);
+        }
+    }
+
+    // ========== PRUEBA 13: SystemSnapshot ==========
+    private static void testSystemSnapshot() {
+        System.out.println("Prueba 13: SystemSnapshot");
+        System.out.println("-".repeat(65));
+
+        try {
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("L1", "Refugio", Location.LocationType.SHELTER, 100, 2));
+            manager.addLocation(new Location("L2", "Zona Sur", Location.LocationType.AFFECTED_ZONE, 900, 5));
+            manager.addRoute("L1", "L2", 4.0);
+            manager.addResource(new Resource("R1", "Agua", Resource.ResourceType.WATER, 500, "litros"));
+            manager.distributeResource("R1", "L2", 200);
+            manager.addRescueTeam(new RescueTeam("T1", "Bomberos", RescueTeam.TeamType.FIREFIGHTERS, 6));
+            manager.assignTeamToLocation("T1", "L2");
+
+            SystemSnapshot snapshot = manager.getSnapshot();
+            assertCondition(snapshot.getLocationCount() == 2 && snapshot.getLocation(0).getId().equals("L2"),
+                    "Ubicaciones en orden de prioridad");
+            assertCondition(snapshot.getTotalPopulation() == 1000 && snapshot.getTotalResourceQuantity() == 300,
+                    "Agregados calculados");
+            assertCondition(snapshot.getUrgencyCount(5) == 1 && snapshot.getPopulationByUrgency(5) == 900,
+                    "Distribución por urgencia");
+            assertCondition(snapshot.getAssignedResourceCount(0) == 1 && snapshot.getOutDegree(1) == 1,
+                    "Recursos asignados y conexiones");
+            assertCondition(snapshot.getTeamsAtLocation("L2").size() == 1 && snapshot.getDeployedTeamsCount() == 1,
+                    "Equipos por ubicación");
+            assertCondition(manager.getSnapshot() == snapshot, "Instantánea reutilizada sin cambios");
+
+            manager.distributeResource("R1", "L1", 50);
+            manager.removeLocation("L2");
+            assertCondition(snapshot.getLocationCount() == 2 && snapshot.getTotalResourceQuantity() == 300
+                            && snapshot.getResources().get(0).getQuantity() == 300,
+                    "La instantánea no cambia con el estado");
+
+            SystemSnapshot updated = manager.getSnapshot();
+            assertCondition(updated != snapshot && updated.getVersion() > snapshot.getVersion(),
+                    "Nueva versión tras modificar");
+            assertCondition(updated.getLocationCount() == 1 && updated.getTotalResourceQuantity() == 250
+                            && updated.findLocation("L2") == null,
+                    "Nueva instantánea refleja los cambios");
+
+            System.out.println("✓ Prueba SystemSnapshot PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba SystemSnapshot FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 14: Concurrencia en DisasterManager ==========
+    private static void testConcurrentManager() {
+        System.out.println("Prueba 14: Concurrencia en DisasterManager");
+        System.out.println("-".repeat(65));
+
+        try {
+            DisasterManager manager = new DisasterManager();
+            for (int i = 0; i < 4; i++) {
+                manager.addLocation(new Location("L" + i, "Zona " + i, Location.LocationType.AFFECTED_ZONE, 100, 3));
+            }
+            manager.addResource(new Resource("R1", "Agua", Resource.ResourceType.WATER, 1000, "litros"));
+
+            int threads = 8;
+            int attempts = 200;
+            java.util.concurrent.atomic.AtomicInteger succeeded = new java.util.concurrent.atomic.AtomicInteger();
+            java.util.concurrent.atomic.AtomicBoolean tornSnapshot = new java.util.concurrent.atomic.AtomicBoolean();
+            java.util.concurrent.CountDownLatch start = new java.util.concurrent.CountDownLatch(1);
+            Thread[] workers = new Thread[threads + 1];
+
+            for (int t = 0; t < threads; t++) {
+                String locationId = "L" + (t % 4);
+                workers[t] = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < attempts; i++) {
+                            if (manager.distributeResource("R1", locationId, 1)) {
+                                succeeded.incrementAndGet();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+
+            // Lector: cada instantánea debe conservar el total (inventario + distribuido)
+            workers[threads] = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 200; i++) {
+                        SystemSnapshot snapshot = manager.getSnapshot();
+                        long total = snapshot.getTotalResourceQuantity();
+                        for (int j = 0; j < snapshot.getLocationCount(); j++) {
+                            CustomList<Resource> assigned = snapshot.getAssignedResources(j);
+                            for (int k = 0; k < assigned.size(); k++) {
+                                total += assigned.get(k).getQuantity();
+                            }
+                        }
+                        if (total != 1000) {
+                            tornSnapshot.set(true);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            for (Thread worker : workers) {
+                worker.start();
+            }
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            assertCondition(succeeded.get() == 1000, "Exactamente 1000 distribuciones exitosas");
+            assertCondition(manager.getResource("R1").getQuantity() == 0, "Inventario agotado sin negativos");
+            int distributed = 0;
+            for (int i = 0; i < 4; i++) {
+                CustomList<Resource> assigned = manager.getLocationResources("L" + i);
+                for (int j = 0; j < assigned.size(); j++) {
+                    distributed += assigned.get(j).getQuantity();
+                }
+            }
+            assertCondition(distributed == 1000, "Ninguna asignación perdida");
+            assertCondition(!tornSnapshot.get(), "Instantáneas consistentes durante las escrituras");
+            SystemSnapshot latest = manager.getSnapshot();
+            assertCondition(latest.getVersion() == manager.getVersion() && manager.getSnapshot() == latest,
+                    "La instantánea publicada no retrocede a una versión anterior");
+
+            // Grupo compartido: tareas anidadas sin bloqueo y errores con su causa
+            CustomList<java.util.concurrent.Callable<Integer>> outer = new CustomList<>();
+            for (int i = 0; i < 2 * WorkerPool.parallelism(); i++) {
+                outer.add(() -> {
+                    CustomList<java.util.concurrent.Callable<Integer>> inner = new CustomList<>();
+                    inner.add(() -> 1);
+                    inner.add(() -> 2);
+                    CustomList<Integer> values = WorkerPool.invokeAll(inner, "Nested test");
+                    return values.get(0) + values.get(1);
+                });
+            }
+            CustomList<Integer> sums = WorkerPool.invokeAll(outer, "Outer test");
+            assertCondition(sums.size() == outer.size() && sums.get(0) == 3, "Tareas anidadas en el grupo compartido");
+            CustomList<java.util.concurrent.Callable<Integer>> failing = new CustomList<>();
+            failing.add(() -> {
+                throw new ArithmeticException("boom");
+            });
+            boolean wrapped = false;
+            try {
+                WorkerPool.invokeAll(failing, "Failing test");
+            } catch (IllegalStateException e) {
+                wrapped = e.getCause() instanceof ArithmeticException
+                        && e.getMessage().equals("Failing test failed");
+            }
+            assertCondition(wrapped, "Error de una tarea con su causa");
+
+            System.out.println("✓ Prueba Concurrencia PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Concurrencia FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 15: ConcurrentCustomMap ==========
+    private static void testConcurrentCustomMap() {
+        System.out.println("Prueba 15: ConcurrentCustomMap");
+        System.out.println("-".repeat(65));
+
+        try {
+            ConcurrentCustomMap<String, Integer> map = new ConcurrentCustomMap<>();
+            map.put("uno", 1);
+            map.put("dos", 2);
+            map.put("uno", 10);
+            assertCondition(map.size() == 2 && map.get("uno") == 10, "Put y actualización");
+            assertCondition(map.putIfAbsent("dos", 20) == 2 && map.get("dos") == 2, "PutIfAbsent no reemplaza");
+            assertCondition(map.replace("dos", 22) && !map.replace("tres", 3), "Replace solo si existe");
+            assertCondition(map.compute("uno", (k, v) -> v + 1) == 11, "Compute atómico");
+            assertCondition(map.remove("uno") == 11 && !map.containsKey("uno") && map.size() == 1, "Remove");
+
+            // Escritores en paralelo con redimensionamiento y un lector sobre claves estables
+            ConcurrentCustomMap<String, Integer> shared = new ConcurrentCustomMap<>(16, 4);
+            for (int i = 0; i < 100; i++) {
+                shared.put("fijo" + i, i);
+            }
+            int writers = 4;
+            int perWriter = 20_000;
+            java.util.concurrent.atomic.AtomicBoolean missing = new java.util.concurrent.atomic.AtomicBoolean();
+            java.util.concurrent.atomic.AtomicBoolean done = new java.util.concurrent.atomic.AtomicBoolean();
+            Thread[] threads = new Thread[writers];
+            for (int w = 0; w < writers; w++) {
+                int id = w;
+                threads[w] = new Thread(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        shared.put("w" + id + "-" + i, i);
+                        shared.compute("contador", (k, v) -> v == null ? 1 : v + 1);
+                    }
+                });
+            }
+            Thread reader = new Thread(() -> {
+                while (!done.get()) {
+                    for (int i = 0; i < 100; i++) {
+                        Integer value = shared.get("fijo" + i);
+                        if (value == null || value != i) {
+                            missing.set(true);
+                        }
+                    }
+                }
+            });
+
+            reader.start();
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            done.set(true);
+            reader.join();
+
+            assertCondition(shared.size() == 100 + writers * perWriter + 1, "Ninguna entrada perdida al crecer");
+            assertCondition(shared.get("contador") == writers * perWriter, "Actualizaciones atómicas sin pérdidas");
+            assertCondition(!missing.get(), "Lecturas sin cerrojo siempre ven las claves estables");
+            assertCondition(shared.get("w3-" + (perWriter - 1)) == perWriter - 1, "Búsqueda tras redimensionar");
+
+            System.out.println("✓ Prueba ConcurrentCustomMap PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba ConcurrentCustomMap FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 16: INVENTORY LEDGER ==========
+    private static void testInventoryLedger() {
+        System.out.println("Prueba 16: InventoryLedger");
+        System.out.println("-".repeat(65));
+
+        try {
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("L1", "Albergue", Location.LocationType.SHELTER, 100, 3));
+            manager.addResource(new Resource("AGUA", "Agua", Resource.ResourceType.WATER, 1000, "litros"));
+            manager.addResource(new Resource("MED", "Botiquín", Resource.ResourceType.MEDICINE, 5, "unidades"));
+            InventoryLedger ledger = manager.getInventoryLedger();
+
+            // Reservas concurrentes sobre el mismo recurso: nunca se aparta más de lo que hay
+            int threads = 8;
+            java.util.concurrent.atomic.AtomicInteger granted = new java.util.concurrent.atomic.AtomicInteger();
+            Thread[] workers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        InventoryLedger.Reservation reservation = ledger.reserve("AGUA", 1);
+                        if (reservation != null && manager.distributeReservation(reservation, "L1")) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            for (Thread worker : workers) {
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            Resource water = manager.getResource("AGUA");
+            assertCondition(granted.get() == 1000, "Se distribuyen exactamente las 1000 unidades");
+            assertCondition(water.getQuantity() == 0 && water.getReservedQuantity() == 0, "Inventario agotado sin reservas colgantes");
+
+            // Reserva en lote: si un recurso no alcanza no se aparta ninguno
+            manager.getResource("AGUA").addQuantity(50);
+            CustomMap<String, Integer> batch = new CustomMap<>();
+            batch.put("AGUA", 30);
+            batch.put("MED", 10);
+            assertCondition(ledger.reserveAll(batch) == null, "Lote rechazado si falta un recurso");
+            assertCondition(water.getQuantity() == 50 && manager.getResource("MED").getQuantity() == 5, "Lote rechazado se deshace");
+
+            batch.put("MED", 5);
+            CustomList<InventoryLedger.Reservation> reserved = ledger.reserveAll(batch);
+            assertCondition(reserved != null && reserved.size() == 2, "Lote completo reservado");
+            assertCondition(water.getQuantity() == 20 && water.getOnHandQuantity() == 50, "Reservado no disponible pero en existencia");
+            assertCondition(ledger.releaseAll(reserved) == 2 && !ledger.release(reserved.get(0)), "Liberación única");
+            assertCondition(water.getQuantity() == 50, "Cantidad devuelta al liberar");
+
+            InventoryLedger.Reservation stale = ledger.reserve("MED", 5);
+            manager.removeResource("MED");
+            manager.addResource(new Resource("MED", "Medicamentos", Resource.ResourceType.MEDICINE, 8, "cajas"));
+            assertCondition(!manager.distributeReservation(stale, "L1") && stale.isInvalid(),
+                    "Reserva de un recurso reemplazado queda inválida");
+            assertCondition(manager.getResource("MED").getOnHandQuantity() == 8,
+                    "El recurso nuevo no pierde existencia");
+
+            System.out.println("✓ Prueba InventoryLedger PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba InventoryLedger FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 17: RESOURCE ALLOCATOR ==========
+    private static void testResourceAllocator() {
+        System.out.println("Prueba 17: ResourceAllocator");
+        System.out.println("-".repeat(65));
+
+        try {
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("CA", "Centro", Location.LocationType.AID_CENTER, 0, 1));
+            manager.addLocation(new Location("Z1", "Zona crítica", Location.LocationType.AFFECTED_ZONE, 100, 5));
+            manager.addLocation(new Location("Z2", "Zona estable", Location.LocationType.AFFECTED_ZONE, 100, 2));
+            manager.addLocation(new Location("Z3", "Zona aislada", Location.LocationType.AFFECTED_ZONE, 100, 5));
+            manager.addRoute("CA", "Z1", 10);
+            manager.addRoute("CA", "Z2", 30);
+            manager.addResource(new Resource("AGUA", "Agua", Resource.ResourceType.WATER, 300, "litros"));
+
+            ResourceAllocator.AllocationPlan plan = manager.planResourceAllocation();
+            int critical = 0;
+            int stable = 0;
+            for (int i = 0; i < plan.getAllocations().size(); i++) {
+                ResourceAllocator.Allocation allocation = plan.getAllocations().get(i);
+                if (allocation.getLocationId().equals("Z1")) {
+                    critical += allocation.getQuantity();
+                } else if (allocation.getLocationId().equals("Z2")) {
+                    stable += allocation.getQuantity();
+                }
+            }
+            assertCondition(plan.getTotalAllocated() == 300, "Se asigna todo el inventario escaso");
+            assertCondition(critical > stable && critical <= 300, "La zona más urgente y cercana recibe más");
+            assertCondition(plan.getUnreachableLocations().contains("Z3"), "Zona sin ruta reportada como inalcanzable");
+            assertCondition(plan.getUnmetDemand("Z1", Resource.ResourceType.WATER) + plan.getUnmetDemand("Z2", Resource.ResourceType.WATER) == 300, "Necesidad sin cubrir");
+
+            manager.planResourceAllocation();
+            assertCondition(manager.getResourceAllocator().getLastResolvedTypes() == 0, "Sin cambios se reutiliza el plan");
+
+            assertCondition(manager.executeAllocationPlan(plan) == plan.getAllocations().size(), "Plan ejecutado");
+            assertCondition(manager.getResource("AGUA").getQuantity() == 0, "Inventario descontado");
+            assertCondition(manager.executeAllocationPlan(plan) == -1, "Plan obsoleto rechazado sin efectos");
+
+            manager.addResource(new Resource("AGUA2", "Agua embotellada", Resource.ResourceType.WATER, 1000, "litros"));
+            ResourceAllocator.AllocationPlan next = manager.planResourceAllocation();
+            assertCondition(manager.getResourceAllocator().getLastResolvedTypes() == 1, "Solo se recalcula el tipo que cambió");
+            assertCondition(next.getTotalAllocated() == 300, "Solo se cubre la necesidad pendiente");
+
+            System.out.println("✓ Prueba ResourceAllocator PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba ResourceAllocator FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 18: FLUJO DE EVACUACIÓN ==========
+    private static void testEvacuationFlow() {
+        System.out.println("Prueba 18: Flujo de evacuación");
+        System.out.println("-".repeat(65));
+
+        java.nio.file.Path tempDir = null;
+        try {
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("Z1", "Zona norte", Location.LocationType.AFFECTED_ZONE, 1000, 5));
+            manager.addLocation(new Location("Z2", "Zona sur", Location.LocationType.AFFECTED_ZONE, 50, 3));
+            manager.addLocation(new Location("B", "Puente", Location.LocationType.CITY, 0, 1));
+            manager.addLocation(new Location("C", "Cruce", Location.LocationType.CITY, 0, 1));
+            manager.addLocation(new Location("R1", "Refugio 1", Location.LocationType.SHELTER, 0, 1));
+            manager.addLocation(new Location("R2", "Refugio 2", Location.LocationType.SHELTER, 0, 1));
+            manager.addRoute("Z1", "B", 5);
+            manager.addRoute("B", "R1", 5);
+            manager.addRoute("Z1", "C", 10);
+            manager.addRoute("C", "R1", 10);
+            manager.addRoute("Z2", "R2", 3);
+
+            Graph graph = manager.getGraph();
+            assertCondition(graph.getIndexedGraph() == graph.getIndexedGraph(), "Forma indexada reutilizada");
+            IndexedGraph before = graph.getIndexedGraph();
+
+            assertCondition(manager.setRouteCapacity("Z1", "B", 300), "Capacidad asignada");
+            manager.setRouteCapacity("Z1", "C", 200);
+            manager.setRouteCapacity("C", "R1", 100);
+            assertCondition(!manager.setRouteCapacity("Z1", "R2", 10), "Ruta inexistente rechazada");
+            assertCondition(graph.getIndexedGraph() != before, "Forma indexada reconstruida al cambiar");
+            assertCondition(manager.getRouteCapacity("B", "R1") == Graph.UNLIMITED_CAPACITY, "Sin límite por defecto");
+
+            EvacuationFlow.Result result = manager.computeEvacuationThroughput();
+            assertCondition(Math.abs(result.getThroughput() - 450) < 1e-6, "Caudal máximo: 300 + 100 + 50");
+            assertCondition(Math.abs(result.getZoneFlow("Z1") - 400) < 1e-6, "Flujo de la zona norte");
+            assertCondition(Math.abs(result.getShelterFlow("R2") - 50) < 1e-6, "Zona sur limitada por su población");
+            assertCondition(Math.abs(result.getTotalDistance() - (300 * 10 + 100 * 20 + 50 * 3)) < 1e-6,
+                    "Costo mínimo del flujo");
+            assertCondition(result.getBottlenecks().size() == 2, "Cuellos de botella detectados");
+
+            // Costo mínimo: con dos caminos sin límite se usa solo el más corto
+            MinCostMaxFlow network = new MinCostMaxFlow(4);
+            int cheap = network.addEdge(0, 1, 10, 1);
+            int expensive = network.addEdge(0, 2, 10, 5);
+            network.addEdge(1, 3, 10, 1);
+            network.addEdge(2, 3, 10, 1);
+            MinCostMaxFlow.FlowResult limited = network.solve(0, 3, 8);
+            assertCondition(limited.getFlow() == 8 && network.getFlow(cheap) == 8 && network.getFlow(expensive) == 0,
+                    "Flujo limitado por el camino más barato");
+
+            // Las capacidades se persisten
+            tempDir = java.nio.file.Files.createTempDirectory("sgd-flow");
+            String dir = tempDir.toString();
+            PersistenceService persistence = new PersistenceService(manager, dir);
+            persistence.start();
+            persistence.close();
+            DisasterManager recovered = new DisasterManager();
+            new PersistenceService(recovered, dir).recover();
+            assertCondition(recovered.getRouteCapacity("C", "R1") == 100, "Capacidades recuperadas");
+
+            System.out.println("✓ Prueba Flujo de evacuación PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Flujo de evacuación FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            deleteRecursively(tempDir);
+        }
+    }
+
+    // ========== PRUEBA 19: DESPACHO DE EQUIPOS ==========
+    private static void testTeamDispatcher() {
+        System.out.println("Prueba 19: Despacho de equipos");
+        System.out.println("-".repeat(65));
+
+        try {
+            double[][] cost = {
+                    {4, 1, 3},
+                    {2, 0, 5},
+                    {3, 2, 2}
+            };
+            int[] assignment = HungarianAlgorithm.solve(cost);
+            assertCondition(HungarianAlgorithm.totalCost(cost, assignment) == 5, "Asignación de costo mínimo");
+
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("CA", "Centro", Location.LocationType.AID_CENTER, 0, 1));
+            manager.addLocation(new Location("H", "Hospital", Location.LocationType.HOSPITAL, 100, 5));
+            manager.addLocation(new Location("Z", "Derrumbe", Location.LocationType.AFFECTED_ZONE, 100, 4));
+            manager.addLocation(new Location("L", "Barrio", Location.LocationType.CITY, 100, 2));
+            manager.addRoute("CA", "H", 5);
+            manager.addRoute("CA", "Z", 5);
+            manager.addRoute("CA", "L", 1);
+            manager.addRescueTeam(new RescueTeam("MED", "Médicos", RescueTeam.TeamType.MEDICAL, 8, 3, ""));
+            manager.addRescueTeam(new RescueTeam("SAR", "Rescatistas", RescueTeam.TeamType.SEARCH_AND_RESCUE, 8, 3, ""));
+            manager.addRescueTeam(new RescueTeam("LOG", "Logística", RescueTeam.TeamType.LOGISTICS, 4, 1, ""));
+
+            CustomList<TeamDispatcher.Dispatch> applied = manager.dispatchTeams();
+            assertCondition(applied.size() == 2, "Un equipo por puesto crítico");
+            assertCondition("H".equals(manager.getRescueTeam("MED").getAssignedLocationId()), "Médicos al hospital");
+            assertCondition("Z".equals(manager.getRescueTeam("SAR").getAssignedLocationId()), "Rescatistas a la zona afectada");
+            assertCondition(manager.getRescueTeam("LOG").isAvailable(), "Sin puesto libre el equipo queda disponible");
+            assertCondition(manager.planTeamDispatch().isEmpty(), "Nada que despachar con los puestos cubiertos");
+
+            // Re-solución incremental al liberarse un equipo
+            manager.unassignTeam("MED");
+            assertCondition("H".equals(manager.getTeamDispatcher().getPosition("MED")), "Posición conocida tras liberar");
+            CustomList<TeamDispatcher.Dispatch> again = manager.planTeamDispatch();
+            assertCondition(again.size() == 1 && again.get(0).getLocationId().equals("H")
+                    && again.get(0).getTeamId().equals("MED"), "Solo se recalcula el puesto liberado");
+
+            System.out.println("✓ Prueba Despacho de equipos PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Despacho de equipos FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 20: PLANIFICACIÓN DE CONVOYES ==========
+    private static void testConvoyPlanner() {
+        System.out.println("Prueba 20: Planificación de convoyes");
+        System.out.println("-".repeat(65));
+
+        try {
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("CA", "Centro", Location.LocationType.AID_CENTER, 0, 1));
+            manager.addLocation(new Location("A", "Vereda A", Location.LocationType.AFFECTED_ZONE, 100, 4));
+            manager.addLocation(new Location("B", "Vereda B", Location.LocationType.AFFECTED_ZONE, 100, 4));
+            manager.addLocation(new Location("C", "Refugio", Location.LocationType.SHELTER, 100, 3));
+            manager.addLocation(new Location("X", "Aislado", Location.LocationType.CITY, 100, 2));
+            String[][] roads = {{"CA", "A", "10"}, {"A", "B", "1"}, {"CA", "B", "10"}, {"CA", "C", "3"}};
+            for (String[] road : roads) {
+                manager.addRoute(road[0], road[1], Double.parseDouble(road[2]));
+                manager.addRoute(road[1], road[0], Double.parseDouble(road[2]));
+            }
+
+            CustomMap<String, Integer> demands = new CustomMap<>();
+            demands.put("A", 4);
+            demands.put("B", 4);
+            demands.put("C", 15);
+            demands.put("X", 2);
+
+            ConvoyPlanner.ConvoyPlan plan = manager.planConvoys("CA", demands, new int[]{10, 10});
+            assertCondition(plan.getUnreachable().size() == 1 && plan.getUnreachable().get(0).equals("X"),
+                    "Ubicación sin ruta reportada");
+            assertCondition(plan.getTours().size() == 3, "Viaje dedicado, recorrido compartido y resto");
+            assertCondition(Math.abs(plan.getTotalDistance() - 33) < 1e-9, "Distancia total con paradas encadenadas");
+            assertCondition(Math.abs(plan.getBaselineDistance() - 52) < 1e-9, "Distancia de un viaje por destino");
+
+            int delivered = 0;
+            boolean shared = false;
+            for (int i = 0; i < plan.getTours().size(); i++) {
+                ConvoyPlanner.Tour tour = plan.getTours().get(i);
+                assertCondition(tour.getLoad() <= 10, "Carga dentro de la capacidad");
+                delivered += tour.getLoad();
+                shared |= tour.getStops().size() == 2;
+            }
+            assertCondition(delivered == 23, "Toda la demanda alcanzable se entrega");
+            assertCondition(shared, "A y B comparten recorrido");
+
+            Graph graph = new Graph();
+            graph.addVertex(new Location("CA", "Centro", Location.LocationType.AID_CENTER, 0, 1));
+            graph.addVertex(new Location("A", "Vereda A", Location.LocationType.AFFECTED_ZONE, 100, 4));
+            graph.addVertex(new Location("B", "Vereda B", Location.LocationType.AFFECTED_ZONE, 100, 4));
+            graph.addVertex(new Location("C", "Refugio", Location.LocationType.SHELTER, 100, 3));
+            for (String[] road : roads) {
+                graph.addEdge(road[0], road[1], Double.parseDouble(road[2]));
+                graph.addEdge(road[1], road[0], Double.parseDouble(road[2]));
+            }
+            ConvoyPlanner.ConvoyPlan single = new ConvoyPlanner(1, 7L)
+                    .plan(graph.getIndexedGraph(), "CA", demands, new int[]{10, 10});
+            assertCondition(single.getUnreachable().size() == 1, "Destino fuera del grafo reportado");
+            assertCondition(plan.getTotalDistance() <= single.getTotalDistance() + 1e-9,
+                    "Los reinicios no empeoran el plan determinista");
+
+            System.out.println("✓ Prueba Planificación de convoyes PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Planificación de convoyes FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 21: RUTAS ALTERNATIVAS ==========
+    private static void testAlternativeRoutes() {
+        System.out.println("Prueba 21: Rutas alternativas");
+        System.out.println("-".repeat(65));
+
+        try {
+            DisasterManager manager = new DisasterManager();
+            String[] ids = {"S", "A", "B", "T"};
+            for (String id : ids) {
+                manager.addLocation(new Location(id, "Lugar " + id, Location.LocationType.CITY, 100, 2));
+            }
+            manager.addRoute("S", "A", 1);
+            manager.addRoute("A", "T", 1);
+            manager.addRoute("S", "B", 2);
+            manager.addRoute("B", "T", 2);
+            manager.addRoute("A", "B", 1);
+
+            CustomList<KShortestPaths.Path> all = new KShortestPaths()
+                    .find(manager.getGraph().getIndexedGraph(), "S", "T", 10);
+            assertCondition(all.size() == 3, "Todos los caminos sin ciclos");
+            assertCondition(all.get(0).getDistance() == 2 && all.get(1).getDistance() == 4
+                    && all.get(2).getDistance() == 4, "Ordenados por distancia");
+            assertCondition(all.get(0).getSharedWithBest() == 1.0, "La principal se comparte a sí misma");
+
+            KShortestPaths disjoint = new KShortestPaths(0.0);
+            CustomList<KShortestPaths.Path> diverse = disjoint.find(manager.getGraph().getIndexedGraph(), "S", "T", 3);
+            assertCondition(diverse.size() == 2, "Solo rutas sin tramos comunes");
+            assertCondition(diverse.get(1).getLocationIds().toString().equals(
+                    manager.findShortestRoute("S", "B").toString().replace("]", ", T]")), "Alternativa por B");
+            assertCondition(manager.findAlternativeRoutes("S", "T", 3).get(0).getDistance() == 2,
+                    "Primera alternativa es la más corta");
+
+            // Contra enumeración exhaustiva en un grafo aleatorio
+            Random random = new Random(11);
+            Graph graph = new Graph();
+            int n = 8;
+            for (int i = 0; i < n; i++) {
+                graph.addVertex(new Location("V" + i, "V" + i, Location.LocationType.CITY, 0, 1));
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (i != j && random.nextDouble() < 0.4) {
+                        graph.addEdge("V" + i, "V" + j, 1 + random.nextInt(9));
+                    }
+                }
+            }
+            CustomList<Double> expected = new CustomList<>();
+            enumerateSimplePaths(graph, "V0", "V" + (n - 1), new CustomList<>(), 0.0, expected);
+            double[] sorted = new double[expected.size()];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = expected.get(i);
+            }
+            Arrays.sort(sorted);
+            CustomList<KShortestPaths.Path> yen = new KShortestPaths()
+                    .find(graph.getIndexedGraph(), "V0", "V" + (n - 1), 5);
+            boolean matches = sorted.length > 5 && yen.size() == 5;
+            for (int i = 0; matches && i < yen.size(); i++) {
+                matches = Math.abs(yen.get(i).getDistance() - sorted[i]) < 1e-9;
+            }
+            assertCondition(matches, "Coincide con la enumeración de caminos simples");
+
+            System.out.println("✓ Prueba Rutas alternativas PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Rutas alternativas FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    private static void enumerateSimplePaths(Graph graph, String current, String target,
+                                             CustomList<String> visited, double distance,
+                                             CustomList<Double> out) {
+        if (current.equals(target)) {
+            out.add(distance);
+            return;
+        }
+        visited.add(current);
+        CustomList<String> neighbors = graph.getNeighbors(current);
+        for (int i = 0; i < neighbors.size(); i++) {
+            String next = neighbors.get(i);
+            if (!visited.contains(next)) {
+                enumerateSimplePaths(graph, next, target, visited, distance + graph.getEdgeWeight(current, next), out);
+            }
+        }
+        visited.remove(visited.size() - 1);
+    }
+
+    // ========== PRUEBA 22: ÍNDICE ESPACIAL ==========
+    private static void testSpatialIndex() {
+        System.out.println("Prueba 22: Índice espacial");
+        System.out.println("-".repeat(65));
+
+        try {
+            DisasterManager manager = new DisasterManager();
+            Random random = new Random(5);
+            CustomList<Location> all = new CustomList<>();
+            for (int i = 0; i < 300; i++) {
+                Location location = new Location("P" + i, "Punto " + i, Location.LocationType.CITY, 10, 1,
+                        4.5 + random.nextDouble(), -76.0 + random.nextDouble());
+                all.add(location);
+            }
+            manager.addLocations(all);
+
+            // Radio contra recorrido completo
+            Location probe = new Location("Q", "Consulta", Location.LocationType.CITY, 0, 1, 4.9, -75.6);
+            CustomList<Location> within = manager.findLocationsWithinRadius(4.9, -75.6, 15);
+            int expected = 0;
+            for (int i = 0; i < all.size(); i++) {
+                if (probe.distanceTo(all.get(i)) <= 15) {
+                    expected++;
+                }
+            }
+            assertCondition(within.size() == expected && expected > 0, "Radio igual al recorrido completo");
+            boolean ordered = true;
+            for (int i = 1; i < within.size(); i++) {
+                ordered &= probe.distanceTo(within.get(i - 1)) <= probe.distanceTo(within.get(i)) + 1e-9;
+            }
+            assertCondition(ordered, "Resultados por distancia");
+
+            // k más cercanas y ubicación de un reporte de campo
+            CustomList<Location> nearest = manager.findNearestLocations(4.9, -75.6, 5);
+            double fifth = probe.distanceTo(nearest.get(4));
+            int closer = 0;
+            for (int i = 0; i < all.size(); i++) {
+                if (probe.distanceTo(all.get(i)) < fifth - 1e-9) {
+                    closer++;
+                }
+            }
+            assertCondition(nearest.size() == 5 && closer == 4, "Cinco más cercanas exactas");
+            assertCondition(manager.findNearestLocation(4.9, -75.6) == nearest.get(0), "Reporte ubicado en la más cercana");
+
+            CustomList<Location> box = manager.findLocationsInArea(4.5, -76.0, 5.0, -75.5);
+            int inBox = 0;
+            for (int i = 0; i < all.size(); i++) {
+                Location l = all.get(i);
+                if (l.getLatitude() <= 5.0 && l.getLongitude() <= -75.5) {
+                    inBox++;
+                }
+            }
+            assertCondition(box.size() == inBox, "Consulta por rectángulo");
+
+            // Mantenimiento del índice
+            assertCondition(manager.updateLocationCoordinates("P7", 4.9, -75.6), "Coordenadas actualizadas");
+            assertCondition(manager.findNearestLocation(4.9, -75.6).getId().equals("P7"), "Índice movido");
+            manager.removeLocation("P7");
+            assertCondition(!manager.findNearestLocation(4.9, -75.6).getId().equals("P7"), "Índice sin la removida");
+
+            // Celdas grandes: al quitar entradas, sus coordenadas se mueven con ellas
+            SpatialGrid coarse = new SpatialGrid(1.0);
+            for (int i = 0; i < all.size(); i++) {
+                coarse.put(all.get(i));
+            }
+            int remaining = 0;
+            for (int i = 0; i < all.size(); i++) {
+                if (i % 3 == 0) {
+                    coarse.remove(all.get(i).getId());
+                } else if (probe.distanceTo(all.get(i)) <= 15) {
+                    remaining++;
+                }
+            }
+            assertCondition(coarse.withinRadius(4.9, -75.6, 15).size() == remaining,
+                    "Radio correcto tras quitar entradas de una celda");
+
+            // Antimeridiano
+            SpatialGrid grid = new SpatialGrid();
+            grid.put(new Location("E", "Este", Location.LocationType.CITY, 0, 1, 0.0, 179.95));
+            grid.put(new Location("W", "Oeste", Location.LocationType.CITY, 0, 1, 0.0, -179.95));
+            assertCondition(grid.withinRadius(0.0, 179.99, 20).size() == 2, "Radio a través del antimeridiano");
+            assertCondition(grid.nearest(0.0, -179.99).getId().equals("W"), "Más cercana al otro lado");
+
+            System.out.println("✓ Prueba Índice espacial PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Índice espacial FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 23: DISTANCIAS MASIVAS ==========
+    private static void testGeoPoints() {
+        System.out.println("Prueba 23: Distancias masivas");
+        System.out.println("-".repeat(65));
+
+        try {
+            Random random = new Random(3);
+            CustomList<Location> locations = new CustomList<>();
+            for (int i = 0; i < 200; i++) {
+                locations.add(new Location("G" + i, "G" + i, Location.LocationType.CITY, 0, 1,
+                        -60 + 120 * random.nextDouble(), -180 + 360 * random.nextDouble()));
+            }
+            GeoPoints points = GeoPoints.of(locations);
+
+            double[] fromFirst = new double[points.size()];
+            points.distancesFrom(0, fromFirst);
+            double maxError = 0;
+            for (int i = 0; i < points.size(); i++) {
+                maxError = Math.max(maxError, Math.abs(fromFirst[i] - locations.get(0).distanceTo(locations.get(i))));
+            }
+            assertCondition(maxError < 1e-6, "Uno a muchos igual a distanceTo");
+            assertCondition(fromFirst[0] == 0.0, "Distancia a sí mismo");
+
+            double[] fromThird = new double[points.size()];
+            points.distancesFrom(3, fromThird);
+            assertCondition(points.distance(3, 17) == points.distance(17, 3)
+                    && Math.abs(fromThird[17] - points.distance(3, 17)) < 1e-9, "Distancias simétricas y consistentes");
+
+            double[] fromCoordinates = new double[points.size()];
+            points.distancesFrom(locations.get(0).getLatitude(), locations.get(0).getLongitude(), fromCoordinates);
+            assertCondition(Math.abs(fromCoordinates[42] - fromFirst[42]) < 1e-9, "Uno a muchos desde coordenadas");
+            assertCondition(Math.abs(GeoPoints.haversine(4.53, -75.68, 4.81, -75.69) - 31.15) < 0.01,
+                    "Haversine por coordenadas");
+
+            // Muchos a muchos: cada fila igual a la pasada de uno a muchos
+            GeoPoints targets = new GeoPoints(3);
+            targets.add(4.53, -75.68);
+            targets.add(locations.get(17).getLatitude(), locations.get(17).getLongitude());
+            targets.add(-33.45, -70.66);
+            double[][] matrix = points.distanceMatrix(targets);
+            assertCondition(matrix.length == points.size() && matrix[0].length == 3
+                    && Math.abs(matrix[3][1] - fromThird[17]) < 1e-9 && matrix[17][1] < 1e-6,
+                    "Matriz de distancias muchos a muchos");
+
+            // Cuerdas al cuadrado contra el umbral de un radio, sin raíces ni asin
+            double[] chords = new double[points.size()];
+            points.squaredChordsFrom(GeoPoints.unitVector(locations.get(0).getLatitude(),
+                    locations.get(0).getLongitude()), chords);
+            double threshold = GeoPoints.chordThreshold(2000);
+            boolean sameFilter = true;
+            for (int i = 0; i < points.size(); i++) {
+                sameFilter &= (chords[i] <= threshold) == (fromFirst[i] <= 2000 + 1e-9);
+            }
+            assertCondition(sameFilter, "Filtro por cuerda igual al filtro por distancia");
+
+            points.removeSwap(0);
+            assertCondition(points.size() == 199 && Math.abs(points.distance(0, 17)
+                            - locations.get(199).distanceTo(locations.get(17))) < 1e-6,
+                    "Quitar un punto mueve el último a su posición");
+
+            System.out.println("✓ Prueba Distancias masivas PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Distancias masivas FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 24: RUTAS POR PROXIMIDAD ==========
+    private static void testProximityGraph() {
+        System.out.println("Prueba 24: Rutas por proximidad");
+        System.out.println("-".repeat(65));
+
+        try {
+            Random random = new Random(9);
+            CustomList<Location> points = new CustomList<>();
+            for (int i = 0; i < 3000; i++) {
+                points.add(new Location("N" + i, "N" + i, Location.LocationType.CITY, 0, 1,
+                        4 + 2 * random.nextDouble(), -76 + 2 * random.nextDouble()));
+            }
+            CustomList<Route> routes = ProximityGraphBuilder.build(points, 3, Double.POSITIVE_INFINITY, true);
+
+            CustomMap<String, Boolean> edges = new CustomMap<>();
+            for (int i = 0; i < routes.size(); i++) {
+                edges.put(routes.get(i).getFromId() + ">" + routes.get(i).getToId(), Boolean.TRUE);
+                edges.put(routes.get(i).getToId() + ">" + routes.get(i).getFromId(), Boolean.TRUE);
+            }
+            assertCondition(routes.size() >= 3000 * 3 / 2 && routes.size() <= 3000 * 3, "Aristas de k vecinos sin duplicados");
+            Route sample = routes.get(routes.size() / 2);
+            Location sampleFrom = points.get(Integer.parseInt(sample.getFromId().substring(1)));
+            Location sampleTo = points.get(Integer.parseInt(sample.getToId().substring(1)));
+            assertCondition(Math.abs(sample.getDistance() - sampleFrom.distanceTo(sampleTo)) < 1e-9,
+                    "Peso calculado una vez por cuerda igual a Haversine");
+
+            // Las k vecinas por fuerza bruta deben estar conectadas
+            boolean allFound = true;
+            for (int s = 0; s < 20; s++) {
+                Location origin = points.get(s * 150);
+                double[] best = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+                String[] bestIds = new String[3];
+                for (int i = 0; i < points.size(); i++) {
+                    Location other = points.get(i);
+                    double d = origin.distanceTo(other);
+                    if (other == origin || d >= best[2]) {
+                        continue;
+                    }
+                    int pos = d < best[0] ? 0 : d < best[1] ? 1 : 2;
+                    for (int j = 2; j > pos; j--) {
+                        best[j] = best[j - 1];
+                        bestIds[j] = bestIds[j - 1];
+                    }
+                    best[pos] = d;
+                    bestIds[pos] = other.getId();
+                }
+                for (int j = 0; j < 3; j++) {
+                    allFound &= edges.containsKey(origin.getId() + ">" + bestIds[j]);
+                }
+            }
+            assertCondition(allFound, "Vecinas exactas conectadas");
+
+            // Conjuntos pequeños: la matriz completa da las mismas rutas que el índice
+            CustomList<Location> few = new CustomList<>();
+            for (int i = 0; i < 200; i++) {
+                few.add(points.get(i));
+            }
+            SpatialGrid fewIndex = new SpatialGrid();
+            for (int i = 0; i < few.size(); i++) {
+                fewIndex.put(few.get(i));
+            }
+            CustomList<Route> dense = ProximityGraphBuilder.build(few, 3, 8.0, false);
+            CustomList<Route> indexed = ProximityGraphBuilder.build(fewIndex, few, 3, 8.0, false);
+            CustomMap<String, Double> indexedEdges = new CustomMap<>();
+            for (int i = 0; i < indexed.size(); i++) {
+                Route route = indexed.get(i);
+                indexedEdges.put(route.getFromId() + ">" + route.getToId(), route.getDistance());
+                indexedEdges.put(route.getToId() + ">" + route.getFromId(), route.getDistance());
+            }
+            boolean sameRoutes = dense.size() == indexed.size() && dense.size() > 0;
+            for (int i = 0; i < dense.size() && sameRoutes; i++) {
+                Double distance = indexedEdges.get(dense.get(i).getFromId() + ">" + dense.get(i).getToId());
+                sameRoutes = distance != null && Math.abs(distance - dense.get(i).getDistance()) < 1e-9;
+            }
+            assertCondition(sameRoutes, "Matriz de distancias y SpatialGrid dan las mismas rutas");
+
+            // Dos grupos separados por más que la distancia máxima; se respeta la ruta existente
+            DisasterManager manager = new DisasterManager();
+            for (int i = 0; i < 4; i++) {
+                manager.addLocation(new Location("W" + i, "Oeste " + i, Location.LocationType.AFFECTED_ZONE, 10, 3,
+                        4.50 + 0.01 * i, -75.70));
+                manager.addLocation(new Location("E" + i, "Este " + i, Location.LocationType.AFFECTED_ZONE, 10, 3,
+                        4.50 + 0.01 * i, -74.70));
+            }
+            manager.addRoute("W0", "W1", 7.5);
+            int added = manager.generateProximityRoutes(null, 2, 20);
+            assertCondition(added > 0 && added % 2 == 0, "Rutas generadas en ambos sentidos");
+            assertCondition(manager.getGraph().getEdgeWeight("W0", "W1") == 7.5
+                    && !manager.getGraph().hasEdge("W1", "W0"), "Ruta existente respetada");
+            assertCondition(!manager.getGraph().hasPath("W0", "E0"), "Sin rutas más largas que el máximo");
+            assertCondition(manager.getGraph().hasPath("E0", "E3") && manager.getGraph().hasPath("W3", "W0"),
+                    "Cada grupo queda conectado");
+
+            System.out.println("✓ Prueba Rutas por proximidad PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Rutas por proximidad FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 25: ÍNDICE DE ALCANZABILIDAD ==========
+    private static void testReachabilityIndex() {
+        System.out.println("Prueba 25: Índice de alcanzabilidad");
+        System.out.println("-".repeat(65));
+
+        try {
+            // Dos ciclos unidos en un solo sentido, más un vértice suelto
+            Graph graph = new Graph();
+            for (int i = 0; i < 7; i++) {
+                graph.addVertex(new Location("R" + i, "R" + i, Location.LocationType.CITY, 0, 1));
+            }
+            graph.addEdge("R0", "R1", 1);
+            graph.addEdge("R1", "R2", 1);
+            graph.addEdge("R2", "R0", 1);
+            graph.addEdge("R3", "R4", 1);
+            graph.addEdge("R4", "R5", 1);
+            graph.addEdge("R5", "R3", 1);
+            graph.addEdge("R2", "R3", 1);
+
+            ReachabilityIndex index = graph.getReachabilityIndex();
+            assertCondition(index.getComponentCount() == 3, "Tres componentes fuertes");
+            assertCondition(index.isStronglyConnected("R0", "R2") && !index.isStronglyConnected("R0", "R3"),
+                    "Componentes de los ciclos");
+            assertCondition(index.getComponentSize("R4") == 3 && index.getComponentSize("R6") == 1,
+                    "Tamaño de las componentes");
+            assertCondition(graph.hasPath("R1", "R5") && !graph.hasPath("R5", "R1") && !graph.hasPath("R0", "R6"),
+                    "Alcanzabilidad dirigida");
+            assertCondition(graph.getReachabilityIndex() == index, "Índice reutilizado sin cambios");
+
+            assertCondition(graph.areConnected("R0", "R5") && !graph.areConnected("R0", "R6")
+                    && graph.getConnectedComponentCount() == 2, "Conectividad sin dirección");
+            graph.addEdge("R6", "R0", 1);
+            assertCondition(graph.areConnected("R6", "R5") && graph.hasPath("R6", "R4")
+                    && graph.getConnectedComponentCount() == 1, "Índices actualizados al agregar");
+            graph.removeEdge("R2", "R3");
+            assertCondition(!graph.areConnected("R0", "R3") && !graph.hasPath("R6", "R4")
+                    && graph.getConnectedComponentCount() == 2, "Índices actualizados al eliminar");
+
+            ReachabilityIndex beforeCapacity = graph.getReachabilityIndex();
+            long structureVersion = graph.getVersion();
+            graph.setEdgeCapacity("R0", "R1", 40);
+            IndexedGraph withCapacity = graph.getIndexedGraph();
+            int r0 = withCapacity.indexOf("R0");
+            boolean capacitySeen = false;
+            for (int e = withCapacity.edgeStart(r0); e < withCapacity.edgeEnd(r0); e++) {
+                capacitySeen |= withCapacity.getCapacity(e) == 40;
+            }
+            assertCondition(graph.getVersion() == structureVersion && capacitySeen
+                    && graph.getReachabilityIndex() == beforeCapacity, "Capacidades sin invalidar la alcanzabilidad");
+
+            // Comparación contra BFS en un grafo aleatorio
+            Random random = new Random(25);
+            Graph randomGraph = new Graph();
+            int n = 300;
+            for (int i = 0; i < n; i++) {
+                randomGraph.addVertex(new Location("G" + i, "G" + i, Location.LocationType.CITY, 0, 1));
+            }
+            for (int i = 0; i < 330; i++) {
+                randomGraph.addEdge("G" + random.nextInt(n), "G" + random.nextInt(n), 1);
+            }
+            boolean matches = true;
+            for (int s = 0; s < n; s += 7) {
+                boolean[] seen = new boolean[n];
+                int[] queue = new int[n];
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = s;
+                seen[s] = true;
+                while (head < tail) {
+                    CustomList<String> next = randomGraph.getNeighbors("G" + queue[head++]);
+                    for (int j = 0; j < next.size(); j++) {
+                        int v = Integer.parseInt(next.get(j).substring(1));
+                        if (!seen[v]) {
+                            seen[v] = true;
+                            queue[tail++] = v;
+                        }
+                    }
+                }
+                for (int t = 0; t < n; t++) {
+                    matches &= randomGraph.hasPath("G" + s, "G" + t) == seen[t];
+                }
+            }
+            assertCondition(matches, "Coincide con BFS");
+
+            // Zonas que ningún centro de ayuda alcanza
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("C1", "Centro", Location.LocationType.AID_CENTER, 0, 1));
+            manager.addLocation(new Location("Z1", "Zona 1", Location.LocationType.AFFECTED_ZONE, 50, 3));
+            manager.addLocation(new Location("Z2", "Zona 2", Location.LocationType.AFFECTED_ZONE, 50, 5));
+            manager.addLocation(new Location("Z3", "Zona 3", Location.LocationType.AFFECTED_ZONE, 50, 2));
+            manager.addRoute("C1", "Z1", 10);
+            manager.addRoute("Z2", "C1", 10);
+            manager.addRoute("Z3", "C1", 10);
+
+            CustomList<Location> cutOff = manager.getCutOffLocations();
+            assertCondition(cutOff.size() == 2 && cutOff.get(0).getId().equals("Z2")
+                    && cutOff.get(1).getId().equals("Z3"), "Zonas aisladas por urgencia");
+            assertCondition(manager.canReach("Z2", "Z1") && !manager.canReach("Z1", "Z2"), "canReach del gestor");
+            assertCondition(manager.findShortestRoute("C1", "Z2").isEmpty()
+                    && manager.getRouteDistance("C1", "Z2") == Double.POSITIVE_INFINITY, "Sin ruta sin Dijkstra");
+            manager.addRoute("Z1", "Z2", 5);
+            assertCondition(manager.getCutOffLocations().size() == 1
+                    && manager.getRouteDistance("C1", "Z2") == 15, "Zona reconectada");
+
+            System.out.println("✓ Prueba Índice de alcanzabilidad PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Índice de alcanzabilidad FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 26: PUNTOS CRÍTICOS DE LA RED ==========
+    private static void testNetworkVulnerability() {
+        System.out.println("Prueba 26: Puntos críticos de la red");
+        System.out.println("-".repeat(65));
+
+        try {
+            // Dos triángulos unidos por el camino T2 -> P -> T3, más una ruta de un solo sentido
+            DisasterManager manager = new DisasterManager();
+            String[] ids = {"T0", "T1", "T2", "P", "T3", "T4", "T5", "X"};
+            for (int i = 0; i < ids.length; i++) {
+                manager.addLocation(new Location(ids[i], ids[i], Location.LocationType.CITY, 0, 1));
+            }
+            manager.addBidirectionalRoute("T0", "T1", 1);
+            manager.addBidirectionalRoute("T1", "T2", 1);
+            manager.addBidirectionalRoute("T2", "T0", 1);
+            manager.addBidirectionalRoute("T2", "P", 2);
+            manager.addBidirectionalRoute("P", "T3", 2);
+            manager.addBidirectionalRoute("T3", "T4", 1);
+            manager.addBidirectionalRoute("T4", "T5", 1);
+            manager.addBidirectionalRoute("T5", "T3", 1);
+            manager.addRoute("X", "T5", 4);
+
+            CustomList<Route> bridges = manager.findCriticalRoutes();
+            CustomMap<String, Route> byKey = new CustomMap<>();
+            for (int i = 0; i < bridges.size(); i++) {
+                byKey.put(bridges.get(i).getFromId() + ">" + bridges.get(i).getToId(), bridges.get(i));
+            }
+            assertCondition(bridges.size() == 3, "Tres rutas críticas");
+            assertCondition((byKey.containsKey("T2>P") || byKey.containsKey("P>T2"))
+                    && (byKey.containsKey("P>T3") || byKey.containsKey("T3>P")), "Camino entre triángulos");
+            assertCondition(byKey.containsKey("X>T5") && !byKey.get("X>T5").isBidirectional()
+                    && byKey.get("X>T5").getDistance() == 4, "Ruta de un solo sentido");
+
+            CustomList<Location> critical = manager.findCriticalLocations();
+            CustomMap<String, Boolean> criticalIds = new CustomMap<>();
+            for (int i = 0; i < critical.size(); i++) {
+                criticalIds.put(critical.get(i).getId(), Boolean.TRUE);
+            }
+            assertCondition(critical.size() == 4 && criticalIds.containsKey("T2") && criticalIds.containsKey("P")
+                    && criticalIds.containsKey("T3") && criticalIds.containsKey("T5"), "Ubicaciones críticas");
+
+            // Intermediación: en el camino A - B - C la ruta A -> B la usan (A, B) y (A, C)
+            Graph line = new Graph();
+            line.addVertex(new Location("A", "A", Location.LocationType.CITY, 0, 1));
+            line.addVertex(new Location("B", "B", Location.LocationType.CITY, 0, 1));
+            line.addVertex(new Location("C", "C", Location.LocationType.CITY, 0, 1));
+            line.addBidirectionalEdge("A", "B", 1);
+            line.addBidirectionalEdge("B", "C", 1);
+            CustomList<NetworkVulnerability.CriticalRoute> ranked =
+                    NetworkVulnerability.rankRoutesByBetweenness(line, 10, false);
+            assertCondition(ranked.size() == 4 && ranked.get(0).getBetweenness() == 2
+                    && ranked.get(3).getBetweenness() == 2, "Intermediación en un camino");
+
+            // Rutas empatadas: el cuadrado reparte cada par opuesto entre dos caminos
+            Graph square = new Graph();
+            for (int i = 0; i < 4; i++) {
+                square.addVertex(new Location("S" + i, "S" + i, Location.LocationType.CITY, 0, 1));
+            }
+            for (int i = 0; i < 4; i++) {
+                square.addBidirectionalEdge("S" + i, "S" + ((i + 1) % 4), 1);
+            }
+            ranked = NetworkVulnerability.rankRoutesByBetweenness(square, 8, false);
+            assertCondition(ranked.size() == 8 && ranked.get(0).getBetweenness() == 2
+                    && ranked.get(7).getBetweenness() == 2, "Intermediación con empates");
+
+            // Comparación contra fuerza bruta en un grafo aleatorio disperso
+            Random random = new Random(26);
+            int n = 60;
+            int m = 75;
+            int[][] edges = new int[m][2];
+            for (int i = 0; i < m; i++) {
+                edges[i][0] = random.nextInt(n);
+                edges[i][1] = random.nextInt(n);
+            }
+            Graph graph = buildRandomGraph(n, edges, -1, -1);
+            int components = graph.getConnectedComponentCount();
+
+            CustomMap<String, Boolean> found = new CustomMap<>();
+            CustomList<Route> randomBridges = NetworkVulnerability.findBridges(graph);
+            for (int i = 0; i < randomBridges.size(); i++) {
+                found.put(randomBridges.get(i).getFromId() + ">" + randomBridges.get(i).getToId(), Boolean.TRUE);
+            }
+            int expectedBridges = 0;
+            boolean bridgesMatch = true;
+            CustomMap<String, Boolean> checked = new CustomMap<>();
+            for (int i = 0; i < m; i++) {
+                int a = Math.min(edges[i][0], edges[i][1]);
+                int b = Math.max(edges[i][0], edges[i][1]);
+                if (a == b || checked.containsKey(a + "-" + b)) {
+                    continue;
+                }
+                checked.put(a + "-" + b, Boolean.TRUE);
+                Graph without = buildRandomGraph(n, edges, a, b);
+                if (without.getConnectedComponentCount() > components) {
+                    expectedBridges++;
+                    bridgesMatch &= found.containsKey("G" + a + ">G" + b) || found.containsKey("G" + b + ">G" + a);
+                }
+            }
+            assertCondition(bridgesMatch && expectedBridges == randomBridges.size(), "Puentes contra fuerza bruta");
+
+            CustomList<String> points = NetworkVulnerability.findArticulationPoints(graph);
+            CustomMap<String, Boolean> pointIds = new CustomMap<>();
+            for (int i = 0; i < points.size(); i++) {
+                pointIds.put(points.get(i), Boolean.TRUE);
+            }
+            boolean pointsMatch = true;
+            for (int v = 0; v < n; v++) {
+                Graph without = buildRandomGraph(n, edges, -1, -1);
+                without.removeVertex("G" + v);
+                pointsMatch &= (without.getConnectedComponentCount() > components) == pointIds.containsKey("G" + v);
+            }
+            assertCondition(pointsMatch, "Articulaciones contra fuerza bruta");
+
+            // En paralelo se obtiene la misma intermediación
+            for (int i = 0; i < 400; i++) {
+                graph.addVertex(new Location("H" + i, "H" + i, Location.LocationType.CITY, 0, 1));
+            }
+            for (int i = 0; i < 1200; i++) {
+                graph.addEdge("H" + random.nextInt(400), "H" + random.nextInt(400), 1 + random.nextInt(5));
+            }
+            double[] sequential = NetworkVulnerability.edgeBetweenness(graph.getIndexedGraph(), false);
+            double[] parallel = NetworkVulnerability.edgeBetweenness(graph.getIndexedGraph(), true);
+            boolean same = sequential.length == parallel.length;
+            for (int e = 0; same && e < sequential.length; e++) {
+                same = Math.abs(sequential[e] - parallel[e]) < 1e-6 * Math.max(1, sequential[e]);
+            }
+            assertCondition(same, "Intermediación en paralelo");
+
+            System.out.println("✓ Prueba Puntos críticos de la red PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Puntos críticos de la red FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    /**
+     * Grafo G0..G(n-1) con las aristas indicadas en un solo sentido, sin el par (skipA, skipB)
+     */
+    private static Graph buildRandomGraph(int n, int[][] edges, int skipA, int skipB) {
+        Graph graph = new Graph();
+        for (int i = 0; i < n; i++) {
+            graph.addVertex(new Location("G" + i, "G" + i, Location.LocationType.CITY, 0, 1));
+        }
+        for (int i = 0; i < edges.length; i++) {
+            int a = Math.min(edges[i][0], edges[i][1]);
+            int b = Math.max(edges[i][0], edges[i][1]);
+            if (a != skipA || b != skipB) {
+                graph.addEdge("G" + edges[i][0], "G" + edges[i][1], 1);
+            }
+        }
+        return graph;
+    }
+
+    // ========== PRUEBA 27: CENTRALIDAD ==========
+    private static void testCentrality() {
+        System.out.println("Prueba 27: Centralidad");
+        System.out.println("-".repeat(65));
+
+        try {
+            // Comparación contra Floyd-Warshall con conteo de caminos (pesos enteros, sumas exactas)
+            Random random = new Random(27);
+            int n = 40;
+            Graph graph = new Graph();
+            for (int i = 0; i < n; i++) {
+                graph.addVertex(new Location("C" + i, "C" + i, Location.LocationType.CITY, 0, 1));
+            }
+            double[][] d = new double[n][n];
+            double[][] count = new double[n][n];
+            for (int i = 0; i < n; i++) {
+                Arrays.fill(d[i], Double.POSITIVE_INFINITY);
+                d[i][i] = 0;
+                count[i][i] = 1;
+            }
+            for (int i = 0; i < 110; i++) {
+                int a = random.nextInt(n);
+                int b = random.nextInt(n);
+                if (a != b && !graph.hasEdge("C" + a, "C" + b)) {
+                    int w = 1 + random.nextInt(3);
+                    graph.addEdge("C" + a, "C" + b, w);
+                    d[a][b] = w;
+                    count[a][b] = 1;
+                }
+            }
+            for (int k = 0; k < n; k++) {
+                for (int i = 0; i < n; i++) {
+                    for (int j = 0; j < n; j++) {
+                        if (d[i][k] + d[k][j] < d[i][j]) {
+                            d[i][j] = d[i][k] + d[k][j];
+                        }
+                    }
+                }
+            }
+            // Caminos más cortos contados por orden de distancia desde cada origen
+            for (int s = 0; s < n; s++) {
+                Integer[] byDistance = new Integer[n];
+                for (int i = 0; i < n; i++) {
+                    byDistance[i] = i;
+                }
+                int source = s;
+                Arrays.sort(byDistance, (x, y) -> Double.compare(d[source][x], d[source][y]));
+                for (int i = 1; i < n; i++) {
+                    int t = byDistance[i];
+                    if (d[s][t] == Double.POSITIVE_INFINITY) {
+                        break;
+                    }
+                    double paths = 0;
+                    for (int u = 0; u < n; u++) {
+                        if (u != t && graph.hasEdge("C" + u, "C" + t)
+                                && d[s][u] + graph.getEdgeWeight("C" + u, "C" + t) == d[s][t]) {
+                            paths += count[s][u];
+                        }
+                    }
+                    count[s][t] = paths;
+                }
+            }
+
+            CentralityAnalyzer.Result exact = CentralityAnalyzer.compute(graph.getIndexedGraph(), true);
+            boolean betweennessMatches = true;
+            boolean closenessMatches = true;
+            for (int v = 0; v < n; v++) {
+                double expected = 0;
+                double farness = 0;
+                int reached = 0;
+                for (int s = 0; s < n; s++) {
+                    if (s != v && d[v][s] < Double.POSITIVE_INFINITY) {
+                        farness += d[v][s];
+                        reached++;
+                    }
+                    for (int t = 0; t < n; t++) {
+                        if (s != v && t != v && s != t && d[s][t] < Double.POSITIVE_INFINITY
+                                && d[s][v] + d[v][t] == d[s][t]) {
+                            expected += count[s][v] * count[v][t] / count[s][t];
+                        }
+                    }
+                }
+                double expectedCloseness = reached == 0 ? 0 : ((double) reached / (n - 1)) / (farness / reached);
+                betweennessMatches &= Math.abs(exact.getBetweenness("C" + v) - expected) < 1e-9;
+                closenessMatches &= Math.abs(exact.getCloseness("C" + v) - expectedCloseness) < 1e-12;
+            }
+            assertCondition(exact.isExact() && betweennessMatches, "Intermediación exacta");
+            assertCondition(closenessMatches, "Cercanía exacta");
+
+            // Cuadrícula 20x20: el centro es lo más central; la muestra lo aproxima
+            Graph grid = new Graph();
+            int side = 20;
+            for (int r = 0; r < side; r++) {
+                for (int c = 0; c < side; c++) {
+                    grid.addVertex(new Location(r + "," + c, r + "," + c, Location.LocationType.CITY, 0, 1));
+                }
+            }
+            for (int r = 0; r < side; r++) {
+                for (int c = 0; c < side; c++) {
+                    if (r + 1 < side) {
+                        grid.addBidirectionalEdge(r + "," + c, (r + 1) + "," + c, 1);
+                    }
+                    if (c + 1 < side) {
+                        grid.addBidirectionalEdge(r + "," + c, r + "," + (c + 1), 1);
+                    }
+                }
+            }
+            CentralityAnalyzer.Result gridExact = CentralityAnalyzer.compute(grid.getIndexedGraph(), true);
+            CentralityAnalyzer.Result gridSampled = CentralityAnalyzer.compute(grid.getIndexedGraph(), 100, 7L, true);
+            String[] center = gridExact.topByCloseness(1).get(0).getLocation().getId().split(",");
+            String[] sampledCenter = gridSampled.topByCloseness(1).get(0).getLocation().getId().split(",");
+            int offset = Math.abs(Integer.parseInt(sampledCenter[0]) - 9) + Math.abs(Integer.parseInt(sampledCenter[1]) - 9);
+            assertCondition(Math.abs(Integer.parseInt(center[0]) - 9.5) == 0.5
+                    && Math.abs(Integer.parseInt(center[1]) - 9.5) == 0.5, "Centro de la cuadrícula");
+            assertCondition(!gridSampled.isExact() && gridSampled.getSampleSize() == 100 && offset <= 4,
+                    "Muestra cerca del centro");
+
+            double exactTotal = 0;
+            double sampledTotal = 0;
+            for (int r = 0; r < side; r++) {
+                for (int c = 0; c < side; c++) {
+                    exactTotal += gridExact.getBetweenness(r + "," + c);
+                    sampledTotal += gridSampled.getBetweenness(r + "," + c);
+                }
+            }
+            assertCondition(Math.abs(sampledTotal - exactTotal) < 0.1 * exactTotal, "Muestra sin sesgo");
+
+            // Candidatas a depósito sin contar los existentes; resultado reutilizado
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("D1", "Depósito", Location.LocationType.AID_CENTER, 0, 1));
+            manager.addLocation(new Location("M1", "Medio", Location.LocationType.CITY, 0, 1));
+            manager.addLocation(new Location("E1", "Extremo", Location.LocationType.CITY, 0, 1));
+            manager.addLocation(new Location("E2", "Otro extremo", Location.LocationType.CITY, 0, 1));
+            manager.addBidirectionalRoute("E1", "D1", 5);
+            manager.addBidirectionalRoute("D1", "M1", 1);
+            manager.addBidirectionalRoute("M1", "E2", 5);
+            CentralityAnalyzer.Result first = manager.getCentrality();
+            CustomList<CentralityAnalyzer.Score> candidates =
+                    first.topByCloseness(3, Location.LocationType.AID_CENTER, Location.LocationType.SHELTER);
+            assertCondition(candidates.size() == 3 && candidates.get(0).getLocation().getId().equals("M1"),
+                    "Candidata a depósito");
+            assertCondition(manager.getCentrality() == first, "Centralidad reutilizada");
+            manager.addRoute("E1", "E2", 1);
+            assertCondition(manager.getCentrality() != first, "Centralidad recalculada tras cambios");
+
+            System.out.println("✓ Prueba Centralidad PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Centralidad FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 28: RUTAS CON TIEMPOS DEPENDIENTES DE LA HORA ==========
+    private static void testTimeDependentRouting() {
+        System.out.println("Prueba 28: Rutas con tiempos dependientes de la hora");
+        System.out.println("-".repeat(65));
+
+        java.nio.file.Path tempDir = null;
+        try {
+            double inf = Double.POSITIVE_INFINITY;
+
+            // Función: interpolación, corte y reapertura con espera
+            TravelTimeFunction flood = new TravelTimeFunction(
+                    new double[]{0, 0.8, 0.81, 5}, new double[]{0.5, 0.5, inf, 0.5});
+            assertCondition(flood.travelTime(0.4) == 0.5 && flood.travelTime(0.805) == inf
+                    && flood.travelTime(7) == 0.5, "Evaluación de la función");
+            assertCondition(flood.departureTime(1.0) == 5 && flood.arrivalTime(1.0) == 5.5
+                    && flood.arrivalTime(0.8) == 1.3, "Espera hasta la reapertura");
+            TravelTimeFunction rising = new TravelTimeFunction(new double[]{0, 2}, new double[]{1, 3});
+            assertCondition(Math.abs(rising.travelTime(0.5) - 1.5) < 1e-12, "Interpolación lineal");
+
+            boolean rejected = false;
+            try {
+                new TravelTimeFunction(new double[]{0, 1}, new double[]{3, 1});
+            } catch (IllegalArgumentException e) {
+                rejected = true;
+            }
+            assertCondition(rejected, "Función no FIFO rechazada");
+
+            // Camino corto por B (inundable) y largo por C
+            Graph graph = new Graph();
+            graph.addVertex(new Location("A", "A", Location.LocationType.CITY, 0, 1));
+            graph.addVertex(new Location("B", "B", Location.LocationType.CITY, 0, 1));
+            graph.addVertex(new Location("C", "C", Location.LocationType.CITY, 0, 1));
+            graph.addVertex(new Location("D", "D", Location.LocationType.CITY, 0, 1));
+            graph.addEdge("A", "B", 20);
+            graph.addEdge("B", "D", 20);
+            graph.addEdge("A", "C", 60);
+            graph.addEdge("C", "D", 60);
+            long before = graph.getAttributeVersion();
+            assertCondition(graph.setEdgeTravelTime("B", "D", flood) && graph.getAttributeVersion() > before
+                    && !graph.setEdgeTravelTime("D", "B", flood), "Función asignada a la ruta");
+
+            TimeDependentRouter.TimedRoute early =
+                    TimeDependentRouter.findEarliestArrival(graph.getIndexedGraph(), "A", "D", 0, 40);
+            TimeDependentRouter.TimedRoute detour =
+                    TimeDependentRouter.findEarliestArrival(graph.getIndexedGraph(), "A", "D", 0.5, 40);
+            TimeDependentRouter.TimedRoute waiting =
+                    TimeDependentRouter.findEarliestArrival(graph.getIndexedGraph(), "A", "D", 4, 40);
+            assertCondition(early.getLocationIds().get(1).equals("B") && early.getArrivalTime() == 1.0,
+                    "Ruta corta antes del corte");
+            assertCondition(detour.getLocationIds().get(1).equals("C") && detour.getArrivalTime() == 3.5,
+                    "Desvío por la ruta cortada");
+            assertCondition(waiting.getLocationIds().get(1).equals("B") && waiting.getArrivalTime() == 5.5
+                    && waiting.getWaitingTime() == 0.5 && waiting.getDepartureTime(1) == 5, "Espera a la reapertura");
+
+            // A* contra Dijkstra en una red aleatoria con funciones FIFO
+            Random random = new Random(28);
+            Graph network = new Graph();
+            int n = 150;
+            for (int i = 0; i < n; i++) {
+                network.addVertex(new Location("T" + i, "T" + i, Location.LocationType.CITY, 0, 1,
+                        4 + random.nextDouble(), -75 + random.nextDouble()));
+            }
+            for (int i = 0; i < 600; i++) {
+                String a = "T" + random.nextInt(n);
+                String b = "T" + random.nextInt(n);
+                if (a.equals(b)) {
+                    continue;
+                }
+                double km = network.getVertex(a).distanceTo(network.getVertex(b)) * (1 + random.nextDouble() / 2);
+                network.addEdge(a, b, km);
+                if (random.nextInt(3) == 0) {
+                    double[] times = {0, 1, 2, 3, 4};
+                    double[] durations = new double[times.length];
+                    double lastOpen = -inf;
+                    for (int j = 0; j < times.length; j++) {
+                        if (j > 0 && j < times.length - 1 && random.nextInt(4) == 0) {
+                            durations[j] = inf;
+                            continue;
+                        }
+                        durations[j] = Math.max(lastOpen - times[j], km / 40 * (0.5 + 2 * random.nextDouble()));
+                        lastOpen = times[j] + durations[j];
+                    }
+                    network.setEdgeTravelTime(a, b, new TravelTimeFunction(times, durations));
+                }
+            }
+            IndexedGraph indexed = network.getIndexedGraph();
+            boolean matches = true;
+            for (int q = 0; q < 30; q++) {
+                String from = "T" + random.nextInt(n);
+                double departure = 4 * random.nextDouble();
+                double[] all = TimeDependentRouter.earliestArrivals(indexed, from, departure, 40);
+                for (int t = 0; t < 5; t++) {
+                    String to = "T" + random.nextInt(n);
+                    TimeDependentRouter.TimedRoute route =
+                            TimeDependentRouter.findEarliestArrival(indexed, from, to, departure, 40);
+                    double expected = all[indexed.indexOf(to)];
+                    matches &= route == null ? expected == inf : Math.abs(route.getArrivalTime() - expected) < 1e-9;
+                }
+            }
+            assertCondition(matches, "A* coincide con Dijkstra");
+
+            // Evacuación: el refugio cercano queda aislado por la inundación
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("Z", "Zona", Location.LocationType.AFFECTED_ZONE, 500, 5));
+            manager.addLocation(new Location("S1", "Refugio cercano", Location.LocationType.SHELTER, 0, 1));
+            manager.addLocation(new Location("S2", "Refugio lejano", Location.LocationType.SHELTER, 0, 1));
+            manager.addRoute("Z", "S1", 10);
+            manager.addRoute("Z", "S2", 80);
+            assertCondition(manager.generateTimedEvacuationPlan("Z", 0).getLocationIds().get(1).equals("S1"),
+                    "Refugio más cercano sin inundación");
+            manager.setRouteTravelTime("Z", "S1",
+                    new TravelTimeFunction(new double[]{0, 1, 1.01}, new double[]{0.25, 0.25, inf}));
+            assertCondition(manager.getRecentOperations(1).get(0)
+                    .contains("Tiempo de recorrido de ruta: Z -> S1 (mínimo"), "Cambio registrado en el log");
+            TimeDependentRouter.TimedRoute plan = manager.generateTimedEvacuationPlan("Z", 2);
+            assertCondition(plan.getLocationIds().get(1).equals("S2") && plan.getArrivalTime() == 4,
+                    "Evacuación evita la ruta inundada");
+            assertCondition(manager.findTimedRoute("Z", "S1", 2) == null
+                    && manager.findTimedRoute("Z", "S1", 0.5).getArrivalTime() == 0.75, "Ruta por hora");
+
+            // Los tiempos sobreviven a un reinicio: Z -> S1 por la instantánea, Z -> S2 por el diario
+            tempDir = java.nio.file.Files.createTempDirectory("sgd-timed");
+            PersistenceService persistence = new PersistenceService(manager, tempDir.toString());
+            persistence.start();
+            manager.setRouteTravelTime("Z", "S2", TravelTimeFunction.constant(3));
+            persistence.close();
+            DisasterManager recovered = new DisasterManager();
+            new PersistenceService(recovered, tempDir.toString()).recover();
+            TravelTimeFunction restored = recovered.getGraph().getEdgeTravelTime("Z", "S1");
+            assertCondition(restored != null && restored.getBreakpointCount() == 3
+                    && restored.travelTime(2) == inf
+                    && recovered.getGraph().getEdgeTravelTime("Z", "S2").getMinTravelTime() == 3
+                    && recovered.generateTimedEvacuationPlan("Z", 2).getLocationIds().get(1).equals("S2"),
+                    "Tiempos de recorrido recuperados tras reiniciar");
+
+            System.out.println("✓ Prueba Rutas con tiempos dependientes de la hora PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Rutas con tiempos dependientes de la hora FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        } finally {
+            deleteRecursively(tempDir);
+        }
+    }
+
+    // ========== PRUEBA 29: RUTAS CON VARIOS CRITERIOS ==========
+    private static void testMultiCriteriaRouting() {
+        System.out.println("Prueba 29: Rutas con varios criterios");
+        System.out.println("-".repeat(65));
+
+        try {
+            // Ruta corta por zona crítica, ruta larga segura y ruta intermedia de poca capacidad
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("O", "Origen", Location.LocationType.AID_CENTER, 0, 1));
+            manager.addLocation(new Location("K", "Crítica", Location.LocationType.AFFECTED_ZONE, 100, 5));
+            manager.addLocation(new Location("L", "Segura", Location.LocationType.CITY, 100, 1));
+            manager.addLocation(new Location("N", "Estrecha", Location.LocationType.CITY, 100, 1));
+            manager.addLocation(new Location("Q", "Destino", Location.LocationType.SHELTER, 0, 1));
+            manager.addRoute("O", "K", 5);
+            manager.addRoute("K", "Q", 5);
+            manager.addRoute("O", "L", 10);
+            manager.addRoute("L", "Q", 10);
+            manager.addRoute("O", "N", 7);
+            manager.addRoute("N", "Q", 7);
+            manager.setRouteCapacity("N", "Q", 50);
+
+            MultiCriteriaRouter.ParetoFront result = manager.findParetoRoutes("O", "Q");
+            CustomList<MultiCriteriaRouter.ParetoRoute> front = result.getRoutes();
+            assertCondition(result.isComplete() && front.size() == 3 && front.get(0).getLocationIds().get(1).equals("K")
+                    && front.get(0).getDistance() == 10 && front.get(0).getRisk() == 30, "Ruta más corta en el frente");
+            assertCondition(front.get(1).getLocationIds().get(1).equals("N") && front.get(1).getCapacity() == 50
+                    && front.get(2).getLocationIds().get(1).equals("L"), "Rutas intermedia y segura");
+
+            assertCondition(manager.findWeightedRoute("O", "Q", 0, 0).getLocationIds().get(1).equals("K"),
+                    "Suma ponderada sin riesgo");
+            assertCondition(manager.findWeightedRoute("O", "Q", 1, 0).getLocationIds().get(1).equals("N"),
+                    "Suma ponderada con riesgo");
+            assertCondition(manager.findWeightedRoute("O", "Q", 1, 100).getLocationIds().get(1).equals("L"),
+                    "Suma ponderada con capacidad mínima");
+
+            // Frente contra la enumeración de caminos simples
+            Random random = new Random(29);
+            Graph graph = new Graph();
+            int n = 12;
+            for (int i = 0; i < n; i++) {
+                graph.addVertex(new Location("P" + i, "P" + i, Location.LocationType.CITY, 0, 1 + random.nextInt(5)));
+            }
+            for (int i = 0; i < 34; i++) {
+                String a = "P" + random.nextInt(n);
+                String b = "P" + random.nextInt(n);
+                if (!a.equals(b)) {
+                    graph.addEdge(a, b, 1 + random.nextInt(9));
+                    if (random.nextInt(3) == 0) {
+                        graph.setEdgeCapacity(a, b, 10 * (1 + random.nextInt(5)));
+                    }
+                }
+            }
+            CustomList<double[]> paths = new CustomList<>();
+            enumerateCriteria(graph, "P0", "P" + (n - 1), new CustomList<>(), 0, 0, Double.POSITIVE_INFINITY, paths);
+            CustomList<double[]> expected = new CustomList<>();
+            for (int i = 0; i < paths.size(); i++) {
+                double[] p = paths.get(i);
+                boolean dominated = false;
+                for (int j = 0; j < paths.size() && !dominated; j++) {
+                    double[] q = paths.get(j);
+                    boolean noWorse = q[0] <= p[0] && q[1] <= p[1] && q[2] >= p[2];
+                    boolean better = q[0] < p[0] || q[1] < p[1] || q[2] > p[2];
+                    dominated = noWorse && better;
+                }
+                boolean repeated = false;
+                for (int j = 0; j < expected.size(); j++) {
+                    repeated |= Arrays.equals(expected.get(j), p);
+                }
+                if (!dominated && !repeated) {
+                    expected.add(p);
+                }
+            }
+
+            IndexedGraph indexed = graph.getIndexedGraph();
+            double[] hazard = MultiCriteriaRouter.urgencyHazard(indexed);
+            CustomList<MultiCriteriaRouter.ParetoRoute> computed = MultiCriteriaRouter.findParetoRoutes(
+                    indexed, "P0", "P" + (n - 1), hazard, MultiCriteriaRouter.DEFAULT_MAX_LABELS).getRoutes();
+            boolean sameFront = computed.size() == expected.size();
+            for (int i = 0; sameFront && i < computed.size(); i++) {
+                double[] value = {computed.get(i).getDistance(), computed.get(i).getRisk(), computed.get(i).getCapacity()};
+                boolean present = false;
+                for (int j = 0; j < expected.size(); j++) {
+                    present |= Arrays.equals(expected.get(j), value);
+                }
+                sameFront = present;
+            }
+            assertCondition(paths.size() > 3 && sameFront, "Frente de Pareto exacto");
+            MultiCriteriaRouter.ParetoFront truncated = MultiCriteriaRouter.findParetoRoutes(
+                    indexed, "P0", "P" + (n - 1), hazard, 2);
+            assertCondition(!truncated.isComplete() && truncated.getRoutes().size() < expected.size(),
+                    "Frente marcado como incompleto al alcanzar el límite");
+
+            double bestWeighted = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < paths.size(); i++) {
+                bestWeighted = Math.min(bestWeighted, paths.get(i)[0] + 0.5 * paths.get(i)[1]);
+            }
+            MultiCriteriaRouter.ParetoRoute weighted = MultiCriteriaRouter.findWeightedRoute(
+                    indexed, "P0", "P" + (n - 1), hazard, 0.5, 0);
+            assertCondition(weighted != null
+                    && Math.abs(weighted.getDistance() + 0.5 * weighted.getRisk() - bestWeighted) < 1e-9,
+                    "Suma ponderada óptima");
+
+            System.out.println("✓ Prueba Rutas con varios criterios PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Rutas con varios criterios FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    private static void enumerateCriteria(Graph graph, String current, String target, CustomList<String> visited,
+                                          double distance, double risk, double capacity, CustomList<double[]> out) {
+        if (current.equals(target)) {
+            out.add(new double[]{distance, risk, capacity});
+            return;
+        }
+        visited.add(current);
+        CustomList<String> neighbors = graph.getNeighbors(current);
+        for (int i = 0; i < neighbors.size(); i++) {
+            String next = neighbors.get(i);
+            if (!visited.contains(next)) {
+                double weight = graph.getEdgeWeight(current, next);
+                enumerateCriteria(graph, next, target, visited, distance + weight,
+                        risk + weight * graph.getVertex(next).getUrgencyLevel(),
+                        Math.min(capacity, graph.getEdgeCapacity(current, next)), out);
+            }
+        }
+        visited.remove(visited.size() - 1);
+    }
+
+    // ========== PRUEBA 30: CACHÉ DE RUTAS ==========
+    private static void testRouteCache() {
+        System.out.println("Prueba 30: Caché de rutas");
+        System.out.println("-".repeat(65));
+
+        try {
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("H", "Hospital", Location.LocationType.AID_CENTER, 0, 1));
+            manager.addLocation(new Location("M", "Intermedio", Location.LocationType.CITY, 0, 1));
+            manager.addLocation(new Location("R", "Refugio", Location.LocationType.SHELTER, 0, 1));
+            manager.addRoute("H", "M", 4);
+            manager.addRoute("M", "R", 4);
+            manager.addRoute("H", "R", 10);
+            RouteCache<DijkstraAlgorithm.DijkstraResult> cache = manager.getRouteCache();
+
+            // La misma consulta repetida reutiliza el árbol del origen
+            assertCondition(manager.getRouteDistance("H", "R") == 8, "Distancia inicial");
+            assertCondition(manager.findShortestRoute("H", "R").size() == 3, "Ruta inicial por M");
+            assertCondition(manager.calculateAllRoutes("H").getDistance("M") == 4, "Árbol completo");
+            assertCondition(cache.getMissCount() == 1 && cache.getHitCount() == 2 && cache.size() == 1,
+                    "Un cálculo y dos aciertos");
+
+            // Cambiar un peso, quitar o agregar rutas invalida los árboles guardados
+            manager.addRoute("M", "R", 20);
+            assertCondition(manager.getRouteDistance("H", "R") == 10
+                    && manager.findShortestRoute("H", "R").size() == 2, "Nuevo peso tras actualizar");
+            manager.removeRoute("H", "R");
+            assertCondition(manager.getRouteDistance("H", "R") == 24, "Sin la ruta directa");
+            manager.removeRoute("M", "R");
+            assertCondition(manager.findShortestRoute("H", "R").isEmpty()
+                    && Double.isInfinite(manager.getRouteDistance("H", "R")), "Destino aislado");
+            manager.addRoute("H", "R", 3);
+            assertCondition(manager.getRouteDistance("H", "R") == 3, "Ruta nueva visible");
+
+            // Desalojo del menos usado, por número de entradas y por peso
+            RouteCache<String> lru = new RouteCache<>(2, 10);
+            lru.put(1, "A", null, "t", "a", 1);
+            lru.put(1, "B", null, "t", "b", 1);
+            lru.get(1, "A", null, "t");
+            lru.put(1, "C", "D", "t", "c", 1);
+            assertCondition(lru.get(1, "B", null, "t") == null && "a".equals(lru.get(1, "A", null, "t"))
+                    && "c".equals(lru.get(1, "C", "D", "t")), "Se desaloja el menos usado");
+            assertCondition(lru.get(1, "C", null, "t") == null && lru.get(1, "C", "D", "k") == null,
+                    "Destino y estrategia forman parte de la clave");
+            lru.put(1, "E", null, "t", "e", 10);
+            assertCondition(lru.size() == 1 && lru.getWeight() == 10, "Desalojo por peso");
+            lru.put(1, "F", null, "t", "f", 11);
+            assertCondition(lru.get(1, "F", null, "t") == null, "Entrada más pesada que el máximo");
+
+            // Un valor calculado con una versión anterior no se guarda; una versión nueva vacía la caché
+            lru.put(2, "G", null, "t", "g", 1);
+            lru.put(1, "H", null, "t", "h", 1);
+            assertCondition(lru.size() == 1 && lru.get(2, "H", null, "t") == null
+                    && "g".equals(lru.get(2, "G", null, "t")), "Valor obsoleto descartado");
+            assertCondition(lru.get(3, "G", null, "t") == null && lru.size() == 0, "Versión nueva invalida");
+
+            System.out.println("✓ Prueba Caché de rutas PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Caché de rutas FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    // ========== PRUEBA 31: LANDMARKS Y A* ==========
+    private static void testLandmarkRouting() {
+        System.out.println("Prueba 31: Landmarks y A*");
+        System.out.println("-".repeat(65));
+
+        try {
+            // Cuadrícula con costos al azar que no tienen relación con las coordenadas
+            Random random = new Random(31);
+            int side = 20;
+            Graph graph = new Graph();
+            for (int i = 0; i < side * side; i++) {
+                graph.addVertex(new Location("C" + i, "C" + i, Location.LocationType.CITY, 0, 1));
+            }
+            for (int r = 0; r < side; r++) {
+                for (int c = 0; c < side; c++) {
+                    int v = r * side + c;
+                    if (c + 1 < side) {
+                        graph.addEdge("C" + v, "C" + (v + 1), 1 + random.nextInt(10));
+                        if (random.nextInt(10) > 0) {
+                            graph.addEdge("C" + (v + 1), "C" + v, 1 + random.nextInt(10));
+                        }
+                    }
+                    if (r + 1 < side) {
+                        graph.addEdge("C" + v, "C" + (v + side), 1 + random.nextInt(10));
+                        if (random.nextInt(10) > 0) {
+                            graph.addEdge("C" + (v + side), "C" + v, 1 + random.nextInt(10));
+                        }
+                    }
+                }
+            }
+            IndexedGraph indexed = graph.getIndexedGraph();
+            double[] costs = new double[indexed.getEdgeCount()];
+            for (int e = 0; e < costs.length; e++) {
+                costs[e] = random.nextDouble() * 100;
+            }
+
+            LandmarkIndex farthest = LandmarkIndex.build(indexed, costs, 8, LandmarkIndex.Selection.FARTHEST, 1, true);
+            LandmarkIndex avoid = LandmarkIndex.build(indexed, costs, 8, LandmarkIndex.Selection.AVOID, 1, true);
+            LandmarkIndex sequential = LandmarkIndex.build(indexed, costs, 8, LandmarkIndex.Selection.AVOID, 1, false);
+            assertCondition(farthest.getLandmarkCount() == 8 && avoid.getLandmarkCount() == 8, "Ocho landmarks");
+            boolean same = true;
+            for (int i = 0; i < 8; i++) {
+                same &= avoid.getLandmark(i) == sequential.getLandmark(i);
+                for (int v = 0; v < indexed.getVertexCount(); v++) {
+                    same &= avoid.getCostToLandmark(i, v) == sequential.getCostToLandmark(i, v);
+                }
+            }
+            assertCondition(same, "Preprocesamiento paralelo igual al secuencial");
+
+            // Cotas admisibles: nunca superan el costo real hacia el destino
+            boolean admissible = true;
+            for (int trial = 0; trial < 5; trial++) {
+                int target = random.nextInt(indexed.getVertexCount());
+                CustomList<String> ids = new CustomList<>();
+                ids.add(indexed.getId(target));
+                LandmarkIndex exact = LandmarkIndex.build(indexed, costs, ids, true);
+                for (int v = 0; v < indexed.getVertexCount(); v++) {
+                    double real = exact.getCostToLandmark(0, v);
+                    admissible &= farthest.lowerBound(v, target) <= real + 1e-3
+                            && avoid.lowerBound(v, target) <= real + 1e-3
+                            && (Double.isInfinite(real) || !Double.isInfinite(avoid.lowerBound(v, target)));
+                }
+            }
+            assertCondition(admissible, "Cotas admisibles");
+
+            // A* con landmarks da el mismo costo que sin cotas y asienta menos vértices
+            boolean optimal = true;
+            int settledPlain = 0;
+            int settledAlt = 0;
+            for (int trial = 0; trial < 40; trial++) {
+                String from = "C" + random.nextInt(side * side);
+                String to = "C" + random.nextInt(side * side);
+                AStarAlgorithm.PathResult plain = AStarAlgorithm.findShortestPath(indexed, costs, from, to);
+                AStarAlgorithm.PathResult alt = AStarAlgorithm.findShortestPath(avoid, from, to);
+                if (plain == null || alt == null) {
+                    optimal &= plain == alt;
+                    continue;
+                }
+                double pathCost = 0;
+                CustomList<String> path = alt.getLocationIds();
+                for (int i = 0; i + 1 < path.size(); i++) {
+                    int u = indexed.indexOf(path.get(i));
+                    int w = indexed.indexOf(path.get(i + 1));
+                    double edge = Double.POSITIVE_INFINITY;
+                    for (int e = indexed.edgeStart(u); e < indexed.edgeEnd(u); e++) {
+                        if (indexed.getTarget(e) == w) {
+                            edge = Math.min(edge, costs[e]);
+                        }
+                    }
+                    pathCost += edge;
+                }
+                optimal &= Math.abs(plain.getCost() - alt.getCost()) < 1e-9 && Math.abs(pathCost - alt.getCost()) < 1e-9
+                        && path.get(0).equals(from) && path.get(path.size() - 1).equals(to);
+                settledPlain += plain.getSettledCount();
+                settledAlt += alt.getSettledCount();
+            }
+            assertCondition(optimal, "A* con landmarks es óptimo");
+            assertCondition(settledAlt < settledPlain, "Landmarks reducen los vértices asentados");
+
+            // Métrica de riesgo en el gestor: evita la zona crítica aunque sea más corta
+            DisasterManager manager = new DisasterManager();
+            manager.addLocation(new Location("O", "Origen", Location.LocationType.AID_CENTER, 0, 1));
+            manager.addLocation(new Location("K", "Crítica", Location.LocationType.AFFECTED_ZONE, 100, 5));
+            manager.addLocation(new Location("L", "Segura", Location.LocationType.CITY, 100, 1));
+            manager.addLocation(new Location("Q", "Destino", Location.LocationType.SHELTER, 0, 1));
+            manager.addRoute("O", "K", 5);
+            manager.addRoute("K", "Q", 5);
+            manager.addRoute("O", "L", 10);
+            manager.addRoute("L", "Q", 10);
+            AStarAlgorithm.PathResult byDistance = manager.findLowestCostRoute("O", "Q", LandmarkIndex.Metric.DISTANCE);
+            AStarAlgorithm.PathResult byRisk = manager.findLowestCostRoute("O", "Q", LandmarkIndex.Metric.RISK);
+            assertCondition(byDistance.getLocationIds().get(1).equals("K") && byDistance.getCost() == 10,
+                    "Ruta más corta por distancia");
+            assertCondition(byRisk.getLocationIds().get(1).equals("L") && byRisk.getCost() == 20, "Ruta de menor riesgo");
+            manager.removeRoute("L", "Q");
+            assertCondition(manager.findLowestCostRoute("O", "Q", LandmarkIndex.Metric.RISK)
+                    .getLocationIds().get(1).equals("K"), "Índice reconstruido tras cambiar la red");
+            assertCondition(manager.findLowestCostRoute("Q", "O", LandmarkIndex.Metric.TRAVEL_TIME) == null,
+                    "Sin ruta de regreso");
+
+            System.out.println("✓ Prueba Landmarks y A* PASADA\n");
+            testsPassed++;
+        } catch (Exception e) {
+            System.out.println("✗ Prueba Landmarks y A* FALLIDA: " + e.getMessage() + "\n");
+            testsFailed++;
+        }
+    }
+
+    /**
+     * Borrar un archivo o directorio temporal de una prueba con todo su contenido
+     */
+    private static void deleteRecursively(java.nio.file.Path path) {
+        if (path == null) {
+            return;
+        }
+        try (java.util.stream.Stream<java.nio.file.Path> walk = java.nio.file.Files.walk(path)) {
+            walk.sorted(java.util.Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (java.io.IOException e) {
+            System.out.println("  ! No se pudo borrar " + path + ": " + e.getMessage());
+        }
+    }
+
     // Método auxiliar para assertions
     private static void assertCondition(boolean condition, String description) {
         if (condition) {